@@ -164,6 +164,8 @@ public class AppConfig {
     public static final int ORDER_TIMEOUT_MINUTES = 30;
     public static final int SESSION_TIMEOUT_MINUTES = 60;
     public static final int AUTO_REFRESH_SECONDS = 10;
+    public static final int UI_RESYNC_SECONDS = 60;            // Màn hình cập nhật theo event; timer chỉ resync phòng khi lỡ event
+    public static final int UI_EVENT_COALESCE_MS = 200;        // Gộp order event trong cửa sổ này thành một lần vẽ lại
     public static final int NOTIFICATION_DURATION_SECONDS = 5;
     
     // ============ DISPLAY SETTINGS ============
@@ -171,6 +173,12 @@ public class AppConfig {
     public static final int PRODUCTS_PER_PAGE = 12;
     public static final int EMPLOYEES_PER_PAGE = 20;
     public static final int CUSTOMERS_PER_PAGE = 20;
+    public static final long IMAGE_CACHE_MAX_BYTES = 32L * 1024 * 1024;  // Ảnh sản phẩm đã scale (util.ImageCache)
+    
+    // ============ DIAGNOSTICS ============
+    public static final String EDT_MONITOR_PROPERTY = "foodorder.edt.monitor";             // -D...=true để bật util.EdtMonitor
+    public static final String EDT_STALL_THRESHOLD_PROPERTY = "foodorder.edt.stallMs";
+    public static final long EDT_STALL_THRESHOLD_MS = 100;
     
     // ============ DATE/TIME FORMATS ============
     public static final String DATE_FORMAT = "dd/MM/yyyy";
@@ -193,6 +201,8 @@ public class AppConfig {
     public static final String REPORTS_PATH = "reports/";
     public static final String LOGS_PATH = "logs/";
     public static final String TEMP_PATH = "temp/";
+    public static final String THUMBNAILS_PATH = "cache/thumbnails/";
+    public static final String JOURNAL_PATH = "cache/journal/";
     
     // ============ VALIDATION PATTERNS ============
     public static final String PHONE_PATTERN = "^(\\+84|0)[0-9]{9}$";
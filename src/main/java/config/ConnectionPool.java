@@ -0,0 +1,546 @@
+package config;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * ConnectionPool - Bounded JDBC Connection Pool
+ * Path: Source Packages/config/ConnectionPool.java
+ *
+ * Giữ sẵn các physical connection tới MySQL để tái sử dụng giữa các DAO call.
+ * Connection trả về là proxy: gọi close() sẽ trả connection về pool
+ * thay vì đóng socket, nên code kiểu try-with-resources trong DAO không cần đổi.
+ *
+ * Chức năng:
+ * - Min/max size (max được giới hạn bằng Semaphore)
+ * - Borrow timeout khi pool đã cạn
+ * - Validate connection khi borrow (isValid)
+ * - Evict connection idle quá lâu (housekeeper chạy nền)
+ * - Leak detection: cảnh báo connection bị giữ quá ngưỡng
+ * - Cache PreparedStatement theo SQL cho từng connection (xem StatementCache)
+ *
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class ConnectionPool implements DataSource {
+
+    private final String url;
+    private final String user;
+    private final String password;
+
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutMs;
+    private final long idleTimeoutMs;
+    private final int validationTimeoutSeconds;
+    private final long leakThresholdMs;
+    private final int statementCacheSize;
+
+    // Connection rảnh - LIFO để connection "nóng" được dùng lại trước
+    private final Deque<PooledEntry> idle = new ArrayDeque<>();
+
+    // Connection đang được mượn (phục vụ leak detection)
+    private final Set<PooledEntry> leased = ConcurrentHashMap.newKeySet();
+
+    // Mỗi permit = 1 connection được phép mượn cùng lúc
+    private final Semaphore permits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+
+    // Thống kê statement cache (cộng dồn trên mọi connection)
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed = false;
+
+    // ============ CONSTRUCTOR ============
+
+    public ConnectionPool(String url, String user, String password,
+                          int minSize, int maxSize,
+                          long borrowTimeoutMs, long idleTimeoutMs,
+                          int validationTimeoutSeconds, long leakThresholdMs,
+                          int statementCacheSize) {
+        if (minSize < 0 || maxSize <= 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.leakThresholdMs = leakThresholdMs;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+
+        long period = Math.max(1000, Math.min(idleTimeoutMs, 30_000) / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+
+        fillToMinimum();
+    }
+
+    // ============ BORROW ============
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + borrowTimeoutMs +
+                    "ms waiting for a connection (active=" + leased.size() + ", max=" + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+
+        try {
+            PooledEntry entry = takeValidIdle();
+            if (entry == null) {
+                entry = new PooledEntry(openPhysical());
+            }
+            entry.lease();
+            leased.add(entry);
+            return entry.newProxy();
+
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pool is bound to a single set of credentials");
+    }
+
+    /**
+     * Lấy connection rảnh còn sống, đóng những connection đã chết
+     */
+    private PooledEntry takeValidIdle() {
+        while (true) {
+            PooledEntry entry;
+            synchronized (idle) {
+                entry = idle.pollFirst();
+            }
+            if (entry == null) {
+                return null;
+            }
+            if (entry.isUsable(validationTimeoutSeconds)) {
+                return entry;
+            }
+            System.err.println("⚠️ Discarding broken pooled connection");
+            destroy(entry);
+        }
+    }
+
+    // ============ RETURN ============
+
+    /**
+     * Gọi từ proxy khi DAO close() connection
+     */
+    private void release(PooledEntry entry) {
+        leased.remove(entry);
+
+        boolean reusable = !closed && entry.reset();
+        if (reusable) {
+            entry.lastUsedAt = System.currentTimeMillis();
+            synchronized (idle) {
+                idle.addFirst(entry);
+            }
+        } else {
+            destroy(entry);
+        }
+        permits.release();
+    }
+
+    // ============ HOUSEKEEPING ============
+
+    private void housekeep() {
+        try {
+            evictIdle();
+            fillToMinimum();
+            detectLeaks();
+        } catch (Exception e) {
+            System.err.println("❌ Pool housekeeping failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Đóng connection idle quá idleTimeoutMs, giữ lại tối thiểu minSize
+     */
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        List<PooledEntry> evicted = new ArrayList<>();
+
+        synchronized (idle) {
+            Iterator<PooledEntry> it = idle.descendingIterator();
+            while (it.hasNext() && totalConnections.get() - evicted.size() > minSize) {
+                PooledEntry entry = it.next();
+                if (now - entry.lastUsedAt > idleTimeoutMs) {
+                    it.remove();
+                    evicted.add(entry);
+                }
+            }
+        }
+
+        for (PooledEntry entry : evicted) {
+            destroy(entry);
+        }
+    }
+
+    private void fillToMinimum() {
+        while (!closed && totalConnections.get() < minSize && permits.tryAcquire()) {
+            try {
+                PooledEntry entry = new PooledEntry(openPhysical());
+                synchronized (idle) {
+                    idle.addLast(entry);
+                }
+            } catch (SQLException e) {
+                System.err.println("⚠️ Could not pre-open pooled connection: " + e.getMessage());
+                return;
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    private void detectLeaks() {
+        if (leakThresholdMs <= 0) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        for (PooledEntry entry : leased) {
+            if (!entry.leakReported && now - entry.borrowedAt > leakThresholdMs) {
+                entry.leakReported = true;
+                System.err.println("⚠️ Possible connection leak: held for " +
+                    (now - entry.borrowedAt) + "ms by thread " + entry.borrowerThread);
+                if (entry.borrowSite != null) {
+                    entry.borrowSite.printStackTrace();
+                }
+            }
+        }
+    }
+
+    // ============ PHYSICAL CONNECTIONS ============
+
+    private Connection openPhysical() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        physical.setAutoCommit(true);
+        int total = totalConnections.incrementAndGet();
+
+        System.out.println("✅ Database connected successfully! (pool size: " + total + "/" + maxSize + ")");
+        return physical;
+    }
+
+    private void destroy(PooledEntry entry) {
+        totalConnections.decrementAndGet();
+        if (entry.statementCache != null) {
+            entry.statementCache.clear();
+        }
+        try {
+            entry.physical.close();
+        } catch (SQLException e) {
+            System.err.println("❌ Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    // ============ SHUTDOWN ============
+
+    /**
+     * Đóng pool và tất cả connection rảnh.
+     * Connection đang được mượn sẽ bị đóng khi được trả về.
+     */
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+
+        List<PooledEntry> drained;
+        synchronized (idle) {
+            drained = new ArrayList<>(idle);
+            idle.clear();
+        }
+        for (PooledEntry entry : drained) {
+            destroy(entry);
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    // ============ STATISTICS ============
+
+    public int getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    public int getActiveConnections() {
+        return leased.size();
+    }
+
+    public int getIdleConnections() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getStatementCacheHits() {
+        return statementCacheHits.get();
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.get();
+    }
+
+    /**
+     * Tỉ lệ hit của statement cache (0.0 - 1.0)
+     */
+    public double getStatementCacheHitRate() {
+        long hits = statementCacheHits.get();
+        long total = hits + statementCacheMisses.get();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPool{total=" + getTotalConnections() +
+               ", active=" + getActiveConnections() +
+               ", idle=" + getIdleConnections() +
+               ", min=" + minSize + ", max=" + maxSize +
+               ", stmtCacheHits=" + getStatementCacheHits() +
+               ", stmtCacheMisses=" + getStatementCacheMisses() + '}';
+    }
+
+    // ============ DATASOURCE BOILERPLATE ============
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        // Pool log ra System.out/err giống phần còn lại của app
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        DriverManager.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return DriverManager.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    // ============ POOLED ENTRY ============
+
+    /**
+     * Một physical connection cùng trạng thái mượn/trả của nó
+     */
+    private final class PooledEntry {
+
+        final Connection physical;
+        final StatementCache statementCache;
+        volatile long lastUsedAt = System.currentTimeMillis();
+        volatile long borrowedAt;
+        volatile String borrowerThread;
+        volatile Throwable borrowSite;
+        volatile boolean leakReported;
+
+        // Statement mở qua proxy, đóng hết khi connection được trả về
+        final List<Statement> openStatements = new ArrayList<>();
+
+        PooledEntry(Connection physical) {
+            this.physical = physical;
+            this.statementCache = statementCacheSize > 0
+                ? new StatementCache(statementCacheSize, statementCacheHits, statementCacheMisses)
+                : null;
+        }
+
+        void lease() {
+            borrowedAt = System.currentTimeMillis();
+            borrowerThread = Thread.currentThread().getName();
+            borrowSite = leakThresholdMs > 0 ? new Throwable("Connection borrowed here") : null;
+            leakReported = false;
+        }
+
+        boolean isUsable(int timeoutSeconds) {
+            try {
+                return !physical.isClosed() && physical.isValid(timeoutSeconds);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Dọn trạng thái trước khi đưa connection về lại pool
+         * @return false nếu connection không còn dùng được
+         */
+        boolean reset() {
+            try {
+                synchronized (openStatements) {
+                    for (Statement stmt : openStatements) {
+                        try {
+                            stmt.close();
+                        } catch (SQLException ignored) {
+                            // Statement đã hỏng thì bỏ qua
+                        }
+                    }
+                    openStatements.clear();
+                }
+
+                if (physical.isClosed()) {
+                    return false;
+                }
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                physical.clearWarnings();
+                return true;
+
+            } catch (SQLException e) {
+                System.err.println("⚠️ Pooled connection could not be reset: " + e.getMessage());
+                return false;
+            }
+        }
+
+        Connection newProxy() {
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                new PooledConnectionHandler(this)
+            );
+        }
+    }
+
+    // ============ CONNECTION PROXY ============
+
+    /**
+     * Chặn close()/isClosed() của Connection, các method khác chuyển thẳng xuống physical
+     */
+    private final class PooledConnectionHandler implements InvocationHandler {
+
+        private final PooledEntry entry;
+        private boolean returned = false;
+
+        PooledConnectionHandler(PooledEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            switch (name) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || entry.physical.isClosed();
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + entry.physical + "]";
+                default:
+                    break;
+            }
+
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+
+            Object result;
+            if (entry.statementCache != null && StatementCache.isCacheable(method, args)) {
+                result = entry.statementCache.prepare(entry.physical, (Connection) proxy, args);
+            } else {
+                try {
+                    result = method.invoke(entry.physical, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+
+            if (result instanceof Statement) {
+                synchronized (entry.openStatements) {
+                    entry.openStatements.add((Statement) result);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package config;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
@@ -11,6 +13,9 @@ import java.sql.Statement;
  * 
  * Quản lý kết nối đến MySQL Database
  * Version 1.5 - Cải tiến với proper URL params
+ * Version 1.6 - Dùng ConnectionPool thay cho ThreadLocal connection
+ * Version 1.7 - Unit of work: transaction gắn với thread, các DAO bên trong tự join
+ * Version 1.8 - Bật rewriteBatchedStatements cho batch insert
  * 
  * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
  */
@@ -25,15 +30,30 @@ public class DBConnection {
     private static final String DB_PASSWORD = "131104";
     
     // Complete URL with all necessary parameters
+    // useServerPrepStmts: prepare trên server để StatementCache của pool tái sử dụng được
+    // rewriteBatchedStatements: executeBatch() của INSERT gửi thành một câu multi-row (BaseDAO.batchInsert)
     private static final String DB_URL = String.format(
-        "jdbc:mysql://%s:%s/%s?useSSL=false&serverTimezone=Asia/Ho_Chi_Minh&allowPublicKeyRetrieval=true&characterEncoding=utf8&useUnicode=true",
+        "jdbc:mysql://%s:%s/%s?useSSL=false&serverTimezone=Asia/Ho_Chi_Minh&allowPublicKeyRetrieval=true&characterEncoding=utf8&useUnicode=true&useServerPrepStmts=true&rewriteBatchedStatements=true",
         DB_HOST, DB_PORT, DB_NAME
     );
     
     private static final String DB_DRIVER = "com.mysql.cj.jdbc.Driver";
     
-    // ThreadLocal để mỗi thread có connection riêng (thread-safe hơn)
-    private static final ThreadLocal<Connection> threadLocalConnection = new ThreadLocal<>();
+    // ============ POOL CONFIGURATION ============
+    
+    private static final int POOL_MIN_SIZE = 2;
+    private static final int POOL_MAX_SIZE = 10;
+    private static final long POOL_BORROW_TIMEOUT_MS = 5_000;
+    private static final long POOL_IDLE_TIMEOUT_MS = 5 * 60_000;
+    private static final int POOL_VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long POOL_LEAK_THRESHOLD_MS = 30_000;
+    private static final int STATEMENT_CACHE_SIZE = 64;   // PreparedStatement / connection
+    
+    // Pool dùng chung cho toàn app, khởi tạo lazy ở lần getConnection() đầu tiên
+    private static volatile ConnectionPool pool;
+    
+    // Transaction đang chạy trên thread hiện tại (xem inTransaction)
+    private static final ThreadLocal<TransactionContext> currentTransaction = new ThreadLocal<>();
     
     // ============ CONSTRUCTOR ============
     
@@ -47,35 +67,24 @@ public class DBConnection {
     // ============ GET CONNECTION ============
     
     /**
-     * Lấy connection cho thread hiện tại
-     * Thread-safe với ThreadLocal
+     * Mượn connection từ pool
+     * Gọi close() trên connection trả về sẽ trả nó lại pool (không đóng socket),
+     * nên các DAO dùng try-with-resources vẫn giữ nguyên
      * 
-     * @return Connection object
-     * @throws SQLException nếu kết nối thất bại
+     * Nếu thread đang ở trong inTransaction(), trả về connection của transaction đó
+     * (close() lúc này không làm gì, commit/rollback do inTransaction quyết định)
+     * 
+     * @return Pooled Connection object
+     * @throws SQLException nếu kết nối thất bại hoặc hết thời gian chờ
      */
     public static Connection getConnection() throws SQLException {
-        Connection conn = threadLocalConnection.get();
+        TransactionContext tx = currentTransaction.get();
+        if (tx != null) {
+            return tx.handle;
+        }
         
         try {
-            // Load JDBC Driver (chỉ cần 1 lần)
-            Class.forName(DB_DRIVER);
-            
-            // Kiểm tra connection còn valid không
-            if (conn == null || conn.isClosed() || !conn.isValid(2)) {
-                conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-                conn.setAutoCommit(true);
-                threadLocalConnection.set(conn);
-                
-                System.out.println("✅ Database connected successfully! (Thread: " + 
-                    Thread.currentThread().getName() + ")");
-            }
-            
-            return conn;
-            
-        } catch (ClassNotFoundException e) {
-            System.err.println("❌ MySQL JDBC Driver not found!");
-            System.err.println("   Please add mysql-connector-j to dependencies");
-            throw new SQLException("JDBC Driver not found: " + e.getMessage());
+            return getDataSource().getConnection();
             
         } catch (SQLException e) {
             System.err.println("❌ Database connection failed!");
@@ -87,19 +96,52 @@ public class DBConnection {
     }
     
     /**
-     * Tạo connection mới (không dùng ThreadLocal)
-     * Dùng cho multi-threading hoặc transaction riêng biệt
+     * Lấy DataSource (connection pool) dùng chung
+     * 
+     * @return ConnectionPool
+     * @throws SQLException nếu không load được JDBC driver
+     */
+    public static ConnectionPool getDataSource() throws SQLException {
+        ConnectionPool current = pool;
+        if (current == null || current.isClosed()) {
+            synchronized (DBConnection.class) {
+                current = pool;
+                if (current == null || current.isClosed()) {
+                    loadDriver();
+                    current = new ConnectionPool(
+                        DB_URL, DB_USER, DB_PASSWORD,
+                        POOL_MIN_SIZE, POOL_MAX_SIZE,
+                        POOL_BORROW_TIMEOUT_MS, POOL_IDLE_TIMEOUT_MS,
+                        POOL_VALIDATION_TIMEOUT_SECONDS, POOL_LEAK_THRESHOLD_MS,
+                        STATEMENT_CACHE_SIZE
+                    );
+                    pool = current;
+                }
+            }
+        }
+        return current;
+    }
+    
+    /**
+     * Tạo connection mới (không qua pool)
+     * Dùng cho công cụ test hoặc kết nối cần tách biệt hoàn toàn
      * 
      * @return Connection object mới
      * @throws SQLException nếu kết nối thất bại
      */
     public static Connection createNewConnection() throws SQLException {
+        loadDriver();
+        Connection newConnection = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        newConnection.setAutoCommit(true);
+        return newConnection;
+    }
+    
+    private static void loadDriver() throws SQLException {
         try {
             Class.forName(DB_DRIVER);
-            Connection newConnection = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-            newConnection.setAutoCommit(true);
-            return newConnection;
         } catch (ClassNotFoundException e) {
+            System.err.println("❌ MySQL JDBC Driver not found!");
+            System.err.println("   Please add mysql-connector-j to dependencies");
             throw new SQLException("JDBC Driver not found: " + e.getMessage());
         }
     }
@@ -144,31 +186,17 @@ public class DBConnection {
     
     /**
      * Execute operation trong transaction - Helper method
+     * Connection truyền vào cũng được gắn với thread, nên DAO gọi bên trong sẽ join transaction
      */
     public static boolean executeInTransaction(TransactionOperation operation) {
-        Connection conn = null;
         try {
-            conn = createNewConnection(); // Dùng connection riêng cho transaction
-            beginTransaction(conn);
-            
-            boolean success = operation.execute(conn);
-            
-            if (success) {
-                commitTransaction(conn);
-            } else {
-                rollbackTransaction(conn);
-            }
-            
-            return success;
+            Boolean success = inTransaction(() -> operation.execute(getConnection()));
+            return Boolean.TRUE.equals(success);
             
-        } catch (Exception e) {
-            rollbackTransaction(conn);
+        } catch (SQLException e) {
             System.err.println("❌ Transaction failed: " + e.getMessage());
             e.printStackTrace();
             return false;
-            
-        } finally {
-            closeConnection(conn);
         }
     }
     
@@ -180,24 +208,153 @@ public class DBConnection {
         boolean execute(Connection conn) throws SQLException;
     }
     
-    // ============ CLOSE CONNECTION ============
+    // ============ UNIT OF WORK ============
     
     /**
-     * Đóng connection của thread hiện tại
+     * Chạy work trong một transaction gắn với thread hiện tại
+     * 
+     * Mọi DBConnection.getConnection() bên trong work (kể cả từ các DAO) dùng chung
+     * một connection, nên cả service call chỉ commit một lần.
+     * Gọi lồng nhau sẽ join transaction bên ngoài (chỉ lớp ngoài cùng commit).
+     * 
+     * Rollback khi: work ném exception, trả về null/false, hoặc gọi setRollbackOnly()
+     * 
+     * @param work Công việc cần chạy
+     * @return Kết quả của work
+     * @throws SQLException nếu work lỗi hoặc commit/rollback thất bại
      */
-    public static void closeConnection() {
-        Connection conn = threadLocalConnection.get();
-        if (conn != null) {
+    public static <T> T inTransaction(UnitOfWork<T> work) throws SQLException {
+        TransactionContext existing = currentTransaction.get();
+        if (existing != null) {
+            // Join transaction đang chạy
             try {
-                if (!conn.isClosed()) {
-                    conn.close();
+                T result = work.execute();
+                if (isFailure(result)) {
+                    existing.rollbackOnly = true;
                 }
-            } catch (SQLException e) {
-                System.err.println("❌ Error closing connection: " + e.getMessage());
-            } finally {
-                threadLocalConnection.remove();
+                return result;
+            } catch (Exception e) {
+                existing.rollbackOnly = true;
+                throw asSQLException(e);
             }
         }
+        
+        Connection conn = getConnection();
+        TransactionContext tx = new TransactionContext(conn);
+        currentTransaction.set(tx);
+        
+        try {
+            conn.setAutoCommit(false);
+            T result = work.execute();
+            
+            if (tx.rollbackOnly || isFailure(result)) {
+                conn.rollback();
+            } else {
+                conn.commit();
+            }
+            return result;
+            
+        } catch (Exception e) {
+            rollbackTransaction(conn);
+            throw asSQLException(e);
+            
+        } finally {
+            currentTransaction.remove();
+            closeConnection(conn);   // Pool tự đặt lại autoCommit = true
+        }
+    }
+    
+    /**
+     * Đánh dấu transaction hiện tại phải rollback (khi một bước thất bại mà không ném exception)
+     */
+    public static void setRollbackOnly() {
+        TransactionContext tx = currentTransaction.get();
+        if (tx != null) {
+            tx.rollbackOnly = true;
+        }
+    }
+    
+    /**
+     * Thread hiện tại có đang ở trong inTransaction() không
+     */
+    public static boolean isInTransaction() {
+        return currentTransaction.get() != null;
+    }
+    
+    /**
+     * Công việc chạy trong một transaction
+     */
+    @FunctionalInterface
+    public interface UnitOfWork<T> {
+        T execute() throws Exception;
+    }
+    
+    private static boolean isFailure(Object result) {
+        return result == null || Boolean.FALSE.equals(result);
+    }
+    
+    private static SQLException asSQLException(Exception e) {
+        if (e instanceof SQLException) {
+            return (SQLException) e;
+        }
+        return new SQLException("Transaction failed: " + e.getMessage(), e);
+    }
+    
+    /**
+     * Connection của transaction đang chạy cùng handle trả cho DAO.
+     * Handle bỏ qua close()/commit()/setAutoCommit() để DAO không kết thúc transaction sớm;
+     * rollback() từ DAO chỉ đánh dấu rollbackOnly.
+     */
+    private static final class TransactionContext {
+        
+        final Connection connection;
+        final Connection handle;
+        boolean rollbackOnly;
+        
+        TransactionContext(Connection connection) {
+            this.connection = connection;
+            this.handle = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                        case "commit":
+                        case "setAutoCommit":
+                            return null;
+                        case "rollback":
+                            rollbackOnly = true;
+                            return null;
+                        case "getAutoCommit":
+                            return false;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            try {
+                                return method.invoke(this.connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                    }
+                }
+            );
+        }
+    }
+    
+    // ============ CLOSE CONNECTION ============
+    
+    /**
+     * Đóng connection pool (gọi khi thoát ứng dụng)
+     */
+    public static void shutdown() {
+        ConnectionPool current = pool;
+        if (current != null) {
+            current.close();
+            pool = null;
+            System.out.println("🔌 Connection pool closed");
+        }
     }
     
     /**
@@ -286,14 +443,21 @@ public class DBConnection {
      * Kiểm tra xem database có đang connected không
      */
     public static boolean isConnected() {
-        Connection conn = threadLocalConnection.get();
-        try {
-            return conn != null && !conn.isClosed() && conn.isValid(2);
+        try (Connection conn = getConnection()) {
+            return conn.isValid(2);
         } catch (SQLException e) {
             return false;
         }
     }
     
+    /**
+     * Thông tin pool hiện tại (total/active/idle)
+     */
+    public static String getPoolStats() {
+        ConnectionPool current = pool;
+        return current != null ? current.toString() : "ConnectionPool{not initialized}";
+    }
+    
     // ============ GETTERS ============
     
     public static String getDbUrl() {
@@ -400,6 +564,8 @@ public class DBConnection {
             closeConnection(conn);
         }
         
+        System.out.println("\n📊 " + getPoolStats());
         System.out.println("\n🎉 All tests completed!");
+        shutdown();
     }
 }
@@ -0,0 +1,253 @@
+package config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * StatementCache - LRU cache PreparedStatement cho một pooled connection
+ * Path: Source Packages/config/StatementCache.java
+ *
+ * Key = SQL text (+ autoGeneratedKeys flag). PreparedStatement trả cho DAO là proxy:
+ * close() chỉ dọn parameters/result sets và đưa statement về cache,
+ * lần prepareStatement() sau với cùng SQL sẽ dùng lại mà không phải prepare lại trên server.
+ *
+ * Không thread-safe: mỗi pooled connection chỉ được một thread dùng tại một thời điểm.
+ *
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+final class StatementCache {
+
+    private static final int NO_GENERATED_KEYS_FLAG = -1;
+
+    private final int maxSize;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final Map<Key, CachedStatement> entries;
+
+    /**
+     * @param maxSize Số statement tối đa giữ lại
+     * @param hits Counter dùng chung của pool
+     * @param misses Counter dùng chung của pool
+     */
+    StatementCache(int maxSize, AtomicLong hits, AtomicLong misses) {
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedStatement> eldest) {
+                if (size() > StatementCache.this.maxSize) {
+                    eldest.getValue().evict();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // ============ LOOKUP ============
+
+    /**
+     * Kiểm tra method call có cache được không: prepareStatement(String) hoặc prepareStatement(String, int)
+     */
+    static boolean isCacheable(Method method, Object[] args) {
+        if (!"prepareStatement".equals(method.getName()) || args == null) {
+            return false;
+        }
+        Class<?>[] types = method.getParameterTypes();
+        return (types.length == 1 && types[0] == String.class) ||
+               (types.length == 2 && types[0] == String.class && types[1] == int.class);
+    }
+
+    /**
+     * Lấy statement từ cache hoặc prepare mới trên physical connection
+     *
+     * @param physical Physical connection
+     * @param owner Connection proxy (trả về từ getConnection() của statement)
+     * @param args Tham số của prepareStatement
+     * @return PreparedStatement proxy
+     */
+    PreparedStatement prepare(Connection physical, Connection owner, Object[] args) throws SQLException {
+        String sql = (String) args[0];
+        int flag = args.length > 1 ? (Integer) args[1] : NO_GENERATED_KEYS_FLAG;
+        Key key = new Key(sql, flag);
+
+        CachedStatement cached = entries.get(key);
+        if (cached != null && !cached.inUse) {
+            if (!cached.physical.isClosed()) {
+                hits.incrementAndGet();
+                cached.checkOut();
+                return cached.proxy;
+            }
+            entries.remove(key);
+            cached = null;
+        }
+
+        misses.incrementAndGet();
+        PreparedStatement ps = flag == NO_GENERATED_KEYS_FLAG
+            ? physical.prepareStatement(sql)
+            : physical.prepareStatement(sql, flag);
+
+        CachedStatement created = new CachedStatement(ps, owner);
+        if (cached == null) {
+            // Chỉ cache khi chưa có statement nào cho SQL này
+            entries.put(key, created);
+        } else {
+            // Statement cùng SQL đang được dùng (lồng nhau) -> bản này không cache
+            created.evicted = true;
+        }
+        created.checkOut();
+        return created.proxy;
+    }
+
+    /**
+     * Bỏ toàn bộ cache (physical statement sẽ đóng cùng physical connection)
+     */
+    void clear() {
+        for (CachedStatement cached : entries.values()) {
+            cached.evicted = true;
+        }
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // ============ CACHE ENTRY ============
+
+    private record Key(String sql, int generatedKeysFlag) {}
+
+    /**
+     * Một physical PreparedStatement và proxy trả ra cho DAO
+     */
+    private static final class CachedStatement implements InvocationHandler {
+
+        final PreparedStatement physical;
+        final Connection owner;
+        final PreparedStatement proxy;
+        final List<ResultSet> openResults = new ArrayList<>();
+
+        boolean inUse;
+        boolean evicted;
+        boolean settingsChanged;
+
+        CachedStatement(PreparedStatement physical, Connection owner) {
+            this.physical = physical;
+            this.owner = owner;
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                this
+            );
+        }
+
+        void checkOut() {
+            inUse = true;
+        }
+
+        /**
+         * Bị đẩy khỏi LRU: đóng ngay nếu rảnh, nếu đang dùng thì đóng khi DAO close()
+         */
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                closeQuietly();
+            }
+        }
+
+        /**
+         * Logical close: dọn trạng thái để lần dùng sau như statement mới
+         */
+        private void checkIn() throws SQLException {
+            for (ResultSet rs : openResults) {
+                try {
+                    rs.close();
+                } catch (SQLException ignored) {
+                    // Result set đã đóng
+                }
+            }
+            openResults.clear();
+            inUse = false;
+
+            if (evicted || physical.isClosed()) {
+                closeQuietly();
+                return;
+            }
+
+            physical.clearParameters();
+            physical.clearBatch();
+            physical.clearWarnings();
+            if (settingsChanged) {
+                physical.setFetchSize(0);
+                physical.setMaxRows(0);
+                physical.setQueryTimeout(0);
+                settingsChanged = false;
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                physical.close();
+            } catch (SQLException ignored) {
+                // Connection có thể đã đóng
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (inUse) {
+                        checkIn();
+                    }
+                    return null;
+                case "isClosed":
+                    return !inUse || physical.isClosed();
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + physical + "]";
+                case "setFetchSize":
+                case "setMaxRows":
+                case "setQueryTimeout":
+                    settingsChanged = true;
+                    break;
+                default:
+                    break;
+            }
+
+            if (!inUse) {
+                throw new SQLException("Statement is closed");
+            }
+
+            Object result;
+            try {
+                result = method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            if (result instanceof ResultSet) {
+                openResults.add((ResultSet) result);
+            }
+            return result;
+        }
+    }
+}
@@ -1,6 +1,15 @@
 package dao;
 
+import config.DBConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * BaseDAO - Abstract class với CRUD operations
@@ -14,6 +23,32 @@ public abstract class BaseDAO<T> {
      */
     public abstract boolean create(T entity);
     
+    /**
+     * Thêm mới nhiều entities (all-or-nothing)
+     * Mặc định gọi create() từng cái trong một transaction;
+     * DAO nào hay insert nhiều dòng thì override bằng batchInsert()
+     */
+    public boolean createAll(List<T> entities) {
+        if (entities == null || entities.isEmpty()) {
+            return true;
+        }
+        try {
+            Boolean success = DBConnection.inTransaction(() -> {
+                for (T entity : entities) {
+                    if (!create(entity)) {
+                        return false;
+                    }
+                }
+                return true;
+            });
+            return Boolean.TRUE.equals(success);
+            
+        } catch (SQLException e) {
+            System.err.println("❌ Error creating entities: " + e.getMessage());
+            return false;
+        }
+    }
+    
     /**
      * Lấy entity theo ID
      */
@@ -48,4 +83,197 @@ public abstract class BaseDAO<T> {
      * Tìm kiếm theo tiêu chí
      */
     public abstract List<T> search(String criteria);
+    
+    // ============ KEYSET PAGINATION ============
+    
+    /**
+     * Map một dòng ResultSet sang entity
+     */
+    @FunctionalInterface
+    protected interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+    
+    /**
+     * Truy vấn một trang theo (timeColumn DESC, idColumn DESC), dùng cho Pageable.page()
+     * Điều kiện cursor dùng được index trên timeColumn (InnoDB index phụ đã chứa primary key),
+     * nên trang thứ N tốn như trang đầu. Lấy limit + 1 dòng để biết còn trang sau không.
+     * 
+     * @param table Tên bảng
+     * @param timeColumn Cột thời gian sắp xếp
+     * @param idColumn Primary key (phân biệt các dòng cùng thời gian)
+     * @param conditions Điều kiện WHERE thêm (dạng "status = ?")
+     * @param params Tham số tương ứng với conditions
+     */
+    protected Page<T> keysetPage(String table, String timeColumn, String idColumn,
+                                 Timestamp afterCreatedAt, int afterId, int limit,
+                                 List<String> conditions, List<Object> params,
+                                 RowMapper<T> mapper) {
+        List<String> where = new ArrayList<>(conditions);
+        List<Object> values = new ArrayList<>(params);
+        if (afterCreatedAt != null) {
+            where.add("(" + timeColumn + " < ? OR (" + timeColumn + " = ? AND " + idColumn + " < ?))");
+            values.add(afterCreatedAt);
+            values.add(afterCreatedAt);
+            values.add(afterId);
+        }
+        
+        StringBuilder sql = new StringBuilder("SELECT * FROM ").append(table);
+        if (!where.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", where));
+        }
+        sql.append(" ORDER BY ").append(timeColumn).append(" DESC, ").append(idColumn).append(" DESC LIMIT ?");
+        values.add(limit + 1);
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            
+            for (int i = 0; i < values.size(); i++) {
+                ps.setObject(i + 1, values.get(i));
+            }
+            
+            List<T> items = new ArrayList<>();
+            Timestamp lastTime = null;
+            int lastId = 0;
+            boolean hasMore = false;
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    if (items.size() == limit) {
+                        hasMore = true;
+                        break;
+                    }
+                    items.add(mapper.map(rs));
+                    lastTime = rs.getTimestamp(timeColumn);
+                    lastId = rs.getInt(idColumn);
+                }
+            }
+            return new Page<>(items, hasMore, lastTime, lastId);
+            
+        } catch (SQLException e) {
+            System.err.println("❌ Error paging " + table + ": " + e.getMessage());
+            return Page.empty();
+        }
+    }
+    
+    // ============ STREAMING ============
+    
+    /**
+     * Fetch size báo MySQL Connector/J stream từng dòng thay vì đọc hết result set vào heap
+     */
+    protected static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+    
+    /**
+     * Chạy query và xử lý từng dòng một (bộ nhớ không phụ thuộc số dòng)
+     * 
+     * Trong lúc stream, connection bận cho tới khi đọc hết result set:
+     * action không được gọi DAO khác trên cùng connection (ví dụ trong inTransaction).
+     * Connection và statement luôn được đóng, kể cả khi action ném exception.
+     * 
+     * @param sql Câu SELECT
+     * @param params Tham số của sql
+     * @param mapper Map dòng sang object
+     * @param action Xử lý từng object
+     * @return Số dòng đã xử lý, -1 nếu lỗi SQL
+     */
+    protected <R> int forEachRow(String sql, List<Object> params,
+                                 RowMapper<R> mapper, Consumer<? super R> action) {
+        int rows = 0;
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            
+            ps.setFetchSize(STREAMING_FETCH_SIZE);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    action.accept(mapper.map(rs));
+                    rows++;
+                }
+            }
+            return rows;
+            
+        } catch (SQLException e) {
+            System.err.println("❌ Error streaming rows: " + e.getMessage());
+            return -1;
+        }
+    }
+    
+    // ============ BATCH SUPPORT ============
+    
+    /**
+     * Gán tham số INSERT cho một entity
+     */
+    @FunctionalInterface
+    protected interface StatementBinder<T> {
+        void bind(PreparedStatement ps, T entity) throws SQLException;
+    }
+    
+    /**
+     * Ghi generated key trả về vào entity
+     */
+    @FunctionalInterface
+    protected interface KeySetter<T> {
+        void setKey(T entity, int key);
+    }
+    
+    /**
+     * INSERT nhiều dòng bằng JDBC batch
+     * Với rewriteBatchedStatements=true driver gửi một câu INSERT ... VALUES (...), (...)
+     * thay vì mỗi dòng một round trip. Generated keys được ghi ngược vào từng entity
+     * theo thứ tự của list.
+     * 
+     * @param sql Câu INSERT một dòng (giống create())
+     * @param entities Danh sách entity
+     * @param binder Gán tham số cho từng entity
+     * @param keySetter Ghi generated key, null nếu không cần
+     * @return true nếu insert đủ tất cả dòng
+     */
+    protected boolean batchInsert(String sql, List<T> entities,
+                                  StatementBinder<T> binder, KeySetter<T> keySetter) {
+        if (entities == null || entities.isEmpty()) {
+            return true;
+        }
+        try {
+            Boolean success = DBConnection.inTransaction(() -> {
+                try (Connection conn = DBConnection.getConnection();
+                     PreparedStatement ps = keySetter != null
+                         ? conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                         : conn.prepareStatement(sql)) {
+                    
+                    for (T entity : entities) {
+                        binder.bind(ps, entity);
+                        ps.addBatch();
+                    }
+                    
+                    int[] results = ps.executeBatch();
+                    for (int result : results) {
+                        // Batch được rewrite trả về SUCCESS_NO_INFO (-2) cho từng dòng
+                        if (result == 0 || result == Statement.EXECUTE_FAILED) {
+                            return false;
+                        }
+                    }
+                    
+                    if (keySetter != null) {
+                        try (ResultSet keys = ps.getGeneratedKeys()) {
+                            for (T entity : entities) {
+                                if (!keys.next()) {
+                                    break;
+                                }
+                                keySetter.setKey(entity, keys.getInt(1));
+                            }
+                        }
+                    }
+                    return true;
+                }
+            });
+            return Boolean.TRUE.equals(success);
+            
+        } catch (SQLException e) {
+            System.err.println("❌ Error batch inserting: " + e.getMessage());
+            return false;
+        }
+    }
 }
\ No newline at end of file
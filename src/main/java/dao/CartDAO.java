@@ -24,6 +24,38 @@ public class CartDAO extends BaseDAO<Cart> {
     
     private static final String TABLE = "carts";
     
+    // ============ SQL ============
+    
+    private static final String SQL_CREATE = "INSERT INTO " + TABLE + " (customer_id, total_amount, status) VALUES (?, ?, ?)";
+    private static final String SQL_GET_BY_ID = "SELECT * FROM " + TABLE + " WHERE cart_id = ?";
+    private static final String SQL_GET_ALL = "SELECT * FROM " + TABLE + " ORDER BY created_at DESC";
+    private static final String SQL_GET_BY_CUSTOMER_ID = "SELECT * FROM " + TABLE +
+                                                         " WHERE customer_id = ? AND status = 0 " +
+                                                         "ORDER BY created_at DESC LIMIT 1";
+    private static final String SQL_GET_ACTIVE_CART = "SELECT * FROM " + TABLE +
+                                                      " WHERE customer_id = ? AND status = 0 LIMIT 1";
+    private static final String SQL_GET_BY_STATUS = "SELECT * FROM " + TABLE +
+                                                    " WHERE status = ? ORDER BY updated_at DESC";
+    private static final String SQL_UPDATE = "UPDATE " + TABLE +
+                                             " SET customer_id = ?, total_amount = ?, status = ?, updated_at = NOW() " +
+                                             "WHERE cart_id = ?";
+    private static final String SQL_UPDATE_TOTAL_AMOUNT = "UPDATE " + TABLE +
+                                                          " SET total_amount = ?, updated_at = NOW() WHERE cart_id = ?";
+    private static final String SQL_UPDATE_STATUS = "UPDATE " + TABLE +
+                                                    " SET status = ?, updated_at = NOW() WHERE cart_id = ?";
+    private static final String SQL_RECALCULATE_TOTAL_AMOUNT = "UPDATE " + TABLE + " SET total_amount = " +
+                                                               "(SELECT COALESCE(SUM(subtotal), 0) FROM cart_items WHERE cart_id = ?), " +
+                                                               "updated_at = NOW() WHERE cart_id = ?";
+    private static final String SQL_DELETE = "DELETE FROM " + TABLE + " WHERE cart_id = ?";
+    private static final String SQL_DELETE_ABANDONED_CARTS = "DELETE FROM " + TABLE +
+                                                             " WHERE status = 2 AND updated_at < DATE_SUB(NOW(), INTERVAL ? DAY)";
+    private static final String SQL_EXISTS = "SELECT COUNT(*) FROM " + TABLE + " WHERE cart_id = ?";
+    private static final String SQL_COUNT = "SELECT COUNT(*) FROM " + TABLE;
+    private static final String SQL_COUNT_BY_STATUS = "SELECT COUNT(*) FROM " + TABLE + " WHERE status = ?";
+    private static final String SQL_SEARCH = "SELECT * FROM " + TABLE +
+                                             " WHERE CAST(customer_id AS CHAR) LIKE ? OR CAST(cart_id AS CHAR) LIKE ?";
+    private static final String SQL_GET_TOTAL_ACTIVE_CARTS_VALUE = "SELECT COALESCE(SUM(total_amount), 0) FROM " + TABLE + " WHERE status = 0";
+    
     // ============ CREATE ============
     
     /**
@@ -33,10 +65,8 @@ public class CartDAO extends BaseDAO<Cart> {
      */
     @Override
     public boolean create(Cart cart) {
-        String sql = "INSERT INTO " + TABLE + " (customer_id, total_amount, status) VALUES (?, ?, ?)";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_CREATE, Statement.RETURN_GENERATED_KEYS)) {
             
             ps.setInt(1, cart.getCustomerId());
             ps.setDouble(2, cart.getTotalAmount());
@@ -69,10 +99,8 @@ public class CartDAO extends BaseDAO<Cart> {
      */
     @Override
     public Cart getById(int id) {
-        String sql = "SELECT * FROM " + TABLE + " WHERE cart_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_BY_ID)) {
             
             ps.setInt(1, id);
             ResultSet rs = ps.executeQuery();
@@ -98,11 +126,10 @@ public class CartDAO extends BaseDAO<Cart> {
     @Override
     public List<Cart> getAll() {
         List<Cart> carts = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE + " ORDER BY created_at DESC";
         
         try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_ALL);
+             ResultSet rs = ps.executeQuery()) {
             
             while (rs.next()) {
                 Cart cart = mapResultSetToCart(rs);
@@ -123,12 +150,8 @@ public class CartDAO extends BaseDAO<Cart> {
      * @return Cart object hoặc null
      */
     public Cart getByCustomerId(int customerId) {
-        String sql = "SELECT * FROM " + TABLE + 
-                     " WHERE customer_id = ? AND status = 0 " +
-                     "ORDER BY created_at DESC LIMIT 1";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_BY_CUSTOMER_ID)) {
             
             ps.setInt(1, customerId);
             ResultSet rs = ps.executeQuery();
@@ -178,11 +201,8 @@ public class CartDAO extends BaseDAO<Cart> {
      * @return Active Cart hoặc null
      */
     public Cart getActiveCart(int customerId) {
-        String sql = "SELECT * FROM " + TABLE + 
-                     " WHERE customer_id = ? AND status = 0 LIMIT 1";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_ACTIVE_CART)) {
             
             ps.setInt(1, customerId);
             ResultSet rs = ps.executeQuery();
@@ -207,11 +227,9 @@ public class CartDAO extends BaseDAO<Cart> {
      */
     public List<Cart> getByStatus(int status) {
         List<Cart> carts = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE + 
-                     " WHERE status = ? ORDER BY updated_at DESC";
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_BY_STATUS)) {
             
             ps.setInt(1, status);
             ResultSet rs = ps.executeQuery();
@@ -238,12 +256,8 @@ public class CartDAO extends BaseDAO<Cart> {
      */
     @Override
     public boolean update(Cart cart) {
-        String sql = "UPDATE " + TABLE + 
-                     " SET customer_id = ?, total_amount = ?, status = ?, updated_at = NOW() " +
-                     "WHERE cart_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_UPDATE)) {
             
             ps.setInt(1, cart.getCustomerId());
             ps.setDouble(2, cart.getTotalAmount());
@@ -272,11 +286,8 @@ public class CartDAO extends BaseDAO<Cart> {
      * @return true nếu thành công
      */
     public boolean updateTotalAmount(int cartId, double totalAmount) {
-        String sql = "UPDATE " + TABLE + 
-                     " SET total_amount = ?, updated_at = NOW() WHERE cart_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_UPDATE_TOTAL_AMOUNT)) {
             
             ps.setDouble(1, totalAmount);
             ps.setInt(2, cartId);
@@ -298,11 +309,8 @@ public class CartDAO extends BaseDAO<Cart> {
      * @return true nếu thành công
      */
     public boolean updateStatus(int cartId, int status) {
-        String sql = "UPDATE " + TABLE + 
-                     " SET status = ?, updated_at = NOW() WHERE cart_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_UPDATE_STATUS)) {
             
             ps.setInt(1, status);
             ps.setInt(2, cartId);
@@ -328,12 +336,8 @@ public class CartDAO extends BaseDAO<Cart> {
      * @return true nếu thành công
      */
     public boolean recalculateTotalAmount(int cartId) {
-        String sql = "UPDATE " + TABLE + " SET total_amount = " +
-                     "(SELECT COALESCE(SUM(subtotal), 0) FROM cart_items WHERE cart_id = ?), " +
-                     "updated_at = NOW() WHERE cart_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_RECALCULATE_TOTAL_AMOUNT)) {
             
             ps.setInt(1, cartId);
             ps.setInt(2, cartId);
@@ -357,26 +361,22 @@ public class CartDAO extends BaseDAO<Cart> {
      */
     @Override
     public boolean delete(int id) {
-        Connection conn = null;
-        
         try {
-            conn = DBConnection.getConnection();
-            conn.setAutoCommit(false); // Bắt đầu transaction
-            
-            // Xóa cart items trước
-            CartItemDAO cartItemDAO = new CartItemDAO();
-            cartItemDAO.deleteByCartId(id);
-            
-            // Xóa cart
-            String sql = "DELETE FROM " + TABLE + " WHERE cart_id = ?";
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ps.setInt(1, id);
-            int result = ps.executeUpdate();
-            
-            conn.commit(); // Commit transaction
-            ps.close();
+            // Cart items và cart xóa trong cùng transaction (CartItemDAO join qua DBConnection)
+            Boolean deleted = DBConnection.inTransaction(() -> {
+                // Xóa cart items trước
+                CartItemDAO cartItemDAO = new CartItemDAO();
+                cartItemDAO.deleteByCartId(id);
+                
+                // Xóa cart
+                try (Connection conn = DBConnection.getConnection();
+                     PreparedStatement ps = conn.prepareStatement(SQL_DELETE)) {
+                    ps.setInt(1, id);
+                    return ps.executeUpdate() > 0;
+                }
+            });
             
-            if (result > 0) {
+            if (Boolean.TRUE.equals(deleted)) {
                 System.out.println("✅ Deleted cart: " + id);
                 return true;
             }
@@ -385,26 +385,7 @@ public class CartDAO extends BaseDAO<Cart> {
         } catch (SQLException e) {
             System.err.println("❌ Error deleting cart: " + e.getMessage());
             e.printStackTrace();
-            
-            // Rollback nếu có lỗi
-            if (conn != null) {
-                try {
-                    conn.rollback();
-                } catch (SQLException ex) {
-                    ex.printStackTrace();
-                }
-            }
             return false;
-            
-        } finally {
-            if (conn != null) {
-                try {
-                    conn.setAutoCommit(true);
-                    conn.close();
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
-            }
         }
     }
     
@@ -414,11 +395,8 @@ public class CartDAO extends BaseDAO<Cart> {
      * @return Số lượng carts đã xóa
      */
     public int deleteAbandonedCarts(int daysOld) {
-        String sql = "DELETE FROM " + TABLE + 
-                     " WHERE status = 2 AND updated_at < DATE_SUB(NOW(), INTERVAL ? DAY)";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_DELETE_ABANDONED_CARTS)) {
             
             ps.setInt(1, daysOld);
             int deleted = ps.executeUpdate();
@@ -461,10 +439,8 @@ public class CartDAO extends BaseDAO<Cart> {
      */
     @Override
     public boolean exists(int id) {
-        String sql = "SELECT COUNT(*) FROM " + TABLE + " WHERE cart_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_EXISTS)) {
             
             ps.setInt(1, id);
             ResultSet rs = ps.executeQuery();
@@ -485,11 +461,9 @@ public class CartDAO extends BaseDAO<Cart> {
      */
     @Override
     public int count() {
-        String sql = "SELECT COUNT(*) FROM " + TABLE;
-        
         try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_COUNT);
+             ResultSet rs = ps.executeQuery()) {
             
             if (rs.next()) {
                 return rs.getInt(1);
@@ -507,10 +481,8 @@ public class CartDAO extends BaseDAO<Cart> {
      * @return Số lượng carts
      */
     public int countByStatus(int status) {
-        String sql = "SELECT COUNT(*) FROM " + TABLE + " WHERE status = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_COUNT_BY_STATUS)) {
             
             ps.setInt(1, status);
             ResultSet rs = ps.executeQuery();
@@ -533,11 +505,9 @@ public class CartDAO extends BaseDAO<Cart> {
     @Override
     public List<Cart> search(String criteria) {
         List<Cart> carts = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE + 
-                     " WHERE CAST(customer_id AS CHAR) LIKE ? OR CAST(cart_id AS CHAR) LIKE ?";
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_SEARCH)) {
             
             String searchTerm = "%" + criteria + "%";
             ps.setString(1, searchTerm);
@@ -564,11 +534,9 @@ public class CartDAO extends BaseDAO<Cart> {
      * @return Tổng tiền
      */
     public double getTotalActiveCartsValue() {
-        String sql = "SELECT COALESCE(SUM(total_amount), 0) FROM " + TABLE + " WHERE status = 0";
-        
         try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_TOTAL_ACTIVE_CARTS_VALUE);
+             ResultSet rs = ps.executeQuery()) {
             
             if (rs.next()) {
                 return rs.getDouble(1);
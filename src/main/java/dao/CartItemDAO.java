@@ -23,6 +23,38 @@ public class CartItemDAO extends BaseDAO<CartItem> {
     
     private static final String TABLE = "cart_items";
     
+    // ============ SQL ============
+    
+    private static final String SQL_CREATE = "INSERT INTO " + TABLE +
+                                             " (cart_id, product_id, product_name, unit_price, quantity, subtotal, image_url, notes) " +
+                                             "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_GET_BY_ID = "SELECT * FROM " + TABLE + " WHERE cart_item_id = ?";
+    private static final String SQL_GET_ALL = "SELECT * FROM " + TABLE;
+    private static final String SQL_GET_BY_CART_ID = "SELECT * FROM " + TABLE + " WHERE cart_id = ? ORDER BY cart_item_id";
+    private static final String SQL_GET_BY_CART_AND_PRODUCT = "SELECT * FROM " + TABLE + " WHERE cart_id = ? AND product_id = ?";
+    private static final String SQL_UPDATE = "UPDATE " + TABLE +
+                                             " SET cart_id = ?, product_id = ?, product_name = ?, unit_price = ?, " +
+                                             "quantity = ?, subtotal = ?, image_url = ?, notes = ? " +
+                                             "WHERE cart_item_id = ?";
+    private static final String SQL_UPDATE_QUANTITY = "UPDATE " + TABLE +
+                                                      " SET quantity = ?, subtotal = unit_price * ? WHERE cart_item_id = ?";
+    private static final String SQL_UPDATE_QUANTITY_BY_CART_AND_PRODUCT = "UPDATE " + TABLE +
+                                                                          " SET quantity = ?, subtotal = unit_price * ? " +
+                                                                          "WHERE cart_id = ? AND product_id = ?";
+    private static final String SQL_UPDATE_NOTES = "UPDATE " + TABLE + " SET notes = ? WHERE cart_item_id = ?";
+    private static final String SQL_DELETE = "DELETE FROM " + TABLE + " WHERE cart_item_id = ?";
+    private static final String SQL_DELETE_BY_CART_ID = "DELETE FROM " + TABLE + " WHERE cart_id = ?";
+    private static final String SQL_DELETE_BY_CART_AND_PRODUCT = "DELETE FROM " + TABLE + " WHERE cart_id = ? AND product_id = ?";
+    private static final String SQL_EXISTS = "SELECT COUNT(*) FROM " + TABLE + " WHERE cart_item_id = ?";
+    private static final String SQL_COUNT = "SELECT COUNT(*) FROM " + TABLE;
+    private static final String SQL_COUNT_BY_CART_ID = "SELECT COUNT(*) FROM " + TABLE + " WHERE cart_id = ?";
+    private static final String SQL_SEARCH = "SELECT * FROM " + TABLE + " WHERE product_name LIKE ? OR notes LIKE ?";
+    private static final String SQL_CALCULATE_CART_TOTAL = "SELECT COALESCE(SUM(subtotal), 0) FROM " + TABLE + " WHERE cart_id = ?";
+    private static final String SQL_GET_TOTAL_QUANTITY = "SELECT COALESCE(SUM(quantity), 0) FROM " + TABLE + " WHERE cart_id = ?";
+    private static final String SQL_GET_TOP_ADDED_PRODUCTS = "SELECT product_id, product_name, SUM(quantity) as total_qty " +
+                                                             "FROM " + TABLE + " GROUP BY product_id, product_name " +
+                                                             "ORDER BY total_qty DESC LIMIT ?";
+    
     // ============ CREATE ============
     
     /**
@@ -32,21 +64,10 @@ public class CartItemDAO extends BaseDAO<CartItem> {
      */
     @Override
     public boolean create(CartItem cartItem) {
-        String sql = "INSERT INTO " + TABLE + 
-                     " (cart_id, product_id, product_name, unit_price, quantity, subtotal, image_url, notes) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_CREATE, Statement.RETURN_GENERATED_KEYS)) {
             
-            ps.setInt(1, cartItem.getCartId());
-            ps.setInt(2, cartItem.getProductId());
-            ps.setString(3, cartItem.getProductName());
-            ps.setDouble(4, cartItem.getUnitPrice());
-            ps.setInt(5, cartItem.getQuantity());
-            ps.setDouble(6, cartItem.getSubtotal());
-            ps.setString(7, cartItem.getImageUrl());
-            ps.setString(8, cartItem.getNotes());
+            bindCreate(ps, cartItem);
             
             int result = ps.executeUpdate();
             
@@ -67,6 +88,16 @@ public class CartItemDAO extends BaseDAO<CartItem> {
         }
     }
     
+    /**
+     * Thêm nhiều cart items trong một batch INSERT
+     * @param cartItems Danh sách CartItem (cart item ID được ghi ngược vào từng object)
+     * @return true nếu thêm được tất cả
+     */
+    @Override
+    public boolean createAll(List<CartItem> cartItems) {
+        return batchInsert(SQL_CREATE, cartItems, this::bindCreate, CartItem::setCartItemId);
+    }
+    
     /**
      * Thêm hoặc cập nhật item trong cart
      * Nếu product đã có trong cart thì cộng thêm quantity
@@ -101,10 +132,8 @@ public class CartItemDAO extends BaseDAO<CartItem> {
      */
     @Override
     public CartItem getById(int id) {
-        String sql = "SELECT * FROM " + TABLE + " WHERE cart_item_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_BY_ID)) {
             
             ps.setInt(1, id);
             ResultSet rs = ps.executeQuery();
@@ -127,11 +156,10 @@ public class CartItemDAO extends BaseDAO<CartItem> {
     @Override
     public List<CartItem> getAll() {
         List<CartItem> cartItems = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE;
         
         try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_ALL);
+             ResultSet rs = ps.executeQuery()) {
             
             while (rs.next()) {
                 cartItems.add(mapResultSetToCartItem(rs));
@@ -151,10 +179,9 @@ public class CartItemDAO extends BaseDAO<CartItem> {
      */
     public List<CartItem> getByCartId(int cartId) {
         List<CartItem> cartItems = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE + " WHERE cart_id = ? ORDER BY cart_item_id";
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_BY_CART_ID)) {
             
             ps.setInt(1, cartId);
             ResultSet rs = ps.executeQuery();
@@ -177,10 +204,8 @@ public class CartItemDAO extends BaseDAO<CartItem> {
      * @return CartItem object hoặc null
      */
     public CartItem getByCartAndProduct(int cartId, int productId) {
-        String sql = "SELECT * FROM " + TABLE + " WHERE cart_id = ? AND product_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_BY_CART_AND_PRODUCT)) {
             
             ps.setInt(1, cartId);
             ps.setInt(2, productId);
@@ -216,13 +241,8 @@ public class CartItemDAO extends BaseDAO<CartItem> {
      */
     @Override
     public boolean update(CartItem cartItem) {
-        String sql = "UPDATE " + TABLE + 
-                     " SET cart_id = ?, product_id = ?, product_name = ?, unit_price = ?, " +
-                     "quantity = ?, subtotal = ?, image_url = ?, notes = ? " +
-                     "WHERE cart_item_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_UPDATE)) {
             
             ps.setInt(1, cartItem.getCartId());
             ps.setInt(2, cartItem.getProductId());
@@ -262,11 +282,8 @@ public class CartItemDAO extends BaseDAO<CartItem> {
             return delete(cartItemId);
         }
         
-        String sql = "UPDATE " + TABLE + 
-                     " SET quantity = ?, subtotal = unit_price * ? WHERE cart_item_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_UPDATE_QUANTITY)) {
             
             ps.setInt(1, quantity);
             ps.setInt(2, quantity);
@@ -300,12 +317,8 @@ public class CartItemDAO extends BaseDAO<CartItem> {
             return deleteByCartAndProduct(cartId, productId);
         }
         
-        String sql = "UPDATE " + TABLE + 
-                     " SET quantity = ?, subtotal = unit_price * ? " +
-                     "WHERE cart_id = ? AND product_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_UPDATE_QUANTITY_BY_CART_AND_PRODUCT)) {
             
             ps.setInt(1, quantity);
             ps.setInt(2, quantity);
@@ -363,10 +376,8 @@ public class CartItemDAO extends BaseDAO<CartItem> {
      * @return true nếu thành công
      */
     public boolean updateNotes(int cartItemId, String notes) {
-        String sql = "UPDATE " + TABLE + " SET notes = ? WHERE cart_item_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_UPDATE_NOTES)) {
             
             ps.setString(1, notes);
             ps.setInt(2, cartItemId);
@@ -388,10 +399,8 @@ public class CartItemDAO extends BaseDAO<CartItem> {
      */
     @Override
     public boolean delete(int id) {
-        String sql = "DELETE FROM " + TABLE + " WHERE cart_item_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_DELETE)) {
             
             ps.setInt(1, id);
             int result = ps.executeUpdate();
@@ -415,10 +424,8 @@ public class CartItemDAO extends BaseDAO<CartItem> {
      * @return true nếu thành công
      */
     public boolean deleteByCartId(int cartId) {
-        String sql = "DELETE FROM " + TABLE + " WHERE cart_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_DELETE_BY_CART_ID)) {
             
             ps.setInt(1, cartId);
             int deleted = ps.executeUpdate();
@@ -442,10 +449,8 @@ public class CartItemDAO extends BaseDAO<CartItem> {
      * @return true nếu thành công
      */
     public boolean deleteByCartAndProduct(int cartId, int productId) {
-        String sql = "DELETE FROM " + TABLE + " WHERE cart_id = ? AND product_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_DELETE_BY_CART_AND_PRODUCT)) {
             
             ps.setInt(1, cartId);
             ps.setInt(2, productId);
@@ -473,10 +478,8 @@ public class CartItemDAO extends BaseDAO<CartItem> {
      */
     @Override
     public boolean exists(int id) {
-        String sql = "SELECT COUNT(*) FROM " + TABLE + " WHERE cart_item_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_EXISTS)) {
             
             ps.setInt(1, id);
             ResultSet rs = ps.executeQuery();
@@ -497,11 +500,9 @@ public class CartItemDAO extends BaseDAO<CartItem> {
      */
     @Override
     public int count() {
-        String sql = "SELECT COUNT(*) FROM " + TABLE;
-        
         try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_COUNT);
+             ResultSet rs = ps.executeQuery()) {
             
             if (rs.next()) {
                 return rs.getInt(1);
@@ -519,10 +520,8 @@ public class CartItemDAO extends BaseDAO<CartItem> {
      * @return Số lượng items
      */
     public int countByCartId(int cartId) {
-        String sql = "SELECT COUNT(*) FROM " + TABLE + " WHERE cart_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_COUNT_BY_CART_ID)) {
             
             ps.setInt(1, cartId);
             ResultSet rs = ps.executeQuery();
@@ -545,10 +544,9 @@ public class CartItemDAO extends BaseDAO<CartItem> {
     @Override
     public List<CartItem> search(String criteria) {
         List<CartItem> cartItems = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE + " WHERE product_name LIKE ? OR notes LIKE ?";
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_SEARCH)) {
             
             String searchTerm = "%" + criteria + "%";
             ps.setString(1, searchTerm);
@@ -574,10 +572,8 @@ public class CartItemDAO extends BaseDAO<CartItem> {
      * @return Tổng tiền
      */
     public double calculateCartTotal(int cartId) {
-        String sql = "SELECT COALESCE(SUM(subtotal), 0) FROM " + TABLE + " WHERE cart_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_CALCULATE_CART_TOTAL)) {
             
             ps.setInt(1, cartId);
             ResultSet rs = ps.executeQuery();
@@ -598,10 +594,8 @@ public class CartItemDAO extends BaseDAO<CartItem> {
      * @return Tổng số lượng
      */
     public int getTotalQuantity(int cartId) {
-        String sql = "SELECT COALESCE(SUM(quantity), 0) FROM " + TABLE + " WHERE cart_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_TOTAL_QUANTITY)) {
             
             ps.setInt(1, cartId);
             ResultSet rs = ps.executeQuery();
@@ -623,12 +617,9 @@ public class CartItemDAO extends BaseDAO<CartItem> {
      */
     public List<CartItem> getTopAddedProducts(int limit) {
         List<CartItem> items = new ArrayList<>();
-        String sql = "SELECT product_id, product_name, SUM(quantity) as total_qty " +
-                     "FROM " + TABLE + " GROUP BY product_id, product_name " +
-                     "ORDER BY total_qty DESC LIMIT ?";
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_TOP_ADDED_PRODUCTS)) {
             
             ps.setInt(1, limit);
             ResultSet rs = ps.executeQuery();
@@ -649,6 +640,20 @@ public class CartItemDAO extends BaseDAO<CartItem> {
     
     // ============ HELPER METHODS ============
     
+    /**
+     * Gán tham số cho SQL_CREATE
+     */
+    private void bindCreate(PreparedStatement ps, CartItem cartItem) throws SQLException {
+        ps.setInt(1, cartItem.getCartId());
+        ps.setInt(2, cartItem.getProductId());
+        ps.setString(3, cartItem.getProductName());
+        ps.setDouble(4, cartItem.getUnitPrice());
+        ps.setInt(5, cartItem.getQuantity());
+        ps.setDouble(6, cartItem.getSubtotal());
+        ps.setString(7, cartItem.getImageUrl());
+        ps.setString(8, cartItem.getNotes());
+    }
+    
     /**
      * Map ResultSet sang CartItem object
      * @param rs ResultSet
@@ -0,0 +1,268 @@
+package dao;
+
+import config.DBConnection;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DailySalesDAO - Bảng rollup daily_sales (ngày × giờ × sản phẩm × phương thức thanh toán)
+ * Path: Source Packages/dao/DailySalesDAO.java
+ *
+ * Chỉ tính đơn đã thanh toán và chưa hủy (payment_status = 1 AND status <> 6).
+ * OrderDAO gọi syncOrder() trong cùng transaction mỗi khi payment_status đổi hoặc đơn bị hủy,
+ * và retractOrder() + syncOrder() khi sửa món / tổng tiền (update, changeItems),
+ * nên báo cáo theo ngày/tuần/tháng chỉ đọc vài dòng mỗi ngày thay vì quét orders.
+ * Nếu dữ liệu lệch (sửa tay trong DB...), chạy rebuild() / main.RebuildDailySales.
+ *
+ * Schema: resources/db/migration/V002__daily_sales.sql
+ */
+public class DailySalesDAO {
+
+    private static final String TABLE = "daily_sales";
+
+    // product_id của dòng tổng cả đơn
+    public static final int ORDER_TOTAL_PRODUCT_ID = 0;
+
+    // ============ SQL ============
+
+    private static final String SQL_IS_COUNTED = "SELECT payment_status = 1 AND status <> 6 FROM orders " +
+                                                 "WHERE order_id = ? FOR UPDATE";
+    private static final String UPSERT = " ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), " +
+                                         "quantity = quantity + VALUES(quantity), revenue = revenue + VALUES(revenue)";
+    private static final String SQL_APPLY_ORDER_TOTAL = "INSERT INTO " + TABLE +
+                                                        " (sales_date, sales_hour, product_id, pay_method, order_count, quantity, revenue) " +
+                                                        "SELECT DATE(created_at), HOUR(created_at), 0, pay_method, ?, 0, ? * total_amount " +
+                                                        "FROM orders WHERE order_id = ?" + UPSERT;
+    private static final String SQL_APPLY_ORDER_ITEMS = "INSERT INTO " + TABLE +
+                                                        " (sales_date, sales_hour, product_id, pay_method, order_count, quantity, revenue) " +
+                                                        "SELECT DATE(o.created_at), HOUR(o.created_at), oi.product_id, o.pay_method, " +
+                                                        "?, ? * SUM(oi.quantity), ? * SUM(oi.subtotal) " +
+                                                        "FROM orders o JOIN order_items oi ON oi.order_id = o.order_id " +
+                                                        "WHERE o.order_id = ? GROUP BY oi.product_id" + UPSERT;
+
+    private static final String SQL_DELETE_RANGE = "DELETE FROM " + TABLE + " WHERE sales_date >= ? AND sales_date < ?";
+    private static final String SQL_REBUILD_ORDER_TOTALS = "INSERT INTO " + TABLE +
+                                                           " (sales_date, sales_hour, product_id, pay_method, order_count, quantity, revenue) " +
+                                                           "SELECT DATE(created_at), HOUR(created_at), 0, pay_method, COUNT(*), 0, SUM(total_amount) " +
+                                                           "FROM orders WHERE created_at >= ? AND created_at < ? " +
+                                                           "AND payment_status = 1 AND status <> 6 " +
+                                                           "GROUP BY DATE(created_at), HOUR(created_at), pay_method";
+    private static final String SQL_REBUILD_ORDER_ITEMS = "INSERT INTO " + TABLE +
+                                                          " (sales_date, sales_hour, product_id, pay_method, order_count, quantity, revenue) " +
+                                                          "SELECT DATE(o.created_at), HOUR(o.created_at), oi.product_id, o.pay_method, " +
+                                                          "COUNT(DISTINCT o.order_id), SUM(oi.quantity), SUM(oi.subtotal) " +
+                                                          "FROM orders o JOIN order_items oi ON oi.order_id = o.order_id " +
+                                                          "WHERE o.created_at >= ? AND o.created_at < ? " +
+                                                          "AND o.payment_status = 1 AND o.status <> 6 " +
+                                                          "GROUP BY DATE(o.created_at), HOUR(o.created_at), oi.product_id, o.pay_method";
+    private static final String SQL_FIRST_ORDER_DATE = "SELECT DATE(MIN(created_at)) FROM orders";
+
+    private static final String SQL_GET_TOTALS = "SELECT COALESCE(SUM(order_count), 0), COALESCE(SUM(revenue), 0) " +
+                                                 "FROM " + TABLE + " WHERE product_id = 0 AND sales_date >= ? AND sales_date < ?";
+    private static final String SQL_GET_TOP_PRODUCTS = "SELECT p.name, SUM(ds.quantity) AS total_sold FROM " + TABLE + " ds " +
+                                                       "JOIN products p ON p.product_id = ds.product_id " +
+                                                       "WHERE ds.product_id > 0 AND ds.sales_date >= ? AND ds.sales_date < ? " +
+                                                       "GROUP BY ds.product_id, p.name ORDER BY total_sold DESC LIMIT ?";
+    private static final String SQL_GET_REVENUE_BY_PAY_METHOD = "SELECT pay_method, SUM(revenue) FROM " + TABLE +
+                                                                " WHERE product_id = 0 AND sales_date >= ? AND sales_date < ? " +
+                                                                "GROUP BY pay_method";
+
+    /**
+     * Tổng doanh số trong một khoảng ngày
+     */
+    public record Totals(int orderCount, double revenue) {
+
+        public double averageOrderValue() {
+            return orderCount > 0 ? revenue / orderCount : 0;
+        }
+    }
+
+    // ============ INCREMENTAL UPDATE ============
+
+    /**
+     * Order hiện có nằm trong rollup không (khóa dòng order tới hết transaction)
+     * Gọi trong DBConnection.inTransaction, trước khi đổi status / payment_status
+     */
+    public boolean isCounted(int orderId) throws SQLException {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_IS_COUNTED)) {
+
+            ps.setInt(1, orderId);
+            ResultSet rs = ps.executeQuery();
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    /**
+     * Đồng bộ rollup sau khi order đổi trạng thái
+     * @param wasCounted Kết quả isCounted() trước khi đổi
+     */
+    public boolean syncOrder(int orderId, boolean wasCounted) throws SQLException {
+        boolean nowCounted = isCounted(orderId);
+        if (nowCounted == wasCounted) {
+            return true;
+        }
+        applyOrder(orderId, nowCounted ? 1 : -1);
+        return true;
+    }
+
+    /**
+     * Trừ order khỏi rollup nếu đang được tính (khóa dòng order tới hết transaction)
+     * Gọi trước khi sửa món / tổng tiền / pay_method; sửa xong gọi syncOrder(orderId, false)
+     * để cộng lại theo dữ liệu mới.
+     */
+    public void retractOrder(int orderId) throws SQLException {
+        if (isCounted(orderId)) {
+            applyOrder(orderId, -1);
+        }
+    }
+
+    /**
+     * Cộng (sign = 1) hoặc trừ (sign = -1) một order vào rollup
+     */
+    private void applyOrder(int orderId, int sign) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            try (PreparedStatement ps = conn.prepareStatement(SQL_APPLY_ORDER_TOTAL)) {
+                ps.setInt(1, sign);
+                ps.setInt(2, sign);
+                ps.setInt(3, orderId);
+                ps.executeUpdate();
+            }
+            try (PreparedStatement ps = conn.prepareStatement(SQL_APPLY_ORDER_ITEMS)) {
+                ps.setInt(1, sign);
+                ps.setInt(2, sign);
+                ps.setInt(3, sign);
+                ps.setInt(4, orderId);
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    // ============ REBUILD ============
+
+    /**
+     * Tính lại rollup cho các ngày [from, to] từ orders / order_items
+     * @return true nếu thành công
+     */
+    public boolean rebuild(LocalDate from, LocalDate to) {
+        Date fromDate = Date.valueOf(from);
+        Date beforeDate = Date.valueOf(to.plusDays(1));
+        Timestamp fromTime = Timestamp.valueOf(from.atStartOfDay());
+        Timestamp beforeTime = Timestamp.valueOf(to.plusDays(1).atStartOfDay());
+
+        try {
+            Boolean success = DBConnection.inTransaction(() -> {
+                try (Connection conn = DBConnection.getConnection()) {
+                    try (PreparedStatement ps = conn.prepareStatement(SQL_DELETE_RANGE)) {
+                        ps.setDate(1, fromDate);
+                        ps.setDate(2, beforeDate);
+                        ps.executeUpdate();
+                    }
+                    for (String sql : new String[] { SQL_REBUILD_ORDER_TOTALS, SQL_REBUILD_ORDER_ITEMS }) {
+                        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                            ps.setTimestamp(1, fromTime);
+                            ps.setTimestamp(2, beforeTime);
+                            ps.executeUpdate();
+                        }
+                    }
+                }
+                return true;
+            });
+            return Boolean.TRUE.equals(success);
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error rebuilding daily sales: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Ngày của order đầu tiên (null nếu chưa có order)
+     */
+    public LocalDate getFirstOrderDate() {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_FIRST_ORDER_DATE);
+             ResultSet rs = ps.executeQuery()) {
+
+            if (rs.next() && rs.getDate(1) != null) {
+                return rs.getDate(1).toLocalDate();
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error getting first order date: " + e.getMessage());
+        }
+        return null;
+    }
+
+    // ============ READ ============
+
+    /**
+     * Số đơn và doanh thu trong các ngày [from, to]
+     */
+    public Totals getTotals(LocalDate from, LocalDate to) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_TOTALS)) {
+
+            ps.setDate(1, Date.valueOf(from));
+            ps.setDate(2, Date.valueOf(to.plusDays(1)));
+            ResultSet rs = ps.executeQuery();
+
+            if (rs.next()) {
+                return new Totals(rs.getInt(1), rs.getDouble(2));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error getting daily sales totals: " + e.getMessage());
+        }
+        return new Totals(0, 0);
+    }
+
+    /**
+     * Top sản phẩm bán chạy trong các ngày [from, to] (giữ thứ tự giảm dần)
+     */
+    public Map<String, Integer> getTopProducts(LocalDate from, LocalDate to, int limit) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_TOP_PRODUCTS)) {
+
+            ps.setDate(1, Date.valueOf(from));
+            ps.setDate(2, Date.valueOf(to.plusDays(1)));
+            ps.setInt(3, limit);
+            ResultSet rs = ps.executeQuery();
+
+            while (rs.next()) {
+                result.put(rs.getString("name"), rs.getInt("total_sold"));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error getting top products from daily sales: " + e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * Doanh thu theo phương thức thanh toán trong các ngày [from, to]
+     */
+    public Map<Integer, Double> getRevenueByPayMethod(LocalDate from, LocalDate to) {
+        Map<Integer, Double> result = new LinkedHashMap<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_REVENUE_BY_PAY_METHOD)) {
+
+            ps.setDate(1, Date.valueOf(from));
+            ps.setDate(2, Date.valueOf(to.plusDays(1)));
+            ResultSet rs = ps.executeQuery();
+
+            while (rs.next()) {
+                result.put(rs.getInt(1), rs.getDouble(2));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error getting revenue by pay method: " + e.getMessage());
+        }
+        return result;
+    }
+}
@@ -1,29 +1,80 @@
 package dao;
 
+import config.AppConfig;
 import config.DBConnection;
 import entity.Order;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * OrderDAO - Quản lý Order trong database
  * Path: Source Packages/dao/OrderDAO.java
+ * 
+ * Mọi thay đổi (create, update, status, payment, chef, delete) ghi thêm một dòng
+ * order_events trong cùng transaction (OrderEventDAO), để máy khác biết mà cập nhật.
  */
-public class OrderDAO extends BaseDAO<Order> {
+public class OrderDAO extends BaseDAO<Order> implements Pageable<Order> {
     
     private static final String TABLE = "orders";
+    private static final int STATUS_CANCELLED = 6;
+    
+    private final DailySalesDAO dailySalesDAO = new DailySalesDAO();
+    private final OrderEventDAO orderEventDAO = new OrderEventDAO();
+    
+    // ============ SQL ============
+    
+    private static final String SQL_CREATE = "INSERT INTO " + TABLE +
+                                             " (customer_name, phone_number, total_amount, pay_method, " +
+                                             "payment_status, status) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String SQL_GET_BY_ID = "SELECT * FROM " + TABLE + " WHERE order_id = ?";
+    private static final String SQL_GET_ALL = "SELECT * FROM " + TABLE + " ORDER BY created_at DESC";
+    private static final String SQL_GET_BY_STATUS = "SELECT * FROM " + TABLE + " WHERE status = ? ORDER BY created_at DESC";
+    private static final String SQL_GET_BY_PAYMENT_STATUS = "SELECT * FROM " + TABLE + " WHERE payment_status = ? ORDER BY created_at DESC";
+    private static final String SQL_GET_BY_PHONE_NUMBER = "SELECT * FROM " + TABLE + " WHERE phone_number = ? ORDER BY created_at DESC";
+    private static final String SQL_UPDATE = "UPDATE " + TABLE +
+                                             " SET customer_name = ?, phone_number = ?, total_amount = ?, " +
+                                             "pay_method = ?, payment_status = ?, status = ?, " +
+                                             "assigned_chef_id = ?, updated_at = NOW() WHERE order_id = ?";
+    private static final String SQL_UPDATE_STATUS = "UPDATE " + TABLE + " SET status = ?, updated_at = NOW() WHERE order_id = ?";
+    private static final String SQL_TRANSITION_STATUS = "UPDATE " + TABLE + " SET status = ?, updated_at = NOW() " +
+                                                        "WHERE order_id = ? AND status = ?";
+    private static final String SQL_GET_STATUS = "SELECT status FROM " + TABLE + " WHERE order_id = ?";
+    private static final String SQL_UPDATE_PAYMENT_STATUS = "UPDATE " + TABLE + " SET payment_status = ?, updated_at = NOW() WHERE order_id = ?";
+    private static final String SQL_ASSIGN_CHEF = "UPDATE " + TABLE + " SET assigned_chef_id = ?, updated_at = NOW() WHERE order_id = ?";
+    private static final String SQL_DELETE = "DELETE FROM " + TABLE + " WHERE order_id = ?";
+    private static final String SQL_UPDATE_TOTAL = "UPDATE " + TABLE + " SET total_amount = " +
+                                                   "(SELECT COALESCE(SUM(subtotal), 0) FROM order_items WHERE order_id = ?), " +
+                                                   "updated_at = NOW() WHERE order_id = ?";
+    private static final String SQL_COUNT = "SELECT COUNT(*) FROM " + TABLE;
+    private static final String SQL_COUNT_BY_STATUS_ALL = "SELECT status, COUNT(*) FROM " + TABLE + " GROUP BY status";
+    private static final String SQL_SEARCH = "SELECT * FROM " + TABLE +
+                                             " WHERE customer_name LIKE ? OR phone_number LIKE ? OR CAST(order_id AS CHAR) LIKE ? " +
+                                             "ORDER BY created_at DESC";
     
     // ============ CREATE ============
     
+    /**
+     * Insert order + event CREATED trong một transaction (join transaction của caller nếu có)
+     */
     @Override
     public boolean create(Order order) {
-        String sql = "INSERT INTO " + TABLE + 
-                     " (customer_name, phone_number, total_amount, pay_method, " +
-                     "payment_status, status) VALUES (?, ?, ?, ?, ?, ?)";
-        
+        try {
+            Boolean success = DBConnection.inTransaction(() ->
+                insert(order)
+                    && orderEventDAO.append(order.getOrderId(), OrderEventDAO.CREATED, OrderEventDAO.NONE, order.getStatus()));
+            return Boolean.TRUE.equals(success);
+            
+        } catch (SQLException e) {
+            System.err.println("Error creating order: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    private boolean insert(Order order) throws SQLException {
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_CREATE, Statement.RETURN_GENERATED_KEYS)) {
             
             ps.setString(1, order.getCustomerName());
             ps.setString(2, order.getPhoneNumber());
@@ -32,20 +83,14 @@ public class OrderDAO extends BaseDAO<Order> {
             ps.setInt(5, order.getPaymentStatus());
             ps.setInt(6, order.getStatus());
             
-            int result = ps.executeUpdate();
-            
-            if (result > 0) {
-                ResultSet generatedKeys = ps.getGeneratedKeys();
-                if (generatedKeys.next()) {
-                    order.setOrderId(generatedKeys.getInt(1));
-                }
-                return true;
+            if (ps.executeUpdate() == 0) {
+                return false;
             }
-            return false;
-            
-        } catch (SQLException e) {
-            System.err.println("Error creating order: " + e.getMessage());
-            return false;
+            ResultSet generatedKeys = ps.getGeneratedKeys();
+            if (generatedKeys.next()) {
+                order.setOrderId(generatedKeys.getInt(1));
+            }
+            return true;
         }
     }
     
@@ -53,10 +98,8 @@ public class OrderDAO extends BaseDAO<Order> {
     
     @Override
     public Order getById(int id) {
-        String sql = "SELECT * FROM " + TABLE + " WHERE order_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_BY_ID)) {
             
             ps.setInt(1, id);
             ResultSet rs = ps.executeQuery();
@@ -74,11 +117,10 @@ public class OrderDAO extends BaseDAO<Order> {
     @Override
     public List<Order> getAll() {
         List<Order> orders = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE + " ORDER BY created_at DESC";
         
         try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_ALL);
+             ResultSet rs = ps.executeQuery()) {
             
             while (rs.next()) {
                 orders.add(mapResultSetToOrder(rs));
@@ -90,15 +132,44 @@ public class OrderDAO extends BaseDAO<Order> {
         return orders;
     }
     
+    /**
+     * Lấy một trang orders (mới nhất trước), lọc theo status / chef / khoảng created_at
+     */
+    @Override
+    public Page<Order> page(Timestamp afterCreatedAt, int afterId, int limit, PageFilter filter) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        applyFilter(filter, conditions, params);
+        
+        return keysetPage(TABLE, "created_at", "order_id", afterCreatedAt, afterId, limit,
+                          conditions, params, this::mapResultSetToOrder);
+    }
+    
+    /**
+     * Duyệt orders theo filter (cũ nhất trước), stream từng dòng không giữ list trong heap
+     * Dùng cho export / thống kê trên toàn bộ lịch sử
+     * 
+     * @return Số orders đã xử lý, -1 nếu lỗi
+     */
+    public int forEach(PageFilter filter, Consumer<Order> action) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        applyFilter(filter, conditions, params);
+        
+        String sql = "SELECT * FROM " + TABLE +
+                     (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions)) +
+                     " ORDER BY created_at, order_id";
+        return forEachRow(sql, params, this::mapResultSetToOrder, action);
+    }
+    
     /**
      * Lấy orders theo status
      */
     public List<Order> getByStatus(int status) {
         List<Order> orders = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE + " WHERE status = ? ORDER BY created_at DESC";
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_BY_STATUS)) {
             
             ps.setInt(1, status);
             ResultSet rs = ps.executeQuery();
@@ -118,10 +189,9 @@ public class OrderDAO extends BaseDAO<Order> {
      */
     public List<Order> getByPaymentStatus(int paymentStatus) {
         List<Order> orders = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE + " WHERE payment_status = ? ORDER BY created_at DESC";
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_BY_PAYMENT_STATUS)) {
             
             ps.setInt(1, paymentStatus);
             ResultSet rs = ps.executeQuery();
@@ -141,10 +211,9 @@ public class OrderDAO extends BaseDAO<Order> {
      */
     public List<Order> getByPhoneNumber(String phone) {
         List<Order> orders = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE + " WHERE phone_number = ? ORDER BY created_at DESC";
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_BY_PHONE_NUMBER)) {
             
             ps.setString(1, phone);
             ResultSet rs = ps.executeQuery();
@@ -163,25 +232,31 @@ public class OrderDAO extends BaseDAO<Order> {
     
     @Override
     public boolean update(Order order) {
-        String sql = "UPDATE " + TABLE + 
-                     " SET customer_name = ?, phone_number = ?, total_amount = ?, " +
-                     "pay_method = ?, payment_status = ?, status = ?, " +
-                     "assigned_chef_id = ?, updated_at = NOW() WHERE order_id = ?";
-        
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            
-            ps.setString(1, order.getCustomerName());
-            ps.setString(2, order.getPhoneNumber());
-            ps.setDouble(3, order.getTotalAmount());
-            ps.setInt(4, order.getPayMethod());
-            ps.setInt(5, order.getPaymentStatus());
-            ps.setInt(6, order.getStatus());
-            ps.setInt(7, order.getAssignedChefId());
-            ps.setInt(8, order.getOrderId());
-            
-            int result = ps.executeUpdate();
-            return result > 0;
+        try {
+            Boolean success = DBConnection.inTransaction(() -> {
+                // Tổng tiền / pay_method / trạng thái có thể đổi: trừ phần cũ khỏi daily_sales, cộng lại phần mới
+                dailySalesDAO.retractOrder(order.getOrderId());
+                
+                try (Connection conn = DBConnection.getConnection();
+                     PreparedStatement ps = conn.prepareStatement(SQL_UPDATE)) {
+                    
+                    ps.setString(1, order.getCustomerName());
+                    ps.setString(2, order.getPhoneNumber());
+                    ps.setDouble(3, order.getTotalAmount());
+                    ps.setInt(4, order.getPayMethod());
+                    ps.setInt(5, order.getPaymentStatus());
+                    ps.setInt(6, order.getStatus());
+                    ps.setInt(7, order.getAssignedChefId());
+                    ps.setInt(8, order.getOrderId());
+                    
+                    if (ps.executeUpdate() == 0) {
+                        return false;
+                    }
+                }
+                return dailySalesDAO.syncOrder(order.getOrderId(), false)
+                    && orderEventDAO.append(order.getOrderId(), OrderEventDAO.UPDATED, OrderEventDAO.NONE, OrderEventDAO.NONE);
+            });
+            return Boolean.TRUE.equals(success);
             
         } catch (SQLException e) {
             System.err.println("Error updating order: " + e.getMessage());
@@ -190,86 +265,156 @@ public class OrderDAO extends BaseDAO<Order> {
     }
     
     /**
-     * Cập nhật status
+     * Thêm / xóa món của order trong một transaction:
+     * itemChange (vd. OrderItemDAO.create) -> tính lại total_amount từ order_items
+     * -> daily_sales trừ phần cũ, cộng phần mới -> event UPDATED
+     * 
+     * @param itemChange Thay đổi trên order_items (false = rollback)
      */
-    public boolean updateStatus(int orderId, int status) {
-        String sql = "UPDATE " + TABLE + " SET status = ?, updated_at = NOW() WHERE order_id = ?";
-        
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            
-            ps.setInt(1, status);
-            ps.setInt(2, orderId);
-            
-            int result = ps.executeUpdate();
-            return result > 0;
+    public boolean changeItems(int orderId, DBConnection.UnitOfWork<Boolean> itemChange) {
+        try {
+            Boolean success = DBConnection.inTransaction(() -> {
+                // Phải trừ trước khi đổi món: rollup cộng theo món + tổng tiền hiện có
+                dailySalesDAO.retractOrder(orderId);
+                
+                if (!Boolean.TRUE.equals(itemChange.execute())) {
+                    return false;
+                }
+                try (Connection conn = DBConnection.getConnection();
+                     PreparedStatement ps = conn.prepareStatement(SQL_UPDATE_TOTAL)) {
+                    ps.setInt(1, orderId);
+                    ps.setInt(2, orderId);
+                    if (ps.executeUpdate() == 0) {
+                        return false;
+                    }
+                }
+                return dailySalesDAO.syncOrder(orderId, false)
+                    && orderEventDAO.append(orderId, OrderEventDAO.UPDATED, OrderEventDAO.NONE, OrderEventDAO.NONE);
+            });
+            return Boolean.TRUE.equals(success);
             
         } catch (SQLException e) {
-            System.err.println("Error updating order status: " + e.getMessage());
+            System.err.println("Error changing items of order #" + orderId + ": " + e.getMessage());
             return false;
         }
     }
     
+    /**
+     * Cập nhật status
+     */
+    public boolean updateStatus(int orderId, int status) {
+        // Hủy đơn đã thanh toán phải trừ khỏi daily_sales
+        return execute(orderId, OrderEventDAO.STATUS, OrderEventDAO.NONE, status,
+                       status == STATUS_CANCELLED, SQL_UPDATE_STATUS, status, orderId);
+    }
+    
     /**
      * Cập nhật payment status
      */
     public boolean updatePaymentStatus(int orderId, int paymentStatus) {
-        String sql = "UPDATE " + TABLE + " SET payment_status = ?, updated_at = NOW() WHERE order_id = ?";
-        
+        return execute(orderId, OrderEventDAO.PAYMENT, OrderEventDAO.NONE, paymentStatus,
+                       true, SQL_UPDATE_PAYMENT_STATUS, paymentStatus, orderId);
+    }
+    
+    /**
+     * Compare-and-set status: chỉ đổi khi status hiện tại đúng là expectedFrom
+     * Một câu UPDATE duy nhất, nên hai người cùng bấm thì chỉ một người thắng
+     * 
+     * @return true nếu thắng (status đã đổi), false nếu status đã khác expectedFrom
+     */
+    public boolean transitionStatus(int orderId, int expectedFrom, int to) {
+        return execute(orderId, OrderEventDAO.STATUS, expectedFrom, to,
+                       to == STATUS_CANCELLED, SQL_TRANSITION_STATUS, to, orderId, expectedFrom);
+    }
+    
+    /**
+     * Lấy status hiện tại (không load cả order)
+     * @return status, -1 nếu không tìm thấy
+     */
+    public int getStatus(int orderId) {
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_STATUS)) {
             
-            ps.setInt(1, paymentStatus);
-            ps.setInt(2, orderId);
+            ps.setInt(1, orderId);
+            ResultSet rs = ps.executeQuery();
             
-            int result = ps.executeUpdate();
-            return result > 0;
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
             
         } catch (SQLException e) {
-            System.err.println("Error updating payment status: " + e.getMessage());
+            System.err.println("Error getting order status: " + e.getMessage());
+        }
+        return -1;
+    }
+    
+    /**
+     * Chạy một câu UPDATE / DELETE trên đúng một order và ghi event vào order_events
+     * trong cùng transaction (join transaction của caller nếu có).
+     * Không có dòng nào đổi thì không ghi event, trả về false.
+     * 
+     * @param syncDailySales Đồng bộ daily_sales (đổi payment_status / hủy đơn)
+     * @param sql Câu lệnh trên đúng một order
+     * @param params Tham số của sql theo thứ tự
+     */
+    private boolean execute(int orderId, String eventType, int oldValue, int newValue,
+                            boolean syncDailySales, String sql, int... params) {
+        try {
+            Boolean success = DBConnection.inTransaction(() -> {
+                boolean wasCounted = syncDailySales && dailySalesDAO.isCounted(orderId);
+                
+                try (Connection conn = DBConnection.getConnection();
+                     PreparedStatement ps = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < params.length; i++) {
+                        ps.setInt(i + 1, params[i]);
+                    }
+                    if (ps.executeUpdate() == 0) {
+                        return false;
+                    }
+                }
+                if (syncDailySales && !dailySalesDAO.syncOrder(orderId, wasCounted)) {
+                    return false;
+                }
+                return orderEventDAO.append(orderId, eventType, oldValue, newValue);
+            });
+            return Boolean.TRUE.equals(success);
+            
+        } catch (SQLException e) {
+            System.err.println("Error updating order #" + orderId + ": " + e.getMessage());
             return false;
         }
     }
-     /**
+    
+    /**
      * Assign chef to order
      */
     public boolean assignChef(int orderId, int chefId) {
-    String sql = "UPDATE " + TABLE + " SET assigned_chef_id = ?, updated_at = NOW() WHERE order_id = ?";
-    
-    try (Connection conn = DBConnection.getConnection();
-         PreparedStatement ps = conn.prepareStatement(sql)) {
-        
-        ps.setInt(1, chefId);
-        ps.setInt(2, orderId);
-        
-        int result = ps.executeUpdate();
-        
-        if (result > 0) {
+        boolean success = execute(orderId, OrderEventDAO.UPDATED, OrderEventDAO.NONE, OrderEventDAO.NONE,
+                                  false, SQL_ASSIGN_CHEF, chefId, orderId);
+        if (success) {
             System.out.println("✅ Assigned chef " + chefId + " to order " + orderId);
-            return true;
         }
-        return false;
-        
-    } catch (SQLException e) {
-        System.err.println("❌ Error assigning chef: " + e.getMessage());
-        return false;
+        return success;
     }
-}
+    
     // ============ DELETE ============
     
+    /**
+     * Xóa order: trừ khỏi daily_sales trước (cần order + món còn trong DB), rồi DELETE,
+     * cùng một transaction
+     */
     @Override
     public boolean delete(int id) {
-        String sql = "DELETE FROM " + TABLE + " WHERE order_id = ?";
-        
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            
-            ps.setInt(1, id);
-            int result = ps.executeUpdate();
-            return result > 0;
+        try {
+            Boolean success = DBConnection.inTransaction(() -> {
+                dailySalesDAO.retractOrder(id);
+                return execute(id, OrderEventDAO.DELETED, OrderEventDAO.NONE, OrderEventDAO.NONE,
+                               false, SQL_DELETE, id);
+            });
+            return Boolean.TRUE.equals(success);
             
         } catch (SQLException e) {
-            System.err.println("Error deleting order: " + e.getMessage());
+            System.err.println("Error deleting order #" + id + ": " + e.getMessage());
             return false;
         }
     }
@@ -283,11 +428,9 @@ public class OrderDAO extends BaseDAO<Order> {
     
     @Override
     public int count() {
-        String sql = "SELECT COUNT(*) FROM " + TABLE;
-        
         try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_COUNT);
+             ResultSet rs = ps.executeQuery()) {
             
             if (rs.next()) {
                 return rs.getInt(1);
@@ -299,15 +442,71 @@ public class OrderDAO extends BaseDAO<Order> {
         return 0;
     }
     
+    /**
+     * Số đơn và tổng total_amount của các orders khớp filter (tính trên DB)
+     */
+    public record Summary(int orderCount, double totalAmount) {}
+    
+    /**
+     * COUNT / SUM theo filter, ví dụ doanh thu hôm nay:
+     * summarize(PageFilter.all().paymentStatus(1).excludeStatus(6).createdBetween(start, end))
+     */
+    public Summary summarize(PageFilter filter) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        applyFilter(filter, conditions, params);
+        
+        String sql = "SELECT COUNT(*), COALESCE(SUM(total_amount), 0) FROM " + TABLE +
+                     (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions));
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            ResultSet rs = ps.executeQuery();
+            
+            if (rs.next()) {
+                return new Summary(rs.getInt(1), rs.getDouble(2));
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error summarizing orders: " + e.getMessage());
+        }
+        return new Summary(0, 0);
+    }
+    
+    /**
+     * Đếm orders của cả 7 trạng thái trong một query
+     * @return Mảng index = status code (trạng thái không có đơn = 0), null nếu lỗi
+     */
+    public int[] countByStatusAll() {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_COUNT_BY_STATUS_ALL);
+             ResultSet rs = ps.executeQuery()) {
+            
+            int[] counts = new int[AppConfig.ORDER_STATUS_NAMES.length];
+            while (rs.next()) {
+                int status = rs.getInt(1);
+                if (status >= 0 && status < counts.length) {
+                    counts[status] = rs.getInt(2);
+                }
+            }
+            return counts;
+            
+        } catch (SQLException e) {
+            System.err.println("Error counting orders by status: " + e.getMessage());
+            return null;
+        }
+    }
+    
     @Override
     public List<Order> search(String criteria) {
         List<Order> orders = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE + 
-                     " WHERE customer_name LIKE ? OR phone_number LIKE ? OR CAST(order_id AS CHAR) LIKE ? " +
-                     "ORDER BY created_at DESC";
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_SEARCH)) {
             
             String searchTerm = "%" + criteria + "%";
             ps.setString(1, searchTerm);
@@ -328,6 +527,38 @@ public class OrderDAO extends BaseDAO<Order> {
     
     // ============ HELPER METHODS ============
     
+    /**
+     * Chuyển PageFilter thành điều kiện WHERE trên bảng orders
+     */
+    private void applyFilter(PageFilter filter, List<String> conditions, List<Object> params) {
+        if (filter != null) {
+            if (filter.getStatus() != null) {
+                conditions.add("status = ?");
+                params.add(filter.getStatus());
+            }
+            if (filter.getExcludedStatus() != null) {
+                conditions.add("status <> ?");
+                params.add(filter.getExcludedStatus());
+            }
+            if (filter.getAssignedChefId() != null) {
+                conditions.add("assigned_chef_id = ?");
+                params.add(filter.getAssignedChefId());
+            }
+            if (filter.getPaymentStatus() != null) {
+                conditions.add("payment_status = ?");
+                params.add(filter.getPaymentStatus());
+            }
+            if (filter.getCreatedFrom() != null) {
+                conditions.add("created_at >= ?");
+                params.add(filter.getCreatedFrom());
+            }
+            if (filter.getCreatedBefore() != null) {
+                conditions.add("created_at < ?");
+                params.add(filter.getCreatedBefore());
+            }
+        }
+    }
+    
     private Order mapResultSetToOrder(ResultSet rs) throws SQLException {
         Order order = new Order();
         order.setOrderId(rs.getInt("order_id"));
@@ -0,0 +1,209 @@
+package dao;
+
+import config.DBConnection;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * OrderEventDAO - Bảng outbox order_events (nhật ký thay đổi của orders)
+ * Path: Source Packages/dao/OrderEventDAO.java
+ *
+ * OrderDAO gọi append() trong cùng transaction với thay đổi trên orders,
+ * nên event có khi và chỉ khi thay đổi đã commit.
+ * service.OrderEventTailer đọc event mới theo event_id để các máy khác cập nhật màn hình.
+ *
+ * Schema: resources/db/migration/V004__order_events.sql
+ * Chưa apply V004 (migration chạy tay) thì append() bỏ qua, không làm hỏng việc nhận đơn:
+ * máy khác chỉ cập nhật qua resync định kỳ như OrderEventTailer khi thiếu bảng.
+ */
+public class OrderEventDAO {
+
+    private static final String TABLE = "order_events";
+
+    // Loại event
+    public static final String CREATED = "CREATED";
+    public static final String STATUS = "STATUS";
+    public static final String PAYMENT = "PAYMENT";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+
+    // Giá trị không biết / không áp dụng (NULL trong DB)
+    public static final int NONE = -1;
+
+    // Id của process này, ghi vào cột origin
+    public static final String ORIGIN = UUID.randomUUID().toString();
+
+    // Bảng order_events có tồn tại không, kiểm tra một lần ở lần append() đầu tiên
+    private static volatile Boolean tableAvailable;
+
+    // ============ SQL ============
+
+    private static final String SQL_APPEND = "INSERT INTO " + TABLE +
+                                             " (order_id, event_type, old_value, new_value, origin) VALUES (?, ?, ?, ?, ?)";
+    private static final String SQL_READ_AFTER = "SELECT * FROM " + TABLE + " WHERE event_id > ? ORDER BY event_id LIMIT ?";
+    private static final String SQL_READ_IDS = "SELECT * FROM " + TABLE + " WHERE event_id IN (%s) ORDER BY event_id";
+    private static final String SQL_LAST_ID = "SELECT COALESCE(MAX(event_id), 0) FROM " + TABLE;
+    private static final String SQL_PURGE = "DELETE FROM " + TABLE + " WHERE created_at < ? LIMIT ?";
+
+    /**
+     * Một dòng của order_events
+     * oldValue / newValue: status hoặc payment_status tùy type, NONE nếu NULL
+     */
+    public record OrderEvent(long eventId, int orderId, String type, int oldValue, int newValue, String origin) {
+
+        /**
+         * Event do chính process này ghi
+         */
+        public boolean isLocal() {
+            return ORIGIN.equals(origin);
+        }
+    }
+
+    // ============ WRITE ============
+
+    /**
+     * Ghi một event; gọi trong DBConnection.inTransaction cùng với thay đổi trên orders
+     * @return true (để nối bằng && trong transaction), kể cả khi bỏ qua vì chưa có bảng
+     */
+    public boolean append(int orderId, String type, int oldValue, int newValue) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            if (!isTableAvailable(conn)) {
+                return true;
+            }
+            try (PreparedStatement ps = conn.prepareStatement(SQL_APPEND)) {
+                ps.setInt(1, orderId);
+                ps.setString(2, type);
+                setValue(ps, 3, oldValue);
+                setValue(ps, 4, newValue);
+                ps.setString(5, ORIGIN);
+                return ps.executeUpdate() > 0;
+            }
+        }
+    }
+
+    /**
+     * Xóa tối đa limit event tạo trước thời điểm before
+     * @return số dòng đã xóa, -1 nếu lỗi
+     */
+    public int purgeBefore(Timestamp before, int limit) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_PURGE)) {
+
+            ps.setTimestamp(1, before);
+            ps.setInt(2, limit);
+            return ps.executeUpdate();
+
+        } catch (SQLException e) {
+            System.err.println("Error purging order events: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    // ============ READ ============
+
+    /**
+     * Event có event_id > afterId (tăng dần, tối đa limit dòng)
+     * @return null nếu lỗi (khác với danh sách rỗng: không có event mới)
+     */
+    public List<OrderEvent> readAfter(long afterId, int limit) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_READ_AFTER)) {
+
+            ps.setLong(1, afterId);
+            ps.setInt(2, limit);
+            return mapAll(ps.executeQuery());
+
+        } catch (SQLException e) {
+            System.err.println("Error reading order events: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Đọc lại các event_id cụ thể (lỗ hổng do transaction commit sau)
+     * @return null nếu lỗi
+     */
+    public List<OrderEvent> readIds(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return List.of();
+        }
+
+        String placeholders = String.join(",", Collections.nCopies(eventIds.size(), "?"));
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(String.format(SQL_READ_IDS, placeholders))) {
+
+            int i = 1;
+            for (long id : eventIds) {
+                ps.setLong(i++, id);
+            }
+            return mapAll(ps.executeQuery());
+
+        } catch (SQLException e) {
+            System.err.println("Error reading order events: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * event_id lớn nhất hiện có (0 nếu bảng rỗng)
+     * @return -1 nếu lỗi (vd. chưa chạy migration V004)
+     */
+    public long getLastId() {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_LAST_ID);
+             ResultSet rs = ps.executeQuery()) {
+
+            return rs.next() ? rs.getLong(1) : 0;
+
+        } catch (SQLException e) {
+            System.err.println("Error getting last order event: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    // ============ HELPERS ============
+
+    private static boolean isTableAvailable(Connection conn) throws SQLException {
+        Boolean available = tableAvailable;
+        if (available == null) {
+            try (ResultSet rs = conn.getMetaData().getTables(conn.getCatalog(), null, TABLE, new String[] {"TABLE"})) {
+                available = rs.next();
+            }
+            if (!available) {
+                System.err.println("⚠️ Table " + TABLE + " not found - apply db/migration/V004__order_events.sql; "
+                                   + "order changes are saved without cross-terminal events");
+            }
+            tableAvailable = available;
+        }
+        return available;
+    }
+
+    private static void setValue(PreparedStatement ps, int index, int value) throws SQLException {
+        if (value == NONE) {
+            ps.setNull(index, Types.TINYINT);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+
+    private static List<OrderEvent> mapAll(ResultSet rs) throws SQLException {
+        List<OrderEvent> events = new ArrayList<>();
+        while (rs.next()) {
+            int oldValue = rs.getInt("old_value");
+            if (rs.wasNull()) {
+                oldValue = NONE;
+            }
+            int newValue = rs.getInt("new_value");
+            if (rs.wasNull()) {
+                newValue = NONE;
+            }
+            events.add(new OrderEvent(rs.getLong("event_id"), rs.getInt("order_id"), rs.getString("event_type"),
+                                      oldValue, newValue, rs.getString("origin")));
+        }
+        return events;
+    }
+}
@@ -1,10 +1,17 @@
 package dao;
 
 import config.DBConnection;
+import entity.Order;
 import entity.OrderItem;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * OrderItemDAO - Quản lý OrderItem (chi tiết từng mục) trong database
@@ -14,23 +21,41 @@ public class OrderItemDAO extends BaseDAO<OrderItem> {
     
     private static final String TABLE = "order_items";
     
+    // Số order_id tối đa trong một câu IN (...)
+    private static final int IN_CHUNK_SIZE = 500;
+    
+    // ============ SQL ============
+    
+    private static final String SQL_CREATE = "INSERT INTO " + TABLE +
+                                             " (order_id, product_id, product_name, quantity, unit_price, subtotal) " +
+                                             "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String SQL_GET_BY_ID = "SELECT * FROM " + TABLE + " WHERE order_item_id = ?";
+    private static final String SQL_GET_ALL = "SELECT * FROM " + TABLE;
+    private static final String SQL_GET_BY_ORDER_ID = "SELECT * FROM " + TABLE + " WHERE order_id = ?";
+    private static final String SQL_GET_BY_PRODUCT_ID = "SELECT * FROM " + TABLE + " WHERE product_id = ?";
+    private static final String SQL_UPDATE = "UPDATE " + TABLE +
+                                             " SET order_id = ?, product_id = ?, product_name = ?, quantity = ?, " +
+                                             "unit_price = ?, subtotal = ? WHERE order_item_id = ?";
+    private static final String SQL_UPDATE_QUANTITY = "UPDATE " + TABLE + " SET quantity = ?, " +
+                                                      "subtotal = unit_price * ? WHERE order_item_id = ?";
+    private static final String SQL_DELETE = "DELETE FROM " + TABLE + " WHERE order_item_id = ?";
+    private static final String SQL_DELETE_BY_ORDER_ID = "DELETE FROM " + TABLE + " WHERE order_id = ?";
+    private static final String SQL_COUNT = "SELECT COUNT(*) FROM " + TABLE;
+    private static final String SQL_COUNT_BY_ORDER_ID = "SELECT COUNT(*) FROM " + TABLE + " WHERE order_id = ?";
+    private static final String SQL_SEARCH = "SELECT * FROM " + TABLE + " WHERE product_name LIKE ?";
+    private static final String SQL_FOR_EACH_BY_ORDER_CREATED = "SELECT oi.* FROM " + TABLE + " oi " +
+                                                                "JOIN orders o ON o.order_id = oi.order_id " +
+                                                                "WHERE o.created_at >= ? AND o.created_at < ? " +
+                                                                "ORDER BY o.created_at, oi.order_id, oi.order_item_id";
+    
     // ============ CREATE ============
     
     @Override
     public boolean create(OrderItem orderItem) {
-        String sql = "INSERT INTO " + TABLE + 
-                     " (order_id, product_id, product_name, quantity, unit_price, subtotal) " +
-                     "VALUES (?, ?, ?, ?, ?, ?)";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_CREATE, Statement.RETURN_GENERATED_KEYS)) {
             
-            ps.setInt(1, orderItem.getOrderId());
-            ps.setInt(2, orderItem.getProductId());
-            ps.setString(3, orderItem.getProductName());  // ← ĐÃ THÊM FIELD NÀY
-            ps.setInt(4, orderItem.getQuantity());
-            ps.setDouble(5, orderItem.getUnitPrice());
-            ps.setDouble(6, orderItem.getSubtotal());
+            bindCreate(ps, orderItem);
             
             int result = ps.executeUpdate();
             
@@ -49,14 +74,21 @@ public class OrderItemDAO extends BaseDAO<OrderItem> {
         }
     }
     
+    /**
+     * Thêm nhiều order items trong một batch INSERT
+     * Order item ID được ghi ngược vào từng object
+     */
+    @Override
+    public boolean createAll(List<OrderItem> orderItems) {
+        return batchInsert(SQL_CREATE, orderItems, this::bindCreate, OrderItem::setOrderItemId);
+    }
+    
     // ============ READ ============
     
     @Override
     public OrderItem getById(int id) {
-        String sql = "SELECT * FROM " + TABLE + " WHERE order_item_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_BY_ID)) {
             
             ps.setInt(1, id);
             ResultSet rs = ps.executeQuery();
@@ -74,11 +106,10 @@ public class OrderItemDAO extends BaseDAO<OrderItem> {
     @Override
     public List<OrderItem> getAll() {
         List<OrderItem> orderItems = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE;
         
         try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_ALL);
+             ResultSet rs = ps.executeQuery()) {
             
             while (rs.next()) {
                 orderItems.add(mapResultSetToOrderItem(rs));
@@ -95,10 +126,9 @@ public class OrderItemDAO extends BaseDAO<OrderItem> {
      */
     public List<OrderItem> getByOrderId(int orderId) {
         List<OrderItem> orderItems = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE + " WHERE order_id = ?";
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_BY_ORDER_ID)) {
             
             ps.setInt(1, orderId);
             ResultSet rs = ps.executeQuery();
@@ -113,15 +143,84 @@ public class OrderItemDAO extends BaseDAO<OrderItem> {
         return orderItems;
     }
     
+    /**
+     * Lấy order items của nhiều orders bằng một câu IN (...) (chia chunk nếu quá nhiều ID)
+     * 
+     * @return Map order_id -> items (theo order_item_id); order không có item thì không có key
+     */
+    public Map<Integer, List<OrderItem>> getByOrderIds(Collection<Integer> orderIds) {
+        Map<Integer, List<OrderItem>> itemsByOrder = new HashMap<>();
+        if (orderIds == null || orderIds.isEmpty()) {
+            return itemsByOrder;
+        }
+        
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(orderIds));
+        
+        try (Connection conn = DBConnection.getConnection()) {
+            for (int from = 0; from < ids.size(); from += IN_CHUNK_SIZE) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + IN_CHUNK_SIZE, ids.size()));
+                String sql = "SELECT * FROM " + TABLE + " WHERE order_id IN (" +
+                             String.join(", ", Collections.nCopies(chunk.size(), "?")) +
+                             ") ORDER BY order_id, order_item_id";
+                
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        ps.setInt(i + 1, chunk.get(i));
+                    }
+                    ResultSet rs = ps.executeQuery();
+                    
+                    while (rs.next()) {
+                        OrderItem item = mapResultSetToOrderItem(rs);
+                        itemsByOrder.computeIfAbsent(item.getOrderId(), k -> new ArrayList<>()).add(item);
+                    }
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting order items by order IDs: " + e.getMessage());
+        }
+        return itemsByOrder;
+    }
+    
+    /**
+     * Gắn items vào từng order (Order.setItems) bằng một lần getByOrderIds
+     * Order không có item nhận list rỗng
+     */
+    public void attachItems(List<Order> orders) {
+        if (orders == null || orders.isEmpty()) {
+            return;
+        }
+        
+        List<Integer> orderIds = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            orderIds.add(order.getOrderId());
+        }
+        
+        Map<Integer, List<OrderItem>> itemsByOrder = getByOrderIds(orderIds);
+        for (Order order : orders) {
+            order.setItems(itemsByOrder.getOrDefault(order.getOrderId(), new ArrayList<>()));
+        }
+    }
+    
+    /**
+     * Duyệt order items của các orders tạo trong [from, before), stream từng dòng
+     * Items sắp theo thời gian order nên các items cùng order liền nhau
+     * 
+     * @return Số items đã xử lý, -1 nếu lỗi
+     */
+    public int forEachByOrderCreatedBetween(Timestamp from, Timestamp before, Consumer<OrderItem> action) {
+        return forEachRow(SQL_FOR_EACH_BY_ORDER_CREATED, List.of(from, before),
+                          this::mapResultSetToOrderItem, action);
+    }
+    
     /**
      * Lấy order items theo product_id
      */
     public List<OrderItem> getByProductId(int productId) {
         List<OrderItem> orderItems = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE + " WHERE product_id = ?";
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_BY_PRODUCT_ID)) {
             
             ps.setInt(1, productId);
             ResultSet rs = ps.executeQuery();
@@ -140,12 +239,8 @@ public class OrderItemDAO extends BaseDAO<OrderItem> {
     
     @Override
     public boolean update(OrderItem orderItem) {
-        String sql = "UPDATE " + TABLE + 
-                     " SET order_id = ?, product_id = ?, product_name = ?, quantity = ?, " +
-                     "unit_price = ?, subtotal = ? WHERE order_item_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_UPDATE)) {
             
             ps.setInt(1, orderItem.getOrderId());
             ps.setInt(2, orderItem.getProductId());
@@ -168,11 +263,8 @@ public class OrderItemDAO extends BaseDAO<OrderItem> {
      * Cập nhật quantity
      */
     public boolean updateQuantity(int orderItemId, int quantity) {
-        String sql = "UPDATE " + TABLE + " SET quantity = ?, " +
-                     "subtotal = unit_price * ? WHERE order_item_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_UPDATE_QUANTITY)) {
             
             ps.setInt(1, quantity);
             ps.setInt(2, quantity);
@@ -191,10 +283,8 @@ public class OrderItemDAO extends BaseDAO<OrderItem> {
     
     @Override
     public boolean delete(int id) {
-        String sql = "DELETE FROM " + TABLE + " WHERE order_item_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_DELETE)) {
             
             ps.setInt(1, id);
             int result = ps.executeUpdate();
@@ -210,10 +300,8 @@ public class OrderItemDAO extends BaseDAO<OrderItem> {
      * Xóa tất cả items của 1 order
      */
     public boolean deleteByOrderId(int orderId) {
-        String sql = "DELETE FROM " + TABLE + " WHERE order_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_DELETE_BY_ORDER_ID)) {
             
             ps.setInt(1, orderId);
             ps.executeUpdate();
@@ -234,11 +322,9 @@ public class OrderItemDAO extends BaseDAO<OrderItem> {
     
     @Override
     public int count() {
-        String sql = "SELECT COUNT(*) FROM " + TABLE;
-        
         try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_COUNT);
+             ResultSet rs = ps.executeQuery()) {
             
             if (rs.next()) {
                 return rs.getInt(1);
@@ -254,10 +340,8 @@ public class OrderItemDAO extends BaseDAO<OrderItem> {
      * Đếm items trong 1 order
      */
     public int countByOrderId(int orderId) {
-        String sql = "SELECT COUNT(*) FROM " + TABLE + " WHERE order_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_COUNT_BY_ORDER_ID)) {
             
             ps.setInt(1, orderId);
             ResultSet rs = ps.executeQuery();
@@ -275,10 +359,9 @@ public class OrderItemDAO extends BaseDAO<OrderItem> {
     @Override
     public List<OrderItem> search(String criteria) {
         List<OrderItem> orderItems = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE + " WHERE product_name LIKE ?";
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_SEARCH)) {
             
             String searchTerm = "%" + criteria + "%";
             ps.setString(1, searchTerm);
@@ -297,6 +380,15 @@ public class OrderItemDAO extends BaseDAO<OrderItem> {
     
     // ============ HELPER METHODS ============
     
+    private void bindCreate(PreparedStatement ps, OrderItem orderItem) throws SQLException {
+        ps.setInt(1, orderItem.getOrderId());
+        ps.setInt(2, orderItem.getProductId());
+        ps.setString(3, orderItem.getProductName());
+        ps.setInt(4, orderItem.getQuantity());
+        ps.setDouble(5, orderItem.getUnitPrice());
+        ps.setDouble(6, orderItem.getSubtotal());
+    }
+    
     private OrderItem mapResultSetToOrderItem(ResultSet rs) throws SQLException {
         OrderItem orderItem = new OrderItem();
         orderItem.setOrderItemId(rs.getInt("order_item_id"));
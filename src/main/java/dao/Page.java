@@ -0,0 +1,74 @@
+package dao;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Page - Một trang kết quả keyset pagination
+ * Path: Source Packages/dao/Page.java
+ * 
+ * Cursor (nextCreatedAt, nextId) là khóa của dòng cuối trang;
+ * truyền lại vào page(afterCreatedAt, afterId, ...) để lấy trang kế tiếp.
+ * Không dùng OFFSET nên chi phí mỗi trang không tăng theo số trang đã đọc.
+ * 
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class Page<T> {
+    
+    private final List<T> items;
+    private final boolean hasMore;
+    private final Timestamp nextCreatedAt;
+    private final int nextId;
+    
+    public Page(List<T> items, boolean hasMore, Timestamp nextCreatedAt, int nextId) {
+        this.items = Collections.unmodifiableList(items);
+        this.hasMore = hasMore;
+        this.nextCreatedAt = nextCreatedAt;
+        this.nextId = nextId;
+    }
+    
+    public static <T> Page<T> empty() {
+        return new Page<>(List.of(), false, null, 0);
+    }
+    
+    public List<T> getItems() {
+        return items;
+    }
+    
+    public int size() {
+        return items.size();
+    }
+    
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+    
+    /**
+     * Còn trang sau không
+     */
+    public boolean hasMore() {
+        return hasMore;
+    }
+    
+    /**
+     * Cursor: thời điểm của dòng cuối trang
+     */
+    public Timestamp getNextCreatedAt() {
+        return nextCreatedAt;
+    }
+    
+    /**
+     * Cursor: ID của dòng cuối trang
+     */
+    public int getNextId() {
+        return nextId;
+    }
+    
+    @Override
+    public String toString() {
+        return "Page{size=" + items.size() + ", hasMore=" + hasMore +
+               ", next=(" + nextCreatedAt + ", " + nextId + ")}";
+    }
+}
@@ -0,0 +1,92 @@
+package dao;
+
+import java.sql.Timestamp;
+
+/**
+ * PageFilter - Điều kiện lọc cho page() / forEach() / summarize()
+ * Path: Source Packages/dao/PageFilter.java
+ * 
+ * Các điều kiện là optional (null = không lọc). Khoảng thời gian là nửa mở
+ * [createdFrom, createdBefore) để dùng được index trên cột thời gian.
+ * Mỗi DAO áp dụng các điều kiện mà bảng của nó có.
+ * 
+ * Ví dụ: PageFilter.all().status(2).assignedChef(5)
+ * 
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class PageFilter {
+    
+    private Integer status;
+    private Integer excludedStatus;
+    private Integer assignedChefId;
+    private Integer paymentStatus;
+    private Timestamp createdFrom;
+    private Timestamp createdBefore;
+    
+    private PageFilter() {}
+    
+    /**
+     * Không lọc gì
+     */
+    public static PageFilter all() {
+        return new PageFilter();
+    }
+    
+    // ============ BUILDER ============
+    
+    public PageFilter status(int status) {
+        this.status = status;
+        return this;
+    }
+    
+    public PageFilter excludeStatus(int status) {
+        this.excludedStatus = status;
+        return this;
+    }
+    
+    public PageFilter assignedChef(int chefId) {
+        this.assignedChefId = chefId;
+        return this;
+    }
+    
+    public PageFilter paymentStatus(int paymentStatus) {
+        this.paymentStatus = paymentStatus;
+        return this;
+    }
+    
+    /**
+     * Lọc theo khoảng thời gian [from, before)
+     */
+    public PageFilter createdBetween(Timestamp from, Timestamp before) {
+        this.createdFrom = from;
+        this.createdBefore = before;
+        return this;
+    }
+    
+    // ============ GETTERS ============
+    
+    public Integer getStatus() {
+        return status;
+    }
+    
+    public Integer getExcludedStatus() {
+        return excludedStatus;
+    }
+    
+    public Integer getAssignedChefId() {
+        return assignedChefId;
+    }
+    
+    public Integer getPaymentStatus() {
+        return paymentStatus;
+    }
+    
+    public Timestamp getCreatedFrom() {
+        return createdFrom;
+    }
+    
+    public Timestamp getCreatedBefore() {
+        return createdBefore;
+    }
+}
@@ -0,0 +1,27 @@
+package dao;
+
+import java.sql.Timestamp;
+
+/**
+ * Pageable - DAO hỗ trợ keyset pagination
+ * Path: Source Packages/dao/Pageable.java
+ * 
+ * Chỉ DAO có index phù hợp (cột thời gian + primary key) mới implement,
+ * thường bằng BaseDAO.keysetPage().
+ * 
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public interface Pageable<T> {
+    
+    /**
+     * Lấy một trang theo keyset (mới nhất trước)
+     * Trang đầu: afterCreatedAt = null; trang sau: truyền cursor của Page trước
+     * 
+     * @param afterCreatedAt Cursor thời gian (null = từ đầu)
+     * @param afterId Cursor ID
+     * @param limit Số dòng tối đa
+     * @param filter Điều kiện lọc (null = không lọc)
+     */
+    Page<T> page(Timestamp afterCreatedAt, int afterId, int limit, PageFilter filter);
+}
@@ -10,26 +10,38 @@ import java.util.List;
  * PaymentDAO - Quản lý Payment trong database
  * Path: Source Packages/dao/PaymentDAO.java
  */
-public class PaymentDAO extends BaseDAO<Payment> {
+public class PaymentDAO extends BaseDAO<Payment> implements Pageable<Payment> {
     
     private static final String TABLE = "payments";
     
+    // ============ SQL ============
+    
+    private static final String SQL_CREATE = "INSERT INTO " + TABLE +
+                                             " (order_id, amount, method, status, notes) " +
+                                             "VALUES (?, ?, ?, ?, ?)";
+    private static final String SQL_GET_BY_ID = "SELECT * FROM " + TABLE + " WHERE payment_id = ?";
+    private static final String SQL_GET_ALL = "SELECT * FROM " + TABLE + " ORDER BY paid_at DESC";
+    private static final String SQL_GET_BY_ORDER_ID = "SELECT * FROM " + TABLE + " WHERE order_id = ?";
+    private static final String SQL_GET_BY_STATUS = "SELECT * FROM " + TABLE + " WHERE status = ? ORDER BY paid_at DESC";
+    private static final String SQL_GET_BY_METHOD = "SELECT * FROM " + TABLE + " WHERE method = ? ORDER BY paid_at DESC";
+    private static final String SQL_UPDATE = "UPDATE " + TABLE +
+                                             " SET order_id = ?, amount = ?, method = ?, status = ?, notes = ? " +
+                                             "WHERE payment_id = ?";
+    private static final String SQL_UPDATE_STATUS = "UPDATE " + TABLE + " SET status = ? WHERE payment_id = ?";
+    private static final String SQL_DELETE = "DELETE FROM " + TABLE + " WHERE payment_id = ?";
+    private static final String SQL_COUNT = "SELECT COUNT(*) FROM " + TABLE;
+    private static final String SQL_SEARCH = "SELECT * FROM " + TABLE + " WHERE CAST(order_id AS CHAR) LIKE ? OR notes LIKE ?";
+    private static final String SQL_GET_TOTAL_REVENUE_BY_METHOD = "SELECT SUM(amount) FROM " + TABLE + " WHERE method = ? AND status = 1";
+    private static final String SQL_GET_TOTAL_REVENUE = "SELECT SUM(amount) FROM " + TABLE + " WHERE status = 1";
+    
     // ============ CREATE ============
     
     @Override
     public boolean create(Payment payment) {
-        String sql = "INSERT INTO " + TABLE + 
-                     " (order_id, amount, method, status, notes) " +
-                     "VALUES (?, ?, ?, ?, ?)";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_CREATE)) {
             
-            ps.setInt(1, payment.getOrderId());
-            ps.setDouble(2, payment.getAmount());
-            ps.setInt(3, payment.getMethod());
-            ps.setInt(4, payment.getStatus());
-            ps.setString(5, payment.getNotes());
+            bindCreate(ps, payment);
             
             int result = ps.executeUpdate();
             return result > 0;
@@ -40,14 +52,21 @@ public class PaymentDAO extends BaseDAO<Payment> {
         }
     }
     
+    /**
+     * Thêm nhiều payments trong một batch INSERT
+     * Payment ID được ghi ngược vào từng object
+     */
+    @Override
+    public boolean createAll(List<Payment> payments) {
+        return batchInsert(SQL_CREATE, payments, this::bindCreate, Payment::setPaymentId);
+    }
+    
     // ============ READ ============
     
     @Override
     public Payment getById(int id) {
-        String sql = "SELECT * FROM " + TABLE + " WHERE payment_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_BY_ID)) {
             
             ps.setInt(1, id);
             ResultSet rs = ps.executeQuery();
@@ -65,11 +84,10 @@ public class PaymentDAO extends BaseDAO<Payment> {
     @Override
     public List<Payment> getAll() {
         List<Payment> payments = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE + " ORDER BY paid_at DESC";
         
         try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_ALL);
+             ResultSet rs = ps.executeQuery()) {
             
             while (rs.next()) {
                 payments.add(mapResultSetToPayment(rs));
@@ -81,14 +99,43 @@ public class PaymentDAO extends BaseDAO<Payment> {
         return payments;
     }
     
+    /**
+     * Lấy một trang payments theo paid_at (mới nhất trước), lọc theo status / khoảng thời gian
+     */
+    @Override
+    public Page<Payment> page(Timestamp afterPaidAt, int afterId, int limit, PageFilter filter) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        
+        if (filter != null) {
+            if (filter.getStatus() != null) {
+                conditions.add("status = ?");
+                params.add(filter.getStatus());
+            }
+            if (filter.getExcludedStatus() != null) {
+                conditions.add("status <> ?");
+                params.add(filter.getExcludedStatus());
+            }
+            if (filter.getCreatedFrom() != null) {
+                conditions.add("paid_at >= ?");
+                params.add(filter.getCreatedFrom());
+            }
+            if (filter.getCreatedBefore() != null) {
+                conditions.add("paid_at < ?");
+                params.add(filter.getCreatedBefore());
+            }
+        }
+        
+        return keysetPage(TABLE, "paid_at", "payment_id", afterPaidAt, afterId, limit,
+                          conditions, params, this::mapResultSetToPayment);
+    }
+    
     /**
      * Lấy payment theo order_id
      */
     public Payment getByOrderId(int orderId) {
-        String sql = "SELECT * FROM " + TABLE + " WHERE order_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_BY_ORDER_ID)) {
             
             ps.setInt(1, orderId);
             ResultSet rs = ps.executeQuery();
@@ -108,10 +155,9 @@ public class PaymentDAO extends BaseDAO<Payment> {
      */
     public List<Payment> getByStatus(int status) {
         List<Payment> payments = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE + " WHERE status = ? ORDER BY paid_at DESC";
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_BY_STATUS)) {
             
             ps.setInt(1, status);
             ResultSet rs = ps.executeQuery();
@@ -131,10 +177,9 @@ public class PaymentDAO extends BaseDAO<Payment> {
      */
     public List<Payment> getByMethod(int method) {
         List<Payment> payments = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE + " WHERE method = ? ORDER BY paid_at DESC";
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_BY_METHOD)) {
             
             ps.setInt(1, method);
             ResultSet rs = ps.executeQuery();
@@ -153,12 +198,8 @@ public class PaymentDAO extends BaseDAO<Payment> {
     
     @Override
     public boolean update(Payment payment) {
-        String sql = "UPDATE " + TABLE + 
-                     " SET order_id = ?, amount = ?, method = ?, status = ?, notes = ? " +
-                     "WHERE payment_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_UPDATE)) {
             
             ps.setInt(1, payment.getOrderId());
             ps.setDouble(2, payment.getAmount());
@@ -180,10 +221,8 @@ public class PaymentDAO extends BaseDAO<Payment> {
      * Cập nhật status
      */
     public boolean updateStatus(int paymentId, int status) {
-        String sql = "UPDATE " + TABLE + " SET status = ? WHERE payment_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_UPDATE_STATUS)) {
             
             ps.setInt(1, status);
             ps.setInt(2, paymentId);
@@ -201,10 +240,8 @@ public class PaymentDAO extends BaseDAO<Payment> {
     
     @Override
     public boolean delete(int id) {
-        String sql = "DELETE FROM " + TABLE + " WHERE payment_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_DELETE)) {
             
             ps.setInt(1, id);
             int result = ps.executeUpdate();
@@ -225,11 +262,9 @@ public class PaymentDAO extends BaseDAO<Payment> {
     
     @Override
     public int count() {
-        String sql = "SELECT COUNT(*) FROM " + TABLE;
-        
         try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_COUNT);
+             ResultSet rs = ps.executeQuery()) {
             
             if (rs.next()) {
                 return rs.getInt(1);
@@ -244,10 +279,9 @@ public class PaymentDAO extends BaseDAO<Payment> {
     @Override
     public List<Payment> search(String criteria) {
         List<Payment> payments = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE + " WHERE CAST(order_id AS CHAR) LIKE ? OR notes LIKE ?";
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_SEARCH)) {
             
             String searchTerm = "%" + criteria + "%";
             ps.setString(1, searchTerm);
@@ -271,10 +305,8 @@ public class PaymentDAO extends BaseDAO<Payment> {
      * Lấy tổng revenue theo method
      */
     public double getTotalRevenueByMethod(int method) {
-        String sql = "SELECT SUM(amount) FROM " + TABLE + " WHERE method = ? AND status = 1";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_TOTAL_REVENUE_BY_METHOD)) {
             
             ps.setInt(1, method);
             ResultSet rs = ps.executeQuery();
@@ -293,11 +325,9 @@ public class PaymentDAO extends BaseDAO<Payment> {
      * Lấy tổng revenue
      */
     public double getTotalRevenue() {
-        String sql = "SELECT SUM(amount) FROM " + TABLE + " WHERE status = 1";
-        
         try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_TOTAL_REVENUE);
+             ResultSet rs = ps.executeQuery()) {
             
             if (rs.next()) {
                 return rs.getDouble(1);
@@ -311,6 +341,14 @@ public class PaymentDAO extends BaseDAO<Payment> {
     
     // ============ HELPER METHODS ============
     
+    private void bindCreate(PreparedStatement ps, Payment payment) throws SQLException {
+        ps.setInt(1, payment.getOrderId());
+        ps.setDouble(2, payment.getAmount());
+        ps.setInt(3, payment.getMethod());
+        ps.setInt(4, payment.getStatus());
+        ps.setString(5, payment.getNotes());
+    }
+    
     private Payment mapResultSetToPayment(ResultSet rs) throws SQLException {
         Payment payment = new Payment();
         payment.setPaymentId(rs.getInt("payment_id"));
@@ -14,16 +14,30 @@ public class ProductDAO extends BaseDAO<Product> {
     
     private static final String TABLE = "products";
     
+    // ============ SQL ============
+    
+    private static final String SQL_CREATE = "INSERT INTO " + TABLE +
+                                             " (name, description, price, category, image_url, available) " +
+                                             "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String SQL_GET_BY_ID = "SELECT * FROM " + TABLE + " WHERE product_id = ?";
+    private static final String SQL_GET_ALL = "SELECT * FROM " + TABLE;
+    private static final String SQL_GET_BY_CATEGORY = "SELECT * FROM " + TABLE + " WHERE category = ? AND available = 1";
+    private static final String SQL_GET_ALL_AVAILABLE = "SELECT * FROM " + TABLE + " WHERE available = 1";
+    private static final String SQL_UPDATE = "UPDATE " + TABLE +
+                                             " SET name = ?, description = ?, price = ?, category = ?, " +
+                                             "image_url = ?, available = ? WHERE product_id = ?";
+    private static final String SQL_UPDATE_PRICE = "UPDATE " + TABLE + " SET price = ? WHERE product_id = ?";
+    private static final String SQL_UPDATE_AVAILABLE = "UPDATE " + TABLE + " SET available = ? WHERE product_id = ?";
+    private static final String SQL_DELETE = "DELETE FROM " + TABLE + " WHERE product_id = ?";
+    private static final String SQL_COUNT = "SELECT COUNT(*) FROM " + TABLE;
+    private static final String SQL_SEARCH = "SELECT * FROM " + TABLE + " WHERE name LIKE ? OR category LIKE ?";
+    
     // ============ CREATE ============
     
     @Override
     public boolean create(Product product) {
-        String sql = "INSERT INTO " + TABLE + 
-                     " (name, description, price, category, image_url, available) " +
-                     "VALUES (?, ?, ?, ?, ?, ?)";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_CREATE)) {
             
             ps.setString(1, product.getName());
             ps.setString(2, product.getDescription());
@@ -45,10 +59,8 @@ public class ProductDAO extends BaseDAO<Product> {
     
     @Override
     public Product getById(int id) {
-        String sql = "SELECT * FROM " + TABLE + " WHERE product_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_BY_ID)) {
             
             ps.setInt(1, id);
             ResultSet rs = ps.executeQuery();
@@ -65,21 +77,30 @@ public class ProductDAO extends BaseDAO<Product> {
     
     @Override
     public List<Product> getAll() {
+        List<Product> products = loadAll();
+        return products != null ? products : new ArrayList<>();
+    }
+    
+    /**
+     * Như getAll() nhưng phân biệt lỗi với bảng rỗng
+     * @return null nếu lỗi DB
+     */
+    public List<Product> loadAll() {
         List<Product> products = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE;
         
         try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_ALL);
+             ResultSet rs = ps.executeQuery()) {
             
             while (rs.next()) {
                 products.add(mapResultSetToProduct(rs));
             }
+            return products;
             
         } catch (SQLException e) {
             System.err.println("Error getting all products: " + e.getMessage());
+            return null;
         }
-        return products;
     }
     
     /**
@@ -87,10 +108,9 @@ public class ProductDAO extends BaseDAO<Product> {
      */
     public List<Product> getByCategory(String category) {
         List<Product> products = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE + " WHERE category = ? AND available = 1";
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_BY_CATEGORY)) {
             
             ps.setString(1, category);
             ResultSet rs = ps.executeQuery();
@@ -110,11 +130,10 @@ public class ProductDAO extends BaseDAO<Product> {
      */
     public List<Product> getAllAvailable() {
         List<Product> products = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE + " WHERE available = 1";
         
         try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_GET_ALL_AVAILABLE);
+             ResultSet rs = ps.executeQuery()) {
             
             while (rs.next()) {
                 products.add(mapResultSetToProduct(rs));
@@ -130,12 +149,8 @@ public class ProductDAO extends BaseDAO<Product> {
     
     @Override
     public boolean update(Product product) {
-        String sql = "UPDATE " + TABLE + 
-                     " SET name = ?, description = ?, price = ?, category = ?, " +
-                     "image_url = ?, available = ? WHERE product_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_UPDATE)) {
             
             ps.setString(1, product.getName());
             ps.setString(2, product.getDescription());
@@ -158,10 +173,8 @@ public class ProductDAO extends BaseDAO<Product> {
      * Cập nhật giá
      */
     public boolean updatePrice(int productId, double newPrice) {
-        String sql = "UPDATE " + TABLE + " SET price = ? WHERE product_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_UPDATE_PRICE)) {
             
             ps.setDouble(1, newPrice);
             ps.setInt(2, productId);
@@ -179,10 +192,8 @@ public class ProductDAO extends BaseDAO<Product> {
      * Cập nhật available status
      */
     public boolean updateAvailable(int productId, int available) {
-        String sql = "UPDATE " + TABLE + " SET available = ? WHERE product_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_UPDATE_AVAILABLE)) {
             
             ps.setInt(1, available);
             ps.setInt(2, productId);
@@ -200,10 +211,8 @@ public class ProductDAO extends BaseDAO<Product> {
     
     @Override
     public boolean delete(int id) {
-        String sql = "DELETE FROM " + TABLE + " WHERE product_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_DELETE)) {
             
             ps.setInt(1, id);
             int result = ps.executeUpdate();
@@ -224,11 +233,9 @@ public class ProductDAO extends BaseDAO<Product> {
     
     @Override
     public int count() {
-        String sql = "SELECT COUNT(*) FROM " + TABLE;
-        
         try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_COUNT);
+             ResultSet rs = ps.executeQuery()) {
             
             if (rs.next()) {
                 return rs.getInt(1);
@@ -243,10 +250,9 @@ public class ProductDAO extends BaseDAO<Product> {
     @Override
     public List<Product> search(String criteria) {
         List<Product> products = new ArrayList<>();
-        String sql = "SELECT * FROM " + TABLE + " WHERE name LIKE ? OR category LIKE ?";
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_SEARCH)) {
             
             String searchTerm = "%" + criteria + "%";
             ps.setString(1, searchTerm);
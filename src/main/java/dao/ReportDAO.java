@@ -1,28 +1,65 @@
 package dao;
 
 import config.DBConnection;
+import entity.DashboardSnapshot;
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * ReportDAO - Quản lý Reports và Analytics
  * Path: Source Packages/dao/ReportDAO.java
+ * 
+ * Lọc theo ngày dùng khoảng nửa mở created_at >= ? AND created_at < ?
+ * (không bọc cột trong DATE()) để MySQL dùng được index idx_orders_created_status_total,
+ * xem resources/db/migration/V001__report_indexes.sql
+ * (EXPLAIN kiểm tra trong test dao.ReportDAOIndexTest)
  */
 public class ReportDAO {
     
+    // ============ SQL ============
+    
+    static final String SQL_REVENUE_BETWEEN = "SELECT SUM(total_amount) FROM orders " +
+                                                      "WHERE created_at >= ? AND created_at < ? AND status != 6";
+    static final String SQL_ORDER_COUNT_BETWEEN = "SELECT COUNT(*) FROM orders " +
+                                                          "WHERE created_at >= ? AND created_at < ?";
+    
+    // Mỗi bảng được quét một lần bằng conditional aggregation, ghép lại bằng CROSS JOIN (mỗi nhánh 1 dòng)
+    private static final String SQL_DASHBOARD_SNAPSHOT =
+        "SELECT o.*, e.*, m.*, p.* FROM " +
+        "(SELECT " +
+        "   COALESCE(SUM(CASE WHEN created_at >= ? AND created_at < ? THEN 1 ELSE 0 END), 0) AS today_orders, " +
+        "   COALESCE(SUM(CASE WHEN created_at >= ? AND created_at < ? AND status <> 6 THEN total_amount ELSE 0 END), 0) AS today_revenue, " +
+        "   COUNT(*) AS total_orders, " +
+        "   COALESCE(SUM(CASE WHEN payment_status = 1 AND status <> 6 THEN total_amount ELSE 0 END), 0) AS total_revenue, " +
+        "   COALESCE(SUM(CASE WHEN payment_status = 1 THEN 1 ELSE 0 END), 0) AS paid_orders, " +
+        "   COALESCE(SUM(CASE WHEN payment_status = 0 THEN 1 ELSE 0 END), 0) AS unpaid_orders, " +
+        "   COALESCE(SUM(CASE WHEN status = 0 THEN 1 ELSE 0 END), 0) AS pending_orders, " +
+        "   COALESCE(SUM(CASE WHEN status = 3 THEN 1 ELSE 0 END), 0) AS cooking_orders, " +
+        "   COALESCE(SUM(CASE WHEN status = 4 THEN 1 ELSE 0 END), 0) AS ready_orders " +
+        " FROM orders) o " +
+        "CROSS JOIN (SELECT " +
+        "   COALESCE(SUM(CASE WHEN status = 1 THEN 1 ELSE 0 END), 0) AS active_employees " +
+        " FROM employees) e " +
+        "CROSS JOIN (SELECT " +
+        "   COALESCE(SUM(CASE WHEN quantity < 10 THEN 1 ELSE 0 END), 0) AS low_stock, " +
+        "   COALESCE(SUM(CASE WHEN quantity <= 0 THEN 1 ELSE 0 END), 0) AS out_of_stock, " +
+        "   COALESCE(SUM(CASE WHEN expiry_date < CURDATE() THEN 1 ELSE 0 END), 0) AS expired " +
+        " FROM materials) m " +
+        "CROSS JOIN (SELECT COUNT(*) AS total_products FROM products) p";
+    
     // ============ SALES REPORTS ============
     
     /**
      * Lấy total revenue theo ngày
      */
     public double getTotalRevenueByDate(String date) {
-        String sql = "SELECT SUM(total_amount) FROM orders WHERE DATE(created_at) = ? AND status != 6";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_REVENUE_BETWEEN)) {
             
-            ps.setString(1, date);
+            ps.setTimestamp(1, startOfDay(date));
+            ps.setTimestamp(2, startOfNextDay(date));
             ResultSet rs = ps.executeQuery();
             
             if (rs.next()) {
@@ -39,14 +76,12 @@ public class ReportDAO {
      * Lấy total revenue trong range ngày
      */
     public double getTotalRevenueByDateRange(String startDate, String endDate) {
-        String sql = "SELECT SUM(total_amount) FROM orders " +
-                     "WHERE DATE(created_at) BETWEEN ? AND ? AND status != 6";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_REVENUE_BETWEEN)) {
             
-            ps.setString(1, startDate);
-            ps.setString(2, endDate);
+            // [startDate 00:00, endDate + 1 ngày 00:00) tương đương DATE(created_at) BETWEEN start AND end
+            ps.setTimestamp(1, startOfDay(startDate));
+            ps.setTimestamp(2, startOfNextDay(endDate));
             ResultSet rs = ps.executeQuery();
             
             if (rs.next()) {
@@ -63,12 +98,11 @@ public class ReportDAO {
      * Lấy số lượng order theo ngày
      */
     public int getTotalOrdersByDate(String date) {
-        String sql = "SELECT COUNT(*) FROM orders WHERE DATE(created_at) = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_ORDER_COUNT_BETWEEN)) {
             
-            ps.setString(1, date);
+            ps.setTimestamp(1, startOfDay(date));
+            ps.setTimestamp(2, startOfNextDay(date));
             ResultSet rs = ps.executeQuery();
             
             if (rs.next()) {
@@ -302,24 +336,58 @@ public class ReportDAO {
     // ============ DASHBOARD STATISTICS ============
     
     /**
-     * Lấy tất cả statistics cho dashboard
+     * Lấy tất cả statistics cho dashboard trong một query (một round trip)
      */
-    public Map<String, Object> getDashboardStatistics() {
-        Map<String, Object> stats = new HashMap<>();
+    public DashboardSnapshot getDashboardSnapshot() {
+        String today = LocalDate.now().toString();
         
-        try {
-            stats.put("totalOrders", getTotalOrdersByDate(java.time.LocalDate.now().toString()));
-            stats.put("totalRevenue", getTotalRevenueByDate(java.time.LocalDate.now().toString()));
-            stats.put("totalEmployees", getTotalActiveEmployees());
-            stats.put("lowStockItems", getLowStockIngredientCount());
-            stats.put("paidOrders", getPaidOrderCount());
-            stats.put("unpaidOrders", getUnpaidOrderCount());
-            stats.put("topProducts", getTopSellingProducts(5));
-            
-        } catch (Exception e) {
-            System.err.println("Error getting dashboard statistics: " + e.getMessage());
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_DASHBOARD_SNAPSHOT)) {
+            
+            ps.setTimestamp(1, startOfDay(today));
+            ps.setTimestamp(2, startOfNextDay(today));
+            ps.setTimestamp(3, startOfDay(today));
+            ps.setTimestamp(4, startOfNextDay(today));
+            ResultSet rs = ps.executeQuery();
+            
+            if (rs.next()) {
+                return new DashboardSnapshot(
+                    rs.getInt("today_orders"),
+                    rs.getDouble("today_revenue"),
+                    rs.getInt("total_orders"),
+                    rs.getDouble("total_revenue"),
+                    rs.getInt("paid_orders"),
+                    rs.getInt("unpaid_orders"),
+                    rs.getInt("pending_orders"),
+                    rs.getInt("cooking_orders"),
+                    rs.getInt("ready_orders"),
+                    rs.getInt("active_employees"),
+                    rs.getInt("low_stock"),
+                    rs.getInt("out_of_stock"),
+                    rs.getInt("expired"),
+                    rs.getInt("total_products")
+                );
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting dashboard snapshot: " + e.getMessage());
         }
-        
-        return stats;
+        return DashboardSnapshot.empty();
+    }
+    
+    // ============ HELPER METHODS ============
+    
+    /**
+     * 00:00 của ngày (yyyy-MM-dd)
+     */
+    static Timestamp startOfDay(String date) {
+        return Timestamp.valueOf(LocalDate.parse(date).atStartOfDay());
+    }
+    
+    /**
+     * 00:00 của ngày kế tiếp - cận trên (không bao gồm) của khoảng
+     */
+    static Timestamp startOfNextDay(String date) {
+        return Timestamp.valueOf(LocalDate.parse(date).plusDays(1).atStartOfDay());
     }
 }
\ No newline at end of file
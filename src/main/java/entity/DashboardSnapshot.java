@@ -0,0 +1,51 @@
+package entity;
+
+/**
+ * DashboardSnapshot - Số liệu dashboard tại một thời điểm
+ * Path: Source Packages/entity/DashboardSnapshot.java
+ * 
+ * Được đọc bằng một query duy nhất (ReportDAO.getDashboardSnapshot),
+ * nên các con số nhất quán với nhau và chỉ tốn một round trip.
+ * 
+ * @param todayOrders Số đơn tạo hôm nay
+ * @param todayRevenue Doanh thu hôm nay (không tính đơn hủy)
+ * @param totalOrders Tổng số đơn
+ * @param totalRevenue Tổng doanh thu đã thanh toán (không tính đơn hủy)
+ * @param paidOrders Số đơn đã thanh toán
+ * @param unpaidOrders Số đơn chưa thanh toán
+ * @param pendingOrders Số đơn mới (status 0)
+ * @param cookingOrders Số đơn đang nấu (status 3)
+ * @param readyOrders Số đơn sẵn sàng (status 4)
+ * @param activeEmployees Số nhân viên đang làm
+ * @param lowStockItems Số nguyên liệu sắp hết (quantity < 10)
+ * @param outOfStockItems Số nguyên liệu hết hàng
+ * @param expiredItems Số nguyên liệu hết hạn
+ * @param totalProducts Tổng số sản phẩm
+ * 
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public record DashboardSnapshot(
+    int todayOrders,
+    double todayRevenue,
+    int totalOrders,
+    double totalRevenue,
+    int paidOrders,
+    int unpaidOrders,
+    int pendingOrders,
+    int cookingOrders,
+    int readyOrders,
+    int activeEmployees,
+    int lowStockItems,
+    int outOfStockItems,
+    int expiredItems,
+    int totalProducts
+) {
+    
+    /**
+     * Snapshot rỗng (khi không đọc được database)
+     */
+    public static DashboardSnapshot empty() {
+        return new DashboardSnapshot(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+    }
+}
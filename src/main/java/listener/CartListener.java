@@ -11,6 +11,10 @@ import java.util.EventListener;
  * Interface for listening to cart change events
  * Implement this interface to receive notifications when cart changes
  * 
+ * Methods are no-op by default: override only the events you need.
+ * Register with NotificationService.addListener(CartListener.class, listener);
+ * fired by CartService after each successful change.
+ * 
  * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
  * @version 1.0
  */
@@ -21,7 +25,7 @@ public interface CartListener extends EventListener {
      * 
      * @param cart The newly created cart
      */
-    void onCartCreated(Cart cart);
+    default void onCartCreated(Cart cart) {}
     
     /**
      * Called when an item is added to cart
@@ -29,7 +33,7 @@ public interface CartListener extends EventListener {
      * @param cart The cart
      * @param item The item added
      */
-    void onItemAdded(Cart cart, CartItem item);
+    default void onItemAdded(Cart cart, CartItem item) {}
     
     /**
      * Called when an item is removed from cart
@@ -37,7 +41,7 @@ public interface CartListener extends EventListener {
      * @param cart The cart
      * @param item The item removed
      */
-    void onItemRemoved(Cart cart, CartItem item);
+    default void onItemRemoved(Cart cart, CartItem item) {}
     
     /**
      * Called when an item quantity is updated
@@ -47,7 +51,7 @@ public interface CartListener extends EventListener {
      * @param oldQuantity Previous quantity
      * @param newQuantity New quantity
      */
-    void onItemQuantityChanged(Cart cart, CartItem item, int oldQuantity, int newQuantity);
+    default void onItemQuantityChanged(Cart cart, CartItem item, int oldQuantity, int newQuantity) {}
     
     /**
      * Called when cart total is updated
@@ -56,7 +60,7 @@ public interface CartListener extends EventListener {
      * @param oldTotal Previous total amount
      * @param newTotal New total amount
      */
-    void onCartTotalChanged(Cart cart, double oldTotal, double newTotal);
+    default void onCartTotalChanged(Cart cart, double oldTotal, double newTotal) {}
     
     /**
      * Called when cart is cleared (all items removed)
@@ -64,7 +68,7 @@ public interface CartListener extends EventListener {
      * @param cart The cart that was cleared
      * @param itemCount Number of items that were removed
      */
-    void onCartCleared(Cart cart, int itemCount);
+    default void onCartCleared(Cart cart, int itemCount) {}
     
     /**
      * Called when cart is checked out
@@ -72,14 +76,14 @@ public interface CartListener extends EventListener {
      * @param cart The cart being checked out
      * @param orderId ID of order created from cart
      */
-    void onCartCheckedOut(Cart cart, int orderId);
+    default void onCartCheckedOut(Cart cart, int orderId) {}
     
     /**
      * Called when cart is abandoned (not checked out)
      * 
      * @param cart The abandoned cart
      */
-    void onCartAbandoned(Cart cart);
+    default void onCartAbandoned(Cart cart) {}
     
     /**
      * Called when cart is merged (combining items from another cart)
@@ -88,7 +92,7 @@ public interface CartListener extends EventListener {
      * @param sourceCart The cart providing items
      * @param itemsMerged Number of items merged
      */
-    void onCartMerged(Cart targetCart, Cart sourceCart, int itemsMerged);
+    default void onCartMerged(Cart targetCart, Cart sourceCart, int itemsMerged) {}
     
     /**
      * Called when cart validation fails (e.g., product out of stock)
@@ -97,7 +101,7 @@ public interface CartListener extends EventListener {
      * @param item The problematic item
      * @param reason Reason for validation failure
      */
-    void onCartValidationFailed(Cart cart, CartItem item, String reason);
+    default void onCartValidationFailed(Cart cart, CartItem item, String reason) {}
     
     /**
      * Called when discount is applied to cart
@@ -106,12 +110,12 @@ public interface CartListener extends EventListener {
      * @param discountAmount Discount amount applied
      * @param discountCode Discount code used (if any)
      */
-    void onDiscountApplied(Cart cart, double discountAmount, String discountCode);
+    default void onDiscountApplied(Cart cart, double discountAmount, String discountCode) {}
     
     /**
      * Called when cart is updated (general)
      * 
      * @param cart The updated cart
      */
-    void onCartUpdated(Cart cart);
+    default void onCartUpdated(Cart cart) {}
 }
\ No newline at end of file
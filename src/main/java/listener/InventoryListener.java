@@ -10,6 +10,10 @@ import java.util.EventListener;
  * Interface for listening to inventory and stock change events
  * Implement this interface to receive notifications when inventory changes
  * 
+ * Methods are no-op by default: override only the events you need.
+ * Register with NotificationService.addListener(InventoryListener.class, listener);
+ * fired by IngredientService after each successful change.
+ * 
  * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
  * @version 1.0
  */
@@ -20,14 +24,14 @@ public interface InventoryListener extends EventListener {
      * 
      * @param ingredient The newly added ingredient
      */
-    void onIngredientAdded(Ingredient ingredient);
+    default void onIngredientAdded(Ingredient ingredient) {}
     
     /**
      * Called when an ingredient is updated
      * 
      * @param ingredient The updated ingredient
      */
-    void onIngredientUpdated(Ingredient ingredient);
+    default void onIngredientUpdated(Ingredient ingredient) {}
     
     /**
      * Called when an ingredient is deleted from inventory
@@ -35,7 +39,7 @@ public interface InventoryListener extends EventListener {
      * @param ingredientId ID of deleted ingredient
      * @param ingredientName Name of deleted ingredient
      */
-    void onIngredientDeleted(int ingredientId, String ingredientName);
+    default void onIngredientDeleted(int ingredientId, String ingredientName) {}
     
     /**
      * Called when stock is added to an ingredient
@@ -44,7 +48,7 @@ public interface InventoryListener extends EventListener {
      * @param amountAdded Amount added to stock
      * @param newQuantity New total quantity
      */
-    void onStockAdded(Ingredient ingredient, double amountAdded, double newQuantity);
+    default void onStockAdded(Ingredient ingredient, double amountAdded, double newQuantity) {}
     
     /**
      * Called when stock is removed/used from an ingredient
@@ -53,7 +57,7 @@ public interface InventoryListener extends EventListener {
      * @param amountRemoved Amount removed from stock
      * @param newQuantity New remaining quantity
      */
-    void onStockRemoved(Ingredient ingredient, double amountRemoved, double newQuantity);
+    default void onStockRemoved(Ingredient ingredient, double amountRemoved, double newQuantity) {}
     
     /**
      * Called when ingredient quantity is directly updated
@@ -62,7 +66,7 @@ public interface InventoryListener extends EventListener {
      * @param oldQuantity Previous quantity
      * @param newQuantity New quantity
      */
-    void onQuantityChanged(Ingredient ingredient, double oldQuantity, double newQuantity);
+    default void onQuantityChanged(Ingredient ingredient, double oldQuantity, double newQuantity) {}
     
     /**
      * Called when ingredient stock reaches low level
@@ -71,21 +75,21 @@ public interface InventoryListener extends EventListener {
      * @param currentQuantity Current quantity
      * @param threshold Low stock threshold
      */
-    void onLowStockAlert(Ingredient ingredient, double currentQuantity, double threshold);
+    default void onLowStockAlert(Ingredient ingredient, double currentQuantity, double threshold) {}
     
     /**
      * Called when ingredient is out of stock
      * 
      * @param ingredient The out of stock ingredient
      */
-    void onOutOfStock(Ingredient ingredient);
+    default void onOutOfStock(Ingredient ingredient) {}
     
     /**
      * Called when ingredient has expired
      * 
      * @param ingredient The expired ingredient
      */
-    void onIngredientExpired(Ingredient ingredient);
+    default void onIngredientExpired(Ingredient ingredient) {}
     
     /**
      * Called when ingredient is about to expire (within warning period)
@@ -93,7 +97,7 @@ public interface InventoryListener extends EventListener {
      * @param ingredient The ingredient
      * @param daysUntilExpiry Days until expiration
      */
-    void onExpirationWarning(Ingredient ingredient, int daysUntilExpiry);
+    default void onExpirationWarning(Ingredient ingredient, int daysUntilExpiry) {}
     
     /**
      * Called when ingredient status changes
@@ -102,7 +106,7 @@ public interface InventoryListener extends EventListener {
      * @param oldStatus Previous status
      * @param newStatus New status
      */
-    void onStatusChanged(Ingredient ingredient, String oldStatus, String newStatus);
+    default void onStatusChanged(Ingredient ingredient, String oldStatus, String newStatus) {}
     
     /**
      * Called when inventory validation fails
@@ -110,7 +114,7 @@ public interface InventoryListener extends EventListener {
      * @param ingredient The problematic ingredient
      * @param reason Reason for validation failure
      */
-    void onInventoryValidationFailed(Ingredient ingredient, String reason);
+    default void onInventoryValidationFailed(Ingredient ingredient, String reason) {}
     
     /**
      * Called when a batch of ingredients is received (bulk add)
@@ -118,7 +122,7 @@ public interface InventoryListener extends EventListener {
      * @param count Number of ingredients received
      * @param totalValue Total value of received inventory
      */
-    void onInventoryReceived(int count, double totalValue);
+    default void onInventoryReceived(int count, double totalValue) {}
     
     /**
      * Called when inventory is adjusted (manual correction)
@@ -127,5 +131,5 @@ public interface InventoryListener extends EventListener {
      * @param adjustment Adjustment amount (can be positive or negative)
      * @param reason Reason for adjustment
      */
-    void onInventoryAdjusted(Ingredient ingredient, double adjustment, String reason);
+    default void onInventoryAdjusted(Ingredient ingredient, double adjustment, String reason) {}
 }
\ No newline at end of file
@@ -10,6 +10,10 @@ import java.util.EventListener;
  * Interface for listening to order update events
  * Implement this interface to receive notifications when orders change
  * 
+ * Methods are no-op by default: override only the events you need.
+ * Register with NotificationService.addListener(OrderUpdateListener.class, listener);
+ * fired by OrderService, OrderStateMachine and ChefService after each successful change.
+ * 
  * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
  * @version 1.0
  */
@@ -20,7 +24,7 @@ public interface OrderUpdateListener extends EventListener {
      * 
      * @param order The newly created order
      */
-    void onOrderCreated(Order order);
+    default void onOrderCreated(Order order) {}
     
     /**
      * Called when an order status is updated
@@ -29,21 +33,21 @@ public interface OrderUpdateListener extends EventListener {
      * @param oldStatus Previous status
      * @param newStatus New status
      */
-    void onOrderStatusChanged(Order order, int oldStatus, int newStatus);
+    default void onOrderStatusChanged(Order order, int oldStatus, int newStatus) {}
     
     /**
      * Called when an order is confirmed by cashier
      * 
      * @param order The confirmed order
      */
-    void onOrderConfirmed(Order order);
+    default void onOrderConfirmed(Order order) {}
     
     /**
      * Called when an order is sent to kitchen
      * 
      * @param order The order sent to kitchen
      */
-    void onOrderSentToKitchen(Order order);
+    default void onOrderSentToKitchen(Order order) {}
     
     /**
      * Called when an order starts cooking
@@ -51,21 +55,21 @@ public interface OrderUpdateListener extends EventListener {
      * @param order The order being cooked
      * @param chefId ID of chef assigned
      */
-    void onOrderCookingStarted(Order order, int chefId);
+    default void onOrderCookingStarted(Order order, int chefId) {}
     
     /**
      * Called when an order is ready for pickup
      * 
      * @param order The ready order
      */
-    void onOrderReady(Order order);
+    default void onOrderReady(Order order) {}
     
     /**
      * Called when an order is completed/delivered
      * 
      * @param order The completed order
      */
-    void onOrderCompleted(Order order);
+    default void onOrderCompleted(Order order) {}
     
     /**
      * Called when an order is cancelled
@@ -73,19 +77,19 @@ public interface OrderUpdateListener extends EventListener {
      * @param order The cancelled order
      * @param reason Reason for cancellation
      */
-    void onOrderCancelled(Order order, String reason);
+    default void onOrderCancelled(Order order, String reason) {}
     
     /**
      * Called when an order is updated (general)
      * 
      * @param order The updated order
      */
-    void onOrderUpdated(Order order);
+    default void onOrderUpdated(Order order) {}
     
     /**
      * Called when an order is deleted
      * 
      * @param orderId ID of deleted order
      */
-    void onOrderDeleted(int orderId);
+    default void onOrderDeleted(int orderId) {}
 }
\ No newline at end of file
@@ -10,6 +10,10 @@ import java.util.EventListener;
  * Interface for listening to payment events
  * Implement this interface to receive notifications when payments occur
  * 
+ * Methods are no-op by default: override only the events you need.
+ * Register with NotificationService.addListener(PaymentListener.class, listener);
+ * fired by PaymentService and CashierService after each successful change.
+ * 
  * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
  * @version 1.0
  */
@@ -20,7 +24,7 @@ public interface PaymentListener extends EventListener {
      * 
      * @param payment The payment being initiated
      */
-    void onPaymentInitiated(Payment payment);
+    default void onPaymentInitiated(Payment payment) {}
     
     /**
      * Called when a payment is processing
@@ -28,14 +32,14 @@ public interface PaymentListener extends EventListener {
      * @param payment The payment being processed
      * @param method Payment method (0: Cash, 1: Transfer, etc.)
      */
-    void onPaymentProcessing(Payment payment, int method);
+    default void onPaymentProcessing(Payment payment, int method) {}
     
     /**
      * Called when a payment is successful
      * 
      * @param payment The successful payment
      */
-    void onPaymentSuccess(Payment payment);
+    default void onPaymentSuccess(Payment payment) {}
     
     /**
      * Called when a payment fails
@@ -43,14 +47,14 @@ public interface PaymentListener extends EventListener {
      * @param payment The failed payment
      * @param reason Reason for failure
      */
-    void onPaymentFailed(Payment payment, String reason);
+    default void onPaymentFailed(Payment payment, String reason) {}
     
     /**
      * Called when a payment is cancelled
      * 
      * @param payment The cancelled payment
      */
-    void onPaymentCancelled(Payment payment);
+    default void onPaymentCancelled(Payment payment) {}
     
     /**
      * Called when a payment is refunded
@@ -58,7 +62,7 @@ public interface PaymentListener extends EventListener {
      * @param payment The refunded payment
      * @param refundAmount Amount refunded
      */
-    void onPaymentRefunded(Payment payment, double refundAmount);
+    default void onPaymentRefunded(Payment payment, double refundAmount) {}
     
     /**
      * Called when payment method is changed
@@ -67,7 +71,7 @@ public interface PaymentListener extends EventListener {
      * @param oldMethod Previous payment method
      * @param newMethod New payment method
      */
-    void onPaymentMethodChanged(Payment payment, int oldMethod, int newMethod);
+    default void onPaymentMethodChanged(Payment payment, int oldMethod, int newMethod) {}
     
     /**
      * Called when a receipt is generated
@@ -75,7 +79,7 @@ public interface PaymentListener extends EventListener {
      * @param payment The payment
      * @param receiptId ID of generated receipt
      */
-    void onReceiptGenerated(Payment payment, int receiptId);
+    default void onReceiptGenerated(Payment payment, int receiptId) {}
     
     /**
      * Called when cash payment is confirmed by cashier
@@ -84,7 +88,7 @@ public interface PaymentListener extends EventListener {
      * @param receivedAmount Amount received from customer
      * @param changeAmount Change to return
      */
-    void onCashPaymentConfirmed(Payment payment, double receivedAmount, double changeAmount);
+    default void onCashPaymentConfirmed(Payment payment, double receivedAmount, double changeAmount) {}
     
     /**
      * Called when transfer payment is verified
@@ -92,5 +96,5 @@ public interface PaymentListener extends EventListener {
      * @param payment The transfer payment
      * @param transactionId Transaction ID from bank
      */
-    void onTransferPaymentVerified(Payment payment, String transactionId);
+    default void onTransferPaymentVerified(Payment payment, String transactionId) {}
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package main;
+
+import config.DBConnection;
+import dao.DailySalesDAO;
+import java.time.LocalDate;
+
+/**
+ * RebuildDailySales - Backfill / tính lại bảng rollup daily_sales
+ * Path: Source Packages/main/RebuildDailySales.java
+ *
+ * Chức năng:
+ * - Không tham số: tính lại từ ngày có order đầu tiên tới hôm nay
+ * - Tham số [from] [to] (yyyy-MM-dd): chỉ tính lại các ngày trong khoảng
+ *
+ * Chạy sau khi apply db/migration/V002__daily_sales.sql, hoặc khi rollup bị lệch
+ *
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class RebuildDailySales {
+
+    public static void main(String[] args) {
+        DailySalesDAO dailySalesDAO = new DailySalesDAO();
+
+        LocalDate from;
+        LocalDate to;
+        if (args.length >= 2) {
+            from = LocalDate.parse(args[0]);
+            to = LocalDate.parse(args[1]);
+        } else {
+            from = dailySalesDAO.getFirstOrderDate();
+            to = LocalDate.now();
+            if (from == null) {
+                System.out.println("⚠️ No orders - nothing to rebuild");
+                DBConnection.shutdown();
+                return;
+            }
+        }
+
+        System.out.println("🔄 Rebuilding daily_sales: " + from + " → " + to);
+        long start = System.currentTimeMillis();
+        boolean success = dailySalesDAO.rebuild(from, to);
+        DBConnection.shutdown();
+
+        if (!success) {
+            System.err.println("❌ Rebuild failed");
+            System.exit(1);
+        }
+        System.out.println("✅ Rebuilt in " + (System.currentTimeMillis() - start) + " ms");
+    }
+}
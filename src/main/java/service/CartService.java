@@ -2,11 +2,12 @@ package service;
 
 import dao.CartDAO;
 import dao.CartItemDAO;
-import dao.ProductDAO;
 import entity.Cart;
 import entity.CartItem;
 import entity.Product;
 import java.util.List;
+import java.util.function.BiConsumer;
+import listener.CartListener;
 
 /**
  * CartService - Shopping Cart Business Logic
@@ -26,14 +27,16 @@ public class CartService {
     private static CartService instance;
     private CartDAO cartDAO;
     private CartItemDAO cartItemDAO;
-    private ProductDAO productDAO;
+    private ProductCatalog productCatalog;
+    private NotificationService notificationService;
     
     // ============ SINGLETON ============
     
     private CartService() {
         this.cartDAO = new CartDAO();
         this.cartItemDAO = new CartItemDAO();
-        this.productDAO = new ProductDAO();
+        this.productCatalog = ProductCatalog.getInstance();
+        this.notificationService = NotificationService.getInstance();
     }
     
     public static CartService getInstance() {
@@ -90,7 +93,7 @@ public class CartService {
     public boolean addToCart(int customerId, int productId, int quantity) {
         try {
             // Validate product
-            Product product = productDAO.getById(productId);
+            Product product = productCatalog.getById(productId);
             if (product == null) {
                 System.err.println("❌ Product not found: " + productId);
                 return false;
@@ -129,6 +132,7 @@ public class CartService {
             if (success) {
                 // Recalculate cart total
                 cartDAO.recalculateTotalAmount(cart.getCartId());
+                fireCartChanged(cart.getCartId(), (l, updated) -> l.onItemAdded(updated, cartItem));
                 System.out.println("✅ Added to cart: " + product.getName() + " x" + quantity);
             }
             
@@ -177,12 +181,20 @@ public class CartService {
                 return removeFromCart(customerId, productId);
             }
             
+            CartItem before = hasListeners() ? cartItemDAO.getByCartAndProduct(cart.getCartId(), productId) : null;
+            
             boolean success = cartItemDAO.updateQuantityByCartAndProduct(
                 cart.getCartId(), productId, newQuantity
             );
             
             if (success) {
                 cartDAO.recalculateTotalAmount(cart.getCartId());
+                if (before != null) {
+                    int oldQuantity = before.getQuantity();
+                    before.setQuantity(newQuantity);
+                    fireCartChanged(cart.getCartId(),
+                        (l, updated) -> l.onItemQuantityChanged(updated, before, oldQuantity, newQuantity));
+                }
                 System.out.println("✅ Updated quantity: " + newQuantity);
             }
             
@@ -204,10 +216,15 @@ public class CartService {
                 return false;
             }
             
+            CartItem removed = hasListeners() ? cartItemDAO.getByCartAndProduct(cart.getCartId(), productId) : null;
+            
             boolean success = cartItemDAO.deleteByCartAndProduct(cart.getCartId(), productId);
             
             if (success) {
                 cartDAO.recalculateTotalAmount(cart.getCartId());
+                if (removed != null) {
+                    fireCartChanged(cart.getCartId(), (l, updated) -> l.onItemRemoved(updated, removed));
+                }
                 System.out.println("✅ Removed from cart");
             }
             
@@ -229,9 +246,12 @@ public class CartService {
                 return false;
             }
             
+            int itemCount = hasListeners() ? cartItemDAO.countByCartId(cart.getCartId()) : 0;
+            
             boolean success = cartDAO.clearCart(cart.getCartId());
             
             if (success) {
+                fireCartChanged(cart.getCartId(), (l, updated) -> l.onCartCleared(updated, itemCount));
                 System.out.println("✅ Cart cleared");
             }
             
@@ -348,7 +368,7 @@ public class CartService {
             
             // Validate each item
             for (CartItem item : items) {
-                Product product = productDAO.getById(item.getProductId());
+                Product product = productCatalog.getById(item.getProductId());
                 
                 if (product == null) {
                     System.err.println("❌ Product not found: " + item.getProductId());
@@ -381,7 +401,13 @@ public class CartService {
                 return false;
             }
             
-            return cartDAO.updateStatus(cart.getCartId(), 1); // 1 = Checked out
+            boolean success = cartDAO.updateStatus(cart.getCartId(), 1); // 1 = Checked out
+            if (success) {
+                cart.setStatus(1);
+                // Không biết order nào (OrderService.createOrderFromCart tự phát kèm order id)
+                notificationService.fire(CartListener.class, l -> l.onCartCheckedOut(cart, 0));
+            }
+            return success;
             
         } catch (Exception e) {
             System.err.println("❌ Error marking as checked out: " + e.getMessage());
@@ -399,7 +425,12 @@ public class CartService {
                 return false;
             }
             
-            return cartDAO.updateStatus(cart.getCartId(), 2); // 2 = Abandoned
+            boolean success = cartDAO.updateStatus(cart.getCartId(), 2); // 2 = Abandoned
+            if (success) {
+                cart.setStatus(2);
+                notificationService.fire(CartListener.class, l -> l.onCartAbandoned(cart));
+            }
+            return success;
             
         } catch (Exception e) {
             System.err.println("❌ Error marking as abandoned: " + e.getMessage());
@@ -407,6 +438,31 @@ public class CartService {
         }
     }
     
+    // ============ EVENTS ============
+    
+    private boolean hasListeners() {
+        return notificationService.hasListeners(CartListener.class);
+    }
+    
+    /**
+     * Phát event của cart sau khi đổi items (đọc lại cart để có tổng tiền mới, chỉ khi có listener)
+     * rồi onCartUpdated
+     */
+    private void fireCartChanged(int cartId, BiConsumer<CartListener, Cart> event) {
+        if (!hasListeners()) {
+            return;
+        }
+        Cart cart = cartDAO.getById(cartId);
+        if (cart == null) {
+            return;
+        }
+        
+        notificationService.fire(CartListener.class, l -> {
+            event.accept(l, cart);
+            l.onCartUpdated(cart);
+        });
+    }
+    
     // ============ UTILITY ============
     
     /**
@@ -1,12 +1,18 @@
 package service;
 
+import config.AppConfig;
+import config.DBConnection;
 import dao.OrderDAO;
 import dao.OrderItemDAO;
+import dao.PageFilter;
 import dao.PaymentDAO;
 import entity.Order;
 import entity.OrderItem;
 import entity.Payment;
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.util.List;
+import listener.PaymentListener;
 
 /**
  * CashierService - Cashier Operations Service
@@ -28,6 +34,7 @@ public class CashierService {
     private OrderDAO orderDAO;
     private OrderItemDAO orderItemDAO;
     private PaymentDAO paymentDAO;
+    private OrderStateMachine stateMachine;
     
     // ============ SINGLETON ============
     
@@ -35,6 +42,7 @@ public class CashierService {
         this.orderDAO = new OrderDAO();
         this.orderItemDAO = new OrderItemDAO();
         this.paymentDAO = new PaymentDAO();
+        this.stateMachine = OrderStateMachine.getInstance();
     }
     
     public static CashierService getInstance() {
@@ -131,19 +139,13 @@ public class CashierService {
                 return false;
             }
             
-            // Update payment status
-            boolean paymentSuccess = orderDAO.updatePaymentStatus(orderId, 1); // 1 = Paid
-            
-            if (paymentSuccess) {
-                // Create payment record
-                Payment payment = new Payment(orderId, order.getTotalAmount(), 0, 1, "Thanh toán tiền mặt");
-                paymentDAO.create(payment);
-                
-                System.out.println("✅ Cash payment confirmed for order #" + orderId);
-                return true;
+            Payment payment = new Payment(orderId, order.getTotalAmount(), 0, 1, "Thanh toán tiền mặt");
+            if (!markPaid(payment)) {
+                return false;
             }
             
-            return false;
+            System.out.println("✅ Cash payment confirmed for order #" + orderId);
+            return true;
             
         } catch (Exception e) {
             System.err.println("❌ Error confirming cash payment: " + e.getMessage());
@@ -167,19 +169,13 @@ public class CashierService {
                 return false;
             }
             
-            // Update payment status
-            boolean paymentSuccess = orderDAO.updatePaymentStatus(orderId, 1); // 1 = Paid
-            
-            if (paymentSuccess) {
-                // Create payment record
-                Payment payment = new Payment(orderId, order.getTotalAmount(), 1, 1, "Thanh toán chuyển khoản");
-                paymentDAO.create(payment);
-                
-                System.out.println("✅ Transfer payment confirmed for order #" + orderId);
-                return true;
+            Payment payment = new Payment(orderId, order.getTotalAmount(), 1, 1, "Thanh toán chuyển khoản");
+            if (!markPaid(payment)) {
+                return false;
             }
             
-            return false;
+            System.out.println("✅ Transfer payment confirmed for order #" + orderId);
+            return true;
             
         } catch (Exception e) {
             System.err.println("❌ Error confirming transfer payment: " + e.getMessage());
@@ -201,6 +197,24 @@ public class CashierService {
         }
     }
     
+    /**
+     * Update payment status + tạo payment record trong một transaction
+     * (trước đây payment record lỗi thì order vẫn bị đánh dấu đã trả)
+     */
+    private boolean markPaid(Payment payment) throws java.sql.SQLException {
+        Boolean success = DBConnection.inTransaction(() ->
+            orderDAO.updatePaymentStatus(payment.getOrderId(), 1) // 1 = Paid
+                && paymentDAO.create(payment)
+        );
+        if (!Boolean.TRUE.equals(success)) {
+            return false;
+        }
+        
+        NotificationService.getInstance().fire(PaymentListener.class, l -> l.onPaymentSuccess(payment));
+        OrderEvents.updated(payment.getOrderId());
+        return true;
+    }
+    
     // ============ ORDER STATUS MANAGEMENT ============
     
     /**
@@ -208,18 +222,8 @@ public class CashierService {
      */
     public boolean confirmOrder(int orderId) {
         try {
-            Order order = getOrderById(orderId);
-            if (order == null) {
-                System.err.println("❌ Order not found");
-                return false;
-            }
-            
-            if (order.getStatus() != 0) {
-                System.err.println("❌ Order is not pending");
-                return false;
-            }
-            
-            boolean success = orderDAO.updateStatus(orderId, 1); // 1 = Confirmed
+            // Compare-and-set: chỉ xác nhận nếu order vẫn là đơn mới
+            boolean success = stateMachine.transition(orderId, 0, 1); // 1 = Confirmed
             
             if (success) {
                 System.out.println("✅ Order confirmed: #" + orderId);
@@ -238,7 +242,7 @@ public class CashierService {
      */
     public boolean sendToKitchen(int orderId) {
         try {
-            Order order = getOrderById(orderId);
+            Order order = orderDAO.getById(orderId);   // Không cần items để kiểm tra
             if (order == null) {
                 System.err.println("❌ Order not found");
                 return false;
@@ -249,7 +253,7 @@ public class CashierService {
                 return false;
             }
             
-            boolean success = orderDAO.updateStatus(orderId, 2); // 2 = Preparing
+            boolean success = stateMachine.transition(orderId, order.getStatus(), 2); // 2 = Preparing
             
             if (success) {
                 System.out.println("✅ Order sent to kitchen: #" + orderId);
@@ -268,18 +272,8 @@ public class CashierService {
      */
     public boolean cancelOrder(int orderId) {
         try {
-            Order order = getOrderById(orderId);
-            if (order == null) {
-                System.err.println("❌ Order not found");
-                return false;
-            }
-            
-            if (order.getStatus() >= 3) {
-                System.err.println("❌ Cannot cancel order in cooking/ready/completed status");
-                return false;
-            }
-            
-            boolean success = orderDAO.updateStatus(orderId, 6); // 6 = Cancelled
+            // State machine chỉ cho hủy khi chưa nấu (status < 3)
+            boolean success = stateMachine.transition(orderId, 6); // 6 = Cancelled
             
             if (success) {
                 System.out.println("✅ Order cancelled: #" + orderId);
@@ -365,7 +359,7 @@ public class CashierService {
      */
     public int countOrdersByPaymentStatus(int paymentStatus) {
         try {
-            return orderDAO.getByPaymentStatus(paymentStatus).size();
+            return orderDAO.summarize(PageFilter.all().paymentStatus(paymentStatus)).orderCount();
         } catch (Exception e) {
             System.err.println("❌ Error counting orders: " + e.getMessage());
             return 0;
@@ -377,11 +371,9 @@ public class CashierService {
      */
     public double getTodayRevenue() {
         try {
-            List<Order> orders = getAllOrders();
-            return orders.stream()
-                .filter(o -> o.isPaid() && !o.isCancelled())
-                .mapToDouble(Order::getTotalAmount)
-                .sum();
+            return orderDAO.summarize(todayFilter()
+                .paymentStatus(AppConfig.PAYMENT_STATUS_PAID)
+                .excludeStatus(AppConfig.ORDER_STATUS_CANCELLED)).totalAmount();
         } catch (Exception e) {
             System.err.println("❌ Error calculating revenue: " + e.getMessage());
             return 0.0;
@@ -393,10 +385,20 @@ public class CashierService {
      */
     public int getTodayOrderCount() {
         try {
-            return getAllOrders().size();
+            return orderDAO.summarize(todayFilter()).orderCount();
         } catch (Exception e) {
             System.err.println("❌ Error counting orders: " + e.getMessage());
             return 0;
         }
     }
+    
+    /**
+     * Orders tạo trong ngày hôm nay [00:00, 00:00 ngày mai)
+     */
+    private PageFilter todayFilter() {
+        LocalDate today = LocalDate.now();
+        return PageFilter.all().createdBetween(
+            Timestamp.valueOf(today.atStartOfDay()),
+            Timestamp.valueOf(today.plusDays(1).atStartOfDay()));
+    }
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package service;
 
+import config.AppConfig;
 import dao.OrderDAO;
 import dao.OrderItemDAO;
+import dao.Page;
+import dao.PageFilter;
 import entity.Order;
 import entity.OrderItem;
+import java.sql.Timestamp;
 import java.util.List;
 
 /**
@@ -21,15 +25,20 @@ import java.util.List;
  */
 public class ChefService {
     
+    // Số orders tối đa mỗi trang khi xem lịch sử của chef
+    private static final int CHEF_ORDERS_PAGE_SIZE = 100;
+    
     private static ChefService instance;
     private OrderDAO orderDAO;
     private OrderItemDAO orderItemDAO;
+    private OrderStateMachine stateMachine;
     
     // ============ SINGLETON ============
     
     private ChefService() {
         this.orderDAO = new OrderDAO();
         this.orderItemDAO = new OrderItemDAO();
+        this.stateMachine = OrderStateMachine.getInstance();
     }
     
     public static ChefService getInstance() {
@@ -112,18 +121,8 @@ public class ChefService {
      */
     public boolean startCooking(int orderId) {
         try {
-            Order order = getOrderWithItems(orderId);
-            if (order == null) {
-                System.err.println("❌ Order not found");
-                return false;
-            }
-            
-            if (order.getStatus() != 2) {
-                System.err.println("❌ Order is not in preparing status");
-                return false;
-            }
-            
-            boolean success = orderDAO.updateStatus(orderId, 3); // 3 = Cooking
+            // Compare-and-set: chỉ đổi nếu order vẫn đang ở status 2
+            boolean success = stateMachine.transition(orderId, 2, 3); // 3 = Cooking
             
             if (success) {
                 System.out.println("🔥 Started cooking order #" + orderId);
@@ -142,18 +141,8 @@ public class ChefService {
      */
     public boolean markAsReady(int orderId) {
         try {
-            Order order = getOrderWithItems(orderId);
-            if (order == null) {
-                System.err.println("❌ Order not found");
-                return false;
-            }
-            
-            if (order.getStatus() != 3) {
-                System.err.println("❌ Order is not cooking");
-                return false;
-            }
-            
-            boolean success = orderDAO.updateStatus(orderId, 4); // 4 = Ready
+            // Compare-and-set: chỉ đổi nếu order vẫn đang ở status 3
+            boolean success = stateMachine.transition(orderId, 3, 4); // 4 = Ready
             
             if (success) {
                 System.out.println("✅ Order ready: #" + orderId);
@@ -172,18 +161,8 @@ public class ChefService {
      */
     public boolean completeOrder(int orderId) {
         try {
-            Order order = getOrderWithItems(orderId);
-            if (order == null) {
-                System.err.println("❌ Order not found");
-                return false;
-            }
-            
-            if (order.getStatus() != 4) {
-                System.err.println("❌ Order is not ready");
-                return false;
-            }
-            
-            boolean success = orderDAO.updateStatus(orderId, 5); // 5 = Completed
+            // Compare-and-set: chỉ đổi nếu order vẫn đang ở status 4
+            boolean success = stateMachine.transition(orderId, 4, 5); // 5 = Completed
             
             if (success) {
                 System.out.println("🎉 Order completed: #" + orderId);
@@ -199,19 +178,15 @@ public class ChefService {
     
     /**
      * Assign chef to order
+     * Chỉ UPDATE assigned_chef_id: không ghi lại status / payment từ bản đọc cũ,
+     * nên không đè lên startCooking() của chef khác chạy xen giữa
      */
     public boolean assignChef(int orderId, int chefId) {
         try {
-            Order order = orderDAO.getById(orderId);
-            if (order == null) {
-                System.err.println("❌ Order not found");
-                return false;
-            }
-            
-            order.setAssignedChefId(chefId);
-            boolean success = orderDAO.update(order);
+            boolean success = orderDAO.assignChef(orderId, chefId);
             
             if (success) {
+                OrderEvents.updated(orderId);
                 System.out.println("👨‍🍳 Chef assigned to order #" + orderId);
             }
             
@@ -229,42 +204,47 @@ public class ChefService {
      * Đếm số orders đang chờ
      */
     public int getWaitingOrderCount() {
-        return getWaitingOrders().size();
+        return OrderStatusCounter.getInstance().getCount(2);
     }
     
     /**
      * Đếm số orders đang nấu
      */
     public int getCookingOrderCount() {
-        return getCookingOrders().size();
+        return OrderStatusCounter.getInstance().getCount(3);
     }
     
     /**
      * Đếm số orders đã sẵn sàng
      */
     public int getReadyOrderCount() {
-        return getReadyOrders().size();
+        return OrderStatusCounter.getInstance().getCount(4);
     }
     
     /**
      * Đếm số orders đã hoàn thành hôm nay
      */
     public int getTodayCompletedCount() {
-        return getCompletedOrders().size();
+        return OrderStatusCounter.getInstance().getCount(5);
     }
     
     /**
-     * Lấy orders của chef cụ thể
+     * Lấy orders gần nhất của chef cụ thể (trang đầu, tối đa CHEF_ORDERS_PAGE_SIZE)
      */
     public List<Order> getOrdersByChef(int chefId) {
+        return getOrdersByChef(chefId, null, 0, CHEF_ORDERS_PAGE_SIZE).getItems();
+    }
+    
+    /**
+     * Lấy orders của chef theo trang (mới nhất trước)
+     * Trang đầu: afterCreatedAt = null; trang sau: dùng cursor của Page trước
+     */
+    public Page<Order> getOrdersByChef(int chefId, Timestamp afterCreatedAt, int afterId, int limit) {
         try {
-            List<Order> allOrders = orderDAO.getAll();
-            return allOrders.stream()
-                .filter(o -> o.getAssignedChefId() == chefId)
-                .toList();
+            return orderDAO.page(afterCreatedAt, afterId, limit, PageFilter.all().assignedChef(chefId));
         } catch (Exception e) {
             System.err.println("❌ Error getting chef orders: " + e.getMessage());
-            return List.of();
+            return Page.empty();
         }
     }
     
@@ -272,15 +252,9 @@ public class ChefService {
      * Đếm số orders chef đã hoàn thành
      */
     public int getChefCompletedCount(int chefId) {
-        try {
-            List<Order> chefOrders = getOrdersByChef(chefId);
-            return (int) chefOrders.stream()
-                .filter(o -> o.getStatus() == 5) // 5 = Completed
-                .count();
-        } catch (Exception e) {
-            System.err.println("❌ Error counting chef completions: " + e.getMessage());
-            return 0;
-        }
+        // Một câu COUNT trên DB thay vì đọc hết lịch sử theo trang
+        PageFilter filter = PageFilter.all().assignedChef(chefId).status(AppConfig.ORDER_STATUS_COMPLETED);
+        return orderDAO.summarize(filter).orderCount();
     }
     // ============ UTILITY === =========
     
@@ -288,11 +262,8 @@ public class ChefService {
      * Lấy thời gian chờ trung bình (estimate)
      */
     public int getAverageWaitTime() {
-        int waitingCount = getWaitingOrderCount();
-        int cookingCount = getCookingOrderCount();
-        
-        // Estimate: 5 phút/order
-        return (waitingCount + cookingCount) * 5;
+        // Estimate: 5 phút/order (waiting + cooking, một lần đọc snapshot)
+        return OrderStatusCounter.getInstance().getCount(2, 3) * 5;
     }
     
     /**
@@ -1,9 +1,13 @@
 package service;
 
+import config.AppConfig;
 import dao.IngredientDAO;
 import entity.Ingredient;
 import java.sql.Date;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import listener.InventoryListener;
 
 /**
  * IngredientService - Ingredient/Inventory Management Service
@@ -23,11 +27,13 @@ public class IngredientService {
     
     private static IngredientService instance;
     private IngredientDAO ingredientDAO;
+    private NotificationService notificationService;
     
     // ============ SINGLETON ============
     
     private IngredientService() {
         this.ingredientDAO = new IngredientDAO();
+        this.notificationService = NotificationService.getInstance();
     }
     
     public static IngredientService getInstance() {
@@ -71,6 +77,10 @@ public class IngredientService {
             boolean success = ingredientDAO.create(ingredient);
             
             if (success) {
+                notificationService.fire(InventoryListener.class, l -> {
+                    l.onIngredientAdded(ingredient);
+                    stockAlerts(l, ingredient, Double.MAX_VALUE);
+                });
                 System.out.println("✅ Ingredient added: " + name);
             }
             
@@ -92,10 +102,23 @@ public class IngredientService {
                 return false;
             }
             
+            Ingredient before = notificationService.hasListeners(InventoryListener.class)
+                ? ingredientDAO.getById(ingredient.getIngredientId())
+                : null;
+            
             ingredient.updateStatus();
             boolean success = ingredientDAO.update(ingredient);
             
             if (success) {
+                notificationService.fire(InventoryListener.class, l -> {
+                    l.onIngredientUpdated(ingredient);
+                    if (before != null) {
+                        quantityChanged(l, ingredient, before.getQuantity());
+                        if (!Objects.equals(before.getStatus(), ingredient.getStatus())) {
+                            l.onStatusChanged(ingredient, before.getStatus(), ingredient.getStatus());
+                        }
+                    }
+                });
                 System.out.println("✅ Ingredient updated: " + ingredient.getName());
             }
             
@@ -121,6 +144,8 @@ public class IngredientService {
             boolean success = ingredientDAO.delete(ingredientId);
             
             if (success) {
+                notificationService.fire(InventoryListener.class,
+                    l -> l.onIngredientDeleted(ingredientId, ingredient.getName()));
                 System.out.println("✅ Ingredient deleted: " + ingredientId);
             }
             
@@ -203,6 +228,8 @@ public class IngredientService {
             boolean success = ingredientDAO.addQuantity(ingredientId, amount);
             
             if (success) {
+                fireStockChanged(ingredientId, ingredient.getQuantity(),
+                    (l, updated) -> l.onStockAdded(updated, amount, updated.getQuantity()));
                 System.out.println("✅ Added " + amount + " " + ingredient.getUnit() + 
                                  " to " + ingredient.getName());
             }
@@ -239,6 +266,8 @@ public class IngredientService {
             boolean success = ingredientDAO.reduceQuantity(ingredientId, amount);
             
             if (success) {
+                fireStockChanged(ingredientId, ingredient.getQuantity(),
+                    (l, updated) -> l.onStockRemoved(updated, amount, updated.getQuantity()));
                 System.out.println("✅ Removed " + amount + " " + ingredient.getUnit() + 
                                  " from " + ingredient.getName());
             }
@@ -261,9 +290,16 @@ public class IngredientService {
                 return false;
             }
             
+            Ingredient before = notificationService.hasListeners(InventoryListener.class)
+                ? ingredientDAO.getById(ingredientId)
+                : null;
+            
             boolean success = ingredientDAO.updateQuantity(ingredientId, newQuantity);
             
             if (success) {
+                if (before != null) {
+                    fireStockChanged(ingredientId, before.getQuantity(), (l, updated) -> {});
+                }
                 System.out.println("✅ Quantity updated");
             }
             
@@ -275,6 +311,47 @@ public class IngredientService {
         }
     }
     
+    /**
+     * Phát event sau khi số lượng đổi: đọc lại nguyên liệu (chỉ khi có listener),
+     * gọi event riêng rồi onQuantityChanged và cảnh báo tồn kho
+     */
+    private void fireStockChanged(int ingredientId, double oldQuantity,
+                                  BiConsumer<InventoryListener, Ingredient> event) {
+        if (!notificationService.hasListeners(InventoryListener.class)) {
+            return;
+        }
+        Ingredient updated = ingredientDAO.getById(ingredientId);
+        if (updated == null) {
+            return;
+        }
+        updated.updateStatus();
+        
+        notificationService.fire(InventoryListener.class, l -> {
+            event.accept(l, updated);
+            quantityChanged(l, updated, oldQuantity);
+        });
+    }
+    
+    private static void quantityChanged(InventoryListener l, Ingredient ingredient, double oldQuantity) {
+        if (ingredient.getQuantity() != oldQuantity) {
+            l.onQuantityChanged(ingredient, oldQuantity, ingredient.getQuantity());
+            stockAlerts(l, ingredient, oldQuantity);
+        }
+    }
+    
+    /**
+     * Cảnh báo chỉ khi vừa vượt ngưỡng (không lặp lại mỗi lần xuất kho khi đã thấp sẵn)
+     */
+    private static void stockAlerts(InventoryListener l, Ingredient ingredient, double oldQuantity) {
+        double quantity = ingredient.getQuantity();
+        if (quantity <= 0 && oldQuantity > 0) {
+            l.onOutOfStock(ingredient);
+        } else if (quantity > 0 && quantity < AppConfig.LOW_STOCK_THRESHOLD
+                   && oldQuantity >= AppConfig.LOW_STOCK_THRESHOLD) {
+            l.onLowStockAlert(ingredient, quantity, AppConfig.LOW_STOCK_THRESHOLD);
+        }
+    }
+    
     // ============ STATUS CHECKS ============
     
     /**
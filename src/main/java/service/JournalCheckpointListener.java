@@ -0,0 +1,27 @@
+package service;
+
+import java.util.EventListener;
+
+/**
+ * JournalCheckpointListener - Checkpoint của ShiftJournal đi qua NotificationService
+ * Path: Source Packages/service/JournalCheckpointListener.java
+ *
+ * Chỉ ShiftJournal nghe. Checkpoint được fire sau các event mà nó đã tính tới,
+ * nên tới cùng hàng đợi và ghi vào journal đúng thứ tự với các callback order / payment đó
+ * (replay không cộng hai lần, tailer không đọc bù vượt qua event chưa ghi).
+ *
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+interface JournalCheckpointListener extends EventListener {
+
+    /**
+     * Số đơn theo trạng thái vừa đọc từ DB
+     */
+    void onStatusCounts(int[] counts);
+
+    /**
+     * OrderEventTailer đã đọc và phát xong tới eventId
+     */
+    void onTailerCursor(long eventId);
+}
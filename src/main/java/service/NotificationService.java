@@ -1,8 +1,21 @@
 package service;
 
+import java.awt.Component;
 import java.util.ArrayList;
+import java.util.EventListener;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
 
 /**
  * NotificationService - Real-time Notification Service
@@ -10,8 +23,19 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * 
  * Chức năng:
  * - Gửi thông báo real-time giữa các UI
- * - Quản lý listeners
- * - Observer pattern để cập nhật UI
+ * - Quản lý listeners, đăng ký theo từng loại thông báo (topic)
+ * - Gửi bất đồng bộ: notify() chỉ bỏ event vào hàng đợi rồi trả về ngay,
+ *   listener chậm không làm chậm việc tạo đơn / thanh toán
+ * 
+ * Mỗi listener có hàng đợi giới hạn và dispatcher riêng (event giao theo đúng thứ tự,
+ * listener này chậm không ảnh hưởng listener khác). Listener là Swing component
+ * (hoặc đăng ký với Delivery.EDT) được gọi trên EDT.
+ * Hàng đợi đầy thì áp dụng OverflowPolicy; getListenerStats() cho biết độ trễ / số event bị bỏ.
+ * 
+ * Ngoài thông báo dạng chuỗi, service còn phát callback có kiểu của package listener
+ * (OrderUpdateListener, PaymentListener, ...) qua addListener(Class, listener) / fire().
+ * Chỉ trong process: thay đổi từ máy khác được OrderEventTailer phát lại qua đây.
+ * ShiftJournal đăng ký nhận mọi callback order / payment / inventory và ghi chúng vào journal trên đĩa.
  * 
  * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
  * @version 1.0
@@ -19,7 +43,6 @@ import java.util.concurrent.CopyOnWriteArrayList;
 public class NotificationService {
     
     private static NotificationService instance;
-    private List<NotificationListener> listeners;
     
     // Notification types
     public static final String NEW_ORDER = "NEW_ORDER";
@@ -29,13 +52,45 @@ public class NotificationService {
     public static final String LOW_STOCK = "LOW_STOCK";
     public static final String EXPIRED_INGREDIENT = "EXPIRED_INGREDIENT";
     
+    // Topic đặc biệt: nhận mọi loại thông báo (addListener không chỉ định type)
+    public static final String ALL = "*";
+    
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+    
+    /**
+     * Listener được gọi trên thread nào
+     */
+    public enum Delivery {
+        BACKGROUND,     // Dispatcher riêng trên pool nền
+        EDT             // Swing Event Dispatch Thread
+    }
+    
+    /**
+     * Xử lý khi hàng đợi của listener đầy
+     */
+    public enum OverflowPolicy {
+        DROP_OLDEST,    // Bỏ event cũ nhất, giữ event mới
+        DROP_NEWEST,    // Bỏ event mới
+        BLOCK           // Người gửi chờ tới khi có chỗ, không bỏ event (chỉ cho listener
+                        // BACKGROUND ghi nhanh và không tự gửi event, vd. ShiftJournal)
+    }
+    
+    private final Map<String, List<Subscription>> topics = new ConcurrentHashMap<>();
+    private final Map<NotificationListener, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final ExecutorService dispatchers;
+    
     // ============ SINGLETON ============
     
     private NotificationService() {
-        this.listeners = new CopyOnWriteArrayList<>();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatchers = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "notification-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
     }
     
-    public static NotificationService getInstance() {
+    public static synchronized NotificationService getInstance() {
         if (instance == null) {
             instance = new NotificationService();
         }
@@ -45,22 +100,58 @@ public class NotificationService {
     // ============ LISTENER MANAGEMENT ============
     
     /**
-     * Đăng ký listener
+     * Đăng ký listener nhận mọi loại thông báo
+     * Swing component được gọi trên EDT, listener khác trên thread nền.
      */
     public void addListener(NotificationListener listener) {
-        if (listener != null && !listeners.contains(listener)) {
-            listeners.add(listener);
-            System.out.println("📢 Listener registered: " + listener.getClass().getSimpleName());
+        subscribe(listener, ALL);
+    }
+    
+    /**
+     * Đăng ký listener cho một số loại thông báo (không truyền type = tất cả)
+     */
+    public void subscribe(NotificationListener listener, String... types) {
+        Delivery delivery = listener instanceof Component ? Delivery.EDT : Delivery.BACKGROUND;
+        subscribe(listener, delivery, DEFAULT_QUEUE_CAPACITY, OverflowPolicy.DROP_OLDEST, types);
+    }
+    
+    /**
+     * Đăng ký listener với đầy đủ tùy chọn
+     * Listener đã đăng ký thì chỉ thêm topic (giữ nguyên hàng đợi và tùy chọn cũ).
+     */
+    public void subscribe(NotificationListener listener, Delivery delivery, int queueCapacity,
+                          OverflowPolicy overflowPolicy, String... types) {
+        if (listener == null) {
+            return;
+        }
+        
+        Subscription subscription = subscriptions.computeIfAbsent(listener,
+            l -> new Subscription(l, delivery, queueCapacity, overflowPolicy));
+        
+        String[] topicNames = types == null || types.length == 0 ? new String[] { ALL } : types;
+        for (String type : topicNames) {
+            List<Subscription> subscribers = topics.computeIfAbsent(type, t -> new CopyOnWriteArrayList<>());
+            if (!subscribers.contains(subscription)) {
+                subscribers.add(subscription);
+            }
         }
+        System.out.println("📢 Listener registered: " + subscription.name + " " + String.join(",", topicNames));
     }
     
     /**
-     * Hủy đăng ký listener
+     * Hủy đăng ký listener (mọi topic); event còn trong hàng đợi bị bỏ
      */
     public void removeListener(NotificationListener listener) {
-        if (listener != null) {
-            listeners.remove(listener);
-            System.out.println("📢 Listener unregistered: " + listener.getClass().getSimpleName());
+        if (listener == null) {
+            return;
+        }
+        Subscription subscription = subscriptions.remove(listener);
+        if (subscription != null) {
+            for (List<Subscription> subscribers : topics.values()) {
+                subscribers.remove(subscription);
+            }
+            subscription.close();
+            System.out.println("📢 Listener unregistered: " + subscription.name);
         }
     }
     
@@ -68,7 +159,11 @@ public class NotificationService {
      * Xóa tất cả listeners
      */
     public void clearListeners() {
-        listeners.clear();
+        for (Subscription subscription : subscriptions.values()) {
+            subscription.close();
+        }
+        subscriptions.clear();
+        topics.clear();
         System.out.println("📢 All listeners cleared");
     }
     
@@ -76,45 +171,158 @@ public class NotificationService {
      * Lấy số lượng listeners
      */
     public int getListenerCount() {
-        return listeners.size();
+        return subscriptions.size();
     }
     
     // ============ NOTIFICATION SENDING ============
     
     /**
-     * Gửi thông báo chung
+     * Gửi thông báo chung (không chờ listener xử lý)
      */
     public void notify(String type, Object data) {
         System.out.println("📢 Notification sent: " + type);
-        
-        for (NotificationListener listener : listeners) {
-            try {
-                listener.onNotification(type, data);
-            } catch (Exception e) {
-                System.err.println("❌ Error notifying listener: " + e.getMessage());
-            }
-        }
+        publish(new Event(type, data, false, System.nanoTime()), type);
     }
     
     /**
      * Gửi thông báo với message
      */
     public void notify(String type, String message) {
-        notify(type, message);
+        notify(type, (Object) message);
     }
     
     /**
      * Gửi thông báo không có data
      */
     public void notify(String type) {
-        notify(type, null);
+        notify(type, (Object) null);
+    }
+    
+    /**
+     * Bỏ event vào hàng đợi của mọi listener theo topic (mỗi listener nhận một lần)
+     */
+    private void publish(Event event, String type) {
+        List<Subscription> exact = topics.getOrDefault(type, List.of());
+        List<Subscription> wildcard = ALL.equals(type) ? List.of() : topics.getOrDefault(ALL, List.of());
+        
+        for (Subscription subscription : exact) {
+            subscription.offer(event);
+        }
+        for (Subscription subscription : wildcard) {
+            if (!exact.contains(subscription)) {
+                subscription.offer(event);
+            }
+        }
+    }
+    
+    // ============ TYPED LISTENERS ============
+    
+    /**
+     * Đăng ký listener có kiểu, vd. addListener(OrderUpdateListener.class, this)
+     * Swing component được gọi trên EDT, listener khác trên thread nền.
+     */
+    public <L extends EventListener> void addListener(Class<L> type, L listener) {
+        if (listener == null) {
+            return;
+        }
+        Delivery delivery = listener instanceof Component ? Delivery.EDT : Delivery.BACKGROUND;
+        subscribe(new TypedListener(type, listener), delivery, DEFAULT_QUEUE_CAPACITY,
+                  OverflowPolicy.DROP_OLDEST, typedTopic(type));
+    }
+    
+    /**
+     * Đăng ký listener có kiểu với đầy đủ tùy chọn
+     * (vd. hàng đợi lớn hơn, hoặc OverflowPolicy khác cho listener chậm)
+     */
+    public <L extends EventListener> void addListener(Class<L> type, L listener, Delivery delivery,
+                                                      int queueCapacity, OverflowPolicy overflowPolicy) {
+        if (listener != null) {
+            subscribe(new TypedListener(type, listener), delivery, queueCapacity, overflowPolicy, typedTopic(type));
+        }
+    }
+    
+    /**
+     * Đăng ký một listener cho nhiều kiểu với chung một hàng đợi: callback của mọi kiểu
+     * được giao đúng thứ tự đã fire (vd. ShiftJournal: order, payment, inventory, vị trí tailer)
+     */
+    @SafeVarargs
+    public final void addListener(EventListener listener, Delivery delivery, int queueCapacity,
+                                  OverflowPolicy overflowPolicy, Class<? extends EventListener>... types) {
+        if (listener == null) {
+            return;
+        }
+        String[] topicNames = new String[types.length];
+        for (int i = 0; i < types.length; i++) {
+            if (!types[i].isInstance(listener)) {
+                throw new IllegalArgumentException(listener.getClass().getSimpleName() + " is not a " + types[i].getSimpleName());
+            }
+            topicNames[i] = typedTopic(types[i]);
+        }
+        subscribe(new TypedListener(EventListener.class, listener), delivery, queueCapacity, overflowPolicy, topicNames);
+    }
+    
+    /**
+     * Hủy đăng ký listener có kiểu
+     */
+    public <L extends EventListener> void removeListener(Class<L> type, L listener) {
+        if (listener != null) {
+            removeListener(new TypedListener(type, listener));
+        }
+    }
+    
+    /**
+     * Có listener nào của kiểu này không
+     * Service kiểm tra trước khi đọc thêm dữ liệu chỉ để phát event.
+     */
+    public boolean hasListeners(Class<? extends EventListener> type) {
+        return !topics.getOrDefault(typedTopic(type), List.of()).isEmpty();
+    }
+    
+    /**
+     * Gọi callback trên mọi listener của kiểu này (không chờ listener xử lý)
+     * vd. fire(OrderUpdateListener.class, l -> l.onOrderReady(order))
+     */
+    public <L extends EventListener> void fire(Class<L> type, Consumer<L> callback) {
+        String topic = typedTopic(type);
+        List<Subscription> subscribers = topics.getOrDefault(topic, List.of());
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        
+        Event event = new Event(topic, callback, false, System.nanoTime());
+        for (Subscription subscription : subscribers) {
+            subscription.offer(event);
+        }
+    }
+    
+    private static String typedTopic(Class<?> type) {
+        return "typed:" + type.getName();
+    }
+    
+    /**
+     * Bọc listener có kiểu thành NotificationListener để dùng chung hàng đợi / dispatcher
+     * (record: cùng type + listener thì equals, nên removeListener tìm lại được subscription)
+     */
+    private record TypedListener(Class<?> type, EventListener listener) implements NotificationListener {
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onNotification(String topic, Object data) {
+            ((Consumer<EventListener>) data).accept(listener);
+        }
+        
+        String name() {
+            return listener.getClass().getSimpleName() + "<" + type.getSimpleName() + ">";
+        }
     }
     
     // ============ SPECIFIC NOTIFICATIONS ============
     
     /**
      * Thông báo có đơn hàng mới
+     * @deprecated Service không còn gửi thông báo này; nghe OrderUpdateListener.onOrderCreated qua addListener(Class, listener)
      */
+    @Deprecated
     public void notifyNewOrder(int orderId) {
         notify(NEW_ORDER, orderId);
         System.out.println("🔔 New order notification: #" + orderId);
@@ -122,7 +330,9 @@ public class NotificationService {
     
     /**
      * Thông báo đơn hàng được cập nhật
+     * @deprecated Service không còn gửi thông báo này; nghe OrderUpdateListener.onOrderStatusChanged / onOrderUpdated qua addListener(Class, listener)
      */
+    @Deprecated
     public void notifyOrderUpdated(int orderId) {
         notify(ORDER_UPDATED, orderId);
         System.out.println("🔔 Order updated notification: #" + orderId);
@@ -130,7 +340,9 @@ public class NotificationService {
     
     /**
      * Thông báo đơn hàng đã sẵn sàng
+     * @deprecated Service không còn gửi thông báo này; nghe OrderUpdateListener.onOrderReady qua addListener(Class, listener)
      */
+    @Deprecated
     public void notifyOrderReady(int orderId) {
         notify(ORDER_READY, orderId);
         System.out.println("🔔 Order ready notification: #" + orderId);
@@ -138,7 +350,9 @@ public class NotificationService {
     
     /**
      * Thông báo thanh toán được xác nhận
+     * @deprecated Service không còn gửi thông báo này; nghe PaymentListener.onPaymentSuccess qua addListener(Class, listener)
      */
+    @Deprecated
     public void notifyPaymentConfirmed(int orderId) {
         notify(PAYMENT_CONFIRMED, orderId);
         System.out.println("🔔 Payment confirmed notification: #" + orderId);
@@ -168,12 +382,9 @@ public class NotificationService {
     public void broadcast(String message) {
         System.out.println("📢 Broadcasting: " + message);
         
-        for (NotificationListener listener : listeners) {
-            try {
-                listener.onBroadcast(message);
-            } catch (Exception e) {
-                System.err.println("❌ Error broadcasting: " + e.getMessage());
-            }
+        Event event = new Event(null, message, true, System.nanoTime());
+        for (Subscription subscription : subscriptions.values()) {
+            subscription.offer(event);
         }
     }
     
@@ -190,7 +401,7 @@ public class NotificationService {
      * Check if has listeners
      */
     public boolean hasListeners() {
-        return !listeners.isEmpty();
+        return !subscriptions.isEmpty();
     }
     
     /**
@@ -198,16 +409,151 @@ public class NotificationService {
      */
     public List<String> getActiveListeners() {
         List<String> active = new ArrayList<>();
-        for (NotificationListener listener : listeners) {
-            active.add(listener.getClass().getSimpleName());
+        for (Subscription subscription : subscriptions.values()) {
+            active.add(subscription.name);
         }
         return active;
     }
     
+    /**
+     * Độ trễ và số event bị bỏ của từng listener, vd.
+     * "CashierMainFrame[EDT] queued=0 delivered=12 dropped=0 lag avg=3ms max=41ms"
+     */
+    public List<String> getListenerStats() {
+        List<String> stats = new ArrayList<>();
+        for (Subscription subscription : subscriptions.values()) {
+            stats.add(subscription.getStats());
+        }
+        return stats;
+    }
+    
+    // ============ SUBSCRIPTION ============
+    
+    /**
+     * Một event trong hàng đợi (broadcast = gọi onBroadcast thay vì onNotification)
+     */
+    private record Event(String type, Object data, boolean broadcast, long publishedNanos) {}
+    
+    /**
+     * Hàng đợi + dispatcher của một listener
+     * Dispatcher chạy tuần tự: tối đa một task drain cho mỗi listener tại một thời điểm.
+     */
+    private class Subscription {
+        
+        // Số event tối đa giao trong một lần drain trên EDT, tránh chiếm EDT quá lâu
+        private static final int EDT_BATCH = 32;
+        
+        private final NotificationListener listener;
+        private final String name;
+        private final Delivery delivery;
+        private final OverflowPolicy overflowPolicy;
+        private final BlockingQueue<Event> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closed;
+        
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong totalLagNanos = new AtomicLong();
+        private final AtomicLong maxLagNanos = new AtomicLong();
+        
+        Subscription(NotificationListener listener, Delivery delivery, int capacity, OverflowPolicy overflowPolicy) {
+            this.listener = listener;
+            this.name = listener instanceof TypedListener typed
+                ? typed.name()
+                : listener.getClass().getSimpleName();
+            this.delivery = delivery;
+            this.overflowPolicy = overflowPolicy;
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        }
+        
+        void offer(Event event) {
+            if (closed) {
+                return;
+            }
+            if (overflowPolicy == OverflowPolicy.BLOCK) {
+                try {
+                    queue.put(event);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.incrementAndGet();
+                    return;
+                }
+                schedule();
+                return;
+            }
+            while (!queue.offer(event)) {
+                if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+                    dropped.incrementAndGet();
+                    return;
+                }
+                if (queue.poll() != null) {
+                    dropped.incrementAndGet();
+                }
+            }
+            schedule();
+        }
+        
+        void close() {
+            closed = true;
+            queue.clear();
+        }
+        
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                if (delivery == Delivery.EDT) {
+                    SwingUtilities.invokeLater(this::drain);
+                } else {
+                    dispatchers.execute(this::drain);
+                }
+            }
+        }
+        
+        private void drain() {
+            int limit = delivery == Delivery.EDT ? EDT_BATCH : Integer.MAX_VALUE;
+            Event event;
+            while (limit-- > 0 && !closed && (event = queue.poll()) != null) {
+                deliver(event);
+            }
+            scheduled.set(false);
+            // Event đến sau lần poll cuối (hoặc còn dư sau một batch EDT)
+            if (!closed && !queue.isEmpty()) {
+                schedule();
+            }
+        }
+        
+        private void deliver(Event event) {
+            long lag = System.nanoTime() - event.publishedNanos();
+            totalLagNanos.addAndGet(lag);
+            maxLagNanos.accumulateAndGet(lag, Math::max);
+            delivered.incrementAndGet();
+            
+            try {
+                if (event.broadcast()) {
+                    listener.onBroadcast((String) event.data());
+                } else {
+                    listener.onNotification(event.type(), event.data());
+                }
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                System.err.println("❌ Error notifying listener " + name + ": " + e.getMessage());
+            }
+        }
+        
+        String getStats() {
+            long count = delivered.get();
+            long avgMs = count > 0 ? totalLagNanos.get() / count / 1_000_000 : 0;
+            return name + "[" + delivery + "] queued=" + queue.size() +
+                   " delivered=" + count + " dropped=" + dropped.get() + " failed=" + failed.get() +
+                   " lag avg=" + avgMs + "ms max=" + maxLagNanos.get() / 1_000_000 + "ms";
+        }
+    }
+    
     // ============ LISTENER INTERFACE ============
     
     /**
      * Interface for notification listeners
+     * Được gọi trên dispatcher của listener (hoặc EDT), không phải thread gửi thông báo.
      */
     public interface NotificationListener {
         void onNotification(String type, Object data);
@@ -216,4 +562,4 @@ public class NotificationService {
             // Default implementation
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,229 @@
+package service;
+
+import config.AppConfig;
+import dao.OrderEventDAO;
+import dao.OrderEventDAO.OrderEvent;
+import dao.PaymentDAO;
+import entity.Payment;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import listener.PaymentListener;
+
+/**
+ * OrderEventTailer - Đọc order_events để nhận thay đổi từ máy khác
+ * Path: Source Packages/service/OrderEventTailer.java
+ *
+ * Chức năng:
+ * - Một thread nền cho cả JVM: mỗi POLL_INTERVAL_MS đọc event có event_id > event cuối đã đọc
+ *   (một query theo primary key, thường không trả dòng nào)
+ * - Event do máy khác ghi được đưa vào NotificationService (listener có kiểu)
+ *   và OrderStatusCounter; event của chính process này đã phát lúc commit nên bỏ qua
+ * - Bắt đầu từ event mới nhất lúc start(): màn hình tự load dữ liệu ban đầu;
+ *   nếu ShiftJournal còn vị trí của lần chạy trước thì đọc bù từ đó (delta khi khởi động lại)
+ * - Xóa event cũ hơn RETENTION_MS định kỳ
+ *
+ * event_id cấp lúc INSERT nhưng transaction có thể commit không theo thứ tự:
+ * id bị nhảy cóc được ghi nhớ và đọc lại cho tới GAP_TIMEOUT_MS
+ * (quá hạn là transaction đã rollback, id không bao giờ xuất hiện).
+ *
+ * Gọi start() khi mở màn hình chính (gọi nhiều lần chỉ chạy một thread).
+ *
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class OrderEventTailer {
+
+    private static final long POLL_INTERVAL_MS = 500;
+    private static final int BATCH_SIZE = 500;
+    private static final long GAP_TIMEOUT_MS = 10_000;
+    private static final int MAX_GAPS = 1000;
+
+    private static final long RETENTION_MS = 24L * 60 * 60 * 1000;
+    private static final long PURGE_INTERVAL_MS = 60L * 60 * 1000;
+    private static final int PURGE_BATCH = 5000;
+
+    private static OrderEventTailer instance;
+    private OrderEventDAO orderEventDAO;
+    private PaymentDAO paymentDAO;
+    private NotificationService notificationService;
+    private ShiftJournal shiftJournal;
+
+    private ScheduledExecutorService scheduler;
+
+    // Chỉ thread tailer truy cập
+    private long lastId = -1;
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();   // event_id -> lúc phát hiện
+    private long nextPurge;
+    private boolean unavailable;
+
+    // ============ SINGLETON ============
+
+    private OrderEventTailer() {
+        this.orderEventDAO = new OrderEventDAO();
+        this.paymentDAO = new PaymentDAO();
+        this.notificationService = NotificationService.getInstance();
+        this.shiftJournal = ShiftJournal.getInstance();
+    }
+
+    public static synchronized OrderEventTailer getInstance() {
+        if (instance == null) {
+            instance = new OrderEventTailer();
+        }
+        return instance;
+    }
+
+    // ============ LIFECYCLE ============
+
+    /**
+     * Bắt đầu đọc order_events (không làm gì nếu đã chạy)
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "order-event-tailer");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::poll, 0, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        System.out.println("📡 Order event tailer started (origin " + OrderEventDAO.ORIGIN + ")");
+    }
+
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    // ============ POLLING ============
+
+    private void poll() {
+        // Exception thoát ra ngoài sẽ hủy lịch chạy của scheduler
+        try {
+            pollOnce();
+        } catch (Exception e) {
+            System.err.println("❌ Error polling order events: " + e.getMessage());
+        }
+    }
+
+    private void pollOnce() {
+        long now = System.currentTimeMillis();
+
+        if (lastId < 0) {
+            long last = orderEventDAO.getLastId();
+            if (last < 0) {
+                if (!unavailable) {
+                    unavailable = true;
+                    System.err.println("⚠️ order_events unavailable (V004 migration?), screens rely on periodic resync");
+                }
+                return;
+            }
+            unavailable = false;
+
+            // Khởi động lại giữa ca: đọc bù các event đã lỡ (theo lô BATCH_SIZE ở các lần poll sau)
+            long resume = shiftJournal.getResumeEventId();
+            lastId = resume >= 0 && resume <= last ? resume : last;
+            if (lastId < last) {
+                System.out.println("📡 Catching up order events #" + (lastId + 1) + " -> #" + last);
+            }
+            nextPurge = now + PURGE_INTERVAL_MS;
+            return;
+        }
+
+        List<OrderEvent> events = new ArrayList<>();
+
+        // Event của transaction commit muộn
+        if (!gaps.isEmpty()) {
+            List<OrderEvent> late = orderEventDAO.readIds(gaps.keySet());
+            if (late != null) {
+                for (OrderEvent event : late) {
+                    gaps.remove(event.eventId());
+                    events.add(event);
+                }
+            }
+            Iterator<Long> it = gaps.values().iterator();
+            while (it.hasNext()) {
+                if (now - it.next() > GAP_TIMEOUT_MS) {
+                    it.remove();
+                }
+            }
+        }
+
+        List<OrderEvent> fresh = orderEventDAO.readAfter(lastId, BATCH_SIZE);
+        if (fresh != null) {
+            for (OrderEvent event : fresh) {
+                for (long id = lastId + 1; id < event.eventId() && gaps.size() < MAX_GAPS; id++) {
+                    gaps.put(id, now);
+                }
+                lastId = event.eventId();
+                events.add(event);
+            }
+        }
+
+        // Event của process trước trên máy này đã có trong journal lúc khởi động
+        for (OrderEvent event : events) {
+            if (!event.isLocal() && !shiftJournal.isPastOrigin(event.origin())) {
+                dispatch(event);
+            }
+        }
+        shiftJournal.recordCursor(lastId);
+
+        if (now >= nextPurge) {
+            nextPurge = now + PURGE_INTERVAL_MS;
+            orderEventDAO.purgeBefore(new Timestamp(now - RETENTION_MS), PURGE_BATCH);
+        }
+    }
+
+    // ============ DISPATCH ============
+
+    /**
+     * Phát event từ máy khác như thể thay đổi xảy ra trong process này
+     */
+    private void dispatch(OrderEvent event) {
+        int orderId = event.orderId();
+        OrderStatusCounter counter = OrderStatusCounter.getInstance();
+
+        switch (event.type()) {
+            case OrderEventDAO.CREATED -> {
+                counter.onCreated(event.newValue());
+                OrderEvents.created(orderId);
+            }
+            case OrderEventDAO.STATUS -> {
+                if (event.oldValue() != OrderEventDAO.NONE) {
+                    counter.onTransition(event.oldValue(), event.newValue());
+                } else {
+                    counter.invalidate();
+                }
+                OrderEvents.statusChanged(orderId, event.oldValue(), event.newValue());
+            }
+            case OrderEventDAO.PAYMENT -> {
+                if (event.newValue() == AppConfig.PAYMENT_STATUS_PAID) {
+                    firePaymentSuccess(orderId);
+                }
+                OrderEvents.updated(orderId);
+            }
+            case OrderEventDAO.UPDATED -> OrderEvents.updated(orderId);
+            case OrderEventDAO.DELETED -> {
+                counter.invalidate();
+                OrderEvents.deleted(orderId);
+            }
+            default -> System.err.println("⚠️ Unknown order event type: " + event.type());
+        }
+    }
+
+    private void firePaymentSuccess(int orderId) {
+        if (!notificationService.hasListeners(PaymentListener.class)) {
+            return;
+        }
+        Payment payment = paymentDAO.getByOrderId(orderId);
+        if (payment != null) {
+            notificationService.fire(PaymentListener.class, l -> l.onPaymentSuccess(payment));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package service;
+
+import config.AppConfig;
+import dao.OrderDAO;
+import entity.Order;
+import listener.OrderUpdateListener;
+
+/**
+ * OrderEvents - Phát OrderUpdateListener sau khi order thay đổi
+ * Path: Source Packages/service/OrderEvents.java
+ *
+ * Chức năng:
+ * - Dùng chung cho OrderStateMachine, OrderService, ChefService, CashierService, PaymentService
+ *   và OrderEventTailer (thay đổi từ máy khác, đọc từ order_events)
+ * - Chỉ đọc lại order từ DB khi có listener đăng ký
+ * - Gọi sau khi commit; callback chạy trên dispatcher của NotificationService,
+ *   thread gọi không phải chờ
+ *
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+final class OrderEvents {
+
+    private static final OrderDAO ORDER_DAO = new OrderDAO();
+
+    private OrderEvents() {}
+
+    /**
+     * Order mới (đã có id và items)
+     */
+    static void created(Order order) {
+        NotificationService.getInstance().fire(OrderUpdateListener.class, l -> l.onOrderCreated(order));
+    }
+
+    /**
+     * Order mới chỉ biết id (từ máy khác); đọc order khi có listener
+     */
+    static void created(int orderId) {
+        Order order = load(orderId);
+        if (order != null) {
+            created(order);
+        }
+    }
+
+    /**
+     * Order chuyển trạng thái: onOrderStatusChanged kèm callback riêng của trạng thái mới
+     */
+    static void statusChanged(int orderId, int from, int to) {
+        Order order = load(orderId);
+        if (order == null) {
+            return;
+        }
+
+        NotificationService.getInstance().fire(OrderUpdateListener.class, l -> {
+            l.onOrderStatusChanged(order, from, to);
+            switch (to) {
+                case AppConfig.ORDER_STATUS_CONFIRMED -> l.onOrderConfirmed(order);
+                case AppConfig.ORDER_STATUS_PREPARING -> l.onOrderSentToKitchen(order);
+                case AppConfig.ORDER_STATUS_COOKING -> l.onOrderCookingStarted(order, order.getAssignedChefId());
+                case AppConfig.ORDER_STATUS_READY -> l.onOrderReady(order);
+                case AppConfig.ORDER_STATUS_COMPLETED -> l.onOrderCompleted(order);
+                case AppConfig.ORDER_STATUS_CANCELLED -> l.onOrderCancelled(order, null);
+                default -> { }
+            }
+        });
+    }
+
+    /**
+     * Order đổi dữ liệu khác trạng thái (thanh toán, món, chef...)
+     */
+    static void updated(int orderId) {
+        Order order = load(orderId);
+        if (order != null) {
+            NotificationService.getInstance().fire(OrderUpdateListener.class, l -> l.onOrderUpdated(order));
+        }
+    }
+
+    /**
+     * Order đã bị xóa
+     */
+    static void deleted(int orderId) {
+        NotificationService.getInstance().fire(OrderUpdateListener.class, l -> l.onOrderDeleted(orderId));
+    }
+
+    /**
+     * Đọc order (không kèm items) khi có listener; null nếu không ai nghe
+     */
+    private static Order load(int orderId) {
+        if (!NotificationService.getInstance().hasListeners(OrderUpdateListener.class)) {
+            return null;
+        }
+        return ORDER_DAO.getById(orderId);
+    }
+}
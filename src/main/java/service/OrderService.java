@@ -1,15 +1,19 @@
 package service;
 
+import config.AppConfig;
+import config.DBConnection;
 import dao.OrderDAO;
 import dao.OrderItemDAO;
 import dao.CartDAO;
 import dao.CartItemDAO;
+import dao.PageFilter;
 import entity.Order;
 import entity.OrderItem;
 import entity.Cart;
 import entity.CartItem;
 import java.util.List;
 import java.util.ArrayList;
+import listener.CartListener;
 
 /**
  * OrderService - Order Management Service
@@ -72,39 +76,56 @@ public class OrderService {
                 return null;
             }
             
-            // Create order
-            Order order = new Order();
-            order.setCustomerName(customerName);
-            order.setPhoneNumber(phoneNumber);
-            order.setTotalAmount(cart.getTotalAmount());
-            order.setPayMethod(payMethod);
-            order.setPaymentStatus(0); // Unpaid
-            order.setStatus(0); // New
+            // Order + items + checkout cart commit cùng một transaction
+            Order order = DBConnection.inTransaction(() -> {
+                Order created = new Order();
+                created.setCustomerName(customerName);
+                created.setPhoneNumber(phoneNumber);
+                created.setTotalAmount(cart.getTotalAmount());
+                created.setPayMethod(payMethod);
+                created.setPaymentStatus(0); // Unpaid
+                created.setStatus(0); // New
+                
+                if (!orderDAO.create(created)) {
+                    System.err.println("❌ Failed to create order");
+                    return null;
+                }
+                
+                // Create order items (một batch INSERT)
+                List<OrderItem> orderItems = new ArrayList<>();
+                for (CartItem cartItem : cartItems) {
+                    OrderItem orderItem = new OrderItem();
+                    orderItem.setOrderId(created.getOrderId());
+                    orderItem.setProductId(cartItem.getProductId());
+                    orderItem.setProductName(cartItem.getProductName());
+                    orderItem.setQuantity(cartItem.getQuantity());
+                    orderItem.setUnitPrice(cartItem.getUnitPrice());
+                    orderItem.setSubtotal(cartItem.getSubtotal());
+                    orderItems.add(orderItem);
+                }
+                
+                if (!orderItemDAO.createAll(orderItems)) {
+                    System.err.println("❌ Failed to create order items");
+                    return null;
+                }
+                created.setItems(orderItems);
+                
+                // Mark cart as checked out
+                if (!cartDAO.updateStatus(cart.getCartId(), 1)) {
+                    System.err.println("❌ Failed to check out cart");
+                    return null;
+                }
+                return created;
+            });
             
-            boolean orderCreated = orderDAO.create(order);
-            if (!orderCreated) {
-                System.err.println("❌ Failed to create order");
+            if (order == null) {
                 return null;
             }
             
-            // Create order items
-            for (CartItem cartItem : cartItems) {
-                OrderItem orderItem = new OrderItem();
-                orderItem.setOrderId(order.getOrderId());
-                orderItem.setProductId(cartItem.getProductId());
-                orderItem.setProductName(cartItem.getProductName());
-                orderItem.setQuantity(cartItem.getQuantity());
-                orderItem.setUnitPrice(cartItem.getUnitPrice());
-                orderItem.setSubtotal(cartItem.getSubtotal());
-                
-                orderItemDAO.create(orderItem);
-            }
-            
-            // Mark cart as checked out
-            cartDAO.updateStatus(cart.getCartId(), 1);
-            
-            // Send notification
-            notificationService.notifyNewOrder(order.getOrderId());
+            // Send notification (sau khi commit)
+            OrderStatusCounter.getInstance().onCreated(order.getStatus());
+            OrderEvents.created(order);
+            notificationService.fire(CartListener.class, l -> l.onCartCheckedOut(cart, order.getOrderId()));
             
             System.out.println("✅ Order created: #" + order.getOrderId());
             return order;
@@ -121,45 +142,61 @@ public class OrderService {
      */
     public Order createOrder(String customerName, String phoneNumber, 
                             List<OrderItem> items, int payMethod) {
+        if (items == null || items.isEmpty()) {
+            System.err.println("❌ No items provided");
+            return null;
+        }
+        
+        Order order = new Order();
+        order.setCustomerName(customerName);
+        order.setPhoneNumber(phoneNumber);
+        order.setTotalAmount(items.stream().mapToDouble(OrderItem::getSubtotal).sum());
+        order.setPayMethod(payMethod);
+        order.setPaymentStatus(0);
+        order.setStatus(0);
+        
+        return createOrder(order, items) ? order : null;
+    }
+    
+    /**
+     * Lưu order đã điền sẵn (màn hình POS) cùng items trong một transaction
+     * Thành công thì order và items được gán id.
+     */
+    public boolean createOrder(Order order, List<OrderItem> items) {
         try {
             if (items == null || items.isEmpty()) {
                 System.err.println("❌ No items provided");
-                return null;
+                return false;
             }
             
-            // Calculate total
-            double totalAmount = items.stream()
-                .mapToDouble(OrderItem::getSubtotal)
-                .sum();
-            
-            // Create order
-            Order order = new Order();
-            order.setCustomerName(customerName);
-            order.setPhoneNumber(phoneNumber);
-            order.setTotalAmount(totalAmount);
-            order.setPayMethod(payMethod);
-            order.setPaymentStatus(0);
-            order.setStatus(0);
-            
-            boolean orderCreated = orderDAO.create(order);
-            if (!orderCreated) {
-                return null;
-            }
+            Boolean saved = DBConnection.inTransaction(() -> {
+                if (!orderDAO.create(order)) {
+                    return false;
+                }
+                
+                for (OrderItem item : items) {
+                    item.setOrderId(order.getOrderId());
+                }
+                if (!orderItemDAO.createAll(items)) {
+                    return false;
+                }
+                order.setItems(items);
+                return true;
+            });
             
-            // Create order items
-            for (OrderItem item : items) {
-                item.setOrderId(order.getOrderId());
-                orderItemDAO.create(item);
+            if (!Boolean.TRUE.equals(saved)) {
+                return false;
             }
             
-            notificationService.notifyNewOrder(order.getOrderId());
+            OrderStatusCounter.getInstance().onCreated(order.getStatus());
+            OrderEvents.created(order);
             
             System.out.println("✅ Order created: #" + order.getOrderId());
-            return order;
+            return true;
             
         } catch (Exception e) {
             System.err.println("❌ Error creating order: " + e.getMessage());
-            return null;
+            return false;
         }
     }
     
@@ -205,6 +242,20 @@ public class OrderService {
         }
     }
     
+    /**
+     * Lấy orders theo status kèm items (1 query orders + 1 query items)
+     */
+    public List<Order> getOrdersWithItemsByStatus(int status) {
+        try {
+            List<Order> orders = orderDAO.getByStatus(status);
+            orderItemDAO.attachItems(orders);
+            return orders;
+        } catch (Exception e) {
+            System.err.println("❌ Error getting orders with items by status: " + e.getMessage());
+            return List.of();
+        }
+    }
+    
     /**
      * Lấy orders theo phone number
      */
@@ -236,16 +287,10 @@ public class OrderService {
      */
     public boolean updateOrderStatus(int orderId, int newStatus) {
         try {
-            boolean success = orderDAO.updateStatus(orderId, newStatus);
+            boolean success = OrderStateMachine.getInstance().transition(orderId, newStatus);
             
+            // OrderStateMachine đã phát OrderUpdateListener (gồm onOrderReady)
             if (success) {
-                notificationService.notifyOrderUpdated(orderId);
-                
-                // Special notifications
-                if (newStatus == 4) { // Ready
-                    notificationService.notifyOrderReady(orderId);
-                }
-                
                 System.out.println("✅ Order status updated: #" + orderId);
             }
             
@@ -308,8 +353,10 @@ public class OrderService {
         try {
             boolean success = orderDAO.updatePaymentStatus(orderId, paymentStatus);
             
+            if (success) {
+                OrderEvents.updated(orderId);
+            }
             if (success && paymentStatus == 1) {
-                notificationService.notifyPaymentConfirmed(orderId);
                 System.out.println("✅ Payment confirmed: #" + orderId);
             }
             
@@ -348,11 +395,11 @@ public class OrderService {
     public boolean addItemToOrder(int orderId, OrderItem item) {
         try {
             item.setOrderId(orderId);
-            boolean success = orderItemDAO.create(item);
+            // Thêm món, tính lại tổng tiền và daily_sales trong cùng transaction
+            boolean success = orderDAO.changeItems(orderId, () -> orderItemDAO.create(item));
             
             if (success) {
-                // Recalculate order total
-                recalculateOrderTotal(orderId);
+                OrderEvents.updated(orderId);
             }
             
             return success;
@@ -371,10 +418,10 @@ public class OrderService {
             OrderItem item = orderItemDAO.getById(orderItemId);
             if (item == null) return false;
             
-            boolean success = orderItemDAO.delete(orderItemId);
+            boolean success = orderDAO.changeItems(item.getOrderId(), () -> orderItemDAO.delete(orderItemId));
             
             if (success) {
-                recalculateOrderTotal(item.getOrderId());
+                OrderEvents.updated(item.getOrderId());
             }
             
             return success;
@@ -385,33 +432,13 @@ public class OrderService {
         }
     }
     
-    /**
-     * Tính lại tổng tiền order
-     */
-    private void recalculateOrderTotal(int orderId) {
-        try {
-            List<OrderItem> items = getOrderItems(orderId);
-            double total = items.stream()
-                .mapToDouble(OrderItem::getSubtotal)
-                .sum();
-            
-            Order order = orderDAO.getById(orderId);
-            if (order != null) {
-                order.setTotalAmount(total);
-                orderDAO.update(order);
-            }
-        } catch (Exception e) {
-            System.err.println("❌ Error recalculating total: " + e.getMessage());
-        }
-    }
-    
     // ============ STATISTICS ============
     
     /**
      * Đếm orders theo status
      */
     public int countOrdersByStatus(int status) {
-        return getOrdersByStatus(status).size();
+        return OrderStatusCounter.getInstance().getCount(status);
     }
     
     /**
@@ -419,11 +446,10 @@ public class OrderService {
      */
     public double getTotalRevenue() {
         try {
-            List<Order> orders = getAllOrders();
-            return orders.stream()
-                .filter(o -> o.isPaid() && !o.isCancelled())
-                .mapToDouble(Order::getTotalAmount)
-                .sum();
+            // SUM trên DB, không load toàn bộ orders
+            return orderDAO.summarize(PageFilter.all()
+                .paymentStatus(AppConfig.PAYMENT_STATUS_PAID)
+                .excludeStatus(AppConfig.ORDER_STATUS_CANCELLED)).totalAmount();
         } catch (Exception e) {
             System.err.println("❌ Error calculating revenue: " + e.getMessage());
             return 0.0;
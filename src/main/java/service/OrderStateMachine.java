@@ -0,0 +1,121 @@
+package service;
+
+import config.AppConfig;
+import dao.OrderDAO;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * OrderStateMachine - Các bước chuyển trạng thái hợp lệ của order
+ * Path: Source Packages/service/OrderStateMachine.java
+ *
+ * Chức năng:
+ * - Định nghĩa transition hợp lệ (NEW -> CONFIRMED -> PREPARING -> COOKING -> READY -> COMPLETED,
+ *   hủy được khi chưa nấu)
+ * - Thực hiện transition bằng OrderDAO.transitionStatus (compare-and-set),
+ *   nên hai màn hình cùng bấm thì chỉ một bên thắng
+ *
+ * ChefService, CashierService và OrderService đều đổi status qua class này,
+ * nên đây cũng là nơi phát OrderUpdateListener cho mọi lần đổi status.
+ *
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class OrderStateMachine {
+
+    // Màn hình bếp nhận đơn thẳng từ NEW/CONFIRMED sang COOKING,
+    // và cột "đang nấu" (PREPARING + COOKING) đánh dấu READY trực tiếp
+    private static final Map<Integer, Set<Integer>> TRANSITIONS = Map.of(
+        AppConfig.ORDER_STATUS_NEW, Set.of(
+            AppConfig.ORDER_STATUS_CONFIRMED,
+            AppConfig.ORDER_STATUS_PREPARING,
+            AppConfig.ORDER_STATUS_COOKING,
+            AppConfig.ORDER_STATUS_CANCELLED),
+        AppConfig.ORDER_STATUS_CONFIRMED, Set.of(
+            AppConfig.ORDER_STATUS_PREPARING,
+            AppConfig.ORDER_STATUS_COOKING,
+            AppConfig.ORDER_STATUS_CANCELLED),
+        AppConfig.ORDER_STATUS_PREPARING, Set.of(
+            AppConfig.ORDER_STATUS_COOKING,
+            AppConfig.ORDER_STATUS_READY,
+            AppConfig.ORDER_STATUS_CANCELLED),
+        AppConfig.ORDER_STATUS_COOKING, Set.of(
+            AppConfig.ORDER_STATUS_READY),
+        AppConfig.ORDER_STATUS_READY, Set.of(
+            AppConfig.ORDER_STATUS_COMPLETED)
+    );
+
+    private static OrderStateMachine instance;
+    private OrderDAO orderDAO;
+
+    // ============ SINGLETON ============
+
+    private OrderStateMachine() {
+        this(new OrderDAO());
+    }
+
+    /**
+     * Dùng OrderDAO cho trước (test thay bằng DAO giả, không cần database)
+     */
+    OrderStateMachine(OrderDAO orderDAO) {
+        this.orderDAO = orderDAO;
+    }
+
+    public static OrderStateMachine getInstance() {
+        if (instance == null) {
+            instance = new OrderStateMachine();
+        }
+        return instance;
+    }
+
+    // ============ TRANSITIONS ============
+
+    /**
+     * Kiểm tra from -> to có hợp lệ không
+     */
+    public boolean canTransition(int from, int to) {
+        return TRANSITIONS.getOrDefault(from, Set.of()).contains(to);
+    }
+
+    /**
+     * Chuyển order từ trạng thái đã biết (một câu UPDATE, không đọc order trước)
+     *
+     * @return true nếu chuyển thành công; false nếu transition không hợp lệ
+     *         hoặc status hiện tại đã khác expectedFrom (người khác đã đổi trước)
+     */
+    public boolean transition(int orderId, int expectedFrom, int to) {
+        if (!canTransition(expectedFrom, to)) {
+            System.err.println("❌ Invalid order transition " + statusName(expectedFrom) +
+                               " -> " + statusName(to) + " (#" + orderId + ")");
+            return false;
+        }
+
+        boolean won = orderDAO.transitionStatus(orderId, expectedFrom, to);
+        if (won) {
+            OrderStatusCounter.getInstance().onTransition(expectedFrom, to);
+            OrderEvents.statusChanged(orderId, expectedFrom, to);
+        } else {
+            System.err.println("⚠️ Order #" + orderId + " is no longer " + statusName(expectedFrom));
+        }
+        return won;
+    }
+
+    /**
+     * Chuyển order sang trạng thái mới khi chưa biết trạng thái hiện tại
+     * Đọc status hiện tại rồi compare-and-set với đúng giá trị vừa đọc
+     */
+    public boolean transition(int orderId, int to) {
+        int current = orderDAO.getStatus(orderId);
+        if (current < 0) {
+            System.err.println("❌ Order not found: #" + orderId);
+            return false;
+        }
+        return transition(orderId, current, to);
+    }
+
+    private static String statusName(int status) {
+        return status >= 0 && status < AppConfig.ORDER_STATUS_NAMES.length
+            ? AppConfig.ORDER_STATUS_NAMES[status]
+            : String.valueOf(status);
+    }
+}
@@ -0,0 +1,144 @@
+package service;
+
+import config.AppConfig;
+import dao.OrderDAO;
+
+/**
+ * OrderStatusCounter - Số đơn theo từng trạng thái, giữ trong bộ nhớ
+ * Path: Source Packages/service/OrderStatusCounter.java
+ * 
+ * Chức năng:
+ * - Nạp số đếm cả 7 trạng thái bằng một câu GROUP BY (OrderDAO.countByStatusAll)
+ * - Cập nhật tại chỗ khi có order event trong process này
+ *   (OrderStateMachine chuyển trạng thái, OrderService / POS tạo đơn)
+ *   và khi OrderEventTailer đọc được event từ máy khác
+ * - Đọc lại từ DB sau RESYNC_INTERVAL_MS để bắt thay đổi từ máy khác
+ * - Khởi động lại giữa ca: ShiftJournal nạp số đếm dựng lại từ journal (restore),
+ *   mỗi lần đọc DB được ghi thành checkpoint trong journal
+ * 
+ * Header của cashier và chef đọc số liệu từ đây thay vì load danh sách order rồi .size().
+ * 
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class OrderStatusCounter {
+    
+    // Các terminal khác (TV, bếp, quầy) ghi cùng DB nên vẫn cần đồng bộ định kỳ
+    private static final long RESYNC_INTERVAL_MS = 30_000;
+    
+    private static OrderStatusCounter instance;
+    private OrderDAO orderDAO;
+    
+    private int[] counts;
+    private long loadedAt;
+    
+    // ============ SINGLETON ============
+    
+    private OrderStatusCounter() {
+        this.orderDAO = new OrderDAO();
+    }
+    
+    public static synchronized OrderStatusCounter getInstance() {
+        if (instance == null) {
+            instance = new OrderStatusCounter();
+        }
+        return instance;
+    }
+    
+    // ============ READ ============
+    
+    /**
+     * Bản sao số đơn theo status (index = status code)
+     */
+    public synchronized int[] snapshot() {
+        ensureFresh();
+        return counts.clone();
+    }
+    
+    /**
+     * Tổng số đơn của một hoặc nhiều trạng thái
+     */
+    public synchronized int getCount(int... statuses) {
+        ensureFresh();
+        int total = 0;
+        for (int status : statuses) {
+            if (isValid(status)) {
+                total += counts[status];
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * Số đơn đang xử lý (NEW -> READY)
+     */
+    public int getActiveCount() {
+        return getCount(AppConfig.ORDER_STATUS_NEW,
+                        AppConfig.ORDER_STATUS_CONFIRMED,
+                        AppConfig.ORDER_STATUS_PREPARING,
+                        AppConfig.ORDER_STATUS_COOKING,
+                        AppConfig.ORDER_STATUS_READY);
+    }
+    
+    // ============ ORDER EVENTS ============
+    
+    /**
+     * Có đơn mới được tạo (đã commit)
+     */
+    public synchronized void onCreated(int status) {
+        if (counts != null && isValid(status)) {
+            counts[status]++;
+        }
+    }
+    
+    /**
+     * Đơn chuyển trạng thái thành công (compare-and-set đã thắng)
+     */
+    public synchronized void onTransition(int from, int to) {
+        if (counts != null && isValid(from) && isValid(to)) {
+            counts[from] = Math.max(0, counts[from] - 1);
+            counts[to]++;
+        }
+    }
+    
+    /**
+     * Số đếm dựng lại từ ShiftJournal lúc khởi động (chỉ khi chưa đọc DB lần nào)
+     * Lần resync DB tiếp theo theo lịch bình thường.
+     */
+    public synchronized void restore(int[] restored) {
+        if (counts == null && restored.length == AppConfig.ORDER_STATUS_NAMES.length) {
+            counts = restored.clone();
+            loadedAt = System.currentTimeMillis();
+        }
+    }
+    
+    /**
+     * Bỏ snapshot hiện tại, lần đọc sau sẽ query lại
+     */
+    public synchronized void invalidate() {
+        loadedAt = 0;
+    }
+    
+    // ============ HELPER METHODS ============
+    
+    private void ensureFresh() {
+        long now = System.currentTimeMillis();
+        if (counts != null && now - loadedAt < RESYNC_INTERVAL_MS) {
+            return;
+        }
+        
+        int[] loaded = orderDAO.countByStatusAll();
+        if (loaded != null) {
+            counts = loaded;
+            loadedAt = now;
+            ShiftJournal.getInstance().recordCounts(loaded);
+        } else if (counts == null) {
+            // DB lỗi lần đầu: trả 0, thử lại ở lần đọc sau
+            counts = new int[AppConfig.ORDER_STATUS_NAMES.length];
+        }
+    }
+    
+    private static boolean isValid(int status) {
+        return status >= 0 && status < AppConfig.ORDER_STATUS_NAMES.length;
+    }
+}
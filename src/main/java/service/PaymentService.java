@@ -1,10 +1,13 @@
 package service;
 
+import config.DBConnection;
 import dao.PaymentDAO;
 import dao.OrderDAO;
 import entity.Payment;
 import entity.Order;
+import java.sql.SQLException;
 import java.util.List;
+import listener.PaymentListener;
 
 /**
  * PaymentService - Payment Processing Service
@@ -67,21 +70,13 @@ public class PaymentService {
             payment.setStatus(1); // 1 = Success
             payment.setNotes(notes != null ? notes : "Thanh toán tiền mặt");
             
-            boolean paymentCreated = paymentDAO.create(payment);
-            if (!paymentCreated) {
-                System.err.println("❌ Failed to create payment record");
-                return false;
-            }
-            
-            // Update order payment status
-            boolean orderUpdated = orderDAO.updatePaymentStatus(orderId, 1);
-            if (!orderUpdated) {
-                System.err.println("❌ Failed to update order payment status");
+            // Payment record + payment status của order commit cùng lúc
+            if (!recordPayment(payment, 1)) {
                 return false;
             }
             
-            // Send notification
-            notificationService.notifyPaymentConfirmed(orderId);
+            // Send notification (sau khi commit)
+            firePaid(payment);
             
             System.out.println("✅ Cash payment processed: Order #" + orderId);
             return true;
@@ -116,21 +111,13 @@ public class PaymentService {
             payment.setStatus(1); // 1 = Success
             payment.setNotes(notes != null ? notes : "Thanh toán chuyển khoản");
             
-            boolean paymentCreated = paymentDAO.create(payment);
-            if (!paymentCreated) {
-                System.err.println("❌ Failed to create payment record");
-                return false;
-            }
-            
-            // Update order payment status
-            boolean orderUpdated = orderDAO.updatePaymentStatus(orderId, 1);
-            if (!orderUpdated) {
-                System.err.println("❌ Failed to update order payment status");
+            // Payment record + payment status của order commit cùng lúc
+            if (!recordPayment(payment, 1)) {
                 return false;
             }
             
-            // Send notification
-            notificationService.notifyPaymentConfirmed(orderId);
+            // Send notification (sau khi commit)
+            firePaid(payment);
             
             System.out.println("✅ Transfer payment processed: Order #" + orderId);
             return true;
@@ -155,6 +142,26 @@ public class PaymentService {
         }
     }
     
+    /**
+     * Ghi payment đã chuẩn bị sẵn (PaymentDialog) và đánh dấu order đã thanh toán
+     */
+    public boolean processPayment(Payment payment) {
+        try {
+            if (!recordPayment(payment, 1)) {
+                return false;
+            }
+            
+            firePaid(payment);
+            
+            System.out.println("✅ Payment processed: Order #" + payment.getOrderId());
+            return true;
+            
+        } catch (Exception e) {
+            System.err.println("❌ Error processing payment: " + e.getMessage());
+            return false;
+        }
+    }
+    
     /**
      * Xử lý thanh toán thất bại
      */
@@ -170,6 +177,7 @@ public class PaymentService {
             boolean success = paymentDAO.create(payment);
             
             if (success) {
+                notificationService.fire(PaymentListener.class, l -> l.onPaymentFailed(payment, reason));
                 System.out.println("⚠️ Failed payment recorded: Order #" + orderId);
             }
             
@@ -207,13 +215,13 @@ public class PaymentService {
             refund.setStatus(1); // Success
             refund.setNotes("Refund: " + reason);
             
-            boolean refundCreated = paymentDAO.create(refund);
-            if (!refundCreated) {
+            // Refund record + update payment status (2 = Refunded)
+            if (!recordPayment(refund, 2)) {
                 return false;
             }
             
-            // Update order payment status
-            orderDAO.updatePaymentStatus(orderId, 2); // 2 = Refunded
+            notificationService.fire(PaymentListener.class, l -> l.onPaymentRefunded(refund, order.getTotalAmount()));
+            OrderEvents.updated(orderId);
             
             System.out.println("✅ Refund processed: Order #" + orderId);
             return true;
@@ -224,6 +232,34 @@ public class PaymentService {
         }
     }
     
+    /**
+     * Ghi payment record và cập nhật payment status của order trong một transaction
+     * Một trong hai bước lỗi thì rollback cả hai
+     */
+    private boolean recordPayment(Payment payment, int orderPaymentStatus) throws SQLException {
+        Boolean success = DBConnection.inTransaction(() -> {
+            if (!paymentDAO.create(payment)) {
+                System.err.println("❌ Failed to create payment record");
+                return false;
+            }
+            
+            if (!orderDAO.updatePaymentStatus(payment.getOrderId(), orderPaymentStatus)) {
+                System.err.println("❌ Failed to update order payment status");
+                return false;
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(success);
+    }
+    
+    /**
+     * Thông báo sau khi thanh toán đã commit
+     */
+    private void firePaid(Payment payment) {
+        notificationService.fire(PaymentListener.class, l -> l.onPaymentSuccess(payment));
+        OrderEvents.updated(payment.getOrderId());
+    }
+    
     // ============ QUERY OPERATIONS ============
     
     /**
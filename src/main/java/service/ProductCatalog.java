@@ -0,0 +1,248 @@
+package service;
+
+import dao.ProductDAO;
+import entity.Product;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ProductCatalog - Cache menu sản phẩm trong bộ nhớ
+ * Path: Source Packages/service/ProductCatalog.java
+ * 
+ * Chức năng:
+ * - Giữ snapshot bất biến của bảng products, index theo product_id và category
+ * - Snapshot mới được build rồi thay nguyên khối (volatile) khi ProductService ghi,
+ *   người đọc luôn thấy một snapshot đầy đủ, không cần lock
+ * - Version tăng mỗi lần thay snapshot, đếm hit/miss (mỗi lần đọc đếm đúng một lần)
+ * - Reload lỗi (DB mất kết nối) thì giữ snapshot cũ, thử lại sau RETRY_INTERVAL_MS
+ * 
+ * Product trong snapshot dùng chung giữa các màn hình: chỉ đọc, muốn sửa thì
+ * gọi ProductService (sẽ reload catalog).
+ * Sửa từ máy khác được nhận sau RELOAD_INTERVAL_MS.
+ * 
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class ProductCatalog {
+    
+    // Menu đổi vài lần mỗi ngày, các terminal khác thấy thay đổi trong vòng 5 phút
+    private static final long RELOAD_INTERVAL_MS = 5 * 60_000;
+    
+    // Reload lỗi: dùng tiếp snapshot cũ, không query lại ở mỗi lần đọc
+    private static final long RETRY_INTERVAL_MS = 10_000;
+    
+    private static ProductCatalog instance;
+    private ProductDAO productDAO;
+    
+    private volatile Snapshot snapshot;
+    private volatile long retryAt;
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    
+    // ============ SINGLETON ============
+    
+    private ProductCatalog() {
+        this.productDAO = new ProductDAO();
+    }
+    
+    public static synchronized ProductCatalog getInstance() {
+        if (instance == null) {
+            instance = new ProductCatalog();
+        }
+        return instance;
+    }
+    
+    // ============ SNAPSHOT ============
+    
+    /**
+     * Dữ liệu menu tại một version, không đổi sau khi tạo
+     */
+    private static final class Snapshot {
+        final long version;
+        final long loadedAt;
+        final List<Product> all;
+        final List<Product> available;
+        final Map<Integer, Product> byId;
+        final Map<String, List<Product>> availableByCategory;
+        final List<String> categories;
+        
+        Snapshot(long version, List<Product> products, long loadedAt) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+            
+            Map<Integer, Product> ids = new HashMap<>();
+            List<Product> availableList = new ArrayList<>();
+            Map<String, List<Product>> grouped = new LinkedHashMap<>();
+            TreeSet<String> categorySet = new TreeSet<>();
+            
+            for (Product product : products) {
+                ids.put(product.getProductId(), product);
+                if (product.getCategory() != null) {
+                    categorySet.add(product.getCategory());
+                }
+                if (product.isAvailable()) {
+                    availableList.add(product);
+                    grouped.computeIfAbsent(product.getCategory(), k -> new ArrayList<>()).add(product);
+                }
+            }
+            grouped.replaceAll((category, list) -> Collections.unmodifiableList(list));
+            
+            this.all = Collections.unmodifiableList(new ArrayList<>(products));
+            this.available = Collections.unmodifiableList(availableList);
+            this.byId = Collections.unmodifiableMap(ids);
+            this.availableByCategory = Collections.unmodifiableMap(grouped);
+            this.categories = List.copyOf(categorySet);
+        }
+    }
+    
+    // ============ READ ============
+    
+    /**
+     * Tất cả sản phẩm (kể cả unavailable)
+     */
+    public List<Product> getAll() {
+        return current().all;
+    }
+    
+    /**
+     * Sản phẩm đang bán
+     */
+    public List<Product> getAvailable() {
+        return current().available;
+    }
+    
+    /**
+     * Sản phẩm đang bán theo category
+     */
+    public List<Product> getAvailableByCategory(String category) {
+        return current().availableByCategory.getOrDefault(category, List.of());
+    }
+    
+    /**
+     * Danh sách category (đã sort)
+     */
+    public List<String> getCategories() {
+        return current().categories;
+    }
+    
+    /**
+     * Lấy sản phẩm theo ID
+     * Không có trong snapshot thì đọc DB (có thể vừa được thêm ở máy khác) và reload
+     */
+    public Product getById(int productId) {
+        Snapshot s = snapshot;
+        if (isFresh(s)) {
+            Product product = s.byId.get(productId);
+            if (product != null) {
+                hits.incrementAndGet();
+                return product;
+            }
+        }
+        
+        // Snapshot hết hạn hoặc không có sản phẩm: tính một miss
+        misses.incrementAndGet();
+        Product product = refresh(s).byId.get(productId);
+        if (product != null) {
+            return product;
+        }
+        
+        product = productDAO.getById(productId);
+        if (product != null) {
+            reload();
+        }
+        return product;
+    }
+    
+    // ============ INVALIDATION ============
+    
+    /**
+     * Đọc lại products từ DB và thay snapshot (gọi sau mỗi lần ghi products)
+     * @return false nếu DB lỗi: snapshot cũ được giữ nguyên, thử lại sau RETRY_INTERVAL_MS
+     */
+    public synchronized boolean reload() {
+        List<Product> products = productDAO.loadAll();
+        long now = System.currentTimeMillis();
+        if (products == null) {
+            retryAt = now + RETRY_INTERVAL_MS;
+            if (snapshot == null) {
+                // Chưa từng load được: snapshot rỗng đã hết hạn, lần đọc sau thử lại
+                snapshot = new Snapshot(version.get(), List.of(), 0);
+            }
+            return false;
+        }
+        
+        snapshot = new Snapshot(version.incrementAndGet(), products, now);
+        return true;
+    }
+    
+    // ============ METRICS ============
+    
+    public long getVersion() {
+        Snapshot s = snapshot;
+        return s != null ? s.version : 0;
+    }
+    
+    public long getHitCount() {
+        return hits.get();
+    }
+    
+    public long getMissCount() {
+        return misses.get();
+    }
+    
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total > 0 ? (double) hits.get() / total : 0;
+    }
+    
+    public String getStats() {
+        Snapshot s = snapshot;
+        return String.format("ProductCatalog[version=%d, products=%d, hits=%d, misses=%d, hitRate=%.1f%%]",
+                             getVersion(), s != null ? s.all.size() : 0,
+                             getHitCount(), getMissCount(), getHitRate() * 100);
+    }
+    
+    // ============ HELPER METHODS ============
+    
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (isFresh(s)) {
+            hits.incrementAndGet();
+            return s;
+        }
+        
+        misses.incrementAndGet();
+        return refresh(s);
+    }
+    
+    /**
+     * Snapshot còn hạn; hết hạn thì reload (một thread reload, thread khác chờ rồi dùng kết quả)
+     */
+    private Snapshot refresh(Snapshot s) {
+        if (isFresh(s)) {
+            return s;
+        }
+        synchronized (this) {
+            // Thread khác có thể đã reload (hoặc reload lỗi và hẹn thử lại) trong lúc chờ lock
+            if (!isFresh(snapshot)) {
+                reload();
+            }
+            return snapshot;
+        }
+    }
+    
+    private boolean isFresh(Snapshot s) {
+        if (s == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        return now - s.loadedAt < RELOAD_INTERVAL_MS || now < retryAt;
+    }
+}
@@ -2,6 +2,7 @@ package service;
 
 import dao.ProductDAO;
 import entity.Product;
+import util.ImageUtil;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,11 +23,13 @@ public class ProductService {
     
     private static ProductService instance;
     private ProductDAO productDAO;
+    private ProductCatalog catalog;
     
     // ============ SINGLETON ============
     
     private ProductService() {
         this.productDAO = new ProductDAO();
+        this.catalog = ProductCatalog.getInstance();
     }
     
     public static ProductService getInstance() {
@@ -72,6 +75,8 @@ public class ProductService {
             boolean success = productDAO.create(product);
             
             if (success) {
+                catalog.reload();
+                ImageUtil.invalidateImage(imageUrl);
                 System.out.println("✅ Product added: " + name);
             }
             
@@ -100,6 +105,9 @@ public class ProductService {
             boolean success = productDAO.update(product);
             
             if (success) {
+                catalog.reload();
+                // Ảnh có thể vừa được upload đè: thumbnail tạo lại ở lần hiển thị sau
+                ImageUtil.invalidateImage(product.getImageUrl());
                 System.out.println("✅ Product updated: " + product.getName());
             }
             
@@ -116,7 +124,7 @@ public class ProductService {
      */
     public boolean deleteProduct(int productId) {
         try {
-            Product product = productDAO.getById(productId);
+            Product product = catalog.getById(productId);
             if (product == null) {
                 System.err.println("❌ Product not found");
                 return false;
@@ -125,6 +133,7 @@ public class ProductService {
             boolean success = productDAO.delete(productId);
             
             if (success) {
+                catalog.reload();
                 System.out.println("✅ Product deleted: " + productId);
             }
             
@@ -143,7 +152,7 @@ public class ProductService {
      */
     public List<Product> getAllProducts() {
         try {
-            return productDAO.getAll();
+            return catalog.getAll();
         } catch (Exception e) {
             System.err.println("❌ Error getting all products: " + e.getMessage());
             return List.of();
@@ -155,7 +164,7 @@ public class ProductService {
      */
     public Product getProductById(int productId) {
         try {
-            return productDAO.getById(productId);
+            return catalog.getById(productId);
         } catch (Exception e) {
             System.err.println("❌ Error getting product: " + e.getMessage());
             return null;
@@ -167,7 +176,7 @@ public class ProductService {
      */
     public List<Product> getAvailableProducts() {
         try {
-            return productDAO.getAllAvailable();
+            return catalog.getAvailable();
         } catch (Exception e) {
             System.err.println("❌ Error getting available products: " + e.getMessage());
             return List.of();
@@ -179,7 +188,7 @@ public class ProductService {
      */
     public List<Product> getProductsByCategory(String category) {
         try {
-            return productDAO.getByCategory(category);
+            return catalog.getAvailableByCategory(category);
         } catch (Exception e) {
             System.err.println("❌ Error getting products by category: " + e.getMessage());
             return List.of();
@@ -205,12 +214,7 @@ public class ProductService {
      */
     public List<String> getAllCategories() {
         try {
-            List<Product> products = getAllProducts();
-            return products.stream()
-                .map(Product::getCategory)
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
+            return catalog.getCategories();
         } catch (Exception e) {
             System.err.println("❌ Error getting categories: " + e.getMessage());
             return List.of();
@@ -253,6 +257,7 @@ public class ProductService {
             boolean success = productDAO.updateAvailable(productId, 1);
             
             if (success) {
+                catalog.reload();
                 System.out.println("✅ Product marked as available: " + productId);
             }
             
@@ -272,6 +277,7 @@ public class ProductService {
             boolean success = productDAO.updateAvailable(productId, 0);
             
             if (success) {
+                catalog.reload();
                 System.out.println("✅ Product marked as unavailable: " + productId);
             }
             
@@ -312,6 +318,7 @@ public class ProductService {
             boolean success = productDAO.updatePrice(productId, newPrice);
             
             if (success) {
+                catalog.reload();
                 System.out.println("✅ Price updated for product: " + productId);
             }
             
@@ -522,6 +529,7 @@ public class ProductService {
         clone.setAvailable(original.getAvailable());
         
         if (productDAO.create(clone)) {
+            catalog.reload();
             return clone;
         }
         
@@ -6,9 +6,17 @@ import dao.EmployeeDAO;
 import dao.IngredientDAO;
 import dao.ProductDAO;
 import dao.PaymentDAO;
+import dao.OrderItemDAO;
+import dao.DailySalesDAO;
+import dao.PageFilter;
+import entity.DashboardSnapshot;
 import entity.Order;
 import entity.Employee;
 import entity.Ingredient;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.Timestamp;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +46,8 @@ public class ReportService {
     private IngredientDAO ingredientDAO;
     private ProductDAO productDAO;
     private PaymentDAO paymentDAO;
+    private OrderItemDAO orderItemDAO;
+    private DailySalesDAO dailySalesDAO;
     
     // ============ SINGLETON ============
     
@@ -48,6 +58,8 @@ public class ReportService {
         this.ingredientDAO = new IngredientDAO();
         this.productDAO = new ProductDAO();
         this.paymentDAO = new PaymentDAO();
+        this.orderItemDAO = new OrderItemDAO();
+        this.dailySalesDAO = new DailySalesDAO();
     }
     
     public static ReportService getInstance() {
@@ -66,15 +78,15 @@ public class ReportService {
         Map<String, Object> report = new HashMap<>();
         
         try {
-            double revenue = reportDAO.getTotalRevenueByDate(date);
-            int orderCount = reportDAO.getTotalOrdersByDate(date);
-            double avgOrderValue = orderCount > 0 ? revenue / orderCount : 0;
+            // Đọc từ rollup daily_sales (đơn đã thanh toán, không tính đơn hủy)
+            LocalDate day = LocalDate.parse(date);
+            DailySalesDAO.Totals totals = dailySalesDAO.getTotals(day, day);
             
             report.put("date", date);
-            report.put("totalRevenue", revenue);
-            report.put("totalOrders", orderCount);
-            report.put("averageOrderValue", avgOrderValue);
-            report.put("topProducts", reportDAO.getTopSellingProducts(5));
+            report.put("totalRevenue", totals.revenue());
+            report.put("totalOrders", totals.orderCount());
+            report.put("averageOrderValue", totals.averageOrderValue());
+            report.put("topProducts", dailySalesDAO.getTopProducts(day, day, 5));
             
             System.out.println("✅ Sales report generated for: " + date);
             
@@ -92,26 +104,17 @@ public class ReportService {
         Map<String, Object> report = new HashMap<>();
         
         try {
-            double revenue = reportDAO.getTotalRevenueByDateRange(startDate, endDate);
-            
-            // Get orders in date range
-            List<Order> orders = orderDAO.getAll().stream()
-                .filter(o -> {
-                    String orderDate = o.getCreatedAt().toString().substring(0, 10);
-                    return orderDate.compareTo(startDate) >= 0 && orderDate.compareTo(endDate) <= 0;
-                })
-                .filter(o -> o.getStatus() != 6) // Exclude cancelled
-                .toList();
-            
-            int orderCount = orders.size();
-            double avgOrderValue = orderCount > 0 ? revenue / orderCount : 0;
+            // Đọc từ rollup daily_sales: chi phí theo số ngày, không theo số orders
+            LocalDate from = LocalDate.parse(startDate);
+            LocalDate to = LocalDate.parse(endDate);
+            DailySalesDAO.Totals totals = dailySalesDAO.getTotals(from, to);
             
             report.put("startDate", startDate);
             report.put("endDate", endDate);
-            report.put("totalRevenue", revenue);
-            report.put("totalOrders", orderCount);
-            report.put("averageOrderValue", avgOrderValue);
-            report.put("topProducts", reportDAO.getTopSellingProducts(10));
+            report.put("totalRevenue", totals.revenue());
+            report.put("totalOrders", totals.orderCount());
+            report.put("averageOrderValue", totals.averageOrderValue());
+            report.put("topProducts", dailySalesDAO.getTopProducts(from, to, 10));
             
             System.out.println("✅ Sales report generated for: " + startDate + " to " + endDate);
             
@@ -299,53 +302,23 @@ public class ReportService {
     // ============ DASHBOARD STATISTICS ============
     
     /**
-     * Lấy dashboard statistics tổng hợp
+     * Lấy dashboard statistics tổng hợp (một query, xem ReportDAO.getDashboardSnapshot)
+     * Top products lấy riêng qua getTopSellingProducts()
      */
-    public Map<String, Object> getDashboardStatistics() {
+    public DashboardSnapshot getDashboardStatistics() {
         try {
-            return reportDAO.getDashboardStatistics();
+            return reportDAO.getDashboardSnapshot();
         } catch (Exception e) {
             System.err.println("❌ Error getting dashboard statistics: " + e.getMessage());
-            return new HashMap<>();
+            return DashboardSnapshot.empty();
         }
     }
     
     /**
-     * Lấy overview statistics
+     * Lấy overview statistics (today, orders theo status, employees, ingredients)
      */
-    public Map<String, Object> getOverviewStatistics() {
-        Map<String, Object> stats = new HashMap<>();
-        
-        try {
-            // Today's stats
-            String today = LocalDate.now().toString();
-            double todayRevenue = reportDAO.getTotalRevenueByDate(today);
-            int todayOrders = reportDAO.getTotalOrdersByDate(today);
-            
-            // Orders by status
-            int pendingOrders = reportDAO.getOrderCountByStatus(0);
-            int cookingOrders = reportDAO.getOrderCountByStatus(3);
-            int readyOrders = reportDAO.getOrderCountByStatus(4);
-            
-            // Employees & Ingredients
-            int activeEmployees = reportDAO.getTotalActiveEmployees();
-            int lowStockItems = reportDAO.getLowStockIngredientCount();
-            
-            stats.put("todayRevenue", todayRevenue);
-            stats.put("todayOrders", todayOrders);
-            stats.put("pendingOrders", pendingOrders);
-            stats.put("cookingOrders", cookingOrders);
-            stats.put("readyOrders", readyOrders);
-            stats.put("activeEmployees", activeEmployees);
-            stats.put("lowStockItems", lowStockItems);
-            
-            System.out.println("✅ Overview statistics generated");
-            
-        } catch (Exception e) {
-            System.err.println("❌ Error generating overview statistics: " + e.getMessage());
-        }
-        
-        return stats;
+    public DashboardSnapshot getOverviewStatistics() {
+        return getDashboardStatistics();
     }
     
     // ============ REVENUE ANALYTICS ============
@@ -376,8 +349,8 @@ public class ReportService {
         Map<String, Object> comparison = new HashMap<>();
         
         try {
-            double revenue1 = reportDAO.getTotalRevenueByDateRange(period1Start, period1End);
-            double revenue2 = reportDAO.getTotalRevenueByDateRange(period2Start, period2End);
+            double revenue1 = dailySalesDAO.getTotals(LocalDate.parse(period1Start), LocalDate.parse(period1End)).revenue();
+            double revenue2 = dailySalesDAO.getTotals(LocalDate.parse(period2Start), LocalDate.parse(period2End)).revenue();
             
             double difference = revenue2 - revenue1;
             double percentChange = revenue1 > 0 ? (difference / revenue1) * 100 : 0;
@@ -419,6 +392,70 @@ public class ReportService {
         return sb.toString();
     }
     
+    /**
+     * Export báo cáo chi tiết (tổng quan + từng đơn + từng món) ra Writer
+     * Orders và order items được stream từ DB từng dòng và ghi ngay,
+     * nên export cả năm vẫn dùng bộ nhớ cố định (không build String / List)
+     * 
+     * @param out Đích ghi (file, socket...), caller tự đóng
+     * @return true nếu export thành công
+     */
+    public boolean exportSalesReport(String startDate, String endDate, Writer out) {
+        if (!isValidDate(startDate) || !isValidDate(endDate)) {
+            System.err.println("❌ Invalid date range: " + startDate + " - " + endDate);
+            return false;
+        }
+        
+        Timestamp from = Timestamp.valueOf(LocalDate.parse(startDate).atStartOfDay());
+        Timestamp before = Timestamp.valueOf(LocalDate.parse(endDate).plusDays(1).atStartOfDay());
+        
+        try {
+            out.write(exportSalesReportToText(startDate, endDate));
+            
+            out.write("\n      DANH SÁCH ĐƠN HÀNG\n");
+            out.write("----------------------------------------\n");
+            int orders = orderDAO.forEach(PageFilter.all().createdBetween(from, before), order -> {
+                writeLine(out, String.format("#%-8d %s  %-20s %12s  %s",
+                    order.getOrderId(),
+                    order.getCreatedAt(),
+                    order.getCustomerName(),
+                    formatCurrency(order.getTotalAmount()),
+                    order.getStatusName()));
+            });
+            
+            out.write("\n      CHI TIẾT MÓN\n");
+            out.write("----------------------------------------\n");
+            int items = orderItemDAO.forEachByOrderCreatedBetween(from, before, item -> {
+                writeLine(out, String.format("#%-8d %-25s x%-3d %12s",
+                    item.getOrderId(),
+                    item.getProductName(),
+                    item.getQuantity(),
+                    formatCurrency(item.getSubtotal())));
+            });
+            out.write("========================================\n");
+            out.flush();
+            
+            if (orders < 0 || items < 0) {
+                return false;
+            }
+            System.out.println("✅ Exported " + orders + " orders, " + items + " items");
+            return true;
+            
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("❌ Error exporting sales report: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    private void writeLine(Writer out, String line) {
+        try {
+            out.write(line);
+            out.write("\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
     /**
      * Format currency
      */
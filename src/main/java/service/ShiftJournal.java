@@ -0,0 +1,322 @@
+package service;
+
+import config.AppConfig;
+import dao.OrderEventDAO;
+import entity.Ingredient;
+import entity.Order;
+import entity.Payment;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import listener.InventoryListener;
+import listener.OrderUpdateListener;
+import listener.PaymentListener;
+import util.EventJournal;
+import util.EventJournal.Entry;
+
+/**
+ * ShiftJournal - Nhật ký event trên máy để màn hình khởi động lại giữa ca không phải chờ DB
+ * Path: Source Packages/service/ShiftJournal.java
+ *
+ * Chức năng:
+ * - Nhận mọi callback order / payment / inventory từ NotificationService
+ *   (gồm cả thay đổi từ máy khác do OrderEventTailer phát lại) và ghi vào EventJournal
+ * - Ghi thêm checkpoint số đơn theo trạng thái mỗi lần OrderStatusCounter đọc từ DB,
+ *   và vị trí đã đọc order_events của OrderEventTailer
+ * - Mọi callback đi qua một hàng đợi OverflowPolicy.BLOCK (không bỏ event); checkpoint và
+ *   vị trí tailer cũng đi qua hàng đợi đó, nên chỉ được ghi sau các event mà chúng bao trùm
+ * - start(): replay journal -> OrderStatusCounter có số liệu ngay, OrderEventTailer đọc bù
+ *   từ vị trí cũ thay vì từ event mới nhất (delta từ DB)
+ *
+ * Bảng order trên màn hình cần cả dòng orders + món, không vừa record cố định,
+ * nên vẫn load từ DB qua UiLoader (không chặn EDT); header thống kê có ngay từ journal.
+ * Số đếm khôi phục có thể lệch vài event (event của chính máy này còn trong hàng đợi
+ * khi process chết), lần resync định kỳ của OrderStatusCounter sửa lại như khi chạy bình thường.
+ *
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class ShiftJournal implements OrderUpdateListener, PaymentListener, InventoryListener, JournalCheckpointListener {
+
+    // Loại record
+    public static final int ORDER_CREATED = 1;          // key = order, new = status
+    public static final int ORDER_STATUS = 2;           // key = order, old -> new status
+    public static final int ORDER_UPDATED = 3;          // key = order, new = status
+    public static final int ORDER_DELETED = 4;          // key = order
+    public static final int PAYMENT_SUCCESS = 10;       // key = order, new = payment, value = số tiền
+    public static final int PAYMENT_FAILED = 11;
+    public static final int PAYMENT_REFUNDED = 12;      // value = số tiền hoàn
+    public static final int STOCK_CHANGED = 20;         // key = nguyên liệu, value = bits của số lượng mới
+    public static final int INGREDIENT_DELETED = 21;
+    public static final int STATUS_COUNT = 30;          // key = status, new = số đơn (một dòng của checkpoint)
+    public static final int COUNT_CHECKPOINT = 31;      // chốt các STATUS_COUNT ngay trước đó
+    public static final int TAILER_CURSOR = 32;         // value = event_id đã đọc tới
+    public static final int SESSION = 33;               // origin của process đã ghi journal
+
+    // Journal cũ hơn thì coi như ca trước: không khôi phục (order_events có thể đã bị xóa)
+    private static final long MAX_RESUME_AGE_MS = 6L * 60 * 60 * 1000;
+
+    // Hàng đợi lớn để người gửi hiếm khi phải chờ (đầy thì chờ, không bỏ event)
+    private static final int QUEUE_CAPACITY = 4096;
+
+    private static ShiftJournal instance;
+    private volatile EventJournal journal;   // null nếu chưa start() hoặc không mở được
+    private boolean started;
+
+    private volatile long resumeEventId = -1;
+    private final Set<String> pastOrigins = ConcurrentHashMap.newKeySet();
+    private long lastCursor = -1;            // Chỉ thread tailer truy cập
+
+    // ============ SINGLETON ============
+
+    private ShiftJournal() {
+    }
+
+    public static synchronized ShiftJournal getInstance() {
+        if (instance == null) {
+            instance = new ShiftJournal();
+        }
+        return instance;
+    }
+
+    // ============ LIFECYCLE ============
+
+    /**
+     * Mở journal, replay trạng thái rồi bắt đầu ghi (không làm gì nếu đã chạy)
+     * Gọi khi mở màn hình, trước khi đọc OrderStatusCounter và trước OrderEventTailer.start().
+     */
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+
+        EventJournal opened;
+        try {
+            opened = new EventJournal(new File(AppConfig.JOURNAL_PATH),
+                                      EventJournal.DEFAULT_SEGMENT_RECORDS, EventJournal.DEFAULT_MAX_SEGMENTS);
+        } catch (IOException e) {
+            System.err.println("⚠️ Event journal unavailable, screens load from DB: " + e.getMessage());
+            return;
+        }
+
+        restore(opened);
+
+        UUID origin = UUID.fromString(OrderEventDAO.ORIGIN);
+        long low = origin.getLeastSignificantBits();
+        opened.append(SESSION, 0, (int) (low >>> 32), (int) low, origin.getMostSignificantBits());
+        journal = opened;
+
+        NotificationService.getInstance().addListener(this, NotificationService.Delivery.BACKGROUND,
+            QUEUE_CAPACITY, NotificationService.OverflowPolicy.BLOCK,
+            OrderUpdateListener.class, PaymentListener.class, InventoryListener.class, JournalCheckpointListener.class);
+    }
+
+    public boolean isRunning() {
+        return journal != null;
+    }
+
+    // ============ RESTORE ============
+
+    private void restore(EventJournal opened) {
+        long start = System.currentTimeMillis();
+        Replay replay = new Replay();
+        int records;
+        try {
+            records = opened.replay(replay);
+        } catch (IOException e) {
+            System.err.println("❌ Error replaying event journal: " + e.getMessage());
+            return;
+        }
+
+        pastOrigins.addAll(replay.origins);
+        if (records == 0 || start - replay.lastTime > MAX_RESUME_AGE_MS) {
+            System.out.println("📒 Event journal: " + records + " records, nothing to resume");
+            return;
+        }
+
+        if (replay.counts != null) {
+            OrderStatusCounter.getInstance().restore(replay.counts);
+        }
+        resumeEventId = replay.cursor;
+        System.out.println("📒 Event journal replayed " + records + " records in "
+                           + (System.currentTimeMillis() - start) + "ms"
+                           + (replay.counts != null ? ", status counts restored" : "")
+                           + (replay.cursor >= 0 ? ", resume after order event #" + replay.cursor : ""));
+    }
+
+    /**
+     * Dựng lại số đơn theo trạng thái: checkpoint cuối cùng + các event sau nó
+     */
+    private static class Replay implements Consumer<Entry> {
+
+        private final int[] pending = new int[AppConfig.ORDER_STATUS_NAMES.length];
+        private int[] counts;
+        private long cursor = -1;
+        private long lastTime;
+        private final Set<String> origins = new HashSet<>();
+
+        @Override
+        public void accept(Entry entry) {
+            lastTime = entry.time();
+            switch (entry.type()) {
+                case STATUS_COUNT -> {
+                    if (isValid(entry.key())) {
+                        pending[entry.key()] = entry.newValue();
+                    }
+                }
+                case COUNT_CHECKPOINT -> counts = pending.clone();
+                case ORDER_CREATED -> {
+                    if (counts != null && isValid(entry.newValue())) {
+                        counts[entry.newValue()]++;
+                    }
+                }
+                case ORDER_STATUS -> {
+                    if (counts != null && isValid(entry.oldValue()) && isValid(entry.newValue())) {
+                        counts[entry.oldValue()] = Math.max(0, counts[entry.oldValue()] - 1);
+                        counts[entry.newValue()]++;
+                    } else {
+                        counts = null;
+                    }
+                }
+                // Không biết trạng thái đơn bị xóa: chờ checkpoint sau
+                case ORDER_DELETED -> counts = null;
+                case TAILER_CURSOR -> cursor = entry.value();
+                case SESSION -> {
+                    long low = ((long) entry.oldValue() << 32) | (entry.newValue() & 0xFFFFFFFFL);
+                    origins.add(new UUID(entry.value(), low).toString());
+                }
+                default -> { }
+            }
+        }
+    }
+
+    // ============ RESUME ============
+
+    /**
+     * event_id của order_events mà tailer đã đọc tới ở lần chạy trước, -1 nếu không có
+     */
+    public long getResumeEventId() {
+        return resumeEventId;
+    }
+
+    /**
+     * Event do process trước trên máy này ghi (đã có trong journal, không phát lại)
+     */
+    public boolean isPastOrigin(String origin) {
+        return origin != null && pastOrigins.contains(origin);
+    }
+
+    // ============ CHECKPOINTS ============
+
+    /**
+     * Số đơn theo trạng thái vừa đọc từ DB (OrderStatusCounter)
+     * Xếp hàng sau các event đã phát trước đó (event đó đã nằm trong số đếm).
+     */
+    public void recordCounts(int[] counts) {
+        if (journal != null) {
+            int[] snapshot = counts.clone();
+            NotificationService.getInstance().fire(JournalCheckpointListener.class, l -> l.onStatusCounts(snapshot));
+        }
+    }
+
+    /**
+     * Tailer đã đọc tới eventId (gọi từ thread tailer, sau khi đã phát các event tới eventId)
+     * Không ghi ngay: xếp hàng sau các event đó, để journal không có vị trí vượt quá event đã ghi.
+     */
+    public void recordCursor(long eventId) {
+        if (journal != null && eventId != lastCursor) {
+            lastCursor = eventId;
+            NotificationService.getInstance().fire(JournalCheckpointListener.class, l -> l.onTailerCursor(eventId));
+        }
+    }
+
+    @Override
+    public void onStatusCounts(int[] counts) {
+        EventJournal current = journal;
+        if (current == null) {
+            return;
+        }
+        for (int status = 0; status < counts.length; status++) {
+            current.append(STATUS_COUNT, status, 0, counts[status], 0);
+        }
+        current.append(COUNT_CHECKPOINT, counts.length, 0, 0, 0);
+    }
+
+    @Override
+    public void onTailerCursor(long eventId) {
+        append(TAILER_CURSOR, 0, 0, 0, eventId);
+    }
+
+    // ============ ORDER EVENTS ============
+
+    @Override
+    public void onOrderCreated(Order order) {
+        append(ORDER_CREATED, order.getOrderId(), OrderEventDAO.NONE, order.getStatus(), 0);
+    }
+
+    @Override
+    public void onOrderStatusChanged(Order order, int oldStatus, int newStatus) {
+        append(ORDER_STATUS, order.getOrderId(), oldStatus, newStatus, 0);
+    }
+
+    @Override
+    public void onOrderUpdated(Order order) {
+        append(ORDER_UPDATED, order.getOrderId(), OrderEventDAO.NONE, order.getStatus(), 0);
+    }
+
+    @Override
+    public void onOrderDeleted(int orderId) {
+        append(ORDER_DELETED, orderId, OrderEventDAO.NONE, OrderEventDAO.NONE, 0);
+    }
+
+    // ============ PAYMENT EVENTS ============
+
+    @Override
+    public void onPaymentSuccess(Payment payment) {
+        append(PAYMENT_SUCCESS, payment.getOrderId(), OrderEventDAO.NONE, payment.getPaymentId(),
+               Math.round(payment.getAmount()));
+    }
+
+    @Override
+    public void onPaymentFailed(Payment payment, String reason) {
+        append(PAYMENT_FAILED, payment.getOrderId(), OrderEventDAO.NONE, payment.getPaymentId(),
+               Math.round(payment.getAmount()));
+    }
+
+    @Override
+    public void onPaymentRefunded(Payment payment, double refundAmount) {
+        append(PAYMENT_REFUNDED, payment.getOrderId(), OrderEventDAO.NONE, payment.getPaymentId(),
+               Math.round(refundAmount));
+    }
+
+    // ============ INVENTORY EVENTS ============
+
+    @Override
+    public void onQuantityChanged(Ingredient ingredient, double oldQuantity, double newQuantity) {
+        append(STOCK_CHANGED, ingredient.getIngredientId(), OrderEventDAO.NONE, OrderEventDAO.NONE,
+               Double.doubleToLongBits(newQuantity));
+    }
+
+    @Override
+    public void onIngredientDeleted(int ingredientId, String ingredientName) {
+        append(INGREDIENT_DELETED, ingredientId, OrderEventDAO.NONE, OrderEventDAO.NONE, 0);
+    }
+
+    // ============ HELPER METHODS ============
+
+    private void append(int type, int key, int oldValue, int newValue, long value) {
+        EventJournal current = journal;
+        if (current != null) {
+            current.append(type, key, oldValue, newValue, value);
+        }
+    }
+
+    private static boolean isValid(int status) {
+        return status >= 0 && status < AppConfig.ORDER_STATUS_NAMES.length;
+    }
+}
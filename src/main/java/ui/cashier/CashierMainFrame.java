@@ -1,14 +1,27 @@
 package ui.cashier;
 
+import entity.Payment;
 import entity.User;
+import listener.PaymentListener;
+import service.CashierService;
+import service.NotificationService;
+import service.OrderEventTailer;
+import service.OrderStatusCounter;
+import service.ShiftJournal;
 import ui.components.RoundedButton;
 import util.ColorScheme;
+import util.EdtMonitor;
+import util.OrderUpdateCoalescer;
+import util.OrderUpdateCoalescer.Change;
+import util.UiLoader;
+import config.AppConfig;
 import config.UIConstants;
 
 import javax.swing.*;
 import java.awt.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 
 /**
  * CashierMainFrame - Main window for Cashier
@@ -21,12 +34,12 @@ import java.time.format.DateTimeFormatter;
  * - Orders panel (card grid view)
  * - POS Menu panel (create new orders)
  * - Tables panel (table management)
- * - Real-time clock and auto-refresh
+ * - Real-time clock, refresh on order / payment events
  * 
  * @author Nguyễn Trường Quốc Huân & Huỳnh Bá Khang
  * @version 1.0
  */
-public class CashierMainFrame extends JFrame {
+public class CashierMainFrame extends JFrame implements PaymentListener {
     
     // ============ FIELDS ============
     
@@ -34,6 +47,7 @@ public class CashierMainFrame extends JFrame {
     private CashierSidebarPanel sidebar;
     private JPanel contentPanel;
     private CardLayout cardLayout;
+    private OrdersPanel ordersPanel;
     
     // Header components
     private JLabel timeLabel;
@@ -45,9 +59,15 @@ public class CashierMainFrame extends JFrame {
     private Timer clockTimer;
     private Timer refreshTimer;
     
+    // Order events gộp theo batch
+    private OrderUpdateCoalescer orderEvents;
+    
     // Stats
     private int liveOrdersCount = 0;
     private double todayRevenue = 0.0;
+    private UiLoader<HeaderStats> statsLoader;
+    
+    private record HeaderStats(int liveOrders, double todayRevenue) {}
     
     // ============ CONSTRUCTOR ============
     
@@ -56,6 +76,8 @@ public class CashierMainFrame extends JFrame {
     }
     
     public CashierMainFrame(User user) {
+        EdtMonitor.install(); // Chỉ bật khi có -Dfoodorder.edt.monitor=true
+        ShiftJournal.getInstance().start(); // Khởi động lại giữa ca: số liệu từ journal, không chờ DB
         this.currentUser = user;
         
         String cashierName = (user != null) ? user.getUsername() : "Cashier";
@@ -64,9 +86,16 @@ public class CashierMainFrame extends JFrame {
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
         
+        statsLoader = new UiLoader<>("cashier stats", this::showStats);
+        
         initComponents();
         loadInitialData();
         startTimers();
+        
+        orderEvents = new OrderUpdateCoalescer("cashier", AppConfig.UI_EVENT_COALESCE_MS, this::onOrderChanges);
+        orderEvents.subscribe();
+        NotificationService.getInstance().addListener(PaymentListener.class, this);
+        OrderEventTailer.getInstance().start(); // Thay đổi từ máy khác
     }
     
     // ============ INITIALIZATION ============
@@ -91,7 +120,8 @@ public class CashierMainFrame extends JFrame {
         contentPanel.setBackground(ColorScheme.BG_SECONDARY);
         
         // Add panels
-        contentPanel.add(new OrdersPanel(this), "orders");
+        ordersPanel = new OrdersPanel(this);
+        contentPanel.add(ordersPanel, "orders");
         contentPanel.add(new MenuPOSPanel(this), "pos");
         contentPanel.add(new TablesPanel(this), "tables");
         
@@ -235,10 +265,15 @@ public class CashierMainFrame extends JFrame {
     }
     
     private void updateStats() {
-        // TODO: Load from database
-        // For now, use dummy data
-        liveOrdersCount = 12;
-        todayRevenue = 2847000;
+        // Live orders = NEW -> READY, đọc từ snapshot đếm theo status
+        statsLoader.load(() -> new HeaderStats(
+            OrderStatusCounter.getInstance().getActiveCount(),
+            CashierService.getInstance().getTodayRevenue()));
+    }
+    
+    private void showStats(HeaderStats stats) {
+        liveOrdersCount = stats.liveOrders();
+        todayRevenue = stats.todayRevenue();
         
         liveOrdersLabel.setText(String.valueOf(liveOrdersCount));
         todayRevenueLabel.setText(formatCurrency(todayRevenue));
@@ -252,8 +287,8 @@ public class CashierMainFrame extends JFrame {
         clockTimer.start();
         updateTime();
         
-        // Auto refresh timer - refresh stats every 10 seconds
-        refreshTimer = new Timer(10000, e -> updateStats());
+        // Stats cập nhật theo event (kể cả từ máy khác qua OrderEventTailer); timer chỉ resync chậm phòng khi lỡ event
+        refreshTimer = new Timer(AppConfig.UI_RESYNC_SECONDS * 1000, e -> updateStats());
         refreshTimer.start();
     }
     
@@ -263,6 +298,29 @@ public class CashierMainFrame extends JFrame {
         timeLabel.setText("🕐 " + now.format(formatter));
     }
     
+    // ============ ORDER / PAYMENT EVENTS ============
+    
+    /**
+     * Nhiều đơn đổi trong cùng UI_EVENT_COALESCE_MS chỉ load lại danh sách một lần
+     */
+    private void onOrderChanges(Collection<Change> changes) {
+        // Chỉ đổi thanh toán / món thì số đơn đang chạy không đổi (doanh thu đi qua PaymentListener)
+        if (changes.stream().anyMatch(Change::statusChanged)) {
+            updateStats();
+        }
+        ordersPanel.onOrdersChanged();
+    }
+    
+    @Override
+    public void onPaymentSuccess(Payment payment) {
+        updateStats();
+    }
+    
+    @Override
+    public void onPaymentRefunded(Payment payment, double refundAmount) {
+        updateStats();
+    }
+    
     // ============ ACTIONS ============
     
     private void refreshData() {
@@ -298,8 +356,6 @@ public class CashierMainFrame extends JFrame {
         );
         
         if (confirm == JOptionPane.YES_OPTION) {
-            clockTimer.stop();
-            refreshTimer.stop();
             dispose();
             
             // Navigate to login screen
@@ -310,6 +366,15 @@ public class CashierMainFrame extends JFrame {
         }
     }
     
+    @Override
+    public void dispose() {
+        clockTimer.stop();
+        refreshTimer.stop();
+        orderEvents.unsubscribe();
+        NotificationService.getInstance().removeListener(PaymentListener.class, this);
+        super.dispose();
+    }
+    
     private void showNotification(String message) {
         JOptionPane.showMessageDialog(
             this,
@@ -1,12 +1,12 @@
 package ui.cashier;
 
-import dao.ProductDAO;
-import dao.OrderDAO;
-import dao.OrderItemDAO;
+import service.OrderService;
+import service.ProductCatalog;
 import entity.Product;
 import entity.Order;
 import entity.OrderItem;
 import ui.components.RoundedButton;
+import util.UiLoader;
 import ui.components.RoundedPanel;
 import config.AppConfig;
 import config.UIConstants;
@@ -18,9 +18,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.awt.image.BufferedImage;
-import java.net.URL;
-import javax.imageio.ImageIO;
+import util.ImageLoader;
 
 /**
  * MenuPOSPanel - POS Menu with cart sidebar (Image 9 style)
@@ -39,9 +37,9 @@ public class MenuPOSPanel extends JPanel {
     private static final Color ORANGE = new Color(255, 152, 0);
     
     private CashierMainFrame mainFrame;
-    private ProductDAO productDAO;
-    private OrderDAO orderDAO;
-    private OrderItemDAO orderItemDAO;
+    private ProductCatalog productCatalog;
+    private OrderService orderService;
+    private UiLoader<List<Product>> productsLoader;
     
     // UI Components
     private JPanel productsContainer;
@@ -51,6 +49,7 @@ public class MenuPOSPanel extends JPanel {
     private JLabel discountLabel;
     private JLabel totalLabel;
     private JComboBox<String> customerCombo;
+    private RoundedButton placeOrderBtn;
     
     // Data
     private List<Product> products;
@@ -61,10 +60,11 @@ public class MenuPOSPanel extends JPanel {
     
     public MenuPOSPanel(CashierMainFrame mainFrame) {
         this.mainFrame = mainFrame;
-        this.productDAO = new ProductDAO();
-        this.orderDAO = new OrderDAO();
-        this.orderItemDAO = new OrderItemDAO();
+        this.productCatalog = ProductCatalog.getInstance();
+        this.orderService = OrderService.getInstance();
         this.cart = new HashMap<>();
+        this.products = new ArrayList<>();
+        this.productsLoader = new UiLoader<>("POS products", this::showProducts, e -> showProductsError());
         
         initComponents();
         loadProducts();
@@ -91,6 +91,7 @@ public class MenuPOSPanel extends JPanel {
         JScrollPane scrollPane = new JScrollPane(productsContainer);
         scrollPane.setBorder(null);
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
+        ImageLoader.getInstance().watch(scrollPane.getViewport());
         
         leftPanel.add(scrollPane, BorderLayout.CENTER);
         
@@ -208,7 +209,7 @@ public class MenuPOSPanel extends JPanel {
         totalPanel.add(totalLabel, BorderLayout.EAST);
         
         // Place order button
-        RoundedButton placeOrderBtn = new RoundedButton("🛒 Đặt món", 8);
+        placeOrderBtn = new RoundedButton("🛒 Đặt món", 8);
         placeOrderBtn.setBackground(ORANGE);
         placeOrderBtn.setPreferredSize(new Dimension(0, 50));
         placeOrderBtn.setFont(new Font(UIConstants.FONT_FAMILY, Font.BOLD, 16));
@@ -248,8 +249,21 @@ public class MenuPOSPanel extends JPanel {
     // ============ LOAD PRODUCTS ============
     
     private void loadProducts() {
-        products = productDAO.getAllAvailable();
-        displayProducts(products);
+        productsLoader.load(productCatalog::getAvailable);
+    }
+    
+    private void showProducts(List<Product> loaded) {
+        products = loaded;
+        filterProductsByCategory();
+    }
+    
+    private void showProductsError() {
+        productsContainer.removeAll();
+        JLabel errorLabel = new JLabel("⚠️ Không tải được danh sách món");
+        errorLabel.setForeground(Color.GRAY);
+        productsContainer.add(errorLabel);
+        productsContainer.revalidate();
+        productsContainer.repaint();
     }
     
     private void displayProducts(List<Product> productsToDisplay) {
@@ -338,51 +352,15 @@ public class MenuPOSPanel extends JPanel {
             return;
         }
     
-        SwingWorker<ImageIcon, Void> worker = new SwingWorker<>() {
-            @Override
-            protected ImageIcon doInBackground() throws Exception {
-                try {
-                    String resourcePath = imagePath;
-                    if (!resourcePath.startsWith("/")) {
-                        resourcePath = "/" + resourcePath;
-                    }
-
-                    URL resourceUrl = getClass().getResource(resourcePath);
-                    
-                    if (resourceUrl == null) {
-                        return null;
-                    }
-
-                    BufferedImage image = ImageIO.read(resourceUrl);
-                    
-                    if (image != null) {
-                        Image scaledImage = image.getScaledInstance(180, 100, Image.SCALE_SMOOTH);
-                        return new ImageIcon(scaledImage);
-                    }
-                    return null;
-                } catch (Exception e) {
-                    return null;
-                }
+        ImageLoader.getInstance().bind(imgLabel, imagePath, 180, 100, image -> {
+            if (image != null) {
+                imgLabel.setIcon(new ImageIcon(image));
+                imgLabel.setText(null);
+            } else {
+                imgLabel.setText(getEmojiForCategory(product.getCategory()));
+                imgLabel.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 48));
             }
-            
-            @Override
-            protected void done() {
-                try {
-                    ImageIcon icon = get();
-                    if (icon != null) {
-                        imgLabel.setIcon(icon);
-                        imgLabel.setText(null);
-                    } else {
-                        imgLabel.setText(getEmojiForCategory(product.getCategory()));
-                        imgLabel.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 48));
-                    }
-                } catch (Exception e) {
-                    imgLabel.setText(getEmojiForCategory(product.getCategory()));
-                    imgLabel.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 48));
-                }
-            }
-        };
-        worker.execute();
+        });
     }
     
     private String getEmojiForCategory(String category) {
@@ -542,18 +520,27 @@ public class MenuPOSPanel extends JPanel {
         order.setStatus(1); // Confirmed
         order.setPaymentStatus(0); // Unpaid
         
-        if (orderDAO.create(order)) {
-            // Create order items
-            for (CartItem item : cart.values()) {
-                OrderItem orderItem = new OrderItem(
-                    order.getOrderId(),
-                    item.product.getProductId(),
-                    item.product.getName(),
-                    item.quantity,
-                    item.product.getPrice(),
-                    item.product.getPrice() * item.quantity
-                );
-                orderItemDAO.create(orderItem);
+        // Create order items (một batch INSERT)
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (CartItem item : cart.values()) {
+            OrderItem orderItem = new OrderItem(
+                0,
+                item.product.getProductId(),
+                item.product.getName(),
+                item.quantity,
+                item.product.getPrice(),
+                item.product.getPrice() * item.quantity
+            );
+            orderItems.add(orderItem);
+        }
+        
+        // Ghi DB trên thread nền; khóa nút để không đặt trùng đơn
+        placeOrderBtn.setEnabled(false);
+        UiLoader.submit("place order", () -> orderService.createOrder(order, orderItems), success -> {
+            placeOrderBtn.setEnabled(true);
+            if (!success) {
+                JOptionPane.showMessageDialog(this, "❌ Lỗi khi đặt món!");
+                return;
             }
             
             JOptionPane.showMessageDialog(this, 
@@ -563,13 +550,17 @@ public class MenuPOSPanel extends JPanel {
             // Clear cart
             cart.clear();
             updateCartDisplay();
-        } else {
+        }, e -> {
+            placeOrderBtn.setEnabled(true);
             JOptionPane.showMessageDialog(this, "❌ Lỗi khi đặt món!");
-        }
+        });
     }
     
     public void refreshProducts() {
-        loadProducts();
+        productsLoader.load(() -> {
+            productCatalog.reload();
+            return productCatalog.getAvailable();
+        });
     }
     
     // ============ CART ITEM CLASS ============
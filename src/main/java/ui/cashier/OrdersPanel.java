@@ -2,16 +2,23 @@ package ui.cashier;
 
 import dao.OrderDAO;
 import dao.OrderItemDAO;
+import dao.Page;
+import dao.PageFilter;
+import service.OrderStateMachine;
 import entity.Order;
 import entity.OrderItem;
+import ui.components.OrderBoard;
 import ui.components.RoundedButton;
 import ui.components.RoundedPanel;
 import config.AppConfig;
 import config.UIConstants;
+import util.UiLoader;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
+import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -33,6 +40,9 @@ public class OrdersPanel extends JPanel {
     private static final Color GREEN = new Color(76, 175, 80);
     private static final Color BLUE = new Color(33, 150, 243);
     
+    // Số đơn mỗi lần tải (keyset pagination, không đọc toàn bộ lịch sử)
+    private static final int PAGE_SIZE = 40;
+    
     private CashierMainFrame mainFrame;
     private OrderDAO orderDAO;
     private OrderItemDAO orderItemDAO;
@@ -42,9 +52,17 @@ public class OrdersPanel extends JPanel {
     private JComboBox<String> filterCombo;
     private JPanel ordersContainer;
     private JScrollPane scrollPane;
+    private RoundedButton loadMoreBtn;
+    private OrderBoard board;
     
     // Data
     private List<Order> orders;
+    private Page<Order> lastPage;
+    
+    // Trang đầu (loadOrders) và trang kế (loadMoreOrders) dùng chung một loader:
+    // đổi filter giữa chừng thì kết quả "tải thêm" cũ bị bỏ
+    private UiLoader<Page<Order>> pageLoader;
+    private boolean appendingPage;
     
     // ============ CONSTRUCTOR ============
     
@@ -52,6 +70,7 @@ public class OrdersPanel extends JPanel {
         this.mainFrame = mainFrame;
         this.orderDAO = new OrderDAO();
         this.orderItemDAO = new OrderItemDAO();
+        this.pageLoader = new UiLoader<>("orders page", this::showPage, this::showLoadError);
         
         initComponents();
         loadOrders();
@@ -72,11 +91,26 @@ public class OrdersPanel extends JPanel {
         ordersContainer.setLayout(new GridLayout(0, 2, 15, 15)); // 2 columns
         ordersContainer.setBackground(new Color(245, 245, 245));
         
+        // Card phụ thuộc status + payment_status (nút gửi bếp / thanh toán)
+        board = new OrderBoard(ordersContainer, this::createOrderCard,
+                               order -> OrderBoard.cardSignature(order, order.getPaymentStatus()), null, null);
+        
         scrollPane = new JScrollPane(ordersContainer);
         scrollPane.setBorder(null);
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
         
         add(scrollPane, BorderLayout.CENTER);
+        
+        // Load more button
+        loadMoreBtn = new RoundedButton("⬇️ Xem thêm", 8);
+        loadMoreBtn.setBackground(BLUE);
+        loadMoreBtn.setPreferredSize(new Dimension(140, 40));
+        loadMoreBtn.addActionListener(e -> loadMoreOrders());
+        
+        JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        bottomPanel.setBackground(new Color(245, 245, 245));
+        bottomPanel.add(loadMoreBtn);
+        add(bottomPanel, BorderLayout.SOUTH);
     }
     
     private JPanel createTopPanel() {
@@ -158,26 +192,93 @@ public class OrdersPanel extends JPanel {
     
     // ============ LOAD ORDERS ============
     
+    /**
+     * Tải trang đầu theo filter hiện tại
+     */
     private void loadOrders() {
-        orders = orderDAO.getAll();
+        PageFilter filter = currentFilter();
+        appendingPage = false;
+        pageLoader.load(() -> fetchPage(null, 0, filter));
+    }
+    
+    /**
+     * Tải trang kế tiếp từ cursor của trang trước
+     */
+    private void loadMoreOrders() {
+        if (lastPage == null || !lastPage.hasMore()) {
+            return;
+        }
+        PageFilter filter = currentFilter();
+        Page<Order> previous = lastPage;
+        appendingPage = true;
+        loadMoreBtn.setEnabled(false);
+        pageLoader.load(() -> fetchPage(previous.getNextCreatedAt(), previous.getNextId(), filter));
+    }
+    
+    /**
+     * Chạy trên thread nền: query trang + items của trang
+     */
+    private Page<Order> fetchPage(Timestamp afterCreatedAt, int afterId, PageFilter filter) {
+        Page<Order> page = orderDAO.page(afterCreatedAt, afterId, PAGE_SIZE, filter);
+        orderItemDAO.attachItems(page.getItems());
+        return page;
+    }
+    
+    private void showPage(Page<Order> page) {
+        lastPage = page;
+        if (appendingPage && orders != null) {
+            orders.addAll(page.getItems());
+        } else {
+            orders = new ArrayList<>(page.getItems());
+        }
+        loadMoreBtn.setText("⬇️ Xem thêm");
+        loadMoreBtn.setEnabled(true);
         displayOrders(orders);
     }
     
+    /**
+     * Báo lỗi ngay trên panel (không mở dialog): tải thêm lỗi thì giữ các trang đã có
+     */
+    private void showLoadError(Exception e) {
+        loadMoreBtn.setEnabled(true);
+        if (appendingPage) {
+            loadMoreBtn.setText("⚠️ Lỗi tải - thử lại");
+            return;
+        }
+        showMessage("⚠️ Không tải được đơn hàng từ database");
+    }
+    
+    private PageFilter currentFilter() {
+        int selectedIndex = filterCombo.getSelectedIndex();
+        return selectedIndex <= 0
+            ? PageFilter.all()
+            : PageFilter.all().status(selectedIndex - 1);
+    }
+    
     private void displayOrders(List<Order> ordersToDisplay) {
-        ordersContainer.removeAll();
-        
         if (ordersToDisplay.isEmpty()) {
-            JLabel emptyLabel = new JLabel("Không có đơn hàng nào");
-            emptyLabel.setFont(UIConstants.FONT_HEADING);
-            emptyLabel.setForeground(Color.GRAY);
-            emptyLabel.setHorizontalAlignment(SwingConstants.CENTER);
-            ordersContainer.add(emptyLabel);
-        } else {
-            for (Order order : ordersToDisplay) {
-                ordersContainer.add(createOrderCard(order));
-            }
+            showMessage("Không có đơn hàng nào");
+            return;
         }
         
+        // Tải thêm trang chỉ nối card mới; refresh chỉ vẽ lại card đổi trạng thái
+        board.update(ordersToDisplay);
+        
+        loadMoreBtn.setVisible(lastPage != null && lastPage.hasMore());
+    }
+    
+    private void showMessage(String message) {
+        ordersContainer.removeAll();
+        board.reset();
+        
+        JLabel messageLabel = new JLabel(message);
+        messageLabel.setFont(UIConstants.FONT_HEADING);
+        messageLabel.setForeground(Color.GRAY);
+        messageLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        ordersContainer.add(messageLabel);
+        
+        loadMoreBtn.setVisible(lastPage != null && lastPage.hasMore());
+        
         ordersContainer.revalidate();
         ordersContainer.repaint();
     }
@@ -224,7 +325,7 @@ public class OrdersPanel extends JPanel {
         itemsPanel.setLayout(new BoxLayout(itemsPanel, BoxLayout.Y_AXIS));
         itemsPanel.setBackground(Color.WHITE);
         
-        List<OrderItem> items = orderItemDAO.getByOrderId(order.getOrderId());
+        List<OrderItem> items = order.getItems() != null ? order.getItems() : List.of();
         int displayCount = Math.min(items.size(), 3);
         
         for (int i = 0; i < displayCount; i++) {
@@ -327,12 +428,17 @@ public class OrdersPanel extends JPanel {
         
         if (confirm == JOptionPane.YES_OPTION) {
             // Update status to Preparing (2)
-            if (orderDAO.updateStatus(order.getOrderId(), 2)) {
-                JOptionPane.showMessageDialog(this, "✅ Đã gửi đơn đến bếp!");
-                refreshOrders();
-            } else {
-                JOptionPane.showMessageDialog(this, "❌ Lỗi khi gửi đơn!");
-            }
+            UiLoader.submit("send to chef",
+                () -> OrderStateMachine.getInstance().transition(order.getOrderId(), order.getStatus(), 2),
+                success -> {
+                    if (success) {
+                        JOptionPane.showMessageDialog(this, "✅ Đã gửi đơn đến bếp!");
+                        refreshOrders();
+                    } else {
+                        JOptionPane.showMessageDialog(this, "❌ Lỗi khi gửi đơn!");
+                    }
+                },
+                e -> JOptionPane.showMessageDialog(this, "❌ Lỗi khi gửi đơn!"));
         }
     }
     
@@ -364,20 +470,22 @@ public class OrdersPanel extends JPanel {
     }
     
     private void filterOrders() {
-        int selectedIndex = filterCombo.getSelectedIndex();
-        
-        if (selectedIndex == 0) {
-            displayOrders(orders);
-        } else {
-            int status = selectedIndex - 1;
-            List<Order> filtered = orders.stream()
-                .filter(o -> o.getStatus() == status)
-                .toList();
-            displayOrders(filtered);
-        }
+        // Lọc trên DB: trang đã tải có thể không chứa đơn của status đang chọn
+        loadOrders();
     }
     
     public void refreshOrders() {
         loadOrders();
     }
+    
+    /**
+     * Có order đổi (event từ service): tải lại trang đầu, trừ khi đã "Xem thêm"
+     * (giữ nguyên chỗ đang xem, bấm làm mới để tải lại)
+     */
+    public void onOrdersChanged() {
+        boolean browsingMore = orders != null && lastPage != null && orders.size() > lastPage.size();
+        if (!browsingMore) {
+            loadOrders();
+        }
+    }
 }
\ No newline at end of file
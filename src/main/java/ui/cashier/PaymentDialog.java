@@ -1,12 +1,12 @@
 package ui.cashier;
 
-import dao.OrderDAO;
-import dao.PaymentDAO;
 import entity.Order;
 import entity.Payment;
 import ui.components.RoundedButton;
 import config.AppConfig;
 import config.UIConstants;
+import service.PaymentService;
+import util.UiLoader;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -30,21 +30,20 @@ public class PaymentDialog extends JDialog {
     private static final Color GREEN = new Color(76, 175, 80);
     
     private Order order;
-    private OrderDAO orderDAO;
-    private PaymentDAO paymentDAO;
+    private PaymentService paymentService;
     
     private JComboBox<String> methodCombo;
     private JTextField amountField;
     private JLabel changeLabel;
     private boolean paid = false;
+    private RoundedButton confirmBtn;
     
     // ============ CONSTRUCTOR ============
     
     public PaymentDialog(Frame parent, Order order) {
         super(parent, "Thanh toán - Đơn #" + order.getOrderId(), true);
         this.order = order;
-        this.orderDAO = new OrderDAO();
-        this.paymentDAO = new PaymentDAO();
+        this.paymentService = PaymentService.getInstance();
         
         initComponents();
         setSize(450, 400);
@@ -145,7 +144,7 @@ public class PaymentDialog extends JDialog {
         cancelBtn.setPreferredSize(new Dimension(100, 45));
         cancelBtn.addActionListener(e -> dispose());
         
-        RoundedButton confirmBtn = new RoundedButton("✓ Xác nhận", 8);
+        confirmBtn = new RoundedButton("✓ Xác nhận", 8);
         confirmBtn.setBackground(GREEN);
         confirmBtn.setPreferredSize(new Dimension(130, 45));
         confirmBtn.addActionListener(e -> confirmPayment());
@@ -231,26 +230,41 @@ public class PaymentDialog extends JDialog {
         Payment payment = new Payment(order.getOrderId(), order.getTotalAmount(), method);
         payment.setStatus(1); // Success
         
-        if (paymentDAO.create(payment)) {
-            // Update order payment status
-            if (orderDAO.updatePaymentStatus(order.getOrderId(), 1)) {
-                paid = true;
-                
-                JOptionPane.showMessageDialog(this,
-                    "✅ Thanh toán thành công!\n\n" +
-                    "Đơn: #" + order.getOrderId() + "\n" +
-                    "Tổng: " + AppConfig.formatCurrency(order.getTotalAmount()) + "\n" +
-                    "Phương thức: " + AppConfig.getPaymentMethodName(method),
-                    "Thành công",
-                    JOptionPane.INFORMATION_MESSAGE);
-                
-                dispose();
-            } else {
-                JOptionPane.showMessageDialog(this, "❌ Lỗi cập nhật trạng thái đơn hàng!");
+        // Ghi DB trên thread nền; khóa nút để không bấm xác nhận hai lần
+        confirmBtn.setEnabled(false);
+        UiLoader.submit("payment", () -> savePayment(payment), error -> {
+            confirmBtn.setEnabled(true);
+            if (error != null) {
+                JOptionPane.showMessageDialog(this, error);
+                return;
             }
-        } else {
+            paid = true;
+            
+            JOptionPane.showMessageDialog(this,
+                "✅ Thanh toán thành công!\n\n" +
+                "Đơn: #" + order.getOrderId() + "\n" +
+                "Tổng: " + AppConfig.formatCurrency(order.getTotalAmount()) + "\n" +
+                "Phương thức: " + AppConfig.getPaymentMethodName(method),
+                "Thành công",
+                JOptionPane.INFORMATION_MESSAGE);
+            
+            dispose();
+        }, e -> {
+            confirmBtn.setEnabled(true);
             JOptionPane.showMessageDialog(this, "❌ Lỗi tạo thanh toán!");
+        });
+    }
+    
+    /**
+     * Chạy trên thread nền
+     * @return null nếu thành công, ngược lại là thông báo lỗi
+     */
+    private String savePayment(Payment payment) {
+        // Payment record + payment status của order trong một transaction
+        if (!paymentService.processPayment(payment)) {
+            return "❌ Lỗi tạo thanh toán!";
         }
+        return null;
     }
     
     // ============ GETTER ============
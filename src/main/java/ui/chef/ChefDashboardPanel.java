@@ -3,8 +3,11 @@ package ui.chef;
 import entity.Employee;
 import entity.Order;
 import dao.OrderDAO;
+import dao.OrderItemDAO;
 import config.AppConfig;
+import service.OrderStateMachine;
 import util.ColorScheme;
+import util.UiLoader;
 
 import javax.swing.*;
 import java.awt.*;
@@ -22,10 +25,19 @@ public class ChefDashboardPanel extends JPanel {
     private PendingOrdersPanel pendingOrdersPanel;
     private CookingOrdersPanel cookingOrdersPanel;
     private OrderDAO orderDAO;
+    private OrderItemDAO orderItemDAO;
+    private UiLoader<Board> boardLoader;
+    
+    /**
+     * Dữ liệu của hai cột, load cùng nhau trên thread nền
+     */
+    private record Board(List<Order> pending, List<Order> cooking) {}
 
     public ChefDashboardPanel(Employee chef) {
         this.chef = chef;
         this.orderDAO = new OrderDAO();
+        this.orderItemDAO = new OrderItemDAO();
+        this.boardLoader = new UiLoader<>("chef orders", this::showBoard, this::showLoadError);
         
         setLayout(new GridLayout(1, 2, 20, 0));
         setBackground(ColorScheme.BG_SECONDARY);
@@ -52,14 +64,16 @@ public class ChefDashboardPanel extends JPanel {
      * Move order from pending to cooking
      */
     public void startCooking(Order order) {
-        try {
-            // Update status to COOKING (3)
-            boolean success = orderDAO.updateStatus(order.getOrderId(), AppConfig.ORDER_STATUS_COOKING);
-            
+        // Update status to COOKING (3) - compare-and-set, chef khác nhận trước thì thất bại
+        UiLoader.submit("start cooking", () -> {
+            boolean success = OrderStateMachine.getInstance()
+                .transition(order.getOrderId(), order.getStatus(), AppConfig.ORDER_STATUS_COOKING);
             if (success) {
-                // Assign chef - FIXED: Now method exists in OrderDAO
                 orderDAO.assignChef(order.getOrderId(), chef.getEmployeeId());
-                
+            }
+            return success;
+        }, success -> {
+            if (success) {
                 refreshOrders();
                 
                 JOptionPane.showMessageDialog(
@@ -69,32 +83,18 @@ public class ChefDashboardPanel extends JPanel {
                     JOptionPane.INFORMATION_MESSAGE
                 );
             } else {
-                JOptionPane.showMessageDialog(
-                    this,
-                    "Không thể cập nhật trạng thái đơn hàng!",
-                    "Lỗi",
-                    JOptionPane.ERROR_MESSAGE
-                );
+                showUpdateFailed();
             }
-        } catch (Exception e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(
-                this,
-                "Lỗi: " + e.getMessage(),
-                "Lỗi",
-                JOptionPane.ERROR_MESSAGE
-            );
-        }
+        }, this::showActionError);
     }
     
     /**
      * Complete cooking and mark order as READY
      */
     public void completeOrder(Order order) {
-        try {
-            // Update status to READY (4)
-            boolean success = orderDAO.updateStatus(order.getOrderId(), AppConfig.ORDER_STATUS_READY);
-            
+        // Update status to READY (4) - compare-and-set
+        UiLoader.submit("complete order", () -> OrderStateMachine.getInstance()
+            .transition(order.getOrderId(), order.getStatus(), AppConfig.ORDER_STATUS_READY), success -> {
             if (success) {
                 refreshOrders();
                 
@@ -105,22 +105,27 @@ public class ChefDashboardPanel extends JPanel {
                     JOptionPane.INFORMATION_MESSAGE
                 );
             } else {
-                JOptionPane.showMessageDialog(
-                    this,
-                    "Không thể cập nhật trạng thái đơn hàng!",
-                    "Lỗi",
-                    JOptionPane.ERROR_MESSAGE
-                );
+                showUpdateFailed();
             }
-        } catch (Exception e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(
-                this,
-                "Lỗi: " + e.getMessage(),
-                "Lỗi",
-                JOptionPane.ERROR_MESSAGE
-            );
-        }
+        }, this::showActionError);
+    }
+    
+    private void showUpdateFailed() {
+        JOptionPane.showMessageDialog(
+            this,
+            "Không thể cập nhật trạng thái đơn hàng!",
+            "Lỗi",
+            JOptionPane.ERROR_MESSAGE
+        );
+    }
+    
+    private void showActionError(Exception e) {
+        JOptionPane.showMessageDialog(
+            this,
+            "Lỗi: " + e.getMessage(),
+            "Lỗi",
+            JOptionPane.ERROR_MESSAGE
+        );
     }
 
     /**
@@ -138,36 +143,47 @@ public class ChefDashboardPanel extends JPanel {
     }
     
     private void loadOrders() {
-        try {
-            // Load pending orders (NEW + CONFIRMED)
-            List<Order> allPending = new ArrayList<>();
-            List<Order> newOrders = orderDAO.getByStatus(AppConfig.ORDER_STATUS_NEW);
-            List<Order> confirmedOrders = orderDAO.getByStatus(AppConfig.ORDER_STATUS_CONFIRMED);
-            
-            if (newOrders != null) allPending.addAll(newOrders);
-            if (confirmedOrders != null) allPending.addAll(confirmedOrders);
-            
-            pendingOrdersPanel.loadOrders(allPending);
-            
-            // Load cooking orders (PREPARING + COOKING)
-            List<Order> allCooking = new ArrayList<>();
-            List<Order> preparingOrders = orderDAO.getByStatus(AppConfig.ORDER_STATUS_PREPARING);
-            List<Order> cookingOrders = orderDAO.getByStatus(AppConfig.ORDER_STATUS_COOKING);
-            
-            if (preparingOrders != null) allCooking.addAll(preparingOrders);
-            if (cookingOrders != null) allCooking.addAll(cookingOrders);
-            
-            cookingOrdersPanel.loadOrders(allCooking);
-            
-        } catch (Exception e) {
-            System.err.println("Error loading orders: " + e.getMessage());
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(
-                this,
-                "Lỗi tải đơn hàng từ database!",
-                "Lỗi",
-                JOptionPane.ERROR_MESSAGE
-            );
-        }
+        boardLoader.load(this::fetchBoard);
+    }
+    
+    /**
+     * Chạy trên thread nền: query hai cột và items của tất cả orders
+     */
+    private Board fetchBoard() {
+        // Load pending orders (NEW + CONFIRMED)
+        List<Order> allPending = new ArrayList<>();
+        List<Order> newOrders = orderDAO.getByStatus(AppConfig.ORDER_STATUS_NEW);
+        List<Order> confirmedOrders = orderDAO.getByStatus(AppConfig.ORDER_STATUS_CONFIRMED);
+        
+        if (newOrders != null) allPending.addAll(newOrders);
+        if (confirmedOrders != null) allPending.addAll(confirmedOrders);
+        
+        // Load cooking orders (PREPARING + COOKING)
+        List<Order> allCooking = new ArrayList<>();
+        List<Order> preparingOrders = orderDAO.getByStatus(AppConfig.ORDER_STATUS_PREPARING);
+        List<Order> cookingOrders = orderDAO.getByStatus(AppConfig.ORDER_STATUS_COOKING);
+        
+        if (preparingOrders != null) allCooking.addAll(preparingOrders);
+        if (cookingOrders != null) allCooking.addAll(cookingOrders);
+        
+        // Items của cả hai cột trong một query
+        List<Order> all = new ArrayList<>(allPending);
+        all.addAll(allCooking);
+        orderItemDAO.attachItems(all);
+        
+        return new Board(allPending, allCooking);
+    }
+    
+    private void showBoard(Board board) {
+        pendingOrdersPanel.loadOrders(board.pending());
+        cookingOrdersPanel.loadOrders(board.cooking());
+    }
+    
+    /**
+     * Timer gọi mỗi 10 giây nên không mở dialog: giữ dữ liệu cũ, báo lỗi trên header hai cột
+     */
+    private void showLoadError(Exception e) {
+        pendingOrdersPanel.showLoadError();
+        cookingOrdersPanel.showLoadError();
     }
-}
\ No newline at end of file
+}
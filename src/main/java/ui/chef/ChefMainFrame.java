@@ -1,14 +1,23 @@
 package ui.chef;
 
 import entity.Employee;
+import service.OrderEventTailer;
+import service.OrderStatusCounter;
+import service.ShiftJournal;
+import config.AppConfig;
 import ui.components.RoundedButton;
 import util.ColorScheme;
+import util.EdtMonitor;
+import util.OrderUpdateCoalescer;
+import util.OrderUpdateCoalescer.Change;
+import util.UiLoader;
 import config.UIConstants;
 
 import javax.swing.*;
 import java.awt.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 
 /**
  * ChefMainFrame - Main window for Chef
@@ -19,11 +28,18 @@ public class ChefMainFrame extends JFrame {
     private ChefDashboardPanel dashboardPanel;
     private JLabel timeLabel;
     private JLabel chefNameLabel;
+    private JLabel statsLabel;
     private Timer clockTimer;
     private Timer refreshTimer;
+    private UiLoader<int[]> statsLoader;
+    private OrderUpdateCoalescer orderEvents;
 
     public ChefMainFrame(Employee chef) {
+        EdtMonitor.install(); // Chỉ bật khi có -Dfoodorder.edt.monitor=true
+        ShiftJournal.getInstance().start(); // Khởi động lại giữa ca: số liệu từ journal, không chờ DB
         this.chef = chef;
+        this.statsLoader = new UiLoader<>("chef stats", this::showStats);
+        this.orderEvents = new OrderUpdateCoalescer("chef", AppConfig.UI_EVENT_COALESCE_MS, this::onOrderChanges);
         
         setTitle("Chef Dashboard - " + chef.getName());
         setSize(1200, 800);
@@ -32,6 +48,8 @@ public class ChefMainFrame extends JFrame {
         
         initComponents();
         startTimers();
+        orderEvents.subscribe();
+        OrderEventTailer.getInstance().start(); // Thay đổi từ máy khác
     }
 
     private void initComponents() {
@@ -101,9 +119,15 @@ public class ChefMainFrame extends JFrame {
         timeLabel.setForeground(new Color(255, 255, 255, 200));
         timeLabel.setAlignmentX(Component.RIGHT_ALIGNMENT);
         
+        statsLabel = new JLabel();
+        statsLabel.setFont(new Font(UIConstants.FONT_FAMILY, Font.PLAIN, 13));
+        statsLabel.setForeground(new Color(255, 255, 255, 200));
+        statsLabel.setAlignmentX(Component.RIGHT_ALIGNMENT);
+        
         chefInfoPanel.add(chefNameLabel);
         chefInfoPanel.add(Box.createVerticalStrut(3));
         chefInfoPanel.add(timeLabel);
+        chefInfoPanel.add(statsLabel);
         
         // Refresh button
         RoundedButton refreshBtn = new RoundedButton("🔄 Refresh", 8);
@@ -134,9 +158,46 @@ public class ChefMainFrame extends JFrame {
         clockTimer.start();
         updateTime();
         
-        // Auto refresh timer - refresh orders every 10 seconds
-        refreshTimer = new Timer(10000, e -> dashboardPanel.autoRefresh());
+        // Đơn mới / đổi trạng thái đến qua OrderUpdateListener (kể cả từ máy khác qua OrderEventTailer);
+        // timer chỉ resync chậm phòng khi lỡ event
+        refreshTimer = new Timer(AppConfig.UI_RESYNC_SECONDS * 1000, e -> {
+            dashboardPanel.autoRefresh();
+            updateStats();
+        });
         refreshTimer.start();
+        updateStats();
+    }
+    
+    // ============ ORDER EVENTS ============
+    
+    /**
+     * Một batch mỗi UI_EVENT_COALESCE_MS: giờ cao điểm nhiều đơn đổi trạng thái
+     * vẫn chỉ load lại dashboard một lần
+     */
+    private void onOrderChanges(Collection<Change> changes) {
+        // Dashboard chỉ có các cột tới COOKING; READY -> COMPLETED chỉ đổi số thống kê.
+        // Sửa món / tổng tiền (onOrderUpdated) của đơn đang hiển thị cũng phải vẽ lại card
+        boolean dashboardChanged = changes.stream()
+            .anyMatch(c -> (c.statusChanged() || c.updated()) && c.touches(s -> s <= AppConfig.ORDER_STATUS_COOKING));
+        if (dashboardChanged) {
+            dashboardPanel.autoRefresh();
+        }
+        if (changes.stream().anyMatch(Change::statusChanged)) {
+            updateStats();
+        }
+    }
+    
+    private void updateStats() {
+        // Snapshot của counter có thể phải resync từ DB, nên đọc trên thread nền
+        statsLoader.load(() -> OrderStatusCounter.getInstance().snapshot());
+    }
+    
+    private void showStats(int[] counts) {
+        // Cùng cách chia cột như dashboard: chờ = NEW + CONFIRMED, đang nấu = PREPARING + COOKING
+        int waiting = counts[AppConfig.ORDER_STATUS_NEW] + counts[AppConfig.ORDER_STATUS_CONFIRMED];
+        int cooking = counts[AppConfig.ORDER_STATUS_PREPARING] + counts[AppConfig.ORDER_STATUS_COOKING];
+        int ready = counts[AppConfig.ORDER_STATUS_READY];
+        statsLabel.setText("⏳ " + waiting + "  🔥 " + cooking + "  ✅ " + ready);
     }
 
     private void updateTime() {
@@ -147,6 +208,8 @@ public class ChefMainFrame extends JFrame {
 
     private void refreshDashboard() {
         dashboardPanel.refreshOrders();
+        OrderStatusCounter.getInstance().invalidate();
+        updateStats();
         showNotification("✅ Đã làm mới dữ liệu!");
     }
 
@@ -160,8 +223,6 @@ public class ChefMainFrame extends JFrame {
         );
         
         if (confirm == JOptionPane.YES_OPTION) {
-            clockTimer.stop();
-            refreshTimer.stop();
             dispose();
             
             // Navigate to login screen (implement later)
@@ -170,6 +231,14 @@ public class ChefMainFrame extends JFrame {
         }
     }
     
+    @Override
+    public void dispose() {
+        clockTimer.stop();
+        refreshTimer.stop();
+        orderEvents.unsubscribe();
+        super.dispose();
+    }
+    
     private void showNotification(String message) {
         JOptionPane.showMessageDialog(
             this,
@@ -3,7 +3,7 @@ package ui.chef;
 import entity.Employee;
 import entity.Order;
 import entity.OrderItem;
-import dao.OrderItemDAO;
+import ui.components.OrderBoard;
 import ui.components.RoundedPanel;
 import ui.components.RoundedButton;
 import ui.components.StatusBadge;
@@ -30,12 +30,11 @@ public class CookingOrdersPanel extends JPanel {
     private ChefDashboardPanel parentDashboard;
     private Employee chef;
     private JLabel countLabel;
-    private OrderItemDAO orderItemDAO;
+    private OrderBoard board;
 
     public CookingOrdersPanel(ChefDashboardPanel parentDashboard, Employee chef) {
         this.parentDashboard = parentDashboard;
         this.chef = chef;
-        this.orderItemDAO = new OrderItemDAO();
         
         setLayout(new BorderLayout());
         setBackground(ColorScheme.BG_SECONDARY);
@@ -75,32 +74,27 @@ public class CookingOrdersPanel extends JPanel {
 
         add(headerPanel, BorderLayout.NORTH);
         add(scrollPane, BorderLayout.CENTER);
+        
+        // Card chỉ vẽ lại khi order mới / đổi status; refresh không đổi gì thì giữ nguyên
+        board = new OrderBoard(ordersContainer, this::createOrderCardSafely, OrderBoard::cardSignature,
+                               () -> Box.createVerticalStrut(15), this::createEmptyState);
     }
 
+    /**
+     * Hiển thị orders (items đã được ChefDashboardPanel load sẵn trên thread nền)
+     */
     public void loadOrders(List<Order> orders) {
-        ordersContainer.removeAll();
-        
-        if (orders == null || orders.isEmpty()) {
-            showEmptyState();
-        } else {
-            for (Order order : orders) {
-                try {
-                    // Load items from database
-                    List<OrderItem> items = orderItemDAO.getByOrderId(order.getOrderId());
-                    order.setItems(items);
-                    
-                    RoundedPanel orderCard = createOrderCard(order);
-                    ordersContainer.add(orderCard);
-                    ordersContainer.add(Box.createVerticalStrut(15));
-                } catch (Exception e) {
-                    System.err.println("Error loading order #" + order.getOrderId() + ": " + e.getMessage());
-                }
-            }
-        }
-        
+        board.update(orders);
         updateCount(orders != null ? orders.size() : 0);
-        ordersContainer.revalidate();
-        ordersContainer.repaint();
+    }
+
+    private Component createOrderCardSafely(Order order) {
+        try {
+            return createOrderCard(order);
+        } catch (Exception e) {
+            System.err.println("Error loading order #" + order.getOrderId() + ": " + e.getMessage());
+            return Box.createRigidArea(new Dimension(0, 0));
+        }
     }
 
     private RoundedPanel createOrderCard(Order order) {
@@ -233,22 +227,33 @@ public class CookingOrdersPanel extends JPanel {
         return card;
     }
 
-    private void showEmptyState() {
+    private Component createEmptyState() {
         JLabel emptyLabel = new JLabel("<html><center>🍳<br><br>Không có đơn đang nấu<br>" +
             "<small>Bắt đầu nấu từ đơn chờ</small></center></html>");
         emptyLabel.setFont(UIConstants.FONT_BODY);
         emptyLabel.setForeground(ColorScheme.TEXT_SECONDARY);
         emptyLabel.setHorizontalAlignment(SwingConstants.CENTER);
         
-        ordersContainer.add(Box.createVerticalGlue());
-        ordersContainer.add(emptyLabel);
-        ordersContainer.add(Box.createVerticalGlue());
+        // Panel giãn hết chiều cao viewport nên label nằm giữa
+        JPanel emptyPanel = new JPanel(new BorderLayout());
+        emptyPanel.setOpaque(false);
+        emptyPanel.add(emptyLabel, BorderLayout.CENTER);
+        return emptyPanel;
     }
     
     private void updateCount(int count) {
+        countLabel.setForeground(ColorScheme.TEXT_SECONDARY);
         countLabel.setText(count + " đơn hàng đang nấu");
     }
     
+    /**
+     * Báo lỗi tải trên header, giữ nguyên danh sách đang hiển thị
+     */
+    public void showLoadError() {
+        countLabel.setForeground(ColorScheme.DANGER);
+        countLabel.setText("⚠️ Lỗi tải đơn hàng từ database");
+    }
+    
     /**
      * Show order details dialog
      */
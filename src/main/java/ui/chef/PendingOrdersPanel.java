@@ -3,7 +3,7 @@ package ui.chef;
 import entity.Employee;
 import entity.Order;
 import entity.OrderItem;
-import dao.OrderItemDAO;
+import ui.components.OrderBoard;
 import ui.components.RoundedPanel;
 import ui.components.RoundedButton;
 import util.ColorScheme;
@@ -26,12 +26,11 @@ public class PendingOrdersPanel extends JPanel {
     private ChefDashboardPanel parentDashboard;
     private Employee chef;
     private JLabel countLabel;
-    private OrderItemDAO orderItemDAO;
+    private OrderBoard board;
 
     public PendingOrdersPanel(ChefDashboardPanel parentDashboard, Employee chef) {
         this.parentDashboard = parentDashboard;
         this.chef = chef;
-        this.orderItemDAO = new OrderItemDAO();
         
         setLayout(new BorderLayout());
         setBackground(ColorScheme.BG_SECONDARY);
@@ -71,28 +70,18 @@ public class PendingOrdersPanel extends JPanel {
 
         add(headerPanel, BorderLayout.NORTH);
         add(scrollPane, BorderLayout.CENTER);
+        
+        // Card chỉ vẽ lại khi order mới / đổi status; refresh không đổi gì thì giữ nguyên
+        board = new OrderBoard(ordersContainer, this::createOrderCard, OrderBoard::cardSignature,
+                               () -> Box.createVerticalStrut(15), this::createEmptyState);
     }
 
+    /**
+     * Hiển thị orders (items đã được ChefDashboardPanel load sẵn trên thread nền)
+     */
     public void loadOrders(List<Order> orders) {
-        ordersContainer.removeAll();
-        
-        if (orders == null || orders.isEmpty()) {
-            showEmptyState();
-        } else {
-            for (Order order : orders) {
-                // Load order items from database
-                List<OrderItem> items = orderItemDAO.getByOrderId(order.getOrderId());
-                order.setItems(items);
-                
-                RoundedPanel orderCard = createOrderCard(order);
-                ordersContainer.add(orderCard);
-                ordersContainer.add(Box.createVerticalStrut(15));
-            }
-        }
-        
+        board.update(orders);
         updateCount(orders != null ? orders.size() : 0);
-        ordersContainer.revalidate();
-        ordersContainer.repaint();
     }
 
     private RoundedPanel createOrderCard(Order order) {
@@ -175,19 +164,30 @@ public class PendingOrdersPanel extends JPanel {
         return card;
     }
 
-    private void showEmptyState() {
+    private Component createEmptyState() {
         JLabel emptyLabel = new JLabel("<html><center>📋<br><br>Không có đơn hàng chờ<br>" +
             "<small>Các đơn mới sẽ hiển thị ở đây</small></center></html>");
         emptyLabel.setFont(UIConstants.FONT_BODY);
         emptyLabel.setForeground(ColorScheme.TEXT_SECONDARY);
         emptyLabel.setHorizontalAlignment(SwingConstants.CENTER);
         
-        ordersContainer.add(Box.createVerticalGlue());
-        ordersContainer.add(emptyLabel);
-        ordersContainer.add(Box.createVerticalGlue());
+        // Panel giãn hết chiều cao viewport nên label nằm giữa
+        JPanel emptyPanel = new JPanel(new BorderLayout());
+        emptyPanel.setOpaque(false);
+        emptyPanel.add(emptyLabel, BorderLayout.CENTER);
+        return emptyPanel;
     }
     
     private void updateCount(int count) {
+        countLabel.setForeground(ColorScheme.TEXT_SECONDARY);
         countLabel.setText(count + " đơn hàng đang chờ");
     }
+    
+    /**
+     * Báo lỗi tải trên header, giữ nguyên danh sách đang hiển thị
+     */
+    public void showLoadError() {
+        countLabel.setForeground(ColorScheme.DANGER);
+        countLabel.setText("⚠️ Lỗi tải đơn hàng từ database");
+    }
 }
\ No newline at end of file
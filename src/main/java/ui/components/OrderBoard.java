@@ -0,0 +1,165 @@
+package ui.components;
+
+import entity.Order;
+import entity.OrderItem;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * OrderBoard - Hiển thị danh sách order card trong một container, cập nhật theo diff
+ * Path: Source Packages/ui/components/OrderBoard.java
+ *
+ * Thay cho removeAll() + tạo lại mọi card mỗi lần refresh:
+ * - Card được giữ theo order id cùng với "signature" (status, tổng tiền, món... xem cardSignature) lúc tạo
+ * - update() chỉ tạo card cho order mới hoặc có signature đổi, bỏ card của order đã đi,
+ *   và di chuyển card khi thứ tự đổi; card không đổi được dùng lại nguyên vẹn
+ * - Không có gì thay đổi thì không đụng tới container (không revalidate / repaint)
+ *
+ * Chỉ dùng trên EDT. Container phải chỉ do OrderBoard quản lý
+ * (gọi reset() nếu có code khác removeAll() container).
+ *
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class OrderBoard {
+
+    private final Container container;
+    private final Function<Order, Component> cardFactory;
+    private final Function<Order, Object> signature;
+    private final Supplier<Component> gapFactory;
+    private final Supplier<Component> emptyFactory;
+
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private Component emptyView;
+
+    private record Entry(Object signature, Component card, Component gap) {}
+
+    // ============ CONSTRUCTOR ============
+
+    /**
+     * @param container    Container chứa card (BoxLayout, GridLayout, ...)
+     * @param cardFactory  Tạo card cho một order
+     * @param signature    Giá trị quyết định card có phải vẽ lại không (thường OrderBoard::cardSignature)
+     * @param gapFactory   Tạo khoảng cách sau mỗi card (null = không có)
+     * @param emptyFactory Tạo view khi danh sách rỗng (null = để trống)
+     */
+    public OrderBoard(Container container, Function<Order, Component> cardFactory,
+                      Function<Order, Object> signature, Supplier<Component> gapFactory,
+                      Supplier<Component> emptyFactory) {
+        this.container = container;
+        this.cardFactory = cardFactory;
+        this.signature = signature;
+        this.gapFactory = gapFactory;
+        this.emptyFactory = emptyFactory;
+    }
+
+    // ============ UPDATE ============
+
+    /**
+     * Đưa container về đúng danh sách orders (theo thứ tự)
+     * @return true nếu container có thay đổi
+     */
+    public boolean update(List<Order> orders) {
+        List<Component> desired = new ArrayList<>();
+        Map<Integer, Entry> next = new HashMap<>();
+
+        if (orders == null || orders.isEmpty()) {
+            if (emptyFactory != null) {
+                if (emptyView == null) {
+                    emptyView = emptyFactory.get();
+                }
+                desired.add(emptyView);
+            }
+        } else {
+            for (Order order : orders) {
+                Object sig = signature.apply(order);
+                Entry entry = entries.get(order.getOrderId());
+                if (entry == null || !Objects.equals(entry.signature(), sig)) {
+                    Component gap = entry != null ? entry.gap() : (gapFactory != null ? gapFactory.get() : null);
+                    entry = new Entry(sig, cardFactory.apply(order), gap);
+                }
+                next.put(order.getOrderId(), entry);
+                desired.add(entry.card());
+                if (entry.gap() != null) {
+                    desired.add(entry.gap());
+                }
+            }
+        }
+
+        entries.clear();
+        entries.putAll(next);
+        return apply(desired);
+    }
+
+    /**
+     * Quên mọi card đang giữ (sau khi code khác đã removeAll() container)
+     */
+    public void reset() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+    
+    /**
+     * Signature cho card order: trạng thái, tên khách, tổng tiền và các món (số lượng × sản phẩm)
+     * Card hiển thị món + tên khách + tổng tiền nên sửa đơn (event UPDATED, status không đổi) cũng phải vẽ lại.
+     * 
+     * @param extra Giá trị khác mà card hiển thị (vd. payment status)
+     */
+    public static Object cardSignature(Order order, Object... extra) {
+        List<Object> sig = new ArrayList<>();
+        sig.add(order.getStatus());
+        sig.add(order.getCustomerName());
+        sig.add(order.getTotalAmount());
+        if (order.getItems() != null) {
+            for (OrderItem item : order.getItems()) {
+                sig.add(item.getQuantity() + "x" + item.getProductId());
+            }
+        }
+        sig.add(List.of(extra));
+        return sig;
+    }
+
+    // ============ HELPERS ============
+
+    /**
+     * Sắp container theo desired với ít thao tác nhất: giữ nguyên component đã đúng chỗ,
+     * add lại (tức là di chuyển) component lệch chỗ, xóa phần thừa ở cuối
+     */
+    private boolean apply(List<Component> desired) {
+        boolean changed = false;
+
+        for (int i = 0; i < desired.size(); i++) {
+            Component wanted = desired.get(i);
+            if (i < container.getComponentCount() && container.getComponent(i) == wanted) {
+                continue;
+            }
+            if (wanted.getParent() == container) {
+                container.remove(wanted);
+            }
+            container.add(wanted, i);
+            changed = true;
+        }
+
+        while (container.getComponentCount() > desired.size()) {
+            container.remove(container.getComponentCount() - 1);
+            changed = true;
+        }
+
+        if (changed) {
+            container.revalidate();
+            container.repaint();
+        }
+        return changed;
+    }
+}
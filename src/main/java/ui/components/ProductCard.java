@@ -6,9 +6,7 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.text.NumberFormat;
 import java.util.Locale;
-import java.awt.image.BufferedImage;
-import java.net.URL;
-import javax.imageio.ImageIO;
+import util.ImageLoader;
 
 
 /**
@@ -156,58 +154,17 @@ public class ProductCard extends RoundedPanel {
             return;
         }
         
-        SwingWorker<ImageIcon, Void> worker = new SwingWorker<>() {
-            @Override
-            protected ImageIcon doInBackground() throws Exception {
-                try {
-                    String resourcePath = imagePath;
-                    if (!resourcePath.startsWith("/")) {
-                        resourcePath = "/" + resourcePath;
-                    }
-
-                    URL resourceUrl = getClass().getResource(resourcePath);
-                    
-                    if (resourceUrl == null) {
-                        System.err.println("✗ Không tìm thấy ảnh: " + resourcePath);
-                        return null;
-                    }
-
-                    BufferedImage image = ImageIO.read(resourceUrl);
-                    
-                    if (image != null) {
-                        Image scaledImage = image.getScaledInstance(220, 160, Image.SCALE_SMOOTH);
-                        return new ImageIcon(scaledImage);
-                    } else {
-                        System.err.println("✗ Không đọc được ảnh: " + resourcePath);
-                        return null;
-                    }
-                } catch (Exception e) {
-                    System.err.println("✗ Lỗi khi tải ảnh " + imagePath + ": " + e.getMessage());
-                    return null;
-                }
-            }
-            
-            @Override
-            protected void done() {
-                try {
-                    ImageIcon icon = get();
-                    if (icon != null) {
-                        imgLabel.setIcon(icon);
-                        imgLabel.setText(null);
-                    } else {
-                        String emoji = getEmojiForCategory(product.getCategory());
-                        imgLabel.setText(emoji);
-                        imgLabel.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 64));
-                    }
-                } catch (Exception e) {
-                    System.err.println("Lỗi trong done(): " + e.getMessage());
-                    String emoji = getEmojiForCategory(product.getCategory());
-                    imgLabel.setText(emoji);
-                    imgLabel.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 64));
-                }
+        // Load qua ImageLoader: card đang nhìn thấy load trước, card bị gỡ (đổi category) thì hủy
+        ImageLoader.getInstance().bind(imgLabel, imagePath, 220, 160, image -> {
+            if (image != null) {
+                imgLabel.setIcon(new ImageIcon(image));
+                imgLabel.setText(null);
+            } else {
+                String emoji = getEmojiForCategory(product.getCategory());
+                imgLabel.setText(emoji);
+                imgLabel.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 64));
             }
-        };
-        worker.execute();
+        });
     }
     
     // ============ HELPER ============
@@ -1,7 +1,9 @@
 package ui.customer;
 
 import entity.Product;
-import dao.ProductDAO;
+import service.ProductCatalog;
+import util.ImageLoader;
+import util.UiLoader;
 import ui.components.ProductCard;
 import ui.components.RoundedButton;
 import ui.components.SearchField;
@@ -29,20 +31,21 @@ public class MenuPanel extends JPanel {
     private SearchField searchField;
     private List<Product> allProducts;
     private String selectedCategory = "All";
-    private ProductDAO productDAO;
+    private ProductCatalog productCatalog;
+    private UiLoader<List<Product>> productsLoader;
     
     public MenuPanel(CustomerMainFrame parentFrame) {
         this.parentFrame = parentFrame;
         this.allProducts = new ArrayList<>();
-        this.productDAO = new ProductDAO();
+        this.productCatalog = ProductCatalog.getInstance();
+        this.productsLoader = new UiLoader<>("menu products", this::showProducts, this::showLoadError);
         
         setLayout(new BorderLayout(0, 15));
         setBackground(ColorScheme.BG_SECONDARY);
         setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 10));
         
         initComponents();
-        loadProductsFromDatabase(); // Load từ DB
-        displayProducts(allProducts);
+        loadProductsFromDatabase(); // Load từ DB trên thread nền
     }
     
     private void initComponents() {
@@ -73,6 +76,7 @@ public class MenuPanel extends JPanel {
         JScrollPane scrollPane = new JScrollPane(productsContainer);
         scrollPane.setBorder(null);
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
+        ImageLoader.getInstance().watch(scrollPane.getViewport());
         scrollPane.setBackground(ColorScheme.BG_SECONDARY);
         
         add(topPanel, BorderLayout.NORTH);
@@ -109,20 +113,23 @@ public class MenuPanel extends JPanel {
      * Nếu DB trống, tạo sample data
      */
     private void loadProductsFromDatabase() {
-        try {
-            // Load tất cả products available từ DB
-            List<Product> dbProducts = productDAO.getAllAvailable();
-            if (dbProducts != null && !dbProducts.isEmpty()) {
-                allProducts = dbProducts;
-                System.out.println("✅ Loaded " + dbProducts.size() + " products from database");
-            } else {
-                System.out.println("⚠️ No products in database...");
-            }
-            
-        } catch (Exception e) {
-            System.err.println("❌ Error loading products from database: " + e.getMessage());
-            e.printStackTrace();
+        // Load tất cả products available từ DB
+        productsLoader.load(productCatalog::getAvailable);
+    }
+    
+    private void showProducts(List<Product> dbProducts) {
+        if (dbProducts != null && !dbProducts.isEmpty()) {
+            allProducts = dbProducts;
+            System.out.println("✅ Loaded " + dbProducts.size() + " products from database");
+        } else {
+            System.out.println("⚠️ No products in database...");
         }
+        displayProducts(allProducts);
+    }
+    
+    private void showLoadError(Exception e) {
+        e.printStackTrace();
+        displayProducts(allProducts);
     }
        
     private void displayProducts(List<Product> products) {
@@ -234,7 +241,9 @@ public class MenuPanel extends JPanel {
      * Refresh products from database
      */
     public void refreshProducts() {
-        loadProductsFromDatabase();
-        displayProducts(allProducts);
+        productsLoader.load(() -> {
+            productCatalog.reload();
+            return productCatalog.getAvailable();
+        });
     }
 }
@@ -2,7 +2,14 @@ package ui.display;
 
 import entity.Order;
 import entity.OrderItem;
+import service.OrderEventTailer;
 import service.OrderService;
+import config.AppConfig;
+import ui.components.OrderBoard;
+import util.EdtMonitor;
+import util.OrderUpdateCoalescer;
+import util.OrderUpdateCoalescer.Change;
+import util.UiLoader;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.KeyAdapter;
@@ -10,6 +17,7 @@ import java.awt.event.KeyEvent;
 import java.text.NumberFormat;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import javax.swing.border.EmptyBorder;
@@ -22,7 +30,8 @@ import javax.swing.border.EmptyBorder;
  * Features:
  * - Hiển thị đơn "Đang chế biến" (màu cam)
  * - Hiển thị đơn "Sẵn sàng nhận" (màu xanh)
- * - Auto refresh mỗi 5 giây
+ * - Cập nhật khi đơn vào / ra cột (OrderUpdateCoalescer: tối đa một lần vẽ lại mỗi
+ *   UI_EVENT_COALESCE_MS), resync định kỳ
  * - Press Shift+F6 để test
  * 
  * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
@@ -36,34 +45,48 @@ public class TiviFrame extends JFrame {
     private static final Color DARK_TEXT = new Color(33, 33, 33);
     private static final Color LIGHT_TEXT = new Color(117, 117, 117);
     
-    private static final int REFRESH_INTERVAL = 5000; // 5 seconds
+    private static final int CLOCK_INTERVAL = 1000;
     
     // ============ COMPONENTS ============
     private OrderService orderService;
-    private Timer refreshTimer;
+    private Timer clockTimer;
+    private Timer resyncTimer;
     private NumberFormat currencyFormat;
     
+    // Màn hình cho khách: lỗi DB chỉ log, giữ nguyên danh sách đang hiển thị
+    private UiLoader<Board> boardLoader;
+    private OrderUpdateCoalescer orderEvents;
+    
+    private record Board(List<Order> cooking, List<Order> ready) {}
+    
     // UI Components
     private JLabel lblTime;
     private JLabel lblCookingCount;
     private JLabel lblReadyCount;
     private JPanel pnlCooking;
     private JPanel pnlReady;
+    private OrderBoard cookingBoard;
+    private OrderBoard readyBoard;
     
     // ============ CONSTRUCTOR ============
     
     public TiviFrame() {
+        EdtMonitor.install(); // Chỉ bật khi có -Dfoodorder.edt.monitor=true
         initServices();
         initComponents();
         setupKeyboardShortcut();
-        startAutoRefresh();
+        startTimers();
         loadOrders();
+        orderEvents.subscribe();
+        OrderEventTailer.getInstance().start(); // Thay đổi từ máy khác
     }
     
     // ============ INITIALIZATION ============
     
     private void initServices() {
         orderService = OrderService.getInstance();
+        boardLoader = new UiLoader<>("display orders", this::showBoard);
+        orderEvents = new OrderUpdateCoalescer("display", AppConfig.UI_EVENT_COALESCE_MS, this::onOrderChanges);
         currencyFormat = NumberFormat.getInstance(new Locale("vi", "VN"));
     }
     
@@ -174,6 +197,9 @@ public class TiviFrame extends JFrame {
         pnlCooking = new JPanel();
         pnlCooking.setLayout(new BoxLayout(pnlCooking, BoxLayout.Y_AXIS));
         pnlCooking.setBackground(Color.WHITE);
+        // Cột này chỉ có status 3 nên card đã hiển thị không bao giờ phải vẽ lại
+        cookingBoard = new OrderBoard(pnlCooking, order -> createOrderCard(order, ORANGE),
+                                      OrderBoard::cardSignature, () -> Box.createVerticalStrut(10), null);
         
         JScrollPane scrollPane = new JScrollPane(pnlCooking);
         scrollPane.setBorder(null);
@@ -221,6 +247,8 @@ public class TiviFrame extends JFrame {
         pnlReady = new JPanel();
         pnlReady.setLayout(new BoxLayout(pnlReady, BoxLayout.Y_AXIS));
         pnlReady.setBackground(Color.WHITE);
+        readyBoard = new OrderBoard(pnlReady, order -> createOrderCard(order, GREEN),
+                                    OrderBoard::cardSignature, () -> Box.createVerticalStrut(10), null);
         
         JScrollPane scrollPane = new JScrollPane(pnlReady);
         scrollPane.setBorder(null);
@@ -283,7 +311,7 @@ public class TiviFrame extends JFrame {
         lblTime.setForeground(LIGHT_TEXT);
         
         // Items
-        List<OrderItem> items = orderService.getOrderItems(order.getOrderId());
+        List<OrderItem> items = order.getItems() != null ? order.getItems() : List.of();
         StringBuilder itemsText = new StringBuilder("<html>");
         for (int i = 0; i < Math.min(items.size(), 3); i++) {
             OrderItem item = items.get(i);
@@ -333,43 +361,44 @@ public class TiviFrame extends JFrame {
     // ============ DATA LOADING ============
     
     private void loadOrders() {
-        // Load Cooking Orders (status = 3)
-        List<Order> cookingOrders = orderService.getOrdersByStatus(3);
-        pnlCooking.removeAll();
-        
-        for (Order order : cookingOrders) {
-            pnlCooking.add(createOrderCard(order, ORANGE));
-            pnlCooking.add(Box.createVerticalStrut(10));
-        }
-        
-        lblCookingCount.setText(String.valueOf(cookingOrders.size()));
-        
-        // Load Ready Orders (status = 4)
-        List<Order> readyOrders = orderService.getOrdersByStatus(4);
-        pnlReady.removeAll();
-        
-        for (Order order : readyOrders) {
-            pnlReady.add(createOrderCard(order, GREEN));
-            pnlReady.add(Box.createVerticalStrut(10));
-        }
-        
-        lblReadyCount.setText(String.valueOf(readyOrders.size()));
+        // Cooking (status = 3) và Ready (status = 4), kèm items, query trên thread nền
+        boardLoader.load(() -> new Board(
+            orderService.getOrdersWithItemsByStatus(3),
+            orderService.getOrdersWithItemsByStatus(4)));
+    }
+    
+    private void showBoard(Board board) {
+        // Chỉ thêm / bỏ / di chuyển card thay đổi, màn hình không nháy khi không có gì mới
+        cookingBoard.update(board.cooking());
+        lblCookingCount.setText(String.valueOf(board.cooking().size()));
         
-        // Refresh UI
-        pnlCooking.revalidate();
-        pnlCooking.repaint();
-        pnlReady.revalidate();
-        pnlReady.repaint();
+        readyBoard.update(board.ready());
+        lblReadyCount.setText(String.valueOf(board.ready().size()));
     }
     
-    // ============ AUTO REFRESH ============
+    // ============ ORDER EVENTS ============
     
-    private void startAutoRefresh() {
-        refreshTimer = new Timer(REFRESH_INTERVAL, e -> {
+    private void onOrderChanges(Collection<Change> changes) {
+        // Chỉ hai cột COOKING / READY; đơn khác đổi trạng thái không cần query lại.
+        // Cả batch (nhiều đơn cùng lúc) chỉ load lại một lần
+        if (changes.stream().anyMatch(c -> c.touches(TiviFrame::isDisplayed))) {
             loadOrders();
-            updateTime();
-        });
-        refreshTimer.start();
+        }
+    }
+    
+    private static boolean isDisplayed(int status) {
+        return status == AppConfig.ORDER_STATUS_COOKING || status == AppConfig.ORDER_STATUS_READY;
+    }
+    
+    // ============ TIMERS ============
+    
+    private void startTimers() {
+        clockTimer = new Timer(CLOCK_INTERVAL, e -> updateTime());
+        clockTimer.start();
+        
+        // Dữ liệu cập nhật theo event (kể cả từ máy khác qua OrderEventTailer); timer chỉ resync chậm phòng khi lỡ event
+        resyncTimer = new Timer(AppConfig.UI_RESYNC_SECONDS * 1000, e -> loadOrders());
+        resyncTimer.start();
     }
     
     private void updateTime() {
@@ -410,9 +439,13 @@ public class TiviFrame extends JFrame {
     
     @Override
     public void dispose() {
-        if (refreshTimer != null) {
-            refreshTimer.stop();
+        if (clockTimer != null) {
+            clockTimer.stop();
+        }
+        if (resyncTimer != null) {
+            resyncTimer.stop();
         }
+        orderEvents.unsubscribe();
         super.dispose();
     }
     
@@ -434,7 +467,7 @@ public class TiviFrame extends JFrame {
             JOptionPane.showMessageDialog(
                 frame,
                 "🎯 FastFood Display Screen\n\n" +
-                "• Auto refresh mỗi 5 giây\n" +
+                "• Tự cập nhật khi đơn đổi trạng thái\n" +
                 "• Press Shift+F6 để refresh thủ công\n" +
                 "• Màu cam: Đang chế biến\n" +
                 "• Màu xanh: Sẵn sàng nhận\n\n" +
@@ -1,7 +1,8 @@
 package ui.manager;
 
-import service.OrderService;
-import service.ProductService;
+import entity.DashboardSnapshot;
+import service.ReportService;
+import util.UiLoader;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
@@ -15,16 +16,18 @@ public class DashboardPanel extends JPanel {
     private static final Color BLUE = new Color(33, 150, 243);
     private static final Color RED = new Color(244, 67, 54);
     
-    private OrderService orderService;
-    private ProductService productService;
+    private ReportService reportService;
     private NumberFormat currencyFormat;
+    private JPanel statsPanel;
+    private UiLoader<DashboardSnapshot> statsLoader;
     
     public DashboardPanel() {
-        orderService = OrderService.getInstance();
-        productService = ProductService.getInstance();
+        reportService = ReportService.getInstance();
         currencyFormat = NumberFormat.getInstance(new Locale("vi", "VN"));
+        statsLoader = new UiLoader<>("dashboard statistics", this::showStats, this::showLoadError);
         
         initComponents();
+        statsLoader.load(reportService::getDashboardStatistics);
     }
     
     private void initComponents() {
@@ -37,7 +40,9 @@ public class DashboardPanel extends JPanel {
         add(header, BorderLayout.NORTH);
         
         // Stats cards
-        JPanel statsPanel = createStatsPanel();
+        statsPanel = new JPanel(new GridLayout(2, 2, 20, 20));
+        statsPanel.setBackground(Color.WHITE);
+        fillStatsPanel("...", "...", "...");
         add(statsPanel, BorderLayout.CENTER);
     }
     
@@ -75,27 +80,36 @@ public class DashboardPanel extends JPanel {
         return panel;
     }
     
-    private JPanel createStatsPanel() {
-        JPanel panel = new JPanel(new GridLayout(2, 2, 20, 20));
-        panel.setBackground(Color.WHITE);
-        
-        // Calculate stats
-        double totalRevenue = orderService.getTotalRevenue();
-        int totalOrders = orderService.getTotalOrderCount();
+    private void showStats(DashboardSnapshot snapshot) {
+        // Calculate stats (một round trip, đã chạy trên thread nền)
+        double totalRevenue = snapshot.totalRevenue();
+        int totalOrders = snapshot.totalOrders();
         double avgOrderValue = totalOrders > 0 ? totalRevenue / totalOrders : 0;
-        int totalProducts = productService.getTotalProductCount();
+        
+        fillStatsPanel(currencyFormat.format(totalRevenue) + "đ",
+                       String.valueOf(totalOrders),
+                       currencyFormat.format(avgOrderValue) + "đ");
+    }
+    
+    private void showLoadError(Exception e) {
+        fillStatsPanel("⚠️ Lỗi", "⚠️ Lỗi", "⚠️ Lỗi");
+    }
+    
+    private void fillStatsPanel(String revenue, String orders, String avgOrderValue) {
+        statsPanel.removeAll();
         
         // Stats cards
-        panel.add(createStatCard("💰", "Total Revenue", 
-            currencyFormat.format(totalRevenue) + "đ", "+12.5%", GREEN));
-        panel.add(createStatCard("🛒", "Orders", 
-            String.valueOf(totalOrders), "+8.2%", BLUE));
-        panel.add(createStatCard("📊", "Avg Order Value", 
-            currencyFormat.format(avgOrderValue) + "đ", "+5.1%", ORANGE));
-        panel.add(createStatCard("⭐", "Top Item", 
+        statsPanel.add(createStatCard("💰", "Total Revenue", 
+            revenue, "+12.5%", GREEN));
+        statsPanel.add(createStatCard("🛒", "Orders", 
+            orders, "+8.2%", BLUE));
+        statsPanel.add(createStatCard("📊", "Avg Order Value", 
+            avgOrderValue, "+5.1%", ORANGE));
+        statsPanel.add(createStatCard("⭐", "Top Item", 
             "Big Mac Combo", "#1", RED));
         
-        return panel;
+        statsPanel.revalidate();
+        statsPanel.repaint();
     }
     
     private JPanel createStatCard(String icon, String label, String value, 
@@ -2,6 +2,7 @@ package ui.manager;
 
 import entity.Ingredient;
 import service.IngredientService;
+import util.UiLoader;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.table.DefaultTableModel;
@@ -20,9 +21,11 @@ public class IngredientPanel extends JPanel {
     private DefaultTableModel tableModel;
     private JTextField searchField;
     private JComboBox<String> statusFilter;
+    private UiLoader<List<Ingredient>> ingredientsLoader;
     
     public IngredientPanel() {
         ingredientService = IngredientService.getInstance();
+        ingredientsLoader = new UiLoader<>("ingredients", this::showIngredients, this::showLoadError);
         initComponents();
         loadData();
     }
@@ -152,8 +155,11 @@ public class IngredientPanel extends JPanel {
     }
     
     private void loadData() {
+        ingredientsLoader.load(ingredientService::getAllIngredients);
+    }
+    
+    private void showIngredients(List<Ingredient> ingredients) {
         tableModel.setRowCount(0);
-        List<Ingredient> ingredients = ingredientService.getAllIngredients();
         
         for (Ingredient ing : ingredients) {
             String status = getStatusLabel(ing.getStatus());
@@ -170,6 +176,11 @@ public class IngredientPanel extends JPanel {
         }
     }
     
+    private void showLoadError(Exception e) {
+        tableModel.setRowCount(0);
+        tableModel.addRow(new Object[]{"⚠️", "Không tải được danh sách nguyên liệu", "", "", "", "", "", ""});
+    }
+    
     private String getStatusLabel(String status) {
         return switch (status) {
             case "available" -> "OK";
@@ -7,13 +7,11 @@ import javax.swing.*;
 import javax.swing.border.Border;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.net.URL;
 import java.util.List;
 import java.util.Iterator;
 import java.util.stream.Collectors;
-import javax.imageio.ImageIO;
-import javax.swing.SwingWorker;
+import util.ImageLoader;
+import util.UiLoader;
 
 public class ProductPanel extends JPanel {
     
@@ -41,9 +39,11 @@ public class ProductPanel extends JPanel {
     private JPanel productsGrid;
     private JTextField searchField;
     private Timer cardLoadTimer; 
+    private UiLoader<List<Product>> productsLoader;
     
     public ProductPanel() {
         productService = ProductService.getInstance();
+        productsLoader = new UiLoader<>("products", this::showProducts, this::showLoadError);
         initComponents();
         loadProducts();
     }
@@ -63,6 +63,7 @@ public class ProductPanel extends JPanel {
         scrollPane.setBorder(null);
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
         scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+        ImageLoader.getInstance().watch(scrollPane.getViewport());
         
         add(scrollPane, BorderLayout.CENTER);
     }
@@ -109,9 +110,12 @@ public class ProductPanel extends JPanel {
      * Lọc các sản phẩm không có sẵn (available == 0).
      */
     private void loadProducts() {
+        productsLoader.load(productService::getAllProducts);
+    }
+    
+    private void showProducts(List<Product> allProducts) {
         productsGrid.removeAll();
-        // 1. Lấy tất cả sản phẩm và lọc chúng
-        List<Product> allProducts = productService.getAllProducts();
+        // 1. Lọc các sản phẩm đã lấy trên thread nền
         List<Product> availableProducts = allProducts.stream()
                 .filter(Product::isAvailable)
                 .collect(Collectors.toList());
@@ -150,6 +154,18 @@ public class ProductPanel extends JPanel {
         cardLoadTimer.start();
     }
     
+    private void showLoadError(Exception e) {
+        if (cardLoadTimer != null && cardLoadTimer.isRunning()) {
+            cardLoadTimer.stop();
+        }
+        productsGrid.removeAll();
+        JLabel errorLabel = new JLabel("⚠️ Không tải được danh sách sản phẩm");
+        errorLabel.setForeground(COLOR_TEXT_SECONDARY);
+        productsGrid.add(errorLabel);
+        productsGrid.revalidate();
+        productsGrid.repaint();
+    }
+    
     // --- Phương thức createProductCard() (Không thay đổi) ---
     // Phương thức này gọi `loadImageAsync` đã được viết lại
     private JPanel createProductCard(Product product) {
@@ -264,67 +280,17 @@ public class ProductPanel extends JPanel {
             return;
         }
         
-        SwingWorker<ImageIcon, Void> worker = new SwingWorker<>() {
-            @Override
-            protected ImageIcon doInBackground() throws Exception {
-                try {
-                    // 1. Định dạng đường dẫn để trở thành tuyệt đối từ root của classpath
-                    String resourcePath = imagePath;
-                    if (!resourcePath.startsWith("/")) {
-                        resourcePath = "/" + resourcePath;
-                    }
-
-                    // 2. Lấy URL của tài nguyên từ classpath
-                    URL resourceUrl = getClass().getResource(resourcePath);
-                    
-                    // 3. Kiểm tra xem tài nguyên có được tìm thấy không
-                    if (resourceUrl == null) {
-                        System.err.println("✗ Không tìm thấy tài nguyên: " + resourcePath);
-                        return null; // File bị thiếu từ resources/images
-                    }
-
-                    // 4. Đọc hình ảnh từ tài nguyên
-                    BufferedImage image = ImageIO.read(resourceUrl);
-                    
-                    if (image != null) {
-                        // 5. Thay đổi kích thước hình ảnh
-                        Image scaledImage = image.getScaledInstance(CARD_WIDTH, 180, Image.SCALE_SMOOTH);
-                        return new ImageIcon(scaledImage);
-                    } else {
-                        System.err.println("✗ ImageIO.read trả về null cho: " + resourcePath);
-                        return null;
-                    }
-                } catch (Exception e) {
-                    System.err.println("✗ Lỗi khi tải tài nguyên " + imagePath + ": " + e.getMessage());
-                    e.printStackTrace(); // Để debug chi tiết
-                    return null;
-                }
-            }
-            
-            @Override
-            protected void done() {
-                try {
-                    ImageIcon icon = get();
-                    if (icon != null) {
-                        imgLabel.setIcon(icon);
-                        imgLabel.setText(null);
-                        
-                        // Badge "Hết hàng" không còn cần thiết ở đây
-                        // vì chúng ta đã lọc sản phẩm trong loadProducts()
-                        
-                    } else {
-                        // Nếu tải thất bại (null), đặt placeholder
-                        imgLabel.setText("🍔");
-                        imgLabel.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 40));
-                    }
-                } catch (Exception e) {
-                    System.err.println("Lỗi trong phương thức done(): " + e.getMessage());
-                    imgLabel.setText("❌"); // Placeholder cho lỗi
-                    imgLabel.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 40));
-                }
+        // Load qua ImageLoader (ưu tiên card trong viewport, hủy khi grid được rebuild)
+        ImageLoader.getInstance().bind(imgLabel, imagePath, CARD_WIDTH, 180, image -> {
+            if (image != null) {
+                imgLabel.setIcon(new ImageIcon(image));
+                imgLabel.setText(null);
+            } else {
+                // Nếu tải thất bại (null), đặt placeholder
+                imgLabel.setText("🍔");
+                imgLabel.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 40));
             }
-        };
-        worker.execute();
+        });
     }
     
     // --- Lớp WrapLayout (Không thay đổi) ---
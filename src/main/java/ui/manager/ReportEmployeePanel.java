@@ -1,6 +1,7 @@
 package ui.manager;
 
 import service.EmployeeService;
+import util.UiLoader;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
@@ -10,6 +11,7 @@ public class ReportEmployeePanel extends JPanel {
     private static final Color ORANGE = new Color(255, 152, 0);
     
     private EmployeeService employeeService;
+    private UiLoader<Integer> countLoader;
     
     public ReportEmployeePanel() {
         employeeService = EmployeeService.getInstance();
@@ -24,9 +26,14 @@ public class ReportEmployeePanel extends JPanel {
         JLabel title = new JLabel("👤 Employee Performance Report");
         title.setFont(new Font("Segoe UI", Font.BOLD, 24));
         
-        JLabel info = new JLabel("Total Employees: " + employeeService.getTotalEmployeeCount());
+        JLabel info = new JLabel("Total Employees: ...");
         info.setFont(new Font("Segoe UI", Font.PLAIN, 16));
         
+        countLoader = new UiLoader<>("employee count",
+            count -> info.setText("Total Employees: " + count),
+            e -> info.setText("Total Employees: ⚠️ lỗi tải dữ liệu"));
+        countLoader.load(employeeService::getTotalEmployeeCount);
+        
         JPanel panel = new JPanel();
         panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
         panel.setBackground(Color.WHITE);
@@ -1,6 +1,7 @@
 package ui.manager;
 
 import service.IngredientService;
+import util.UiLoader;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
@@ -10,6 +11,7 @@ public class ReportIngredientPanel extends JPanel {
     private static final Color ORANGE = new Color(255, 152, 0);
     
     private IngredientService ingredientService;
+    private UiLoader<Integer> lowStockLoader;
     
     public ReportIngredientPanel() {
         ingredientService = IngredientService.getInstance();
@@ -24,11 +26,15 @@ public class ReportIngredientPanel extends JPanel {
         JLabel title = new JLabel("📦 Inventory Report");
         title.setFont(new Font("Segoe UI", Font.BOLD, 24));
         
-        JLabel lowStock = new JLabel("⚠️ Low Stock Items: " + 
-            ingredientService.getLowStockCount());
+        JLabel lowStock = new JLabel("⚠️ Low Stock Items: ...");
         lowStock.setFont(new Font("Segoe UI", Font.PLAIN, 16));
         lowStock.setForeground(Color.RED);
         
+        lowStockLoader = new UiLoader<>("low stock count",
+            count -> lowStock.setText("⚠️ Low Stock Items: " + count),
+            e -> lowStock.setText("⚠️ Low Stock Items: lỗi tải dữ liệu"));
+        lowStockLoader.load(ingredientService::getLowStockCount);
+        
         JPanel panel = new JPanel();
         panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
         panel.setBackground(Color.WHITE);
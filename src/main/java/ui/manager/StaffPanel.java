@@ -2,6 +2,7 @@ package ui.manager;
 
 import entity.Employee;
 import service.EmployeeService;
+import util.UiLoader;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.table.DefaultTableModel;
@@ -17,9 +18,11 @@ public class StaffPanel extends JPanel {
     private JTable table;
     private DefaultTableModel tableModel;
     private JTextField searchField;
+    private UiLoader<List<Employee>> employeesLoader;
     
     public StaffPanel() {
         employeeService = EmployeeService.getInstance();
+        employeesLoader = new UiLoader<>("employees", this::showEmployees, this::showLoadError);
         initComponents();
         loadData();
     }
@@ -128,8 +131,11 @@ public class StaffPanel extends JPanel {
     }
     
     private void loadData() {
+        employeesLoader.load(employeeService::getAllEmployees);
+    }
+    
+    private void showEmployees(List<Employee> employees) {
         tableModel.setRowCount(0);
-        List<Employee> employees = employeeService.getAllEmployees();
         
         for (Employee emp : employees) {
             String roleIcon = getRoleIcon(emp.getRole());
@@ -146,6 +152,11 @@ public class StaffPanel extends JPanel {
         }
     }
     
+    private void showLoadError(Exception e) {
+        tableModel.setRowCount(0);
+        tableModel.addRow(new Object[]{"⚠️ Không tải được danh sách nhân viên", "", "", "", "", ""});
+    }
+    
     private String getRoleIcon(int role) {
         return switch (role) {
             case 1 -> "👨‍🍳";
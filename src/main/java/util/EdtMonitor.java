@@ -0,0 +1,300 @@
+package util;
+
+import config.AppConfig;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * EdtMonitor - Đo độ trễ của Event Dispatch Thread và ghi lại các lần đứng màn hình
+ * Path: Source Packages/util/EdtMonitor.java
+ *
+ * Chức năng:
+ * - Thay EventQueue hệ thống bằng một EventQueue đo thời gian dispatch từng event
+ * - Histogram thời gian dispatch (ms), ghi tóm tắt định kỳ
+ * - Event nào chạy quá ngưỡng (mặc định 100 ms): thread watchdog chụp stack trace
+ *   của EDT ngay trong lúc đang đứng; khi event kết thúc EDT chỉ xếp stall vào hàng đợi,
+ *   watchdog ghi ra log (EDT không đụng tới đĩa)
+ * - Log ghi ra AppConfig.LOGS_PATH/edt-monitor.log, xoay vòng theo kích thước
+ *
+ * Chỉ bật khi chạy với -Dfoodorder.edt.monitor=true
+ * (ngưỡng đổi bằng -Dfoodorder.edt.stallMs=...). Không bật thì install() không làm gì.
+ *
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class EdtMonitor {
+
+    // Cận trên (ms, không tính) của từng bucket; bucket cuối là >= 2000 ms
+    private static final long[] BUCKET_LIMITS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000};
+
+    private static final long SUMMARY_INTERVAL_MS = 60_000;
+    private static final long MAX_LOG_BYTES = 1024 * 1024;
+    private static final int MAX_LOG_FILES = 3;
+    private static final int MAX_STACK_DEPTH = 40;
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    private static EdtMonitor instance;
+
+    private final long thresholdNanos;
+    private final File logFile;
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKET_LIMITS_MS.length + 1);
+    private final Object logLock = new Object();
+
+    // Stall chờ watchdog ghi log (EDT thêm vào, watchdog lấy ra)
+    private final Queue<Stall> pendingStalls = new ConcurrentLinkedQueue<>();
+
+    private record Stall(LocalDateTime time, long elapsedMs, String event, StackTraceElement[] stack) {}
+
+    // Event đang dispatch (EDT ghi, watchdog đọc)
+    private volatile boolean busy;
+    private volatile long dispatchStart;
+    private volatile Thread edtThread;
+    private volatile StackTraceElement[] stallStack;
+
+    // Chỉ EDT truy cập: độ sâu dispatch lồng nhau, event hiện tại có chạy vòng lặp lồng không
+    private int depth;
+    private boolean nestedLoop;
+
+    private volatile long maxNanos;
+    private volatile long stallCount;
+
+    // ============ INSTALL ============
+
+    private EdtMonitor(long thresholdMs, File logFile) {
+        this.thresholdNanos = thresholdMs * 1_000_000;
+        this.logFile = logFile;
+    }
+
+    /**
+     * Bật monitor nếu có system property, gọi một lần khi mở frame chính
+     * Gọi nhiều lần (nhiều frame) chỉ cài một lần.
+     */
+    public static synchronized void install() {
+        if (instance != null || !Boolean.getBoolean(AppConfig.EDT_MONITOR_PROPERTY)) {
+            return;
+        }
+
+        long thresholdMs = Long.getLong(AppConfig.EDT_STALL_THRESHOLD_PROPERTY, AppConfig.EDT_STALL_THRESHOLD_MS);
+        instance = new EdtMonitor(thresholdMs, new File(AppConfig.LOGS_PATH, "edt-monitor.log"));
+        instance.start();
+    }
+
+    public static synchronized boolean isInstalled() {
+        return instance != null;
+    }
+
+    private void start() {
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new MonitoredQueue());
+
+        Thread watchdog = new Thread(this::watch, "edt-monitor");
+        watchdog.setDaemon(true);
+        watchdog.start();
+
+        log("EDT monitor started, stall threshold " + thresholdNanos / 1_000_000 + " ms");
+    }
+
+    // ============ EVENT QUEUE ============
+
+    private class MonitoredQueue extends EventQueue {
+
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            depth++;
+            nestedLoop = false;
+            stallStack = null;
+            edtThread = Thread.currentThread();
+            long start = System.nanoTime();
+            dispatchStart = start;
+            busy = true;
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                busy = false;
+                depth--;
+                boolean ranNestedLoop = nestedLoop;
+                StackTraceElement[] stack = stallStack;
+
+                // Event mở dialog modal chứa thời gian người dùng thao tác trên dialog,
+                // không phải EDT bị chặn: bỏ qua, các event bên trong đã được đo riêng
+                if (!ranNestedLoop) {
+                    record(event, elapsed, stack);
+                }
+
+                // Quay lại event ngoài (vòng lặp của dialog modal)
+                nestedLoop = depth > 0;
+                if (depth > 0) {
+                    dispatchStart = System.nanoTime();
+                    busy = true;
+                }
+            }
+        }
+
+        @Override
+        public AWTEvent getNextEvent() throws InterruptedException {
+            // Dialog modal đang chờ event: EDT rảnh dù event ngoài chưa xong
+            if (depth > 0) {
+                nestedLoop = true;
+                busy = false;
+            }
+            return super.getNextEvent();
+        }
+    }
+
+    // ============ RECORDING ============
+
+    private void record(AWTEvent event, long elapsedNanos, StackTraceElement[] stack) {
+        long elapsedMs = elapsedNanos / 1_000_000;
+        int bucket = 0;
+        while (bucket < BUCKET_LIMITS_MS.length && elapsedMs >= BUCKET_LIMITS_MS[bucket]) {
+            bucket++;
+        }
+        histogram.incrementAndGet(bucket);
+
+        if (elapsedNanos > maxNanos) {
+            maxNanos = elapsedNanos;
+        }
+        if (elapsedNanos < thresholdNanos) {
+            return;
+        }
+
+        // Ghi file (mkdirs, roll, open/append) trên EDT sẽ cộng thêm độ trễ đĩa vào chính lần đứng này
+        stallCount++;
+        pendingStalls.add(new Stall(LocalDateTime.now(), elapsedMs, describe(event), stack));
+    }
+
+    /**
+     * Ghi các stall đang chờ (chạy trên thread watchdog)
+     */
+    private void flushStalls() {
+        Stall stall;
+        while ((stall = pendingStalls.poll()) != null) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("STALL ").append(stall.elapsedMs()).append(" ms: ").append(stall.event());
+            if (stall.stack() != null) {
+                sb.append(System.lineSeparator()).append("  EDT stack while stalled:");
+                for (int i = 0; i < Math.min(stall.stack().length, MAX_STACK_DEPTH); i++) {
+                    sb.append(System.lineSeparator()).append("    at ").append(stall.stack()[i]);
+                }
+            }
+            log(stall.time(), sb.toString());
+        }
+    }
+
+    /**
+     * Thread watchdog: chụp stack của EDT khi event hiện tại vượt ngưỡng,
+     * ghi các stall đã xong và histogram định kỳ
+     */
+    private void watch() {
+        long pollMs = Math.max(10, thresholdNanos / 1_000_000 / 2);
+        long nextSummary = System.currentTimeMillis() + SUMMARY_INTERVAL_MS;
+
+        while (true) {
+            try {
+                Thread.sleep(pollMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            Thread edt = edtThread;
+            if (busy && stallStack == null && edt != null
+                    && System.nanoTime() - dispatchStart >= thresholdNanos) {
+                stallStack = edt.getStackTrace();
+            }
+
+            flushStalls();
+
+            if (System.currentTimeMillis() >= nextSummary) {
+                log(getSummary());
+                nextSummary = System.currentTimeMillis() + SUMMARY_INTERVAL_MS;
+            }
+        }
+    }
+
+    private static String describe(AWTEvent event) {
+        String source = event.getSource() != null ? event.getSource().getClass().getSimpleName() : "null";
+        return event.getClass().getSimpleName() + " id=" + event.getID() + " source=" + source;
+    }
+
+    // ============ STATS ============
+
+    /**
+     * Histogram dạng "<1ms=... <2ms=... >=2000ms=..." kèm số lần stall và max
+     */
+    public static String getStats() {
+        EdtMonitor monitor = instance;
+        return monitor != null ? monitor.getSummary() : "EDT monitor not installed";
+    }
+
+    private String getSummary() {
+        StringBuilder sb = new StringBuilder("EDT dispatch histogram:");
+        long total = 0;
+        for (int i = 0; i < histogram.length(); i++) {
+            long count = histogram.get(i);
+            total += count;
+            sb.append(' ').append(i < BUCKET_LIMITS_MS.length
+                ? "<" + BUCKET_LIMITS_MS[i] + "ms"
+                : ">=" + BUCKET_LIMITS_MS[BUCKET_LIMITS_MS.length - 1] + "ms").append('=').append(count);
+        }
+        sb.append(" | events=").append(total)
+          .append(", stalls=").append(stallCount)
+          .append(", max=").append(maxNanos / 1_000_000).append(" ms");
+        return sb.toString();
+    }
+
+    // ============ ROLLING LOG ============
+
+    private void log(String message) {
+        log(LocalDateTime.now(), message);
+    }
+
+    private void log(LocalDateTime time, String message) {
+        String line = time.format(TIME_FORMAT) + " " + message;
+
+        synchronized (logLock) {
+            try {
+                File dir = logFile.getParentFile();
+                if (dir != null && !dir.exists()) {
+                    dir.mkdirs();
+                }
+                if (logFile.length() > MAX_LOG_BYTES) {
+                    roll();
+                }
+                try (PrintWriter out = new PrintWriter(new FileWriter(logFile, true))) {
+                    out.println(line);
+                }
+            } catch (IOException e) {
+                System.err.println("❌ Cannot write EDT monitor log: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * edt-monitor.log -> .1 -> .2 -> ... (bỏ file cũ nhất)
+     */
+    private void roll() {
+        File oldest = new File(logFile.getPath() + "." + MAX_LOG_FILES);
+        if (oldest.exists()) {
+            oldest.delete();
+        }
+        for (int i = MAX_LOG_FILES - 1; i >= 1; i--) {
+            File from = new File(logFile.getPath() + "." + i);
+            if (from.exists()) {
+                from.renameTo(new File(logFile.getPath() + "." + (i + 1)));
+            }
+        }
+        logFile.renameTo(new File(logFile.getPath() + ".1"));
+    }
+}
@@ -0,0 +1,243 @@
+package util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * EventJournal - Nhật ký event chỉ ghi nối, record nhị phân cố định, file memory-mapped
+ * Path: Source Packages/util/EventJournal.java
+ *
+ * Chức năng:
+ * - Mỗi record RECORD_SIZE byte: type, thời điểm, key, oldValue, newValue, value
+ *   (ý nghĩa do nơi gọi quy định, vd. service.ShiftJournal)
+ * - Ghi thẳng vào segment hiện tại đã map vào bộ nhớ: không syscall, không cấp phát
+ * - Segment đầy thì mở segment mới (events-00000001.jnl, ...), chỉ giữ maxSegments segment gần nhất
+ * - replay() đọc lại toàn bộ record theo thứ tự ghi
+ *
+ * Marker COMMITTED được ghi sau cùng: process chết giữa chừng thì record dở dang
+ * không được replay và bị ghi đè ở lần mở sau. Dữ liệu nằm trong page cache của OS
+ * nên process crash không mất record; mất điện có thể mất các record chưa flush().
+ *
+ * Một thư mục chỉ một process ghi (khóa file journal.lock).
+ *
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class EventJournal {
+
+    public static final int RECORD_SIZE = 40;
+    public static final int DEFAULT_SEGMENT_RECORDS = 16_384;   // 640 KB mỗi segment
+    public static final int DEFAULT_MAX_SEGMENTS = 8;
+
+    // Layout record (big-endian)
+    private static final int OFF_MARKER = 0;        // int
+    private static final int OFF_TYPE = 4;          // short (+ short dự phòng)
+    private static final int OFF_TIME = 8;          // long, epoch millis
+    private static final int OFF_KEY = 16;          // int
+    private static final int OFF_OLD = 20;          // int
+    private static final int OFF_NEW = 24;          // int (+ int dự phòng)
+    private static final int OFF_VALUE = 32;        // long
+
+    private static final int COMMITTED = 0x45564A31;  // "EVJ1"
+
+    private static final String PREFIX = "events-";
+    private static final String SUFFIX = ".jnl";
+
+    /**
+     * Một record đã ghi
+     */
+    public record Entry(int type, long time, int key, int oldValue, int newValue, long value) {}
+
+    private final File directory;
+    private final int segmentRecords;
+    private final int maxSegments;
+    private final FileLock lock;
+
+    private long segmentSeq;
+    private MappedByteBuffer buffer;
+    private int position;
+    private boolean closed;
+
+    // ============ OPEN ============
+
+    /**
+     * Mở journal trong directory (tạo nếu chưa có), ghi tiếp sau record cuối cùng
+     * @throws IOException nếu không tạo / map được file, hoặc process khác đang dùng thư mục
+     */
+    public EventJournal(File directory, int segmentRecords, int maxSegments) throws IOException {
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        this.maxSegments = Math.max(1, maxSegments);
+
+        Files.createDirectories(directory.toPath());
+        FileChannel lockChannel = FileChannel.open(new File(directory, "journal.lock").toPath(),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock acquired;
+        try {
+            acquired = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            acquired = null;    // Chính process này đã mở journal
+        }
+        this.lock = acquired;
+        if (lock == null) {
+            lockChannel.close();
+            throw new IOException("Journal is in use by another process: " + directory);
+        }
+
+        List<Long> segments = listSegments();
+        segmentSeq = segments.isEmpty() ? 1 : segments.get(segments.size() - 1);
+        buffer = map(segmentSeq);
+        position = 0;
+        while (position < segmentRecords && buffer.getInt(position * RECORD_SIZE + OFF_MARKER) == COMMITTED) {
+            position++;
+        }
+    }
+
+    // ============ WRITE ============
+
+    /**
+     * Ghi nối một record
+     * @return false nếu journal đã đóng hoặc không mở được segment mới
+     */
+    public synchronized boolean append(int type, int key, int oldValue, int newValue, long value) {
+        if (closed) {
+            return false;
+        }
+
+        try {
+            if (position == segmentRecords) {
+                rotate();
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Error rotating event journal: " + e.getMessage());
+            return false;
+        }
+
+        int offset = position * RECORD_SIZE;
+        buffer.putShort(offset + OFF_TYPE, (short) type);
+        buffer.putLong(offset + OFF_TIME, System.currentTimeMillis());
+        buffer.putInt(offset + OFF_KEY, key);
+        buffer.putInt(offset + OFF_OLD, oldValue);
+        buffer.putInt(offset + OFF_NEW, newValue);
+        buffer.putLong(offset + OFF_VALUE, value);
+        buffer.putInt(offset + OFF_MARKER, COMMITTED);
+        position++;
+        return true;
+    }
+
+    /**
+     * Ghi segment hiện tại xuống đĩa (chống mất điện, không cần cho process crash)
+     */
+    public synchronized void flush() {
+        if (!closed) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Flush và thôi ghi; nhả khóa thư mục
+     */
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        buffer.force();
+        closed = true;
+        try {
+            lock.release();
+            lock.channel().close();
+        } catch (IOException e) {
+            System.err.println("Error closing event journal: " + e.getMessage());
+        }
+    }
+
+    // ============ READ ============
+
+    /**
+     * Đọc mọi record theo thứ tự ghi (segment cũ trước); gọi khi khởi động, trước khi ghi tiếp
+     * @return số record đã đọc
+     */
+    public int replay(Consumer<Entry> consumer) throws IOException {
+        int count = 0;
+        for (long seq : listSegments()) {
+            ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(segmentFile(seq).toPath()));
+            for (int offset = 0; offset + RECORD_SIZE <= data.limit(); offset += RECORD_SIZE) {
+                if (data.getInt(offset + OFF_MARKER) != COMMITTED) {
+                    break;
+                }
+                consumer.accept(new Entry(data.getShort(offset + OFF_TYPE),
+                                          data.getLong(offset + OFF_TIME),
+                                          data.getInt(offset + OFF_KEY),
+                                          data.getInt(offset + OFF_OLD),
+                                          data.getInt(offset + OFF_NEW),
+                                          data.getLong(offset + OFF_VALUE)));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // ============ SEGMENTS ============
+
+    private void rotate() throws IOException {
+        buffer.force();
+        MappedByteBuffer next = map(segmentSeq + 1);
+        segmentSeq++;
+        buffer = next;
+        position = 0;
+
+        // Segment cũ nhất bị xóa; trên Windows file còn map (đã ghi trong process này)
+        // có thể chưa xóa được, thử lại ở lần rotate sau
+        List<Long> segments = listSegments();
+        for (int i = 0; i < segments.size() - maxSegments; i++) {
+            try {
+                Files.deleteIfExists(segmentFile(segments.get(i)).toPath());
+            } catch (IOException e) {
+                System.err.println("⚠️ Cannot delete journal segment " + segments.get(i) + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Map cả segment; file mới được mở rộng đủ segmentRecords record (toàn 0 = chưa ghi)
+     * Channel đóng ngay, vùng map vẫn dùng được tới khi bị GC.
+     */
+    private MappedByteBuffer map(long seq) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentFile(seq).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentRecords * RECORD_SIZE);
+        }
+    }
+
+    private File segmentFile(long seq) {
+        return new File(directory, String.format("%s%08d%s", PREFIX, seq, SUFFIX));
+    }
+
+    private List<Long> listSegments() {
+        List<Long> segments = new ArrayList<>();
+        String[] names = directory.list();
+        if (names != null) {
+            for (String name : names) {
+                if (name.startsWith(PREFIX) && name.endsWith(SUFFIX)) {
+                    try {
+                        segments.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+                    } catch (NumberFormatException e) {
+                        // File khác, bỏ qua
+                    }
+                }
+            }
+        }
+        segments.sort(null);
+        return segments;
+    }
+}
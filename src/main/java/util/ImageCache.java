@@ -0,0 +1,211 @@
+package util;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * ImageCache - Cache ảnh đã decode + scale, giới hạn theo số byte
+ * Path: Source Packages/util/ImageCache.java
+ * 
+ * Chức năng:
+ * - Key = (resource, width, height), value = BufferedImage đã scale sẵn
+ * - LRU: vượt budget thì bỏ ảnh ít dùng nhất
+ * - Single-flight: nhiều card cùng xin một ảnh thì chỉ decode một lần,
+ *   các thread còn lại chờ kết quả của lần decode đó
+ * - removeResource() / clear() chạy khi đang decode: ảnh đang decode vẫn trả cho người gọi
+ *   nhưng không được cache (ảnh cũ không quay lại cache sau khi đã xóa)
+ * - Đếm hit / miss / eviction và số byte đang giữ
+ * 
+ * Dùng qua ImageUtil.getScaledResourceImage().
+ * 
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class ImageCache {
+    
+    private final LinkedHashMap<Key, BufferedImage> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final ConcurrentHashMap<Key, CompletableFuture<BufferedImage>> inFlight = new ConcurrentHashMap<>();
+    
+    private long maxBytes;
+    private long bytesHeld;
+    private long generation;    // Tăng mỗi lần removeResource() / clear()
+    private long hits;
+    private long misses;
+    private long evictions;
+    
+    public ImageCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+    
+    /**
+     * Khóa cache: đường dẫn resource + kích thước sau scale
+     */
+    public record Key(String resource, int width, int height) {}
+    
+    // ============ ACCESS ============
+    
+    /**
+     * Lấy ảnh có sẵn trong cache (không load), null nếu chưa có
+     */
+    public synchronized BufferedImage peek(Key key) {
+        BufferedImage image = entries.get(key);
+        if (image != null) {
+            hits++;
+        }
+        return image;
+    }
+    
+    /**
+     * Lấy ảnh, chưa có thì gọi loader (chỉ một thread gọi loader cho mỗi key)
+     * Loader trả null (không tìm thấy / lỗi đọc) thì không cache
+     */
+    public BufferedImage get(Key key, Supplier<BufferedImage> loader) {
+        BufferedImage cached = peek(key);
+        if (cached != null) {
+            return cached;
+        }
+        
+        CompletableFuture<BufferedImage> created = new CompletableFuture<>();
+        CompletableFuture<BufferedImage> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            // Thread khác đang decode ảnh này: không decode lại, tính là hit
+            synchronized (this) {
+                hits++;
+            }
+            return existing.join();
+        }
+        
+        try {
+            // Có thể vừa load xong giữa peek() và putIfAbsent()
+            cached = peek(key);
+            if (cached == null) {
+                long loadGeneration;
+                synchronized (this) {
+                    misses++;
+                    loadGeneration = generation;
+                }
+                cached = loader.get();
+                if (cached != null) {
+                    put(key, cached, loadGeneration);
+                }
+            }
+            created.complete(cached);
+            return cached;
+            
+        } finally {
+            // Loader ném exception hoặc Error (vd. OutOfMemoryError khi decode ảnh lớn):
+            // thread đang chờ key này nhận null thay vì chờ mãi
+            if (!created.isDone()) {
+                created.complete(null);
+            }
+            inFlight.remove(key, created);
+        }
+    }
+    
+    /**
+     * Bỏ mọi kích thước đã cache của một resource
+     */
+    public synchronized void removeResource(String resource) {
+        generation++;
+        // Người gọi sau không chờ lần decode cũ mà tự load lại
+        inFlight.keySet().removeIf(key -> key.resource().equals(resource));
+        Iterator<Map.Entry<Key, BufferedImage>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, BufferedImage> entry = it.next();
+            if (entry.getKey().resource().equals(resource)) {
+                bytesHeld -= sizeOf(entry.getValue());
+                it.remove();
+            }
+        }
+    }
+    
+    /**
+     * Xóa toàn bộ ảnh
+     */
+    public synchronized void clear() {
+        generation++;
+        inFlight.clear();
+        entries.clear();
+        bytesHeld = 0;
+    }
+    
+    /**
+     * Đổi budget, bỏ bớt ảnh nếu đang vượt
+     */
+    public synchronized void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+        evictToBudget();
+    }
+    
+    // ============ METRICS ============
+    
+    public synchronized long getBytesHeld() {
+        return bytesHeld;
+    }
+    
+    public synchronized long getMaxBytes() {
+        return maxBytes;
+    }
+    
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total > 0 ? (double) hits / total : 0;
+    }
+    
+    public synchronized String getStats() {
+        return String.format("ImageCache[entries=%d, bytes=%,d/%,d, hits=%d, misses=%d, evictions=%d, hitRate=%.1f%%]",
+                             entries.size(), bytesHeld, maxBytes, hits, misses, evictions, getHitRate() * 100);
+    }
+    
+    // ============ HELPER METHODS ============
+    
+    /**
+     * @param loadGeneration generation lúc bắt đầu decode; đã đổi thì không cache
+     */
+    private synchronized void put(Key key, BufferedImage image, long loadGeneration) {
+        if (loadGeneration != generation) {
+            return;
+        }
+        long size = sizeOf(image);
+        if (size > maxBytes) {
+            // Ảnh lớn hơn cả budget: trả về nhưng không giữ
+            return;
+        }
+        
+        BufferedImage previous = entries.put(key, image);
+        if (previous != null) {
+            bytesHeld -= sizeOf(previous);
+        }
+        bytesHeld += size;
+        evictToBudget();
+    }
+    
+    private void evictToBudget() {
+        Iterator<Map.Entry<Key, BufferedImage>> it = entries.entrySet().iterator();
+        while (bytesHeld > maxBytes && it.hasNext()) {
+            Map.Entry<Key, BufferedImage> eldest = it.next();
+            bytesHeld -= sizeOf(eldest.getValue());
+            it.remove();
+            evictions++;
+        }
+    }
+    
+    /**
+     * Số byte pixel thực tế của ảnh
+     */
+    static long sizeOf(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        long bytesPerElement = Math.max(1, DataBuffer.getDataTypeSize(buffer.getDataType()) / 8);
+        return (long) buffer.getSize() * buffer.getNumBanks() * bytesPerElement;
+    }
+}
@@ -0,0 +1,256 @@
+package util;
+
+import javax.swing.JComponent;
+import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * ImageLoader - Load ảnh sản phẩm cho các card, thay cho SwingWorker riêng từng card
+ * Path: Source Packages/util/ImageLoader.java
+ * 
+ * Chức năng:
+ * - Pool riêng, số thread cố định (không chiếm pool SwingWorker dùng cho DB)
+ * - Hàng đợi ưu tiên: card đang nằm trong viewport load trước, card ngoài màn hình
+ *   load sau (prefetch)
+ * - Card bị gỡ khỏi màn hình (đổi category, rebuild grid, đổi tab) thì request bị hủy;
+ *   hiện lại thì request lại
+ * - Kết quả gom lại, giao cho EDT theo từng đợt (một invokeLater cho nhiều ảnh)
+ * 
+ * Cách dùng: ImageLoader.getInstance().bind(imgLabel, path, w, h, image -> ...)
+ * và watch(scrollPane.getViewport()) để ưu tiên lại khi cuộn.
+ * 
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class ImageLoader {
+    
+    private static final int PRIORITY_VISIBLE = 0;
+    private static final int PRIORITY_OFFSCREEN = 1;
+    
+    // Decode/đọc thumbnail là việc CPU, vài thread là đủ
+    private static final int THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+    
+    private static ImageLoader instance;
+    
+    private final PriorityBlockingQueue<Runnable> queue = new PriorityBlockingQueue<>();
+    private final ThreadPoolExecutor executor;
+    private final Set<Ticket> pending = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedQueue<Ticket> completed = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final AtomicBoolean reprioritizeScheduled = new AtomicBoolean();
+    private final AtomicLong sequence = new AtomicLong();
+    
+    // ============ SINGLETON ============
+    
+    private ImageLoader() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(THREADS, THREADS, 0, TimeUnit.MILLISECONDS, queue, r -> {
+            Thread t = new Thread(r, "image-loader-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        });
+        // Mọi task đi qua hàng đợi ưu tiên (không chạy thẳng trên thread mới tạo)
+        executor.prestartAllCoreThreads();
+    }
+    
+    public static synchronized ImageLoader getInstance() {
+        if (instance == null) {
+            instance = new ImageLoader();
+        }
+        return instance;
+    }
+    
+    // ============ PUBLIC API ============
+    
+    /**
+     * Gắn việc load ảnh vào một component (gọi trên EDT)
+     * Ảnh đã có trong cache thì gọi onLoaded ngay; nếu không thì load khi component
+     * hiển thị và hủy khi component bị gỡ / ẩn.
+     * 
+     * @param onLoaded Chạy trên EDT, nhận ảnh hoặc null nếu không load được
+     */
+    public void bind(JComponent target, String resourcePath, int width, int height,
+                     Consumer<BufferedImage> onLoaded) {
+        BufferedImage cached = ImageUtil.peekScaledResourceImage(resourcePath, width, height);
+        if (cached != null) {
+            onLoaded.accept(cached);
+            return;
+        }
+        
+        Binding binding = new Binding(target, resourcePath, width, height, onLoaded);
+        target.addHierarchyListener(binding);
+        if (target.isShowing()) {
+            binding.request();
+        }
+    }
+    
+    /**
+     * Ưu tiên lại hàng đợi mỗi khi viewport cuộn / đổi kích thước
+     */
+    public void watch(JViewport viewport) {
+        viewport.addChangeListener(e -> scheduleReprioritize());
+    }
+    
+    /**
+     * Số request đang chờ
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+    
+    // ============ BINDING ============
+    
+    /**
+     * Trạng thái load ảnh của một component, chỉ truy cập trên EDT
+     */
+    private final class Binding implements HierarchyListener {
+        final JComponent target;
+        final String resourcePath;
+        final int width;
+        final int height;
+        final Consumer<BufferedImage> onLoaded;
+        Ticket ticket;
+        
+        Binding(JComponent target, String resourcePath, int width, int height,
+                Consumer<BufferedImage> onLoaded) {
+            this.target = target;
+            this.resourcePath = resourcePath;
+            this.width = width;
+            this.height = height;
+            this.onLoaded = onLoaded;
+        }
+        
+        @Override
+        public void hierarchyChanged(HierarchyEvent e) {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) == 0) {
+                return;
+            }
+            if (target.isShowing()) {
+                request();
+            } else if (ticket != null) {
+                ticket.cancel();
+                ticket = null;
+            }
+        }
+        
+        void request() {
+            if (ticket == null) {
+                ticket = new Ticket(this);
+                pending.add(ticket);
+                executor.execute(ticket);
+                scheduleReprioritize();
+            }
+        }
+        
+        void deliver(Ticket from) {
+            if (from != ticket) {
+                return; // Ticket cũ đã bị thay (ẩn rồi hiện lại)
+            }
+            ticket = null;
+            target.removeHierarchyListener(this);
+            onLoaded.accept(from.result);
+        }
+    }
+    
+    // ============ TICKET ============
+    
+    private final class Ticket implements Runnable, Comparable<Ticket> {
+        final Binding binding;
+        final long seq = sequence.incrementAndGet();
+        volatile int priority = PRIORITY_OFFSCREEN;
+        volatile boolean cancelled;
+        BufferedImage result;
+        
+        Ticket(Binding binding) {
+            this.binding = binding;
+        }
+        
+        @Override
+        public void run() {
+            if (cancelled || !pending.remove(this)) {
+                return;
+            }
+            result = ImageUtil.getScaledResourceImage(binding.resourcePath, binding.width, binding.height);
+            completed.add(this);
+            scheduleDrain();
+        }
+        
+        void cancel() {
+            cancelled = true;
+            pending.remove(this);
+            queue.remove(this);
+        }
+        
+        @Override
+        public int compareTo(Ticket other) {
+            if (priority != other.priority) {
+                return Integer.compare(priority, other.priority);
+            }
+            // Cùng mức ưu tiên: theo thứ tự request (card trên trước card dưới)
+            return Long.compare(seq, other.seq);
+        }
+    }
+    
+    // ============ EDT SIDE ============
+    
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::drain);
+        }
+    }
+    
+    /**
+     * Giao mọi ảnh đã xong trong một lần chạy trên EDT
+     */
+    private void drain() {
+        drainScheduled.set(false);
+        Ticket ticket;
+        while ((ticket = completed.poll()) != null) {
+            if (!ticket.cancelled) {
+                ticket.binding.deliver(ticket);
+            }
+        }
+    }
+    
+    private void scheduleReprioritize() {
+        if (reprioritizeScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::reprioritize);
+        }
+    }
+    
+    /**
+     * Tính lại ưu tiên theo vùng đang nhìn thấy; ticket đổi mức thì đưa lại vào queue
+     */
+    private void reprioritize() {
+        reprioritizeScheduled.set(false);
+        
+        List<Ticket> changed = new ArrayList<>();
+        for (Ticket ticket : pending) {
+            JComponent target = ticket.binding.target;
+            int priority = target.isShowing() && !target.getVisibleRect().isEmpty()
+                ? PRIORITY_VISIBLE
+                : PRIORITY_OFFSCREEN;
+            if (priority != ticket.priority && queue.remove(ticket)) {
+                ticket.priority = priority;
+                changed.add(ticket);
+            }
+        }
+        queue.addAll(changed);
+    }
+}
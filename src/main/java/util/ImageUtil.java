@@ -26,6 +26,9 @@ public class ImageUtil {
     private static final String DEFAULT_AVATAR_IMAGE = "default_avatar.png";
     private static final String PLACEHOLDER_IMAGE = "placeholder.png";
     
+    // Ảnh resource đã scale cho các card, dùng chung cho mọi màn hình
+    private static final ImageCache SCALED_CACHE = new ImageCache(AppConfig.IMAGE_CACHE_MAX_BYTES);
+    
     // ============ IMAGE LOADING ============
     
     /**
@@ -126,6 +129,28 @@ public class ImageUtil {
         return image;
     }
     
+    /**
+     * Load product image at card size (pre-generated thumbnail) with fallback to placeholder
+     * 
+     * @param imageUrl Product image path in resources (e.g. "images/1.jpg")
+     * @param width Thumbnail width
+     * @param height Thumbnail height
+     * @return BufferedImage (never null)
+     */
+    public static BufferedImage loadProductImage(String imageUrl, int width, int height) {
+        BufferedImage image = getScaledResourceImage(imageUrl, width, height);
+        
+        if (image == null && imageUrl != null && !imageUrl.isEmpty()) {
+            image = getScaledResourceImage("images/products/" + imageUrl, width, height);
+        }
+        
+        if (image == null) {
+            image = createPlaceholderImage(width, height, "No Image");
+        }
+        
+        return image;
+    }
+    
     /**
      * Load avatar image with fallback to default
      * 
@@ -154,6 +179,99 @@ public class ImageUtil {
         return image;
     }
     
+    // ============ CACHED SCALED IMAGES ============
+    
+    /**
+     * Load ảnh từ classpath đã scale về đúng width x height
+     * RAM (ImageCache) -> thumbnail trên đĩa (ThumbnailStore) -> decode ảnh gốc
+     * Gọi từ background thread; nhiều thread cùng xin một ảnh thì chỉ load một lần
+     * 
+     * @param resourcePath Đường dẫn trong resources (ví dụ "images/1.jpg")
+     * @return Ảnh đã scale, null nếu không tìm thấy / không đọc được
+     */
+    public static BufferedImage getScaledResourceImage(String resourcePath, int width, int height) {
+        if (resourcePath == null || resourcePath.trim().isEmpty()) {
+            return null;
+        }
+        
+        String path = normalizeResourcePath(resourcePath);
+        return SCALED_CACHE.get(new ImageCache.Key(path, width, height),
+                                () -> ThumbnailStore.getInstance().load(path, width, height));
+    }
+    
+    /**
+     * Ảnh đã có trong cache (không load), dùng được trên EDT
+     * 
+     * @return Ảnh đã scale hoặc null nếu chưa load
+     */
+    public static BufferedImage peekScaledResourceImage(String resourcePath, int width, int height) {
+        if (resourcePath == null || resourcePath.trim().isEmpty()) {
+            return null;
+        }
+        return SCALED_CACHE.peek(new ImageCache.Key(normalizeResourcePath(resourcePath), width, height));
+    }
+    
+    /**
+     * Đổi giới hạn bộ nhớ của cache ảnh (bytes)
+     */
+    public static void setImageCacheBudget(long maxBytes) {
+        SCALED_CACHE.setMaxBytes(maxBytes);
+    }
+    
+    /**
+     * Bỏ ảnh đã cache của một resource (khi ảnh sản phẩm được thay)
+     * Lần load sau tính lại hash nội dung, thumbnail mới được tạo nếu ảnh đổi
+     */
+    public static void invalidateImage(String resourcePath) {
+        if (resourcePath == null || resourcePath.trim().isEmpty()) {
+            return;
+        }
+        String path = normalizeResourcePath(resourcePath);
+        SCALED_CACHE.removeResource(path);
+        ThumbnailStore.getInstance().invalidate(path);
+    }
+    
+    /**
+     * Xóa cache ảnh trong RAM
+     */
+    public static void clearImageCache() {
+        SCALED_CACHE.clear();
+    }
+    
+    public static double getImageCacheHitRate() {
+        return SCALED_CACHE.getHitRate();
+    }
+    
+    public static long getImageCacheBytes() {
+        return SCALED_CACHE.getBytesHeld();
+    }
+    
+    public static String getImageCacheStats() {
+        return SCALED_CACHE.getStats();
+    }
+    
+    private static String normalizeResourcePath(String resourcePath) {
+        String path = resourcePath.trim();
+        return path.startsWith("/") ? path : "/" + path;
+    }
+    
+    /**
+     * Scale chất lượng cao: thu nhỏ từng nửa rồi bilinear bước cuối
+     * (tương đương SCALE_SMOOTH nhưng trả về BufferedImage, đo được kích thước)
+     */
+    static BufferedImage scaleSmooth(BufferedImage image, int targetWidth, int targetHeight) {
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        
+        while (width / 2 >= targetWidth && height / 2 >= targetHeight) {
+            width /= 2;
+            height /= 2;
+            current = resizeImage(current, width, height);
+        }
+        return resizeImage(current, targetWidth, targetHeight);
+    }
+    
     // ============ IMAGE RESIZING ============
     
     /**
@@ -0,0 +1,188 @@
+package util;
+
+import entity.Order;
+import listener.OrderUpdateListener;
+import service.NotificationService;
+
+import javax.swing.Timer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+
+/**
+ * OrderUpdateCoalescer - Gộp order event theo từng khoảng thời gian trước khi tới giao diện
+ * Path: Source Packages/util/OrderUpdateCoalescer.java
+ *
+ * Chức năng:
+ * - Nhận OrderUpdateListener trên thread nền của NotificationService
+ * - Gộp theo order id: giữ trạng thái trước khi đổi và trạng thái / order mới nhất
+ * - Event đầu tiên mở một cửa sổ windowMs; hết cửa sổ giao một batch trên EDT
+ *
+ * Giờ cao điểm mười đơn đổi trạng thái trong vài giây chỉ thành vài lần load lại bảng:
+ * mỗi màn hình nhận tối đa một batch mỗi windowMs, bất kể có bao nhiêu event.
+ *
+ * Cách dùng:
+ *   orderEvents = new OrderUpdateCoalescer("chef", AppConfig.UI_EVENT_COALESCE_MS, this::onOrderChanges);
+ *   orderEvents.subscribe();   // ... orderEvents.unsubscribe() khi dispose
+ *
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class OrderUpdateCoalescer implements OrderUpdateListener {
+
+    // Trạng thái không biết (đơn mới tạo, hoặc event không có trạng thái cũ)
+    public static final int UNKNOWN_STATUS = -1;
+
+    /**
+     * Thay đổi đã gộp của một order trong một batch
+     *
+     * @param order     Order mới nhất nhận được (null nếu chỉ biết order đã bị xóa)
+     * @param oldStatus Trạng thái trước event đầu tiên trong cửa sổ
+     * @param newStatus Trạng thái sau event cuối cùng
+     */
+    public record Change(int orderId, Order order, int oldStatus, int newStatus,
+                         boolean created, boolean updated, boolean deleted) {
+
+        /**
+         * Đơn mới, bị xóa, hoặc trạng thái cuối khác trạng thái đầu
+         */
+        public boolean statusChanged() {
+            return created || deleted || oldStatus != newStatus;
+        }
+
+        /**
+         * Order nằm trong (trước hoặc sau thay đổi) các trạng thái màn hình đang hiển thị
+         * UNKNOWN_STATUS không được đưa vào shown (vd. s -> s <= COOKING sẽ nhận nhầm -1)
+         */
+        public boolean touches(IntPredicate shown) {
+            return deleted
+                || (oldStatus != UNKNOWN_STATUS && shown.test(oldStatus))
+                || (newStatus != UNKNOWN_STATUS && shown.test(newStatus));
+        }
+
+        /**
+         * Gộp event sau vào thay đổi đã có (cùng order id)
+         */
+        Change merge(Change next) {
+            return new Change(orderId,
+                next.order != null ? next.order : order,
+                oldStatus,
+                next.newStatus != UNKNOWN_STATUS ? next.newStatus : newStatus,
+                created || next.created,
+                updated || next.updated,
+                deleted || next.deleted);
+        }
+    }
+
+    private final String name;
+    private final Consumer<Collection<Change>> onBatch;
+    private final Timer flushTimer;
+
+    private final Object lock = new Object();
+    private Map<Integer, Change> pending = new LinkedHashMap<>();
+
+    private long eventCount;
+    private long batchCount;
+
+    // ============ CONSTRUCTOR ============
+
+    /**
+     * @param name     Tên hiển thị trong thống kê
+     * @param windowMs Độ dài cửa sổ gộp (ms)
+     * @param onBatch  Chạy trên EDT với các thay đổi đã gộp (theo thứ tự order xuất hiện)
+     */
+    public OrderUpdateCoalescer(String name, int windowMs, Consumer<Collection<Change>> onBatch) {
+        this.name = name;
+        this.onBatch = onBatch;
+        this.flushTimer = new Timer(windowMs, e -> flush());
+        this.flushTimer.setRepeats(false);
+    }
+
+    // ============ SUBSCRIPTION ============
+
+    /**
+     * Đăng ký với NotificationService (event tới trên thread nền, không chiếm EDT)
+     */
+    public void subscribe() {
+        NotificationService.getInstance().addListener(OrderUpdateListener.class, this);
+    }
+
+    /**
+     * Hủy đăng ký và bỏ batch đang chờ
+     */
+    public void unsubscribe() {
+        NotificationService.getInstance().removeListener(OrderUpdateListener.class, this);
+        synchronized (lock) {
+            flushTimer.stop();
+            pending.clear();
+        }
+    }
+
+    // ============ ORDER EVENTS ============
+
+    @Override
+    public void onOrderCreated(Order order) {
+        add(new Change(order.getOrderId(), order, UNKNOWN_STATUS, order.getStatus(), true, false, false));
+    }
+
+    @Override
+    public void onOrderStatusChanged(Order order, int oldStatus, int newStatus) {
+        add(new Change(order.getOrderId(), order, oldStatus, newStatus, false, false, false));
+    }
+
+    @Override
+    public void onOrderUpdated(Order order) {
+        add(new Change(order.getOrderId(), order, order.getStatus(), order.getStatus(), false, true, false));
+    }
+
+    @Override
+    public void onOrderDeleted(int orderId) {
+        add(new Change(orderId, null, UNKNOWN_STATUS, UNKNOWN_STATUS, false, false, true));
+    }
+
+    // ============ BATCHING ============
+
+    private void add(Change change) {
+        synchronized (lock) {
+            eventCount++;
+            pending.merge(change.orderId(), change, Change::merge);
+            // Cửa sổ cố định từ event đầu tiên: event dồn dập không đẩy lùi lần giao
+            if (!flushTimer.isRunning()) {
+                flushTimer.start();
+            }
+        }
+    }
+
+    private void flush() {
+        List<Change> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pending.values());
+            pending = new LinkedHashMap<>();
+            batchCount++;
+        }
+
+        try {
+            onBatch.accept(batch);
+        } catch (Exception e) {
+            System.err.println("❌ Error applying order updates (" + name + "): " + e.getMessage());
+        }
+    }
+
+    // ============ STATS ============
+
+    /**
+     * vd. "chef: 42 events -> 9 batches"
+     */
+    public String getStats() {
+        synchronized (lock) {
+            return name + ": " + eventCount + " events -> " + batchCount + " batches";
+        }
+    }
+}
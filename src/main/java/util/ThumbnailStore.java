@@ -0,0 +1,224 @@
+package util;
+
+import config.AppConfig;
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ThumbnailStore - Thumbnail ảnh sản phẩm lưu sẵn trên đĩa
+ * Path: Source Packages/util/ThumbnailStore.java
+ * 
+ * Chức năng:
+ * - Mỗi ảnh resource được scale sẵn về các kích thước card, lưu vào AppConfig.THUMBNAILS_PATH
+ * - Tên file = hash nội dung ảnh gốc + kích thước, nên ảnh gốc đổi nội dung
+ *   thì thumbnail mới được tạo lại ở lần đọc sau (không cần xóa tay)
+ * - Lần đầu: decode ảnh gốc + scale nhiều bước (ImageUtil.scaleSmooth) rồi ghi file;
+ *   các lần sau chỉ đọc file thumbnail nhỏ
+ * 
+ * ImageUtil.getScaledResourceImage đọc qua class này, ImageCache giữ kết quả trong RAM.
+ * Chạy main để tạo sẵn thumbnail cho toàn bộ resources/images.
+ * 
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class ThumbnailStore {
+    
+    // Kích thước ảnh trên các card: ProductCard, ProductPanel (CARD_WIDTH x 180), POS menu
+    public static final int[][] PRODUCT_THUMBNAIL_SIZES = {
+        {220, 160},
+        {220, 180},
+        {180, 100}
+    };
+    
+    private static final String THUMBNAIL_FORMAT = "jpg";
+    
+    private static ThumbnailStore instance;
+    private final File directory;
+    
+    // Hash nội dung theo resource; với file trên đĩa thì kiểm tra lại lastModified + length
+    private final Map<String, ContentHash> hashes = new ConcurrentHashMap<>();
+    
+    private record ContentHash(long lastModified, long length, String hash) {}
+    
+    // ============ SINGLETON ============
+    
+    private ThumbnailStore(File directory) {
+        this.directory = directory;
+    }
+    
+    public static synchronized ThumbnailStore getInstance() {
+        if (instance == null) {
+            instance = new ThumbnailStore(new File(AppConfig.THUMBNAILS_PATH));
+        }
+        return instance;
+    }
+    
+    // ============ LOAD ============
+    
+    /**
+     * Lấy thumbnail width x height của ảnh resource, chưa có thì tạo
+     * 
+     * @param resourcePath Đường dẫn tuyệt đối trong classpath (ví dụ "/images/1.jpg")
+     * @return Thumbnail, null nếu không tìm thấy / không đọc được ảnh gốc
+     */
+    public BufferedImage load(String resourcePath, int width, int height) {
+        URL url = ThumbnailStore.class.getResource(resourcePath);
+        if (url == null) {
+            System.err.println("✗ Không tìm thấy ảnh: " + resourcePath);
+            return null;
+        }
+        
+        try {
+            File thumbnail = new File(directory, contentHash(resourcePath, url) +
+                                      "_" + width + "x" + height + "." + THUMBNAIL_FORMAT);
+            if (thumbnail.isFile()) {
+                BufferedImage image = ImageIO.read(thumbnail);
+                if (image != null) {
+                    return image;
+                }
+            }
+            
+            BufferedImage source = ImageIO.read(url);
+            if (source == null) {
+                System.err.println("✗ Không đọc được ảnh: " + resourcePath);
+                return null;
+            }
+            
+            BufferedImage scaled = toRgb(ImageUtil.scaleSmooth(source, width, height));
+            write(scaled, thumbnail);
+            return scaled;
+            
+        } catch (IOException e) {
+            System.err.println("✗ Lỗi khi tải ảnh " + resourcePath + ": " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Quên hash đã nhớ của ảnh (gọi khi ảnh sản phẩm được thay)
+     */
+    public void invalidate(String resourcePath) {
+        hashes.remove(resourcePath);
+    }
+    
+    // ============ HELPER METHODS ============
+    
+    private String contentHash(String resourcePath, URL url) throws IOException {
+        File file = toFile(url);
+        long lastModified = file != null ? file.lastModified() : -1;
+        long length = file != null ? file.length() : -1;
+        
+        ContentHash known = hashes.get(resourcePath);
+        if (known != null && known.lastModified() == lastModified && known.length() == length) {
+            return known.hash();
+        }
+        
+        try (InputStream in = url.openStream()) {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                md.update(buffer, 0, read);
+            }
+            // 16 byte đầu là đủ để phân biệt ảnh, tên file ngắn hơn
+            String hash = HexFormat.of().formatHex(md.digest(), 0, 16);
+            hashes.put(resourcePath, new ContentHash(lastModified, length, hash));
+            return hash;
+            
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+    
+    /**
+     * File tương ứng với resource khi chạy từ thư mục classes (null nếu nằm trong jar)
+     */
+    private static File toFile(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return new File(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Ghi thumbnail qua file tạm rồi move, thread khác không đọc phải file ghi dở
+     * Lỗi ghi (thư mục read-only...) chỉ log, ảnh vẫn được trả về
+     */
+    private void write(BufferedImage image, File target) {
+        try {
+            Files.createDirectories(directory.toPath());
+            File temp = File.createTempFile("thumb", ".tmp", directory);
+            try {
+                if (!ImageIO.write(image, THUMBNAIL_FORMAT, temp)) {
+                    return;
+                }
+                Files.move(temp.toPath(), target.toPath(),
+                           StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp.toPath());
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️ Cannot write thumbnail " + target + ": " + e.getMessage());
+        }
+    }
+    
+    /**
+     * JPEG writer không nhận ảnh có alpha
+     */
+    private static BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB) {
+            return image;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = rgb.createGraphics();
+        g2d.drawImage(image, 0, 0, java.awt.Color.WHITE, null);
+        g2d.dispose();
+        return rgb;
+    }
+    
+    // ============ MAIN - PRE-GENERATE ============
+    
+    /**
+     * Tạo sẵn thumbnail cho mọi ảnh trong resources/images
+     */
+    public static void main(String[] args) {
+        File[] images = new File(AppConfig.IMAGES_PATH).listFiles(
+            (dir, name) -> name.toLowerCase().matches(".*\\.(jpg|jpeg|png)"));
+        if (images == null) {
+            System.err.println("❌ Image folder not found: " + AppConfig.IMAGES_PATH);
+            return;
+        }
+        
+        ThumbnailStore store = getInstance();
+        long start = System.nanoTime();
+        int generated = 0;
+        
+        for (File image : images) {
+            for (int[] size : PRODUCT_THUMBNAIL_SIZES) {
+                if (store.load("/images/" + image.getName(), size[0], size[1]) != null) {
+                    generated++;
+                }
+            }
+        }
+        
+        System.out.printf("✅ %d thumbnails ready in %s (%.0f ms)%n", generated,
+                          store.directory.getAbsolutePath(), (System.nanoTime() - start) / 1_000_000.0);
+    }
+}
@@ -0,0 +1,165 @@
+package util;
+
+import javax.swing.SwingUtilities;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * UiLoader - Chạy truy vấn DB ngoài EDT rồi áp kết quả lên giao diện
+ * Path: Source Packages/util/UiLoader.java
+ *
+ * Chức năng:
+ * - Query chạy trên pool nền riêng (daemon thread), DB chậm không làm đứng màn hình
+ * - Mỗi UiLoader là một vùng dữ liệu của panel: load() mới thay thế load() cũ,
+ *   task cũ chưa chạy thì bị hủy, đã chạy xong thì kết quả bị bỏ qua
+ * - Kết quả áp lên giao diện trong một lần invokeLater
+ * - Lỗi được log và chuyển cho onError trên EDT (không mở dialog chặn từ timer)
+ *
+ * Cách dùng:
+ *   ordersLoader = new UiLoader<>("orders", this::showOrders, this::showLoadError);
+ *   ordersLoader.load(() -> orderService.getOrdersWithItemsByStatus(...));
+ *
+ * Thao tác ghi một lần (đặt món, thanh toán...) dùng UiLoader.submit().
+ *
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class UiLoader<T> {
+
+    // Đủ cho vài panel refresh cùng lúc, nhỏ hơn pool connection để còn chỗ cho thao tác ghi
+    private static final int THREADS = 4;
+
+    private static final ExecutorService EXECUTOR;
+
+    static {
+        AtomicInteger threadCount = new AtomicInteger();
+        EXECUTOR = Executors.newFixedThreadPool(THREADS, r -> {
+            Thread t = new Thread(r, "ui-loader-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private final String name;
+    private final Consumer<T> onLoaded;
+    private final Consumer<Exception> onError;
+
+    // Thế hệ của lần load mới nhất; kết quả mang thế hệ cũ hơn là dữ liệu cũ
+    private final AtomicLong generation = new AtomicLong();
+    private volatile long appliedGeneration;
+    private volatile Future<?> running;
+
+    // ============ CONSTRUCTOR ============
+
+    public UiLoader(String name, Consumer<T> onLoaded) {
+        this(name, onLoaded, null);
+    }
+
+    /**
+     * @param name     Tên hiển thị trong log
+     * @param onLoaded Chạy trên EDT với kết quả của lần load mới nhất
+     * @param onError  Chạy trên EDT khi query lỗi (null = chỉ log)
+     */
+    public UiLoader(String name, Consumer<T> onLoaded, Consumer<Exception> onError) {
+        this.name = name;
+        this.onLoaded = onLoaded;
+        this.onError = onError;
+    }
+
+    // ============ PUBLIC API ============
+
+    /**
+     * Chạy query trên thread nền, thay thế lần load trước (gọi từ thread nào cũng được)
+     */
+    public void load(Callable<T> query) {
+        long gen = generation.incrementAndGet();
+        cancelRunning();
+        running = EXECUTOR.submit(() -> run(gen, query));
+    }
+
+    /**
+     * Bỏ lần load đang chạy (panel bị đóng / đổi màn hình)
+     */
+    public void cancel() {
+        long gen = generation.incrementAndGet();
+        cancelRunning();
+        appliedGeneration = gen;
+    }
+
+    /**
+     * Còn lần load nào chưa áp lên giao diện không
+     */
+    public boolean isLoading() {
+        return appliedGeneration < generation.get();
+    }
+
+    /**
+     * Chạy một thao tác một lần trên thread nền (không thay thế nhau như load())
+     *
+     * @param onDone  Chạy trên EDT với kết quả
+     * @param onError Chạy trên EDT khi thao tác lỗi (null = chỉ log)
+     */
+    public static <R> void submit(String name, Callable<R> task, Consumer<R> onDone, Consumer<Exception> onError) {
+        EXECUTOR.submit(() -> {
+            try {
+                R result = task.call();
+                SwingUtilities.invokeLater(() -> onDone.accept(result));
+            } catch (Exception e) {
+                System.err.println("❌ Error in " + name + ": " + e.getMessage());
+                if (onError != null) {
+                    SwingUtilities.invokeLater(() -> onError.accept(e));
+                }
+            }
+        });
+    }
+
+    // ============ HELPERS ============
+
+    private void cancelRunning() {
+        Future<?> previous = running;
+        if (previous != null) {
+            // Không interrupt: JDBC đang đọc dở có thể làm hỏng connection trong pool
+            previous.cancel(false);
+        }
+    }
+
+    private void run(long gen, Callable<T> query) {
+        if (gen != generation.get()) {
+            return;
+        }
+
+        T result;
+        try {
+            result = query.call();
+        } catch (Exception e) {
+            System.err.println("❌ Error loading " + name + ": " + e.getMessage());
+            deliver(gen, () -> {
+                if (onError != null) {
+                    onError.accept(e);
+                }
+            });
+            return;
+        }
+
+        deliver(gen, () -> onLoaded.accept(result));
+    }
+
+    private void deliver(long gen, Runnable apply) {
+        if (gen != generation.get()) {
+            return;
+        }
+        SwingUtilities.invokeLater(() -> {
+            // Kiểm tra lại trên EDT: có thể đã có load mới trong lúc chờ
+            if (gen != generation.get()) {
+                return;
+            }
+            appliedGeneration = gen;
+            apply.run();
+        });
+    }
+}
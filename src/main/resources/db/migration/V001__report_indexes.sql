@@ -0,0 +1,19 @@
+-- ============================================================
+-- V001 - Indexes cho report / dashboard queries
+-- Database: fastfood_db (MySQL 8)
+--
+-- ReportDAO lọc theo khoảng nửa mở created_at >= ? AND created_at < ?
+-- thay vì DATE(created_at) = ?, nên các index dưới đây được dùng trực tiếp.
+--
+-- Chạy một lần:  mysql -u root -p fastfood_db < V001__report_indexes.sql
+-- Kiểm tra:      chạy dao.ReportDAO.main (EXPLAIN từng query)
+-- ============================================================
+
+-- Doanh thu / số đơn theo khoảng ngày:
+-- range scan trên created_at, status + total_amount nằm sẵn trong index (covering, không đọc row)
+ALTER TABLE orders
+    ADD INDEX idx_orders_created_status_total (created_at, status, total_amount);
+
+-- Danh sách đơn theo trạng thái, mới nhất trước (OrderDAO.getByStatus, page() có filter status)
+ALTER TABLE orders
+    ADD INDEX idx_orders_status_created (status, created_at);
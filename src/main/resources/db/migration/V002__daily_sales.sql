@@ -0,0 +1,26 @@
+-- ============================================================
+-- V002 - Bảng rollup daily_sales
+-- Database: fastfood_db (MySQL 8)
+--
+-- Doanh số đã thanh toán (payment_status = 1, status <> 6) gộp theo
+-- ngày × giờ × sản phẩm × phương thức thanh toán, theo thời điểm tạo đơn.
+-- product_id = 0: dòng tổng của cả đơn (order_count = số đơn, revenue = total_amount)
+-- product_id > 0: dòng theo món (order_count = số đơn có món, quantity, revenue = subtotal)
+--
+-- Cập nhật tăng dần trong cùng transaction khi OrderDAO đổi payment_status / hủy đơn
+-- (xem DailySalesDAO). Backfill / rebuild: chạy main.RebuildDailySales
+--
+-- Chạy một lần:  mysql -u root -p fastfood_db < V002__daily_sales.sql
+-- ============================================================
+
+CREATE TABLE IF NOT EXISTS daily_sales (
+    sales_date   DATE          NOT NULL,
+    sales_hour   TINYINT       NOT NULL,
+    product_id   INT           NOT NULL,
+    pay_method   TINYINT       NOT NULL,
+    order_count  INT           NOT NULL DEFAULT 0,
+    quantity     INT           NOT NULL DEFAULT 0,
+    revenue      DECIMAL(14,2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (sales_date, sales_hour, product_id, pay_method),
+    INDEX idx_daily_sales_product_date (product_id, sales_date)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
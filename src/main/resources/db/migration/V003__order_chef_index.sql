@@ -0,0 +1,15 @@
+-- ============================================================
+-- V003 - Index cho orders theo chef
+-- Database: fastfood_db (MySQL 8)
+--
+-- ChefService.getOrdersByChef / getChefCompletedCount dùng
+-- OrderDAO.page(PageFilter.all().assignedChef(id)...):
+--   WHERE assigned_chef_id = ? ... ORDER BY created_at DESC, order_id DESC
+-- Index (assigned_chef_id, created_at) trả đúng thứ tự (order_id là PK nằm sẵn
+-- trong secondary index), không filesort và không quét đơn của chef khác.
+--
+-- Chạy một lần:  mysql -u root -p fastfood_db < V003__order_chef_index.sql
+-- ============================================================
+
+ALTER TABLE orders
+    ADD INDEX idx_orders_chef_created (assigned_chef_id, created_at);
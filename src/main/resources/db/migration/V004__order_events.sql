@@ -0,0 +1,33 @@
+-- ============================================================
+-- V004 - Bảng outbox order_events
+-- Database: fastfood_db (MySQL 8)
+--
+-- Mỗi thay đổi trên orders (tạo đơn, đổi status, thanh toán, sửa, xóa) ghi thêm
+-- một dòng vào đây trong cùng transaction (xem OrderDAO / OrderEventDAO).
+-- Mỗi JVM (quầy, bếp, TV) chạy một OrderEventTailer đọc event_id > last_id
+-- mỗi 500 ms thay vì nhiều màn hình cùng query orders theo status.
+--
+-- event_type: CREATED   new_value = status
+--             STATUS    old_value -> new_value (status; old_value NULL nếu không biết)
+--             PAYMENT   new_value = payment_status
+--             UPDATED   sửa thông tin khác (items, tổng tiền, chef...)
+--             DELETED
+-- origin: id của process đã ghi, tailer bỏ qua event của chính nó
+--         (process đó đã phát event trong bộ nhớ ngay lúc commit)
+--
+-- Chỉ giữ ngắn hạn: tailer xóa dòng cũ hơn 1 ngày.
+--
+-- Chạy một lần:  mysql -u root -p fastfood_db < V004__order_events.sql
+-- ============================================================
+
+CREATE TABLE IF NOT EXISTS order_events (
+    event_id    BIGINT       NOT NULL AUTO_INCREMENT,
+    order_id    INT          NOT NULL,
+    event_type  VARCHAR(10)  NOT NULL,
+    old_value   TINYINT      NULL,
+    new_value   TINYINT      NULL,
+    origin      CHAR(36)     NOT NULL,
+    created_at  TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (event_id),
+    INDEX idx_order_events_created (created_at)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
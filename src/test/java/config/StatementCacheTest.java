@@ -0,0 +1,239 @@
+package config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * StatementCacheTest - LRU, đóng statement bị đẩy ra và tách biệt giữa các connection
+ * Path: Test Packages/config/StatementCacheTest.java
+ *
+ * Connection / PreparedStatement giả bằng java.lang.reflect.Proxy, không cần database.
+ *
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class StatementCacheTest {
+
+    private static final String SQL_A = "SELECT a";
+    private static final String SQL_B = "SELECT b";
+    private static final String SQL_C = "SELECT c";
+
+    private AtomicLong hits;
+    private AtomicLong misses;
+    private FakeConnection physical;
+
+    @Before
+    public void setUp() {
+        hits = new AtomicLong();
+        misses = new AtomicLong();
+        physical = new FakeConnection();
+    }
+
+    // ============ REUSE ============
+
+    @Test
+    public void closedStatementIsReusedForSameSql() throws SQLException {
+        StatementCache cache = new StatementCache(4, hits, misses);
+
+        PreparedStatement first = prepare(cache, physical, SQL_A);
+        first.setInt(1, 42);
+        first.close();
+        PreparedStatement second = prepare(cache, physical, SQL_A);
+
+        assertSame(first, second);
+        assertEquals(1, physical.prepared.size());
+        assertEquals(1, physical.prepared.get(0).clearParameterCalls);
+        assertEquals(1, hits.get());
+        assertEquals(1, misses.get());
+    }
+
+    @Test
+    public void generatedKeysFlagIsPartOfKey() throws SQLException {
+        StatementCache cache = new StatementCache(4, hits, misses);
+
+        prepare(cache, physical, SQL_A).close();
+        PreparedStatement withKeys = cache.prepare(physical.proxy, physical.proxy,
+                                                   new Object[] { SQL_A, Statement.RETURN_GENERATED_KEYS });
+        withKeys.close();
+
+        assertEquals(2, physical.prepared.size());
+        assertEquals(2, cache.size());
+        assertEquals(0, hits.get());
+    }
+
+    @Test
+    public void closedProxyRejectsCalls() throws SQLException {
+        StatementCache cache = new StatementCache(4, hits, misses);
+        PreparedStatement ps = prepare(cache, physical, SQL_A);
+        ps.close();
+
+        assertTrue(ps.isClosed());
+        assertFalse(physical.prepared.get(0).closed);
+        try {
+            ps.executeUpdate();
+            fail("Statement đã close() vẫn chạy được");
+        } catch (SQLException expected) {
+            // Statement is closed
+        }
+    }
+
+    @Test
+    public void nestedUseOfSameSqlGetsUncachedStatement() throws SQLException {
+        StatementCache cache = new StatementCache(4, hits, misses);
+
+        PreparedStatement outer = prepare(cache, physical, SQL_A);
+        PreparedStatement inner = prepare(cache, physical, SQL_A);
+        assertNotSame(outer, inner);
+
+        inner.close();
+        assertTrue(physical.prepared.get(1).closed);
+        outer.close();
+        assertFalse(physical.prepared.get(0).closed);
+        assertEquals(1, cache.size());
+    }
+
+    // ============ LRU ============
+
+    @Test
+    public void leastRecentlyUsedIsEvictedAndClosed() throws SQLException {
+        StatementCache cache = new StatementCache(2, hits, misses);
+
+        prepare(cache, physical, SQL_A).close();
+        prepare(cache, physical, SQL_B).close();
+        prepare(cache, physical, SQL_A).close();     // A mới dùng -> B là cũ nhất
+        prepare(cache, physical, SQL_C).close();
+
+        assertEquals(2, cache.size());
+        assertFalse(physical.prepared.get(0).closed);   // A
+        assertTrue(physical.prepared.get(1).closed);    // B
+        assertFalse(physical.prepared.get(2).closed);   // C
+
+        prepare(cache, physical, SQL_A).close();
+        assertEquals(3, physical.prepared.size());
+        prepare(cache, physical, SQL_B).close();
+        assertEquals(4, physical.prepared.size());
+    }
+
+    @Test
+    public void statementEvictedWhileInUseClosesOnCheckIn() throws SQLException {
+        StatementCache cache = new StatementCache(1, hits, misses);
+
+        PreparedStatement a = prepare(cache, physical, SQL_A);
+        prepare(cache, physical, SQL_B).close();
+        assertFalse(physical.prepared.get(0).closed);
+
+        a.close();
+        assertTrue(physical.prepared.get(0).closed);
+        assertFalse(physical.prepared.get(1).closed);
+    }
+
+    @Test
+    public void clearClosesInUseStatementOnCheckIn() throws SQLException {
+        StatementCache cache = new StatementCache(4, hits, misses);
+
+        PreparedStatement a = prepare(cache, physical, SQL_A);
+        cache.clear();
+        assertEquals(0, cache.size());
+
+        a.close();
+        assertTrue(physical.prepared.get(0).closed);
+    }
+
+    // ============ PER CONNECTION ============
+
+    @Test
+    public void eachConnectionHasItsOwnStatements() throws SQLException {
+        FakeConnection other = new FakeConnection();
+        StatementCache first = new StatementCache(4, hits, misses);
+        StatementCache second = new StatementCache(4, hits, misses);
+
+        PreparedStatement a1 = prepare(first, physical, SQL_A);
+        a1.close();
+        PreparedStatement a2 = prepare(second, other, SQL_A);
+
+        assertNotSame(a1, a2);
+        assertEquals(1, physical.prepared.size());
+        assertEquals(1, other.prepared.size());
+        assertSame(physical.proxy, a1.getConnection());
+        assertSame(other.proxy, a2.getConnection());
+        assertEquals(2, misses.get());   // Counter dùng chung của pool
+
+        a2.close();
+        assertSame(a1, prepare(first, physical, SQL_A));
+        assertEquals(1, hits.get());
+    }
+
+    // ============ HELPER METHODS ============
+
+    private static PreparedStatement prepare(StatementCache cache, FakeConnection conn, String sql) throws SQLException {
+        return cache.prepare(conn.proxy, conn.proxy, new Object[] { sql });
+    }
+
+    /**
+     * Connection giả: ghi lại mọi statement đã prepare trên "server"
+     */
+    private static final class FakeConnection {
+
+        final List<FakeStatement> prepared = new ArrayList<>();
+        final Connection proxy = (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+            (p, method, args) -> {
+                if (method.getName().equals("prepareStatement")) {
+                    FakeStatement statement = new FakeStatement();
+                    prepared.add(statement);
+                    return statement.proxy;
+                }
+                return defaultValue(method.getReturnType());
+            });
+    }
+
+    /**
+     * PreparedStatement giả: chỉ nhớ đã đóng chưa và số lần clearParameters()
+     */
+    private static final class FakeStatement {
+
+        boolean closed;
+        int clearParameterCalls;
+        final PreparedStatement proxy = (PreparedStatement) Proxy.newProxyInstance(
+            PreparedStatement.class.getClassLoader(), new Class<?>[] { PreparedStatement.class },
+            (p, method, args) -> {
+                switch (method.getName()) {
+                    case "close" -> closed = true;
+                    case "isClosed" -> {
+                        return closed;
+                    }
+                    case "clearParameters" -> clearParameterCalls++;
+                    default -> { }
+                }
+                return defaultValue(method.getReturnType());
+            });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,76 @@
+package dao;
+
+import static org.junit.Assert.assertTrue;
+
+import config.DBConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * ReportDAOIndexTest - Các query báo cáo theo ngày phải dùng index
+ * Path: Test Packages/dao/ReportDAOIndexTest.java
+ *
+ * Chức năng:
+ * - EXPLAIN từng query theo khoảng ngày của ReportDAO; lỗi nếu type = ALL hoặc không có key
+ * - Cần MySQL đã apply db/migration/V001__report_indexes.sql; không kết nối được thì bỏ qua
+ *
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class ReportDAOIndexTest {
+
+    private Connection conn;
+
+    @Before
+    public void connect() {
+        try {
+            conn = DBConnection.createNewConnection();
+        } catch (SQLException e) {
+            Assume.assumeNoException("Database not reachable", e);
+        }
+    }
+
+    @After
+    public void close() throws SQLException {
+        if (conn != null) {
+            conn.close();
+        }
+    }
+
+    @Test
+    public void revenueByDateRangeUsesIndex() throws SQLException {
+        assertIndexed(ReportDAO.SQL_REVENUE_BETWEEN);
+    }
+
+    @Test
+    public void orderCountByDateUsesIndex() throws SQLException {
+        assertIndexed(ReportDAO.SQL_ORDER_COUNT_BETWEEN);
+    }
+
+    // ============ HELPER METHODS ============
+
+    private void assertIndexed(String sql) throws SQLException {
+        String today = LocalDate.now().toString();
+        try (PreparedStatement ps = conn.prepareStatement("EXPLAIN " + sql)) {
+            ps.setTimestamp(1, ReportDAO.startOfDay(today));
+            ps.setTimestamp(2, ReportDAO.startOfNextDay(today));
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String type = rs.getString("type");
+                    String key = rs.getString("key");
+                    assertTrue("Full scan (type=" + type + ", key=" + key + ") - apply "
+                               + "db/migration/V001__report_indexes.sql: " + sql,
+                               key != null && !"ALL".equals(type));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package main;
+
+import config.DBConnection;
+import dao.OrderDAO;
+import dao.OrderItemDAO;
+import entity.Order;
+import entity.OrderItem;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BatchInsertBenchmark - So sánh insert order items từng dòng vs batch
+ * Path: Test Packages/main/BatchInsertBenchmark.java
+ *
+ * Chức năng:
+ * - Đo OrderItemDAO.create() trong vòng lặp vs OrderItemDAO.createAll() với 1/10/50 items
+ * - Mỗi lần đo chạy trong transaction rồi rollback, không để lại dữ liệu
+ *
+ * Chạy: cần MySQL fastfood_db giống DBConnection.main. Nằm ở test scope (không vào jar):
+ *   mvn test-compile exec:java -Dexec.mainClass=main.BatchInsertBenchmark -Dexec.classpathScope=test
+ *
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class BatchInsertBenchmark {
+
+    private static final int[] ITEM_COUNTS = {1, 10, 50};
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 20;
+
+    private final OrderDAO orderDAO = new OrderDAO();
+    private final OrderItemDAO orderItemDAO = new OrderItemDAO();
+
+    public static void main(String[] args) throws SQLException {
+        BatchInsertBenchmark benchmark = new BatchInsertBenchmark();
+
+        System.out.println("📊 Order item insert: loop vs batch (avg of " + MEASURED_ROUNDS + " rounds)\n");
+        System.out.printf("%-8s %12s %12s %10s%n", "Items", "Loop (ms)", "Batch (ms)", "Speedup");
+
+        for (int itemCount : ITEM_COUNTS) {
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                benchmark.run(itemCount, false);
+                benchmark.run(itemCount, true);
+            }
+
+            long loopNanos = 0;
+            long batchNanos = 0;
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                loopNanos += benchmark.run(itemCount, false);
+                batchNanos += benchmark.run(itemCount, true);
+            }
+
+            double loopMs = loopNanos / 1_000_000.0 / MEASURED_ROUNDS;
+            double batchMs = batchNanos / 1_000_000.0 / MEASURED_ROUNDS;
+            System.out.printf("%-8d %12.2f %12.2f %9.1fx%n", itemCount, loopMs, batchMs, loopMs / batchMs);
+        }
+
+        System.out.println("\n" + DBConnection.getPoolStats());
+        DBConnection.shutdown();
+    }
+
+    /**
+     * Tạo một order tạm + itemCount items, đo thời gian insert items rồi rollback
+     * @return Thời gian insert items (nanoseconds)
+     */
+    private long run(int itemCount, boolean batch) throws SQLException {
+        long[] elapsed = new long[1];
+
+        DBConnection.inTransaction(() -> {
+            Order order = new Order("Benchmark", "0000000000", 0, 0);
+            if (!orderDAO.create(order)) {
+                throw new SQLException("Cannot create benchmark order");
+            }
+
+            List<OrderItem> items = new ArrayList<>();
+            for (int i = 0; i < itemCount; i++) {
+                items.add(new OrderItem(order.getOrderId(), 1, "Benchmark item " + i, 1, 10_000, 10_000));
+            }
+
+            long start = System.nanoTime();
+            if (batch) {
+                orderItemDAO.createAll(items);
+            } else {
+                for (OrderItem item : items) {
+                    orderItemDAO.create(item);
+                }
+            }
+            elapsed[0] = System.nanoTime() - start;
+
+            DBConnection.setRollbackOnly();
+            return true;
+        });
+
+        return elapsed[0];
+    }
+}
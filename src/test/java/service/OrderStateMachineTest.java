@@ -0,0 +1,181 @@
+package service;
+
+import static config.AppConfig.ORDER_STATUS_CANCELLED;
+import static config.AppConfig.ORDER_STATUS_COMPLETED;
+import static config.AppConfig.ORDER_STATUS_CONFIRMED;
+import static config.AppConfig.ORDER_STATUS_COOKING;
+import static config.AppConfig.ORDER_STATUS_NEW;
+import static config.AppConfig.ORDER_STATUS_PREPARING;
+import static config.AppConfig.ORDER_STATUS_READY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import dao.OrderDAO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * OrderStateMachineTest - Transition hợp lệ / bị từ chối và trường hợp thua compare-and-set
+ * Path: Test Packages/service/OrderStateMachineTest.java
+ *
+ * OrderDAO giả giữ status trong bộ nhớ, transitionStatus() là compare-and-set như câu UPDATE thật.
+ *
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class OrderStateMachineTest {
+
+    private static final int ORDER_ID = 7;
+
+    private FakeOrderDAO orderDAO;
+    private OrderStateMachine stateMachine;
+
+    @Before
+    public void setUp() {
+        orderDAO = new FakeOrderDAO();
+        stateMachine = new OrderStateMachine(orderDAO);
+    }
+
+    // ============ TRANSITION TABLE ============
+
+    @Test
+    public void kitchenFlowIsAllowed() {
+        assertTrue(stateMachine.canTransition(ORDER_STATUS_NEW, ORDER_STATUS_CONFIRMED));
+        assertTrue(stateMachine.canTransition(ORDER_STATUS_CONFIRMED, ORDER_STATUS_PREPARING));
+        assertTrue(stateMachine.canTransition(ORDER_STATUS_PREPARING, ORDER_STATUS_COOKING));
+        assertTrue(stateMachine.canTransition(ORDER_STATUS_COOKING, ORDER_STATUS_READY));
+        assertTrue(stateMachine.canTransition(ORDER_STATUS_READY, ORDER_STATUS_COMPLETED));
+    }
+
+    @Test
+    public void kitchenShortcutsAreAllowed() {
+        assertTrue(stateMachine.canTransition(ORDER_STATUS_NEW, ORDER_STATUS_COOKING));
+        assertTrue(stateMachine.canTransition(ORDER_STATUS_CONFIRMED, ORDER_STATUS_COOKING));
+        assertTrue(stateMachine.canTransition(ORDER_STATUS_PREPARING, ORDER_STATUS_READY));
+    }
+
+    @Test
+    public void cancelOnlyBeforeCooking() {
+        assertTrue(stateMachine.canTransition(ORDER_STATUS_NEW, ORDER_STATUS_CANCELLED));
+        assertTrue(stateMachine.canTransition(ORDER_STATUS_CONFIRMED, ORDER_STATUS_CANCELLED));
+        assertTrue(stateMachine.canTransition(ORDER_STATUS_PREPARING, ORDER_STATUS_CANCELLED));
+        assertFalse(stateMachine.canTransition(ORDER_STATUS_COOKING, ORDER_STATUS_CANCELLED));
+        assertFalse(stateMachine.canTransition(ORDER_STATUS_READY, ORDER_STATUS_CANCELLED));
+    }
+
+    @Test
+    public void backwardsSkipsAndFinalStatesAreRejected() {
+        assertFalse(stateMachine.canTransition(ORDER_STATUS_COOKING, ORDER_STATUS_PREPARING));
+        assertFalse(stateMachine.canTransition(ORDER_STATUS_READY, ORDER_STATUS_COOKING));
+        assertFalse(stateMachine.canTransition(ORDER_STATUS_NEW, ORDER_STATUS_READY));
+        assertFalse(stateMachine.canTransition(ORDER_STATUS_NEW, ORDER_STATUS_COMPLETED));
+        assertFalse(stateMachine.canTransition(ORDER_STATUS_COMPLETED, ORDER_STATUS_NEW));
+        assertFalse(stateMachine.canTransition(ORDER_STATUS_CANCELLED, ORDER_STATUS_NEW));
+        assertFalse(stateMachine.canTransition(ORDER_STATUS_COOKING, ORDER_STATUS_COOKING));
+        assertFalse(stateMachine.canTransition(-1, ORDER_STATUS_CONFIRMED));
+    }
+
+    // ============ COMPARE-AND-SET ============
+
+    @Test
+    public void invalidTransitionDoesNotTouchDatabase() {
+        orderDAO.status.set(ORDER_STATUS_COOKING);
+
+        assertFalse(stateMachine.transition(ORDER_ID, ORDER_STATUS_COOKING, ORDER_STATUS_CANCELLED));
+        assertEquals(0, orderDAO.casCalls.get());
+        assertEquals(ORDER_STATUS_COOKING, orderDAO.status.get());
+    }
+
+    @Test
+    public void transitionWinsWhenStatusMatches() {
+        orderDAO.status.set(ORDER_STATUS_PREPARING);
+
+        assertTrue(stateMachine.transition(ORDER_ID, ORDER_STATUS_PREPARING, ORDER_STATUS_COOKING));
+        assertEquals(ORDER_STATUS_COOKING, orderDAO.status.get());
+    }
+
+    @Test
+    public void transitionLosesWhenStatusAlreadyChanged() {
+        orderDAO.status.set(ORDER_STATUS_COOKING);    // Chef khác đã nhận đơn
+
+        assertFalse(stateMachine.transition(ORDER_ID, ORDER_STATUS_PREPARING, ORDER_STATUS_COOKING));
+        assertEquals(1, orderDAO.casCalls.get());
+        assertEquals(ORDER_STATUS_COOKING, orderDAO.status.get());
+    }
+
+    @Test
+    public void transitionWithoutKnownStatusUsesCurrentStatus() {
+        orderDAO.status.set(ORDER_STATUS_READY);
+
+        assertTrue(stateMachine.transition(ORDER_ID, ORDER_STATUS_COMPLETED));
+        assertEquals(ORDER_STATUS_COMPLETED, orderDAO.status.get());
+        assertFalse(stateMachine.transition(ORDER_ID, ORDER_STATUS_READY));
+    }
+
+    @Test
+    public void missingOrderIsRejected() {
+        assertFalse(stateMachine.transition(ORDER_ID + 1, ORDER_STATUS_CONFIRMED));
+        assertEquals(0, orderDAO.casCalls.get());
+    }
+
+    @Test
+    public void onlyOneOfConcurrentTransitionsWins() throws Exception {
+        int threads = 8;
+        orderDAO.status.set(ORDER_STATUS_PREPARING);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Callable<Boolean> task = () -> {
+                    start.await();
+                    return stateMachine.transition(ORDER_ID, ORDER_STATUS_PREPARING, ORDER_STATUS_COOKING);
+                };
+                results.add(pool.submit(task));
+            }
+            start.countDown();
+
+            int winners = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    winners++;
+                }
+            }
+            assertEquals(1, winners);
+            assertEquals(threads, orderDAO.casCalls.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // ============ FAKE DAO ============
+
+    /**
+     * Một order ORDER_ID, status trong bộ nhớ
+     */
+    private static final class FakeOrderDAO extends OrderDAO {
+
+        final AtomicInteger status = new AtomicInteger(ORDER_STATUS_NEW);
+        final AtomicInteger casCalls = new AtomicInteger();
+
+        @Override
+        public boolean transitionStatus(int orderId, int expectedFrom, int to) {
+            casCalls.incrementAndGet();
+            return orderId == ORDER_ID && status.compareAndSet(expectedFrom, to);
+        }
+
+        @Override
+        public int getStatus(int orderId) {
+            return orderId == ORDER_ID ? status.get() : -1;
+        }
+    }
+}
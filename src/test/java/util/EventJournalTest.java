@@ -0,0 +1,196 @@
+package util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import util.EventJournal.Entry;
+
+/**
+ * EventJournalTest - Ghi / replay, khôi phục sau record dở dang, mở lại và xoay segment
+ * Path: Test Packages/util/EventJournalTest.java
+ *
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class EventJournalTest {
+
+    private static final int SEGMENT_RECORDS = 4;
+    private static final int MAX_SEGMENTS = 2;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File directory;
+    private EventJournal journal;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = folder.newFolder("journal");
+        journal = open();
+    }
+
+    @After
+    public void tearDown() {
+        journal.close();
+    }
+
+    // ============ WRITE / REPLAY ============
+
+    @Test
+    public void replayReturnsRecordsInWriteOrder() throws IOException {
+        journal.append(1, 10, -1, 0, 0);
+        journal.append(2, 10, 0, 3, 0);
+        journal.append(20, 5, -1, -1, Double.doubleToLongBits(2.5));
+
+        List<Entry> entries = replay(journal);
+        assertEquals(3, entries.size());
+        assertEntry(entries.get(0), 1, 10, -1, 0, 0);
+        assertEntry(entries.get(1), 2, 10, 0, 3, 0);
+        assertEntry(entries.get(2), 20, 5, -1, -1, Double.doubleToLongBits(2.5));
+        assertTrue(entries.get(0).time() > 0);
+    }
+
+    @Test
+    public void emptyJournalReplaysNothing() throws IOException {
+        assertEquals(0, journal.replay(entry -> fail("Journal mới không có record")));
+    }
+
+    @Test
+    public void closedJournalRejectsAppend() {
+        journal.close();
+
+        assertFalse(journal.append(1, 1, 0, 0, 0));
+    }
+
+    // ============ REOPEN ============
+
+    @Test
+    public void reopenAppendsAfterLastCommittedRecord() throws IOException {
+        journal.append(1, 1, 0, 0, 0);
+        journal.append(1, 2, 0, 0, 0);
+        journal.close();
+
+        journal = open();
+        journal.append(1, 3, 0, 0, 0);
+
+        assertArrayEquals(new int[] {1, 2, 3}, keys(replay(journal)));
+    }
+
+    @Test
+    public void secondWriterOnSameDirectoryIsRejected() {
+        try {
+            open();
+            fail("Hai journal cùng ghi một thư mục");
+        } catch (IOException expected) {
+            // Journal is in use
+        }
+    }
+
+    @Test
+    public void tornRecordIsSkippedAndOverwritten() throws IOException {
+        journal.append(1, 1, 0, 0, 0);
+        journal.append(1, 2, 0, 0, 0);
+        journal.close();
+
+        // Process chết khi đang ghi record thứ 3: dữ liệu đã ghi, marker COMMITTED chưa
+        try (RandomAccessFile segment = new RandomAccessFile(segmentFile(1), "rw")) {
+            segment.seek(2L * EventJournal.RECORD_SIZE + 4);
+            segment.writeShort(99);
+            segment.writeShort(0);
+            segment.writeLong(123L);
+            segment.writeInt(99);
+        }
+
+        journal = open();
+        assertArrayEquals(new int[] {1, 2}, keys(replay(journal)));
+
+        journal.append(7, 3, 0, 0, 0);
+        List<Entry> entries = replay(journal);
+        assertArrayEquals(new int[] {1, 2, 3}, keys(entries));
+        assertEquals(7, entries.get(2).type());
+    }
+
+    // ============ SEGMENTS ============
+
+    @Test
+    public void fullSegmentRotatesAndOldSegmentsArePruned() throws IOException {
+        for (int key = 1; key <= 10; key++) {
+            assertTrue(journal.append(1, key, 0, 0, 0));
+        }
+
+        // Segment 1 (key 1-4) đã bị xóa, còn segment 2 (5-8) và 3 (9-10)
+        assertFalse(segmentFile(1).exists());
+        assertTrue(segmentFile(2).exists());
+        assertTrue(segmentFile(3).exists());
+        assertArrayEquals(new int[] {5, 6, 7, 8, 9, 10}, keys(replay(journal)));
+    }
+
+    @Test
+    public void reopenAfterRotationContinuesInLastSegment() throws IOException {
+        for (int key = 1; key <= 6; key++) {
+            journal.append(1, key, 0, 0, 0);
+        }
+        journal.close();
+
+        journal = open();
+        journal.append(1, 7, 0, 0, 0);
+        journal.append(1, 8, 0, 0, 0);
+        journal.append(1, 9, 0, 0, 0);
+
+        assertTrue(segmentFile(3).exists());
+        assertArrayEquals(new int[] {5, 6, 7, 8, 9}, keys(replay(journal)));
+    }
+
+    @Test
+    public void reopenWithFullLastSegmentRotatesOnNextAppend() throws IOException {
+        for (int key = 1; key <= SEGMENT_RECORDS; key++) {
+            journal.append(1, key, 0, 0, 0);
+        }
+        journal.close();
+
+        journal = open();
+        journal.append(1, 5, 0, 0, 0);
+
+        assertTrue(segmentFile(2).exists());
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5}, keys(replay(journal)));
+    }
+
+    // ============ HELPER METHODS ============
+
+    private EventJournal open() throws IOException {
+        return new EventJournal(directory, SEGMENT_RECORDS, MAX_SEGMENTS);
+    }
+
+    private File segmentFile(long seq) {
+        return new File(directory, String.format("events-%08d.jnl", seq));
+    }
+
+    private static List<Entry> replay(EventJournal journal) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        journal.replay(entries::add);
+        return entries;
+    }
+
+    private static int[] keys(List<Entry> entries) {
+        return entries.stream().mapToInt(Entry::key).toArray();
+    }
+
+    private static void assertEntry(Entry entry, int type, int key, int oldValue, int newValue, long value) {
+        assertEquals(Arrays.asList(type, key, oldValue, newValue, value),
+                     Arrays.asList(entry.type(), entry.key(), entry.oldValue(), entry.newValue(), entry.value()));
+    }
+}
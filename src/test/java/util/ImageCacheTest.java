@@ -0,0 +1,218 @@
+package util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * ImageCacheTest - Single-flight loading, giải phóng thread chờ khi loader lỗi, removeResource khi đang load
+ * Path: Test Packages/util/ImageCacheTest.java
+ *
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class ImageCacheTest {
+
+    private static final ImageCache.Key KEY = new ImageCache.Key("/images/1.jpg", 16, 16);
+    private static final int WAITERS = 4;
+
+    private ImageCache cache;
+    private ExecutorService pool;
+
+    @Before
+    public void setUp() {
+        cache = new ImageCache(1 << 20);
+        pool = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    // ============ SINGLE-FLIGHT ============
+
+    @Test(timeout = 5000)
+    public void concurrentCallersShareOneLoad() throws Exception {
+        BlockingLoader loader = new BlockingLoader(() -> image());
+
+        Future<BufferedImage> first = pool.submit(() -> cache.get(KEY, loader));
+        loader.started.await();
+        List<Future<BufferedImage>> waiters = submitWaiters(loader);
+        loader.release.countDown();
+
+        BufferedImage loaded = first.get();
+        for (Future<BufferedImage> waiter : waiters) {
+            assertSame(loaded, waiter.get());
+        }
+        assertEquals(1, loader.calls.get());
+        assertSame(loaded, cache.peek(KEY));
+    }
+
+    @Test(timeout = 5000)
+    public void waitersAreReleasedWhenLoaderThrowsError() throws Exception {
+        BlockingLoader loader = new BlockingLoader(() -> {
+            throw new OutOfMemoryError("decode");
+        });
+
+        Future<BufferedImage> first = pool.submit(() -> cache.get(KEY, loader));
+        loader.started.await();
+        List<Future<BufferedImage>> waiters = submitWaiters(loader);
+        loader.release.countDown();
+
+        try {
+            first.get();
+            fail("Error của loader phải tới thread đã gọi loader");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof OutOfMemoryError);
+        }
+        for (Future<BufferedImage> waiter : waiters) {
+            assertNull(waiter.get());
+        }
+
+        // Lần sau load lại, không kẹt ở lần load lỗi
+        BufferedImage retried = image();
+        assertSame(retried, cache.get(KEY, () -> retried));
+    }
+
+    @Test
+    public void nullResultIsNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<BufferedImage> missing = () -> {
+            calls.incrementAndGet();
+            return null;
+        };
+
+        assertNull(cache.get(KEY, missing));
+        assertNull(cache.get(KEY, missing));
+        assertEquals(2, calls.get());
+        assertEquals(0, cache.size());
+    }
+
+    // ============ INVALIDATION ============
+
+    @Test(timeout = 5000)
+    public void removeResourceDuringLoadDoesNotCacheOldImage() throws Exception {
+        BufferedImage old = image();
+        BlockingLoader loader = new BlockingLoader(() -> old);
+
+        Future<BufferedImage> first = pool.submit(() -> cache.get(KEY, loader));
+        loader.started.await();
+        cache.removeResource(KEY.resource());
+        loader.release.countDown();
+
+        assertSame(old, first.get());
+        assertNull(cache.peek(KEY));
+        assertEquals(0, cache.getBytesHeld());
+
+        BufferedImage fresh = image();
+        assertSame(fresh, cache.get(KEY, () -> fresh));
+        assertSame(fresh, cache.peek(KEY));
+    }
+
+    @Test(timeout = 5000)
+    public void callerAfterRemoveResourceDoesNotJoinOldLoad() throws Exception {
+        BlockingLoader loader = new BlockingLoader(() -> image());
+
+        Future<BufferedImage> first = pool.submit(() -> cache.get(KEY, loader));
+        loader.started.await();
+        cache.removeResource(KEY.resource());
+
+        BufferedImage fresh = image();
+        assertSame(fresh, cache.get(KEY, () -> fresh));
+        loader.release.countDown();
+        first.get();
+
+        assertSame(fresh, cache.peek(KEY));
+    }
+
+    @Test(timeout = 5000)
+    public void clearDuringLoadDoesNotCacheOldImage() throws Exception {
+        BlockingLoader loader = new BlockingLoader(() -> image());
+
+        Future<BufferedImage> first = pool.submit(() -> cache.get(KEY, loader));
+        loader.started.await();
+        cache.clear();
+        loader.release.countDown();
+
+        first.get();
+        assertEquals(0, cache.size());
+    }
+
+    // ============ HELPER METHODS ============
+
+    /**
+     * WAITERS thread cùng xin KEY, trả về khi tất cả đang chờ lần load đang chạy
+     */
+    private List<Future<BufferedImage>> submitWaiters(BlockingLoader loader) throws InterruptedException {
+        CountDownLatch submitted = new CountDownLatch(WAITERS);
+        List<Thread> threads = new ArrayList<>();
+        List<Future<BufferedImage>> waiters = new ArrayList<>();
+        for (int i = 0; i < WAITERS; i++) {
+            waiters.add(pool.submit(() -> {
+                synchronized (threads) {
+                    threads.add(Thread.currentThread());
+                }
+                submitted.countDown();
+                return cache.get(KEY, loader);
+            }));
+        }
+        submitted.await();
+        synchronized (threads) {
+            for (Thread thread : threads) {
+                while (thread.getState() != Thread.State.WAITING) {
+                    TimeUnit.MILLISECONDS.sleep(1);
+                }
+            }
+        }
+        return waiters;
+    }
+
+    private static BufferedImage image() {
+        return new BufferedImage(16, 16, BufferedImage.TYPE_INT_RGB);
+    }
+
+    /**
+     * Loader chờ release rồi mới trả kết quả, đếm số lần được gọi
+     */
+    private static final class BlockingLoader implements Supplier<BufferedImage> {
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        private final Supplier<BufferedImage> result;
+
+        BlockingLoader(Supplier<BufferedImage> result) {
+            this.result = result;
+        }
+
+        @Override
+        public BufferedImage get() {
+            calls.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result.get();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static util.OrderUpdateCoalescer.UNKNOWN_STATUS;
+
+import entity.Order;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import util.OrderUpdateCoalescer.Change;
+
+/**
+ * OrderUpdateCoalescerTest - Cách gộp event của một order và số batch mỗi cửa sổ
+ * Path: Test Packages/util/OrderUpdateCoalescerTest.java
+ *
+ * @author Nguyễn Trương Quốc Huân & Huỳnh Bá Khang
+ * @version 1.0
+ */
+public class OrderUpdateCoalescerTest {
+
+    private static final int ORDER_ID = 12;
+    private static final int WINDOW_MS = 100;
+
+    // ============ MERGE ============
+
+    @Test
+    public void createdThenStatusThenDeletedKeepsAllFlags() {
+        Order created = order(ORDER_ID, 0);
+        Order confirmed = order(ORDER_ID, 1);
+
+        Change merged = created(created)
+            .merge(statusChanged(confirmed, 0, 1))
+            .merge(deleted(ORDER_ID));
+
+        assertTrue(merged.created());
+        assertTrue(merged.deleted());
+        assertFalse(merged.updated());
+        assertSame(confirmed, merged.order());          // deleted không có order: giữ order cuối
+        assertEquals(UNKNOWN_STATUS, merged.oldStatus());
+        assertEquals(1, merged.newStatus());            // deleted không biết status: giữ status cuối
+        assertTrue(merged.statusChanged());
+    }
+
+    @Test
+    public void statusChainKeepsFirstOldAndLastNewStatus() {
+        Change merged = statusChanged(order(ORDER_ID, 3), 2, 3)
+            .merge(statusChanged(order(ORDER_ID, 4), 3, 4));
+
+        assertEquals(2, merged.oldStatus());
+        assertEquals(4, merged.newStatus());
+        assertTrue(merged.statusChanged());
+        assertFalse(merged.touches(s -> s == 3));       // Trạng thái trung gian không tính
+    }
+
+    @Test
+    public void statusRoundTripIsNotAStatusChange() {
+        Change merged = statusChanged(order(ORDER_ID, 3), 2, 3)
+            .merge(statusChanged(order(ORDER_ID, 2), 3, 2));
+
+        assertFalse(merged.statusChanged());
+    }
+
+    @Test
+    public void updatedAfterStatusChangeKeepsTransition() {
+        Order latest = order(ORDER_ID, 4);
+
+        Change merged = statusChanged(order(ORDER_ID, 4), 3, 4).merge(updated(latest));
+
+        assertEquals(3, merged.oldStatus());
+        assertEquals(4, merged.newStatus());
+        assertTrue(merged.updated());
+        assertSame(latest, merged.order());
+    }
+
+    @Test
+    public void updatedOnlyIsNotAStatusChange() {
+        Change change = updated(order(ORDER_ID, 2));
+
+        assertTrue(change.updated());
+        assertFalse(change.statusChanged());
+        assertTrue(change.touches(s -> s == 2));
+    }
+
+    // ============ UNKNOWN STATUS ============
+
+    @Test
+    public void unknownStatusIsNeverShown() {
+        Change created = created(order(ORDER_ID, 5));
+
+        assertEquals(UNKNOWN_STATUS, created.oldStatus());
+        assertFalse(created.touches(s -> s <= 3));
+        assertTrue(created.touches(s -> s == 5));
+    }
+
+    @Test
+    public void deletedTouchesEveryScreen() {
+        Change change = deleted(ORDER_ID);
+
+        assertTrue(change.touches(s -> false));
+        assertTrue(change.statusChanged());
+    }
+
+    // ============ BATCHING ============
+
+    @Test(timeout = 5000)
+    public void eventsInOneWindowArriveAsOneBatch() throws InterruptedException {
+        List<Collection<Change>> batches = new ArrayList<>();
+        OrderUpdateCoalescer coalescer = new OrderUpdateCoalescer("test", WINDOW_MS, batch -> {
+            synchronized (batches) {
+                batches.add(batch);
+                batches.notifyAll();
+            }
+        });
+
+        coalescer.onOrderCreated(order(1, 0));
+        coalescer.onOrderStatusChanged(order(2, 3), 2, 3);
+        coalescer.onOrderStatusChanged(order(1, 1), 0, 1);
+        coalescer.onOrderUpdated(order(2, 3));
+        coalescer.onOrderStatusChanged(order(2, 4), 3, 4);
+
+        List<Change> first = new ArrayList<>(awaitBatch(batches, 1));
+        assertEquals(2, first.size());
+        assertEquals(1, first.get(0).orderId());        // Theo thứ tự order xuất hiện
+        assertTrue(first.get(0).created());
+        assertEquals(1, first.get(0).newStatus());
+        assertEquals(2, first.get(1).orderId());
+        assertEquals(2, first.get(1).oldStatus());
+        assertEquals(4, first.get(1).newStatus());
+
+        // Không event mới thì không có batch rỗng
+        TimeUnit.MILLISECONDS.sleep(WINDOW_MS * 3);
+        synchronized (batches) {
+            assertEquals(1, batches.size());
+        }
+
+        coalescer.onOrderDeleted(1);
+        List<Change> second = new ArrayList<>(awaitBatch(batches, 2));
+        assertEquals(1, second.size());
+        assertTrue(second.get(0).deleted());
+        assertEquals("test: 6 events -> 2 batches", coalescer.getStats());
+    }
+
+    // ============ HELPER METHODS ============
+
+    private static Collection<Change> awaitBatch(List<Collection<Change>> batches, int count) throws InterruptedException {
+        synchronized (batches) {
+            while (batches.size() < count) {
+                batches.wait();
+            }
+            return batches.get(count - 1);
+        }
+    }
+
+    private static Order order(int orderId, int status) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setStatus(status);
+        return order;
+    }
+
+    // Giống các callback của OrderUpdateCoalescer
+
+    private static Change created(Order order) {
+        return new Change(order.getOrderId(), order, UNKNOWN_STATUS, order.getStatus(), true, false, false);
+    }
+
+    private static Change statusChanged(Order order, int oldStatus, int newStatus) {
+        return new Change(order.getOrderId(), order, oldStatus, newStatus, false, false, false);
+    }
+
+    private static Change updated(Order order) {
+        return new Change(order.getOrderId(), order, order.getStatus(), order.getStatus(), false, true, false);
+    }
+
+    private static Change deleted(int orderId) {
+        return new Change(orderId, null, UNKNOWN_STATUS, UNKNOWN_STATUS, false, false, true);
+    }
+}